@@ -0,0 +1,215 @@
+package oop.ex6;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A class used to validate many s-Java files at once, on a pool of worker threads, using a single
+ * {@link ValidatorFacade}.
+ */
+public class BatchValidator {
+	// region Constants
+
+	/**
+	 * The prefix of an argument file, a.k.a. a file that lists source files paths, one per line.
+	 */
+	public static final String ARGUMENTS_FILE_PREFIX = "@";
+
+	/**
+	 * The extension of the s-Java source files that're being collected from directories.
+	 */
+	private static final String SOURCE_FILE_EXTENSION = ".sjava";
+
+	/**
+	 * The message that's being raised if the validation was interrupted.
+	 */
+	private static final String INTERRUPTED_MESSAGE = "The batch validation was interrupted.";
+
+	/**
+	 * The message of the result of a file whose validation failed unexpectedly.
+	 */
+	private static final String UNEXPECTED_ERROR_MESSAGE = "The validation failed unexpectedly: %s";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The facade that's being used to validate each file.
+	 */
+	private final ValidatorFacade facade;
+
+	/**
+	 * The number of worker threads.
+	 */
+	private final int parallelism;
+
+	/**
+	 * Whether or not every semantic problem of each file should be collected, rather than only the first.
+	 */
+	private final boolean collectDiagnostics;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new batch validator.
+	 * @param facade The facade that's being used to validate each file.
+	 * @param parallelism The number of worker threads.
+	 * @throws IllegalArgumentException If the parallelism isn't positive.
+	 */
+	public BatchValidator(ValidatorFacade facade, int parallelism) {
+		this(facade, parallelism, false);
+	}
+
+	/**
+	 * Initializes a new batch validator.
+	 * @param facade The facade that's being used to validate each file.
+	 * @param parallelism The number of worker threads.
+	 * @param collectDiagnostics Whether or not every semantic problem of each file should be collected
+	 * (see {@link ValidatorFacade#tryCollectFileDiagnostics(String)}), rather than only the first.
+	 * @throws IllegalArgumentException If the parallelism isn't positive.
+	 */
+	public BatchValidator(ValidatorFacade facade, int parallelism, boolean collectDiagnostics) {
+		if (facade == null) {
+			throw new NullPointerException();
+		}
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism");
+		}
+
+		this.facade = facade;
+		this.parallelism = parallelism;
+		this.collectDiagnostics = collectDiagnostics;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Expands the given paths list into a list of source files. Directories are being expanded into
+	 * the s-Java files they contain (recursively, in a sorted order), and paths prefixed with
+	 * {@link BatchValidator#ARGUMENTS_FILE_PREFIX} are being replaced by the paths listed in that file.
+	 * Other paths are being kept as-is, so missing files are reported by the validation itself.
+	 * @param paths The paths to expand.
+	 * @return The list of source files.
+	 * @throws IOException If a directory or an arguments file couldn't be read.
+	 */
+	public static List<String> collectSources(List<String> paths)
+		throws IOException {
+		if (paths == null) {
+			throw new NullPointerException();
+		}
+
+		List<String> sources = new ArrayList<>();
+		for (String path : paths) {
+			if (path.startsWith(ARGUMENTS_FILE_PREFIX)) {
+				/* Each line in the arguments file is a path (empty lines are being ignored) */
+				List<String> listedPaths = new ArrayList<>();
+				for (String line : Files.readAllLines(Paths.get(path.substring(ARGUMENTS_FILE_PREFIX.length())),
+						Charset.defaultCharset())) {
+					if (!line.trim().isEmpty()) {
+						listedPaths.add(line.trim());
+					}
+				}
+
+				sources.addAll(collectSources(listedPaths));
+			} else if (new File(path).isDirectory()) {
+				try (Stream<Path> files = Files.walk(Paths.get(path))) {
+					sources.addAll(files.filter(Files::isRegularFile)
+							.map(Path::toString)
+							.filter(name -> name.endsWith(SOURCE_FILE_EXTENSION))
+							.sorted()
+							.collect(Collectors.toList()));
+				} catch (UncheckedIOException e) {
+					throw e.getCause(); // A subdirectory couldn't be read while walking the tree
+				}
+			} else {
+				sources.add(path);
+			}
+		}
+
+		return sources;
+	}
+
+	/**
+	 * Validates the given source files concurrently. A file whose validation fails unexpectedly (e.g. with a
+	 * {@link StackOverflowError}) is being reported as an I/O error of its own, and the rest of the files are
+	 * still being validated.
+	 * @param sourceFiles The source files paths.
+	 * @return The validation results, in the same order as the given source files.
+	 */
+	public List<ValidationResult> validate(List<String> sourceFiles) {
+		if (sourceFiles == null) {
+			throw new NullPointerException();
+		}
+
+		/* Create a task per file */
+		List<Callable<ValidationResult>> tasks = new ArrayList<>(sourceFiles.size());
+		for (String sourceFile : sourceFiles) {
+			tasks.add(() -> this.validateFile(sourceFile));
+		}
+
+		/* Run them and collect the results in order */
+		ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+		try {
+			List<ValidationResult> results = new ArrayList<>(tasks.size());
+			for (Future<ValidationResult> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(INTERRUPTED_MESSAGE, e);
+		} catch (ExecutionException e) {
+			/* The facade reports the validation errors as results, so this is an unexpected failure */
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Validates a single source file.
+	 * @param sourceFile The source file path.
+	 * @return The validation result.
+	 */
+	private ValidationResult validateFile(String sourceFile) {
+		long start = System.nanoTime();
+		try {
+			return this.collectDiagnostics ? this.facade.tryCollectFileDiagnostics(sourceFile)
+					: this.facade.tryValidateFile(sourceFile);
+		} catch (RuntimeException | Error e) {
+			/* The facade reports the validation errors as results, so this is a failure of this file only */
+			return ValidationResult.ioError(sourceFile,
+					new IOException(String.format(UNEXPECTED_ERROR_MESSAGE, e), e), System.nanoTime() - start);
+		}
+	}
+
+	// endregion
+}
@@ -0,0 +1,78 @@
+package oop.ex6;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled {@link Pattern} that hands out a reusable {@link Matcher} per thread, so matching a line
+ * doesn't allocate a new matcher (and its groups arrays) each time.
+ *
+ * The matcher of a thread is being reset by every {@link CachedPattern#matcher(CharSequence)} call, so
+ * callers must be done with a matcher before they match the same pattern again (e.g. they shouldn't hold
+ * it across recursive calls).
+ */
+public final class CachedPattern {
+	// region iVars
+
+	/**
+	 * The compiled pattern.
+	 */
+	private final Pattern pattern;
+
+	/**
+	 * The matcher of each thread.
+	 */
+	private final ThreadLocal<Matcher> matchers;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new cached pattern.
+	 * @param pattern The compiled pattern.
+	 */
+	public CachedPattern(Pattern pattern) {
+		if (pattern == null) {
+			throw new NullPointerException();
+		}
+
+		this.pattern = pattern;
+		this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Gets the compiled pattern.
+	 * @return The compiled pattern.
+	 */
+	public Pattern getPattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * Gets the matcher of the current thread, reset to the given input.
+	 * @param input The input to match.
+	 * @return The reset matcher.
+	 */
+	public Matcher matcher(CharSequence input) {
+		if (input == null) {
+			throw new NullPointerException();
+		}
+
+		return this.matchers.get().reset(input);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.pattern.toString();
+	}
+
+	// endregion
+}
@@ -0,0 +1,59 @@
+package oop.ex6;
+
+/**
+ * Controls the debug mode of the validator. The mode is off by default and can be turned on either
+ * programmatically or by setting the {@link DebugMode#PROPERTY_NAME} system property to "true".
+ *
+ * Syntax and semantic errors are routine outcomes of the validation (e.g. when bulk-validating corpora),
+ * so outside of the debug mode their exceptions skip the stack trace capture and build their messages
+ * lazily. The debug mode restores the full stack traces.
+ */
+public final class DebugMode {
+	// region Constants
+
+	/**
+	 * The name of the system property that turns on the debug mode.
+	 */
+	public static final String PROPERTY_NAME = "oop.ex6.debug";
+
+	// endregion
+
+	// region Shared Variables
+
+	/**
+	 * Whether or not the debug mode is on.
+	 */
+	private static volatile boolean enabled = Boolean.getBoolean(PROPERTY_NAME);
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * The class constructor. This is a static-only class.
+	 */
+	private DebugMode() {
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Determine whether or not the debug mode is on.
+	 * @return True if the validation exceptions should capture their stack traces, false otherwise.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns the debug mode on or off.
+	 * @param isEnabled True to capture the stack traces of the validation exceptions, false otherwise.
+	 */
+	public static void setEnabled(boolean isEnabled) {
+		enabled = isEnabled;
+	}
+
+	// endregion
+}
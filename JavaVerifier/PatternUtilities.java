@@ -5,20 +5,19 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 /**
- * A utilities class for Regular Expressions.
+ * A utilities class for Regular Expressions, and for the scanning helpers that replace the regular
+ * expressions on the hot paths. The scanning helpers treat the same characters as whitespaces as the
+ * "\s" character class does, and work on {@link CharSequence} ranges so they don't allocate
+ * intermediate strings.
  */
 public class PatternUtilities {
 	// region Constants
 
 	/**
-	 * A pattern that describes a string whitespace unification.
+	 * The characters that may follow the statement terminator, after its trailing whitespaces, as the
+	 * end of input boundary ("$") of a regular expression accepts them.
 	 */
-	private static final Pattern SPACE_UNIFY_PATTERN = Pattern.compile("[\\s]+");
-
-	/**
-	 * A pattern that describes a semicolon trim.
-	 */
-	private static final Pattern TRIM_SEMICOLON = Pattern.compile(Token.SEMICOLON + "\\s*$");
+	private static final String LINE_TERMINATORS = "\u0085\u2028\u2029";
 
 	// endregion
 
@@ -50,7 +49,96 @@ public class PatternUtilities {
 	 * @return The unified string.
 	 */
 	public static String unifyStringSpaces(String s, String replacement) {
-		return SPACE_UNIFY_PATTERN.matcher(s).replaceAll(replacement);
+		if (s == null || replacement == null) {
+			throw new NullPointerException();
+		}
+
+		/* Most of the strings don't need any change */
+		int index = 0;
+		while (index < s.length() && !isWhitespace(s.charAt(index))) {
+			index++;
+		}
+
+		if (index == s.length()) {
+			return s;
+		}
+
+		StringBuilder unified = new StringBuilder(s.length()).append(s, 0, index);
+		while (index < s.length()) {
+			if (isWhitespace(s.charAt(index))) {
+				unified.append(replacement);
+				index = skipSpaces(s, index, s.length());
+			} else {
+				unified.append(s.charAt(index++));
+			}
+		}
+
+		return unified.toString();
+	}
+
+	/**
+	 * Determine whether or not the given character is a whitespace (as the "\s" character class defines it).
+	 * @param c The character.
+	 * @return True if the character is a whitespace, false otherwise.
+	 */
+	public static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * Skips the whitespaces at the beginning of the given range.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return The index of the first non-whitespace character in the range, or the range end if there's none.
+	 */
+	public static int skipSpaces(CharSequence text, int start, int end) {
+		while (start < end && isWhitespace(text.charAt(start))) {
+			start++;
+		}
+
+		return start;
+	}
+
+	/**
+	 * Skips the whitespaces at the end of the given range.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return The index that follows the last non-whitespace character in the range, or the range start
+	 * if there's none.
+	 */
+	public static int skipSpacesBackwards(CharSequence text, int start, int end) {
+		while (end > start && isWhitespace(text.charAt(end - 1))) {
+			end--;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Matches the given prefix against the beginning of the given range, ignoring the whitespaces of the
+	 * range (a.k.a., as if the range was unified by {@link PatternUtilities#unifyStringSpaces(String, String)}
+	 * with an empty replacement).
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @param prefix The prefix, which shouldn't contain whitespaces.
+	 * @return The index that follows the matched prefix in the text, or -1 if the range doesn't begin with
+	 * the prefix.
+	 */
+	public static int matchIgnoringSpaces(CharSequence text, int start, int end, CharSequence prefix) {
+		int index = start;
+		for (int i = 0; i < prefix.length(); i++) {
+			index = skipSpaces(text, index, end);
+			if (index == end || text.charAt(index) != prefix.charAt(i)) {
+				return -1;
+			}
+
+			index++;
+		}
+
+		return index;
 	}
 
 	/**
@@ -76,7 +164,22 @@ public class PatternUtilities {
 	 * @return The stripped text.
 	 */
 	public static String trimStatementTerminator(String text) {
-		return TRIM_SEMICOLON.matcher(text).replaceAll("");
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		/* The terminator may be followed by whitespaces, and then by a single final line terminator */
+		int end = text.length();
+		if (end > 0 && LINE_TERMINATORS.indexOf(text.charAt(end - 1)) != -1) {
+			end--;
+		}
+
+		int terminator = skipSpacesBackwards(text, 0, end) - 1;
+		if (terminator < 0 || text.charAt(terminator) != Token.SEMICOLON.toString().charAt(0)) {
+			return text;
+		}
+
+		return text.substring(0, terminator) + text.substring(end);
 	}
 
 	// endregion
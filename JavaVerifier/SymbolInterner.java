@@ -0,0 +1,226 @@
+package oop.ex6;
+
+import oop.ex6.parser.Lexer;
+import oop.ex6.types.TypeParser;
+import oop.ex6.types.TypeRegistry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the identifiers of the programs into dense int symbol IDs (0, 1, 2...), so the AST nodes can
+ * carry the IDs of the symbols they refer to, and the symbols tables can look the symbols up by their
+ * IDs rather than by hashing their names again.
+ *
+ * An interner is being owned by whoever parses and validates the programs (e.g. a {@link ValidatorContext}
+ * or a {@link ValidationSession}), and it's being handed over to the parser explicitly, which hands it over
+ * to the AST factory and carries it in the program (see {@link oop.ex6.ast.ProgramASTNode#getInterner()}),
+ * so the validator interns the program symbols and creates its symbols tables with it. The IDs of
+ * separately parsed fragments of a session agree as the session keeps a single interner, while the IDs of an
+ * interner that's being reused for unrelated programs are being released by {@link SymbolInterner#clear()},
+ * so they're bounded by a program vocabulary rather than by the number of programs the process ever
+ * validated. The language keywords and the registered types names are being interned once, into a table
+ * that's being shared by all of the interners, and they have the same IDs in each of them.
+ */
+public final class SymbolInterner {
+	// region Constants
+
+	/**
+	 * The ID of a name that doesn't refer a symbol (e.g. a literal value), or that was never interned.
+	 */
+	public static final int NO_SYMBOL = -1;
+
+	/**
+	 * The initial capacity of the names array.
+	 */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * The number of names above which a cleared interner releases its tables rather than reusing them.
+	 */
+	private static final int RETAINED_CAPACITY = 4096;
+
+	// endregion
+
+	// region Shared Variables
+
+	/**
+	 * The IDs of the names that're being shared by all of the interners (the keywords and the types names).
+	 */
+	private static final Map<String, Integer> sharedIds;
+
+	/**
+	 * The shared names, indexed by their IDs.
+	 */
+	private static final String[] sharedNames;
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The IDs of the names that were interned by this interner.
+	 */
+	private volatile ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * The interned names, indexed by their IDs, less the number of the shared names. The array is being
+	 * replaced (rather than modified in place) when it grows, and the name of an ID is being stored before
+	 * the ID is being published.
+	 */
+	private volatile String[] names = new String[INITIAL_CAPACITY];
+
+	/**
+	 * The number of the names that were interned by this interner.
+	 */
+	private int count = 0;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Static initializer.
+	 */
+	static {
+		HashMap<String, Integer> ids = new HashMap<>();
+		for (Token token : Token.values()) {
+			if (Lexer.isKeyword(token)) {
+				ids.putIfAbsent(token.toString(), ids.size());
+			}
+		}
+
+		for (String identifier : TypeRegistry.getIdentifiers()) {
+			ids.putIfAbsent(identifier, ids.size());
+		}
+
+		sharedNames = new String[ids.size()];
+		for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+			sharedNames[entry.getValue()] = entry.getKey();
+		}
+
+		sharedIds = Collections.unmodifiableMap(ids);
+	}
+
+	/**
+	 * Initializes a new interner, which knows nothing but the shared names.
+	 */
+	public SymbolInterner() {
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Gets the ID of the given name, and assigns it a new ID if it wasn't interned yet.
+	 * @param name The name.
+	 * @return The name ID.
+	 */
+	public int intern(String name) {
+		Integer id = this.ids.get(name);
+		if (id != null) {
+			return id;
+		}
+
+		id = sharedIds.get(name);
+		if (id != null) {
+			return id;
+		}
+
+		synchronized (this) {
+			id = this.ids.get(name);
+			if (id == null) {
+				if (this.count == this.names.length) {
+					this.names = Arrays.copyOf(this.names, this.count * 2);
+				}
+
+				id = sharedNames.length + this.count;
+				this.names[this.count++] = name;
+				this.ids.put(name, id);
+			}
+
+			return id;
+		}
+	}
+
+	/**
+	 * Interns the given value if it refers a symbol, a.k.a. if it's an identifier (see
+	 * {@link TypeParser#isIdentifier(String)}).
+	 * @param value The value (e.g. "a", "5", "true").
+	 * @return The value ID, or {@link SymbolInterner#NO_SYMBOL} if the value isn't an identifier.
+	 */
+	public int internReference(String value) {
+		if (value == null || !TypeParser.isIdentifier(value)) {
+			return NO_SYMBOL;
+		}
+
+		return this.intern(value);
+	}
+
+	/**
+	 * Gets the ID of the given name, without interning it.
+	 * @param name The name.
+	 * @return The name ID, or {@link SymbolInterner#NO_SYMBOL} if the name was never interned.
+	 */
+	public int find(String name) {
+		Integer id = this.ids.get(name);
+		if (id == null) {
+			id = sharedIds.get(name);
+		}
+
+		return id == null ? NO_SYMBOL : id;
+	}
+
+	/**
+	 * Gets the ID of the given map key (see {@link java.util.Map#get(Object)}), without interning it.
+	 * @param key The key, which is expected to be a name.
+	 * @return The name ID, or {@link SymbolInterner#NO_SYMBOL} if the key isn't a string, or if it was never
+	 * interned.
+	 */
+	public int findKey(Object key) {
+		return key instanceof String ? this.find((String) key) : NO_SYMBOL;
+	}
+
+	/**
+	 * Gets the name of the given ID.
+	 * @param id The ID.
+	 * @return The interned name.
+	 * @throws IllegalArgumentException If the ID wasn't assigned.
+	 */
+	public String getName(int id) {
+		if (id >= 0 && id < sharedNames.length) {
+			return sharedNames[id];
+		}
+
+		String[] currentNames = this.names;
+		int index = id - sharedNames.length;
+		if (index < 0 || index >= currentNames.length || currentNames[index] == null) {
+			throw new IllegalArgumentException("id");
+		}
+
+		return currentNames[index];
+	}
+
+	/**
+	 * Releases the IDs of the names that were interned by this interner, so it can be reused for unrelated
+	 * programs. The nodes and the symbols that were created before the interner was cleared shouldn't be
+	 * used with it afterwards.
+	 */
+	public synchronized void clear() {
+		if (this.count > RETAINED_CAPACITY) {
+			this.ids = new ConcurrentHashMap<>();
+			this.names = new String[INITIAL_CAPACITY];
+		} else {
+			this.ids.clear();
+			Arrays.fill(this.names, 0, this.count, null);
+		}
+
+		this.count = 0;
+	}
+
+	// endregion
+}
@@ -330,7 +330,63 @@ public enum Token {
         public String toString() {
             return "while";
         }
-    }
+    },
+
+    // endregion
+
+    // region Lexical Classes
+
+	/**
+	 * Defines a token that identifies a numeric literal (e.g. "5", "-1.5", ".5" etc.).
+	 */
+	NUMBER_LITERAL() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "number_literal";
+		}
+	},
+
+	/**
+	 * Defines a token that identifies a string literal (e.g. the quoted "Hello").
+	 */
+	STRING_LITERAL() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "string_literal";
+		}
+	},
+
+	/**
+	 * Defines a token that identifies a char literal (e.g. "'a'").
+	 */
+	CHAR_LITERAL() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "char_literal";
+		}
+	},
+
+	/**
+	 * Defines a token that identifies a character sequence that isn't a part of the language.
+	 */
+	UNKNOWN() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "unknown";
+		}
+	}
 
     // endregion
 }
@@ -0,0 +1,245 @@
+package oop.ex6;
+
+import oop.ex6.parser.SyntaxErrorException;
+import oop.ex6.semantic.Diagnostic;
+import oop.ex6.semantic.SemanticErrorException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Describes the outcome of a single source validation, that is - the result code the validator reports
+ * (see {@link ValidationResult#SUCCESS_CODE} etc.) and the error message, if any.
+ */
+public final class ValidationResult {
+	// region Constants
+
+	/**
+	 * The return code of a success validation.
+	 */
+	public static final int SUCCESS_CODE = 0;
+
+	/**
+	 * The return code of a failed (syntax or semantic) validation.
+	 */
+	public static final int FAILURE_CODE = 1;
+
+	/**
+	 * The return code of a validation that couldn't be completed due to an I/O error.
+	 */
+	public static final int IO_ERROR_CODE = 2;
+
+	/**
+	 * The message that's being shown if an I/O error occurred during the validation.
+	 */
+	private static final String IO_EXCEPTION_MESSAGE = "An I/O error occurred during the process." +
+			"\nMessage: %s";
+
+	/**
+	 * The message that's being shown if a syntax error was found during the validation.
+	 */
+	private static final String SYNTAX_EXCEPTION_MESSAGE = "A syntax error has been found on line: %d." +
+			"\nError Reason: %s.\nLine Contents: %s";
+
+	/**
+	 * The message that's being shown if a semantic error was found during the validation.
+	 */
+	private static final String SEMANTIC_EXCEPTION_MESSAGE = "A semantic error has been found while " +
+			"processing this request.\nFailure Reason: %s.";
+
+	/**
+	 * The message that's being shown if semantic errors were collected during the validation, followed
+	 * by a line per error.
+	 */
+	private static final String DIAGNOSTICS_MESSAGE = "%d semantic error(s) have been found while " +
+			"processing this request.";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The name of the validated source (e.g. its file path).
+	 */
+	private final String source;
+
+	/**
+	 * The result code.
+	 */
+	private final int code;
+
+	/**
+	 * The error message, or null if the validation succeeded.
+	 */
+	private final String message;
+
+	/**
+	 * The time the validation took, in nanoseconds.
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 * The exception the validation failed with, or null if it didn't fail with an exception.
+	 */
+	private final Exception error;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new validation result.
+	 * @param source The name of the validated source.
+	 * @param code The result code.
+	 * @param message The error message, or null if the validation succeeded.
+	 * @param elapsedNanos The time the validation took, in nanoseconds.
+	 * @param error The exception the validation failed with, or null if it didn't fail with an exception.
+	 */
+	private ValidationResult(String source, int code, String message, long elapsedNanos, Exception error) {
+		this.source = source;
+		this.code = code;
+		this.message = message;
+		this.elapsedNanos = elapsedNanos;
+		this.error = error;
+	}
+
+	/**
+	 * Creates the result of a successful validation.
+	 * @param source The name of the validated source.
+	 * @param elapsedNanos The time the validation took, in nanoseconds.
+	 * @return The validation result.
+	 */
+	public static ValidationResult success(String source, long elapsedNanos) {
+		return new ValidationResult(source, SUCCESS_CODE, null, elapsedNanos, null);
+	}
+
+	/**
+	 * Creates the result of a validation that failed due to an I/O error.
+	 * @param source The name of the validated source.
+	 * @param e The raised exception.
+	 * @param elapsedNanos The time the validation took, in nanoseconds.
+	 * @return The validation result.
+	 */
+	public static ValidationResult ioError(String source, IOException e, long elapsedNanos) {
+		return new ValidationResult(source, IO_ERROR_CODE,
+				String.format(IO_EXCEPTION_MESSAGE, e.toString()), elapsedNanos, e);
+	}
+
+	/**
+	 * Creates the result of a validation that found a syntax error.
+	 * @param source The name of the validated source.
+	 * @param e The raised exception.
+	 * @param elapsedNanos The time the validation took, in nanoseconds.
+	 * @return The validation result.
+	 */
+	public static ValidationResult syntaxError(String source, SyntaxErrorException e, long elapsedNanos) {
+		return new ValidationResult(source, FAILURE_CODE, String.format(SYNTAX_EXCEPTION_MESSAGE,
+				e.getLineNumber(), e.getErrorReason(), e.getLineContent()), elapsedNanos, e);
+	}
+
+	/**
+	 * Creates the result of a validation that found a semantic error.
+	 * @param source The name of the validated source.
+	 * @param e The raised exception.
+	 * @param elapsedNanos The time the validation took, in nanoseconds.
+	 * @return The validation result.
+	 */
+	public static ValidationResult semanticError(String source, SemanticErrorException e, long elapsedNanos) {
+		return new ValidationResult(source, FAILURE_CODE,
+				String.format(SEMANTIC_EXCEPTION_MESSAGE, e.getMessage()), elapsedNanos, e);
+	}
+
+	/**
+	 * Creates the result of a validation that collected the semantic problems of the source.
+	 * @param source The name of the validated source.
+	 * @param diagnostics The collected problems.
+	 * @param elapsedNanos The time the validation took, in nanoseconds.
+	 * @return The validation result, which's successful if no problem was collected.
+	 */
+	public static ValidationResult diagnostics(String source, List<Diagnostic> diagnostics, long elapsedNanos) {
+		if (diagnostics.isEmpty()) {
+			return success(source, elapsedNanos);
+		}
+
+		StringBuilder message = new StringBuilder(String.format(DIAGNOSTICS_MESSAGE, diagnostics.size()));
+		for (Diagnostic diagnostic : diagnostics) {
+			message.append('\n').append(diagnostic);
+		}
+
+		return new ValidationResult(source, FAILURE_CODE, message.toString(), elapsedNanos, null);
+	}
+
+	/**
+	 * Creates a result that was restored from a previous validation of the same source code (e.g. by the
+	 * {@link oop.ex6.cache.ValidationCache}). As the original error isn't available, only its message is.
+	 * @param source The name of the validated source.
+	 * @param code The result code, either {@link ValidationResult#SUCCESS_CODE} or
+	 * {@link ValidationResult#FAILURE_CODE}.
+	 * @param message The result message, or null if there's none.
+	 * @param elapsedNanos The time the restoring took, in nanoseconds.
+	 * @return The validation result.
+	 * @throws IllegalArgumentException If the code isn't the code of a completed validation.
+	 */
+	public static ValidationResult restored(String source, int code, String message, long elapsedNanos) {
+		if (code != SUCCESS_CODE && code != FAILURE_CODE) {
+			throw new IllegalArgumentException(String.valueOf(code));
+		}
+
+		return new ValidationResult(source, code, message, elapsedNanos, null);
+	}
+
+	// endregion
+
+	// region Getters
+
+	/**
+	 * Gets the name of the validated source.
+	 * @return The source name.
+	 */
+	public String getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Gets the result code.
+	 * @return The result code.
+	 */
+	public int getCode() {
+		return this.code;
+	}
+
+	/**
+	 * Gets the error message.
+	 * @return The error message, or null if the validation succeeded.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * Gets the time the validation took.
+	 * @return The elapsed time, in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+
+	/**
+	 * Gets the exception the validation failed with.
+	 * @return The exception, or null if the validation didn't fail with an exception. Note that the
+	 * exception only has a stack trace in the {@link DebugMode}.
+	 */
+	public Exception getError() {
+		return this.error;
+	}
+
+	/**
+	 * Determine whether or not the validation succeeded.
+	 * @return True if the source is valid, false otherwise.
+	 */
+	public boolean isSuccess() {
+		return this.code == SUCCESS_CODE;
+	}
+
+	// endregion
+}
@@ -0,0 +1,351 @@
+package oop.ex6;
+
+import oop.ex6.ast.ASTNode;
+import oop.ex6.ast.ASTNodeFactory;
+import oop.ex6.ast.ProgramASTNode;
+import oop.ex6.parser.MissingScopeClosingException;
+import oop.ex6.parser.SourceParser;
+import oop.ex6.parser.StringLineReader;
+import oop.ex6.parser.SyntaxErrorException;
+import oop.ex6.semantic.IncrementalSemanticValidator;
+import oop.ex6.semantic.SemanticErrorException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An editing session over a single s-Java source, that re-validates the source after each edit while
+ * reusing the work that was done for the parts of the source the edit didn't touch.
+ *
+ * The session keeps the source lines and the top level statements of the program, each with the line it
+ * begins in (a statement spans the lines up to the next statement, so a function spans its whole body).
+ * An edit only marks its lines as dirty; the next validation re-parses the statements that overlap the
+ * dirty lines and then lets an {@link IncrementalSemanticValidator} re-validate only the functions that
+ * were re-parsed or whose referenced globals / invoked functions signatures were changed.
+ *
+ * The validation results are the same as {@link ValidatorFacade#validateSourceCode(String)}'s results
+ * for {@link ValidationSession#getSourceCode()}. Sessions aren't thread-safe.
+ */
+public class ValidationSession {
+	// region Constants
+
+	/**
+	 * The token that's being used to separate code lines.
+	 */
+	private static final String NEW_LINE = "\n";
+
+	/**
+	 * The message that's being raised if an edit range is invalid.
+	 */
+	private static final String INVALID_RANGE_MESSAGE = "The lines range %d-%d is out of the source bounds.";
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes a top level statement of the program.
+	 */
+	private static class Statement {
+		// region iVars
+
+		/**
+		 * The (0-based) index of the line the statement begins in.
+		 */
+		private int line;
+
+		/**
+		 * The statement node.
+		 */
+		private final ASTNode node;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new statement entry.
+		 * @param line The (0-based) index of the line the statement begins in.
+		 * @param node The statement node.
+		 */
+		Statement(int line, ASTNode node) {
+			this.line = line;
+			this.node = node;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The parser that's being used to parse the dirty parts of the source.
+	 */
+	private final SourceParser parser;
+
+	/**
+	 * The semantic validator.
+	 */
+	private final IncrementalSemanticValidator semanticValidator;
+
+	/**
+	 * The interner the symbols of the session are being interned by, so the IDs of the statements that were
+	 * parsed by different validations agree.
+	 */
+	private final SymbolInterner interner;
+
+	/**
+	 * The source lines.
+	 */
+	private final List<String> lines;
+
+	/**
+	 * The top level statements that were parsed from the clean parts of the source, in the source order.
+	 */
+	private final List<Statement> statements;
+
+	/**
+	 * The (0-based) index of the first dirty line, or -1 if there are no dirty lines.
+	 */
+	private int dirtyFrom;
+
+	/**
+	 * The (0-based, exclusive) index of the last dirty line.
+	 */
+	private int dirtyTo;
+
+	/**
+	 * The number of lines that were re-parsed by the last validation.
+	 */
+	private int parsedLinesCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new validation session.
+	 * @param parser The parser that's being used to parse the source.
+	 * @param semanticValidator The semantic validator.
+	 * @param sourceCode The initial source code.
+	 */
+	ValidationSession(SourceParser parser, IncrementalSemanticValidator semanticValidator, String sourceCode) {
+		if (parser == null || semanticValidator == null || sourceCode == null) {
+			throw new NullPointerException();
+		}
+
+		this.parser = parser;
+		this.semanticValidator = semanticValidator;
+		this.interner = new SymbolInterner();
+		this.lines = new ArrayList<>();
+		this.statements = new ArrayList<>();
+
+		/* Split the source the way the parsers split it */
+		StringLineReader reader = new StringLineReader(sourceCode);
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			this.lines.add(line);
+		}
+
+		/* The whole source is dirty */
+		this.dirtyFrom = 0;
+		this.dirtyTo = this.lines.size();
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Replaces the given lines range with the given lines.
+	 * @param firstLine The (1-based) number of the first line to replace. To append lines to the end of
+	 * the source, use the source lines count plus one.
+	 * @param count The number of lines to replace (0 to insert the new lines before the first line).
+	 * @param newLines The new lines, which mustn't contain line terminators.
+	 * @throws IndexOutOfBoundsException If the range is out of the source bounds.
+	 */
+	public void replaceLines(int firstLine, int count, List<String> newLines) {
+		if (newLines == null) {
+			throw new NullPointerException();
+		}
+
+		int from = firstLine - 1;
+		int to = from + count;
+		if (from < 0 || count < 0 || to > this.lines.size()) {
+			throw new IndexOutOfBoundsException(String.format(INVALID_RANGE_MESSAGE, firstLine, to));
+		}
+
+		/* Replace the lines */
+		List<String> range = this.lines.subList(from, to);
+		range.clear();
+		range.addAll(newLines);
+		int delta = newLines.size() - count;
+		int newTo = from + newLines.size();
+
+		/* Drop the statements that began in the replaced lines, and move the ones after them */
+		Iterator<Statement> iterator = this.statements.iterator();
+		while (iterator.hasNext()) {
+			Statement statement = iterator.next();
+			if (statement.line >= to) {
+				statement.line += delta;
+			} else if (statement.line >= from) {
+				iterator.remove();
+			}
+		}
+
+		/* Mark the new lines as dirty, together with the lines that were already dirty */
+		if (this.dirtyFrom < 0) {
+			this.dirtyFrom = from;
+			this.dirtyTo = newTo;
+		} else {
+			this.dirtyFrom = Math.min(this.dirtyFrom < from ? this.dirtyFrom
+					: (this.dirtyFrom >= to ? this.dirtyFrom + delta : from), from);
+			this.dirtyTo = Math.max(this.dirtyTo < from ? this.dirtyTo
+					: (this.dirtyTo >= to ? this.dirtyTo + delta : newTo), newTo);
+		}
+	}
+
+	/**
+	 * Validates the current source.
+	 * @throws SyntaxErrorException If a syntax error was found during the validation process.
+	 * @throws SemanticErrorException If a semantic error was found during the validation process.
+	 */
+	public void validate()
+		throws SyntaxErrorException, SemanticErrorException {
+		this.parsedLinesCount = 0;
+		if (this.dirtyFrom >= 0) {
+			this.parseDirtyLines();
+		}
+
+		/* Compose the program */
+		ProgramASTNode root = ASTNodeFactory.createProgram(this.interner);
+		for (Statement statement : this.statements) {
+			root.append(statement.node, statement.line + 1);
+		}
+
+		this.semanticValidator.assertValidity(root);
+	}
+
+	/**
+	 * Validates the current source, and reports the outcome as a {@link ValidationResult} instead of
+	 * raising exceptions.
+	 * @return The validation result.
+	 */
+	public ValidationResult tryValidate() {
+		long start = System.nanoTime();
+		try {
+			this.validate();
+			return ValidationResult.success(null, System.nanoTime() - start);
+		} catch (SyntaxErrorException e) {
+			return ValidationResult.syntaxError(null, e, System.nanoTime() - start);
+		} catch (SemanticErrorException e) {
+			return ValidationResult.semanticError(null, e, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Gets the current source code.
+	 * @return The source lines, joined by "\n".
+	 */
+	public String getSourceCode() {
+		return String.join(NEW_LINE, this.lines);
+	}
+
+	/**
+	 * Gets the number of lines in the current source.
+	 * @return The lines count.
+	 */
+	public int getLinesCount() {
+		return this.lines.size();
+	}
+
+	/**
+	 * Gets the number of lines that were re-parsed by the last validation.
+	 * @return The number of parsed lines.
+	 */
+	public int getParsedLinesCount() {
+		return this.parsedLinesCount;
+	}
+
+	/**
+	 * Gets the number of functions that were re-validated by the last validation.
+	 * @return The number of validated functions.
+	 */
+	public int getValidatedFunctionsCount() {
+		return this.semanticValidator.getValidatedFunctionsCount();
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Re-parses the statements that overlap the dirty lines. The parsed range begins in a statement that
+	 * begins in the global scope, and is being extended (statement by statement) until it ends in the
+	 * global scope as well, so it can replace the statements it overlaps.
+	 * @throws SyntaxErrorException If a syntax error was found in the dirty lines (or in the statements
+	 * the dirty lines left unclosed).
+	 */
+	private void parseDirtyLines()
+		throws SyntaxErrorException {
+		/* Find the statements that overlap the dirty lines. Note that the lines before the first dirty line
+		 * belong to the statement that begins before them (lines that were inserted right before a statement
+		 * belong to the statement before it as well), or to the beginning of the source if there's none. */
+		int first = 0;
+		while (first < this.statements.size() && this.statements.get(first).line < this.dirtyFrom) {
+			first++;
+		}
+
+		int from = 0;
+		if (first > 0) {
+			first--;
+			from = this.statements.get(first).line;
+		}
+
+		int last = first;
+		while (last < this.statements.size() && this.statements.get(last).line < this.dirtyTo) {
+			last++;
+		}
+
+		int extension = 1;
+		while (true) {
+			int to = last < this.statements.size() ? this.statements.get(last).line : this.lines.size();
+			try {
+				ProgramASTNode fragment = this.parser.parse(
+						new StringLineReader(String.join(NEW_LINE, this.lines.subList(from, to))), from + 1,
+						this.interner);
+
+				/* Replace the statements */
+				List<Statement> parsed = new ArrayList<>();
+				Iterator<Integer> lineNumbers = fragment.getStatementLines().iterator();
+				for (ASTNode node : fragment) {
+					parsed.add(new Statement(lineNumbers.next() - 1, node));
+				}
+
+				List<Statement> range = this.statements.subList(first, last);
+				range.clear();
+				range.addAll(parsed);
+				this.parsedLinesCount += to - from;
+				this.dirtyFrom = -1;
+				return;
+			} catch (MissingScopeClosingException e) {
+				/* The range ends within a scope, so it has to include the statements after it */
+				if (to == this.lines.size()) {
+					throw e;
+				}
+
+				this.parsedLinesCount += to - from;
+				last = Math.min(last + extension, this.statements.size());
+				extension *= 2;
+			} catch (IOException e) {
+				/* In-memory sources can't raise I/O errors */
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	// endregion
+}
@@ -0,0 +1,181 @@
+package oop.ex6;
+
+import oop.ex6.ast.ProgramASTNode;
+import oop.ex6.instrumentation.ValidationMetrics;
+import oop.ex6.parser.ParserMode;
+import oop.ex6.parser.SourceParser;
+import oop.ex6.parser.StringLineReader;
+import oop.ex6.parser.SyntaxErrorException;
+import oop.ex6.parser.features.SyntaxFeatureRegistry;
+import oop.ex6.semantic.SemanticErrorException;
+import oop.ex6.semantic.SemanticMode;
+import oop.ex6.semantic.SemanticValidator;
+import oop.ex6.semantic.SymbolsTableMode;
+
+import java.io.IOException;
+
+/**
+ * Holds the state a {@link ValidatorFacade} validation needs, a.k.a. the parser (with its scopes stack) and
+ * the semantic validator (with its symbols tables and visitors), so it can be reused by many validations
+ * rather than being allocated by each of them. Once the context is warm, validating a small source mostly
+ * allocates its AST. The context owns the interner its programs symbols are being interned by (see
+ * {@link SymbolInterner}), which is being cleared before each validation, so the symbols IDs don't pile up
+ * over the validations.
+ *
+ * A context is being created by {@link ValidatorFacade#createContext()}, and is being reset before each
+ * validation. It isn't thread safe, so it should be confined to a single thread (see
+ * {@link ValidatorFacade#validateAll(Iterable)}, which uses a context per thread).
+ */
+public final class ValidatorContext {
+	// region iVars
+
+	/**
+	 * The parser front-end of the context.
+	 */
+	private final ParserMode parserMode;
+
+	/**
+	 * The registry of the syntax features the parser supports.
+	 */
+	private final SyntaxFeatureRegistry featureRegistry;
+
+	/**
+	 * The symbols table implementation that's being used by the semantic validation.
+	 */
+	private final SymbolsTableMode tableMode;
+
+	/**
+	 * The way the semantic validation validates the functions bodies.
+	 */
+	private final SemanticMode semanticMode;
+
+	/**
+	 * The reused (unmeasured) parser.
+	 */
+	private final SourceParser parser;
+
+	/**
+	 * The reused semantic validator, or null if the context didn't validate a program yet.
+	 */
+	private SemanticValidator validator;
+
+	/**
+	 * The interner the symbols of the validated program are being interned by.
+	 */
+	private final SymbolInterner interner;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new validator context.
+	 * @param parserMode The parser front-end to use.
+	 * @param featureRegistry The registry of the syntax features the parser supports.
+	 * @param tableMode The symbols table implementation to use.
+	 * @param semanticMode The way the functions bodies should be validated.
+	 */
+	ValidatorContext(ParserMode parserMode, SyntaxFeatureRegistry featureRegistry, SymbolsTableMode tableMode,
+					 SemanticMode semanticMode) {
+		this.parserMode = parserMode;
+		this.featureRegistry = featureRegistry;
+		this.tableMode = tableMode;
+		this.semanticMode = semanticMode;
+		this.parser = parserMode.createParser(featureRegistry);
+		this.interner = new SymbolInterner();
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Resets the context: releases the last validated program, so it can be garbage collected, while keeping
+	 * the reusable state. The context is being reset before each validation anyway, so this is only needed
+	 * in order not to hold the last program (and its symbols names) between validations.
+	 */
+	public void reset() {
+		if (this.validator != null) {
+			this.validator.reset(null, null);
+		}
+
+		this.interner.clear();
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Parses the given source code into an AST. In the {@link SemanticMode#FUSED} mode, the global statements
+	 * are being handed over to the semantic validator while they're being parsed, rather than being kept in
+	 * an AST.
+	 * @param sourceCode The source code.
+	 * @param metrics The metrics to record the parsing into, or null if it shouldn't be measured.
+	 * @return The program AST, or null in the fused mode.
+	 * @throws SyntaxErrorException If a syntax error was found.
+	 */
+	ProgramASTNode parse(String sourceCode, ValidationMetrics metrics)
+		throws SyntaxErrorException {
+		/* A parser records into the metrics it was created with, so a measured parse can't reuse the parser */
+		SourceParser parser = metrics == null ? this.parser
+				: this.parserMode.createParser(this.featureRegistry, metrics);
+
+		/* The previous program was released, so its symbols IDs can be reused */
+		this.interner.clear();
+		try {
+			if (this.semanticMode != SemanticMode.FUSED) {
+				return parser.parse(sourceCode, this.interner);
+			}
+
+			SemanticValidator validator = this.resetValidator(null, metrics);
+			parser.parseStatements(new StringLineReader(sourceCode), 1, this.interner,
+					(statement, line) -> validator.acceptGlobalStatement(statement));
+			return null;
+		} catch (IOException e) {
+			/* In-memory sources can't raise I/O errors */
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Asserts the semantic validity of the given program (see {@link SemanticValidator#assertValidity()}).
+	 * @param tree The program AST, or null in the {@link SemanticMode#FUSED} mode, in which case the program
+	 * that was just parsed (see {@link ValidatorContext#parse(String, ValidationMetrics)}) is being validated.
+	 * @param metrics The metrics to record the validation into, or null if it shouldn't be measured.
+	 * @throws SemanticErrorException If a semantic error was found.
+	 */
+	void assertValidity(ProgramASTNode tree, ValidationMetrics metrics)
+		throws SemanticErrorException {
+		if (this.semanticMode == SemanticMode.FUSED) {
+			this.validator.assertValidity();
+			return;
+		}
+
+		this.resetValidator(tree, metrics).assertValidity();
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Resets the semantic validator (or creates it, if it wasn't created yet), so it validates the given
+	 * program.
+	 * @param tree The program AST, or null if its statements are being handed over to the validator.
+	 * @param metrics The metrics to record the validation into, or null if it shouldn't be measured.
+	 * @return The semantic validator.
+	 */
+	private SemanticValidator resetValidator(ProgramASTNode tree, ValidationMetrics metrics) {
+		if (this.validator == null) {
+			this.validator = tree == null ? new SemanticValidator(this.interner, this.tableMode, metrics)
+					: new SemanticValidator(tree, this.tableMode, this.semanticMode, metrics);
+		} else {
+			this.validator.reset(tree, metrics);
+		}
+
+		return this.validator;
+	}
+
+	// endregion
+}
@@ -1,23 +1,213 @@
 package oop.ex6;
 
 import oop.ex6.ast.ProgramASTNode;
-import oop.ex6.parser.CodeParser;
+import oop.ex6.cache.ValidationCache;
+import oop.ex6.instrumentation.MeteredLineReader;
+import oop.ex6.instrumentation.ValidationListener;
+import oop.ex6.instrumentation.ValidationMetrics;
+import oop.ex6.parser.ByteArrayLineReader;
+import oop.ex6.parser.GlobalStatementListener;
+import oop.ex6.parser.LineReader;
+import oop.ex6.parser.MappedFileLineReader;
+import oop.ex6.parser.ParserMode;
+import oop.ex6.parser.SourceParser;
 import oop.ex6.parser.SyntaxErrorException;
+import oop.ex6.parser.features.SyntaxFeatureFactory;
+import oop.ex6.parser.features.SyntaxFeatureRegistry;
+import oop.ex6.semantic.DiagnosticsCollector;
+import oop.ex6.semantic.DiagnosticsSink;
+import oop.ex6.semantic.IncrementalSemanticValidator;
 import oop.ex6.semantic.SemanticErrorException;
+import oop.ex6.semantic.SemanticMode;
 import oop.ex6.semantic.SemanticValidator;
+import oop.ex6.semantic.SymbolsTableMode;
 
-import java.io.*;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A facade based design pattern, used to process s-Java files.
+ * The facade doesn't hold any per-validation state, so a single instance can be used by multiple threads.
+ * Callers that validate many in-memory sources can reuse the per-validation state through a
+ * {@link ValidatorContext} (see {@link ValidatorFacade#validateAll(Iterable)}).
+ *
+ * If the facade was given a {@link ValidationListener}, each validation is being measured (see
+ * {@link ValidationMetrics}) and the listener is being notified with its metrics once it completes.
+ * If it was given a {@link ValidationCache}, the results of the files validations are being cached, so files
+ * that didn't change are neither parsed nor validated again.
  */
 public class ValidatorFacade {
+	// region Constants
+
+	/**
+	 * The cache fingerprint variant of the files validations, which fail on the first error.
+	 */
+	private static final String VALIDATION_VARIANT = "validate";
+
+	/**
+	 * The cache fingerprint variant of the files diagnostics collections.
+	 */
+	private static final String DIAGNOSTICS_VARIANT = "diagnostics";
+
+	/**
+	 * The suffix of the message of a source file that's a directory, as {@link java.io.FileReader} reports it.
+	 */
+	private static final String IS_DIRECTORY_SUFFIX = " (Is a directory)";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The parser front-end that's being used to parse the source code.
+	 */
+	private final ParserMode parserMode;
+
+	/**
+	 * The symbols table implementation that's being used by the semantic validation.
+	 */
+	private final SymbolsTableMode tableMode;
+
+	/**
+	 * The way the semantic validation validates the functions bodies.
+	 */
+	private final SemanticMode semanticMode;
+
+	/**
+	 * The registry of the syntax features the parser supports.
+	 */
+	private final SyntaxFeatureRegistry featureRegistry;
+
+	/**
+	 * The listener that's being notified with the metrics of each validation, or null if the validations
+	 * aren't being measured.
+	 */
+	private final ValidationListener listener;
+
+	/**
+	 * The cache of the files validations results, or null if the results aren't being cached.
+	 */
+	private final ValidationCache cache;
+
+	/**
+	 * The cache fingerprint of the files validations, or null if the results aren't being cached.
+	 */
+	private final String validationFingerprint;
+
+	/**
+	 * The cache fingerprint of the files diagnostics collections, or null if the results aren't being cached.
+	 */
+	private final String diagnosticsFingerprint;
+
+	/**
+	 * The context of each thread that validated sources by {@link ValidatorFacade#validateAll(Iterable)}.
+	 */
+	private final ThreadLocal<ValidatorContext> contexts = ThreadLocal.withInitial(this::createContext);
+
+	// endregion
+
 	// region Initialization
 
 	/**
 	 * Initialize a new validator facade.
 	 */
-	public ValidatorFacade() { }
+	public ValidatorFacade() {
+		this(ParserMode.LINE_PATTERNS);
+	}
+
+	/**
+	 * Initialize a new validator facade that uses the given parser front-end.
+	 * @param parserMode The parser front-end to use.
+	 */
+	public ValidatorFacade(ParserMode parserMode) {
+		this(parserMode, SymbolsTableMode.CLONING);
+	}
+
+	/**
+	 * Initialize a new validator facade that uses the given parser front-end and symbols table.
+	 * @param parserMode The parser front-end to use.
+	 * @param tableMode The symbols table implementation to use.
+	 */
+	public ValidatorFacade(ParserMode parserMode, SymbolsTableMode tableMode) {
+		this(parserMode, tableMode, SyntaxFeatureFactory.getDefaultRegistry());
+	}
+
+	/**
+	 * Initialize a new validator facade that uses the given parser front-end, symbols table and syntax
+	 * features. Facades with different registries can validate concurrently without affecting each other.
+	 * @param parserMode The parser front-end to use.
+	 * @param tableMode The symbols table implementation to use.
+	 * @param featureRegistry The registry of the syntax features the parser supports.
+	 */
+	public ValidatorFacade(ParserMode parserMode, SymbolsTableMode tableMode,
+	                       SyntaxFeatureRegistry featureRegistry) {
+		this(parserMode, tableMode, featureRegistry, null);
+	}
+
+	/**
+	 * Initialize a new validator facade that uses the given parser front-end, symbols table and syntax
+	 * features, and that notifies the given listener with the metrics of each validation.
+	 * @param parserMode The parser front-end to use.
+	 * @param tableMode The symbols table implementation to use.
+	 * @param featureRegistry The registry of the syntax features the parser supports.
+	 * @param listener The listener to notify, or null if the validations shouldn't be measured.
+	 */
+	public ValidatorFacade(ParserMode parserMode, SymbolsTableMode tableMode,
+	                       SyntaxFeatureRegistry featureRegistry, ValidationListener listener) {
+		this(parserMode, tableMode, SemanticMode.SEQUENTIAL, featureRegistry, listener);
+	}
+
+	/**
+	 * Initialize a new validator facade that uses the given parser front-end, symbols table, semantic mode
+	 * and syntax features, and that notifies the given listener with the metrics of each validation.
+	 * @param parserMode The parser front-end to use.
+	 * @param tableMode The symbols table implementation to use.
+	 * @param semanticMode The way the functions bodies should be semantically validated.
+	 * @param featureRegistry The registry of the syntax features the parser supports.
+	 * @param listener The listener to notify, or null if the validations shouldn't be measured.
+	 */
+	public ValidatorFacade(ParserMode parserMode, SymbolsTableMode tableMode, SemanticMode semanticMode,
+	                       SyntaxFeatureRegistry featureRegistry, ValidationListener listener) {
+		this(parserMode, tableMode, semanticMode, featureRegistry, listener, null);
+	}
+
+	/**
+	 * Initialize a new validator facade that uses the given parser front-end, symbols table, semantic mode
+	 * and syntax features, that notifies the given listener with the metrics of each validation, and that
+	 * caches the results of the files validations in the given cache.
+	 * @param parserMode The parser front-end to use.
+	 * @param tableMode The symbols table implementation to use.
+	 * @param semanticMode The way the functions bodies should be semantically validated.
+	 * @param featureRegistry The registry of the syntax features the parser supports.
+	 * @param listener The listener to notify, or null if the validations shouldn't be measured.
+	 * @param cache The results cache, or null if the results shouldn't be cached.
+	 */
+	public ValidatorFacade(ParserMode parserMode, SymbolsTableMode tableMode, SemanticMode semanticMode,
+	                       SyntaxFeatureRegistry featureRegistry, ValidationListener listener,
+	                       ValidationCache cache) {
+		if (parserMode == null || tableMode == null || semanticMode == null || featureRegistry == null) {
+			throw new NullPointerException();
+		}
+
+		this.parserMode = parserMode;
+		this.tableMode = tableMode;
+		this.semanticMode = semanticMode;
+		this.featureRegistry = featureRegistry;
+		this.listener = listener;
+		this.cache = cache;
+
+		/* The parser front-ends may differ on malformed sources, so the front-end is a part of the fingerprint */
+		this.validationFingerprint = cache == null ? null
+				: ValidationCache.fingerprint(featureRegistry, parserMode + "/" + VALIDATION_VARIANT);
+		this.diagnosticsFingerprint = cache == null ? null
+				: ValidationCache.fingerprint(featureRegistry, parserMode + "/" + DIAGNOSTICS_VARIANT);
+	}
 
 	// endregion
 
@@ -25,6 +215,7 @@ public class ValidatorFacade {
 
 	/**
 	 * Validates the given source code file by looking for for syntax errors.
+	 * The file is being streamed into the parser, so it's never held in memory as a whole.
 	 * @param sourceFile The source file path.
 	 * @throws IOException If there was an IO related error.
 	 * @throws SyntaxErrorException If a syntax error was found during the validation process.
@@ -32,13 +223,62 @@ public class ValidatorFacade {
 	 */
 	public void validateFile(String sourceFile)
 		throws IOException, SyntaxErrorException, SemanticErrorException {
+		this.validateFile(sourceFile, null);
+	}
+
+	/**
+	 * Validates the given source code file, while reporting every semantic problem that's being found
+	 * into the given sink rather than failing on the first one
+	 * (see {@link SemanticValidator#reportDiagnostics(DiagnosticsSink)}).
+	 * @param sourceFile The source file path.
+	 * @param sink The sink to report the semantic problems into.
+	 * @throws IOException If there was an IO related error.
+	 * @throws SyntaxErrorException If a syntax error was found, as the program can't be semantically
+	 * validated without being parsed.
+	 */
+	public void reportFileDiagnostics(String sourceFile, DiagnosticsSink sink)
+		throws IOException, SyntaxErrorException {
+		this.reportFileDiagnostics(sourceFile, null, sink);
+	}
+
+	/**
+	 * Validates the given source code file, and reports the outcome as a {@link ValidationResult} instead
+	 * of raising exceptions.
+	 * @param sourceFile The source file path.
+	 * @return The validation result.
+	 */
+	public ValidationResult tryValidateFile(String sourceFile) {
 		if (sourceFile == null) {
 			throw new NullPointerException();
 		}
 
-		this.validateSourceCode(readSourceFile(sourceFile));
+		if (this.cache != null) {
+			return this.cache.getOrValidate(sourceFile, this.validationFingerprint,
+					content -> this.tryValidateUncachedFile(sourceFile, content));
+		}
+
+		return this.tryValidateUncachedFile(sourceFile, null);
 	}
 
+	/**
+	 * Validates the given source code file while collecting every semantic problem that's being found
+	 * (see {@link ValidatorFacade#reportFileDiagnostics(String, DiagnosticsSink)}), and reports the outcome
+	 * as a {@link ValidationResult} instead of raising exceptions.
+	 * @param sourceFile The source file path.
+	 * @return The validation result.
+	 */
+	public ValidationResult tryCollectFileDiagnostics(String sourceFile) {
+		if (sourceFile == null) {
+			throw new NullPointerException();
+		}
+
+		if (this.cache != null) {
+			return this.cache.getOrValidate(sourceFile, this.diagnosticsFingerprint,
+					content -> this.tryCollectUncachedFileDiagnostics(sourceFile, content));
+		}
+
+		return this.tryCollectUncachedFileDiagnostics(sourceFile, null);
+	}
 
 	/**
 	 * Validates the given source code by looking for for syntax errors.
@@ -48,15 +288,107 @@ public class ValidatorFacade {
 	 */
 	public void validateSourceCode(String sourceCode)
 		throws SyntaxErrorException, SemanticErrorException {
+		this.validateSourceCode(null, sourceCode);
+	}
+
+	/**
+	 * Validates the given source code, and reports the outcome as a {@link ValidationResult} instead
+	 * of raising exceptions.
+	 * @param source The name of the validated source (e.g. its origin), that's being kept in the result.
+	 * @param sourceCode The source code to validate.
+	 * @return The validation result.
+	 */
+	public ValidationResult tryValidateSourceCode(String source, String sourceCode) {
 		if (sourceCode == null) {
 			throw new NullPointerException();
 		}
 
-		/* Parse the program into an AST */
-		ProgramASTNode tree = new CodeParser().parse(sourceCode);
+		long start = System.nanoTime();
+		try {
+			this.validateSourceCode(source, sourceCode);
+			return ValidationResult.success(source, System.nanoTime() - start);
+		} catch (SyntaxErrorException e) {
+			return ValidationResult.syntaxError(source, e, System.nanoTime() - start);
+		} catch (SemanticErrorException e) {
+			return ValidationResult.semanticError(source, e, System.nanoTime() - start);
+		}
+	}
 
-		/* Make sure the program is valid semantic-wise */
-		new SemanticValidator(tree).assertValidity();
+	/**
+	 * Validates the given source code over the given context, which reuses its state between validations
+	 * (see {@link ValidatorContext}), and reports the outcome as a {@link ValidationResult} instead of
+	 * raising exceptions.
+	 * @param source The name of the validated source (e.g. its origin), that's being kept in the result.
+	 * @param sourceCode The source code to validate.
+	 * @param context The context to validate over, which was created by this facade.
+	 * @return The validation result.
+	 */
+	public ValidationResult tryValidateSourceCode(String source, CharSequence sourceCode,
+												  ValidatorContext context) {
+		if (sourceCode == null || context == null) {
+			throw new NullPointerException();
+		}
+
+		long start = System.nanoTime();
+		try {
+			this.validateSourceCode(source, sourceCode.toString(), context);
+			return ValidationResult.success(source, System.nanoTime() - start);
+		} catch (SyntaxErrorException e) {
+			return ValidationResult.syntaxError(source, e, System.nanoTime() - start);
+		} catch (SemanticErrorException e) {
+			return ValidationResult.semanticError(source, e, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Validates each of the given in-memory sources, one after another, over the context of the calling
+	 * thread, so the per-validation state is being reused rather than allocated (see
+	 * {@link ValidatorContext}). The facade keeps a context per thread that called this method, so several
+	 * threads may stream sources through it at once.
+	 * @param sources The source codes to validate.
+	 * @return The validation results (whose source names are null), in the order of the sources.
+	 */
+	public List<ValidationResult> validateAll(Iterable<? extends CharSequence> sources) {
+		if (sources == null) {
+			throw new NullPointerException();
+		}
+
+		ValidatorContext context = this.contexts.get();
+		List<ValidationResult> results = new ArrayList<>();
+		try {
+			for (CharSequence sourceCode : sources) {
+				results.add(this.tryValidateSourceCode(null, sourceCode, context));
+			}
+		} finally {
+			context.reset();
+		}
+
+		return results;
+	}
+
+	/**
+	 * Creates a new validation context, which validates sources the way this facade does while reusing its
+	 * state between validations (see {@link ValidatorFacade#tryValidateSourceCode(String, CharSequence,
+	 * ValidatorContext)}).
+	 * @return The new context.
+	 */
+	public ValidatorContext createContext() {
+		return new ValidatorContext(this.parserMode, this.featureRegistry, this.tableMode, this.semanticMode);
+	}
+
+	/**
+	 * Opens an editing session over the given source code. The session re-validates the source after each
+	 * edit, while only re-parsing and re-validating the parts of the source the edit may have affected.
+	 * @param sourceCode The initial source code.
+	 * @return The session.
+	 */
+	public ValidationSession openSession(String sourceCode) {
+		if (sourceCode == null) {
+			throw new NullPointerException();
+		}
+
+		return new ValidationSession(this.parserMode.createParser(this.featureRegistry),
+				new IncrementalSemanticValidator(this.tableMode), sourceCode);
 	}
 
 	// endregion
@@ -64,31 +396,272 @@ public class ValidatorFacade {
 	// region Private API
 
 	/**
-	 * Reads the given file into a string.
-	 * @param filePath The file path to read.
-	 * @return The string containing the file data.
-	 * @throws IOException If the file read operation failed.
+	 * Validates the given source code file (see {@link ValidatorFacade#validateFile(String)}).
+	 * @param sourceFile The source file path.
+	 * @param content The file content, if it was already read (in which case it's being validated rather than
+	 * the file), or null to stream the file into the parser.
+	 * @throws IOException If there was an IO related error.
+	 * @throws SyntaxErrorException If a syntax error was found during the validation process.
+	 * @throws SemanticErrorException If a semantic error was found during the validation process.
 	 */
-	private String readSourceFile(String filePath)
-		throws IOException {
+	private void validateFile(String sourceFile, byte[] content)
+		throws IOException, SyntaxErrorException, SemanticErrorException {
+		long start = System.nanoTime();
+		ValidationMetrics metrics = this.createMetrics(sourceFile);
+		try {
+			if (this.semanticMode == SemanticMode.FUSED) {
+				/* Validate the global statements while the rest of the file is still being parsed, as there's
+				no program to carry the interner from the parser to the validator, it's being handed to both */
+				SymbolInterner interner = new SymbolInterner();
+				SemanticValidator validator = new SemanticValidator(interner, this.tableMode, metrics);
+				this.parseFile(sourceFile, content, interner, metrics,
+						(statement, line) -> validator.acceptGlobalStatement(statement));
+				validator.assertValidity();
+				return;
+			}
+
+			/* Parse the program into an AST */
+			ProgramASTNode tree = this.parseFile(sourceFile, content, new SymbolInterner(), metrics, null);
+
+			/* Make sure the program is valid semantic-wise */
+			new SemanticValidator(tree, this.tableMode, this.semanticMode, metrics).assertValidity();
+		} finally {
+			this.publishMetrics(sourceFile, metrics, start);
+		}
+	}
+
+	/**
+	 * Validates the given source code file, while reporting every semantic problem that's being found into
+	 * the given sink (see {@link ValidatorFacade#reportFileDiagnostics(String, DiagnosticsSink)}).
+	 * @param sourceFile The source file path.
+	 * @param content The file content, if it was already read (in which case it's being validated rather than
+	 * the file), or null to stream the file into the parser.
+	 * @param sink The sink to report the semantic problems into.
+	 * @throws IOException If there was an IO related error.
+	 * @throws SyntaxErrorException If a syntax error was found.
+	 */
+	private void reportFileDiagnostics(String sourceFile, byte[] content, DiagnosticsSink sink)
+		throws IOException, SyntaxErrorException {
+		if (sink == null) {
+			throw new NullPointerException();
+		}
+
+		long start = System.nanoTime();
+		ValidationMetrics metrics = this.createMetrics(sourceFile);
+		try {
+			ProgramASTNode tree = this.parseFile(sourceFile, content, new SymbolInterner(), metrics, null);
+			new SemanticValidator(tree, this.tableMode, metrics).reportDiagnostics(sink);
+		} finally {
+			this.publishMetrics(sourceFile, metrics, start);
+		}
+	}
+
+	/**
+	 * Validates the given source code file without consulting the cache (see
+	 * {@link ValidatorFacade#tryValidateFile(String)}).
+	 * @param sourceFile The source file path.
+	 * @param content The file content, if it was already read, or null to read the file.
+	 * @return The validation result.
+	 */
+	private ValidationResult tryValidateUncachedFile(String sourceFile, byte[] content) {
+		long start = System.nanoTime();
+		try {
+			this.validateFile(sourceFile, content);
+			return ValidationResult.success(sourceFile, System.nanoTime() - start);
+		} catch (IOException e) {
+			return ValidationResult.ioError(sourceFile, e, System.nanoTime() - start);
+		} catch (SyntaxErrorException e) {
+			return ValidationResult.syntaxError(sourceFile, e, System.nanoTime() - start);
+		} catch (SemanticErrorException e) {
+			return ValidationResult.semanticError(sourceFile, e, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Collects the semantic problems of the given source code file without consulting the cache (see
+	 * {@link ValidatorFacade#tryCollectFileDiagnostics(String)}).
+	 * @param sourceFile The source file path.
+	 * @param content The file content, if it was already read, or null to read the file.
+	 * @return The validation result.
+	 */
+	private ValidationResult tryCollectUncachedFileDiagnostics(String sourceFile, byte[] content) {
+		long start = System.nanoTime();
+		try {
+			DiagnosticsCollector collector = new DiagnosticsCollector();
+			this.reportFileDiagnostics(sourceFile, content, collector);
+			return ValidationResult.diagnostics(sourceFile, collector.getDiagnostics(),
+					System.nanoTime() - start);
+		} catch (IOException e) {
+			return ValidationResult.ioError(sourceFile, e, System.nanoTime() - start);
+		} catch (SyntaxErrorException e) {
+			return ValidationResult.syntaxError(sourceFile, e, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Validates the given source code by looking for for syntax errors.
+	 * @param source The name of the validated source, or null if it's unknown.
+	 * @param sourceCode The source code to validate.
+	 * @throws SyntaxErrorException If a syntax error was found during the validation process.
+	 * @throws SemanticErrorException If a semantic error was found during the validation process.
+	 */
+	private void validateSourceCode(String source, String sourceCode)
+		throws SyntaxErrorException, SemanticErrorException {
+		if (sourceCode == null) {
+			throw new NullPointerException();
+		}
+
+		this.validateSourceCode(source, sourceCode, this.createContext());
+	}
+
+	/**
+	 * Validates the given source code over the given context.
+	 * @param source The name of the validated source, or null if it's unknown.
+	 * @param sourceCode The source code to validate.
+	 * @param context The context to validate over.
+	 * @throws SyntaxErrorException If a syntax error was found during the validation process.
+	 * @throws SemanticErrorException If a semantic error was found during the validation process.
+	 */
+	private void validateSourceCode(String source, String sourceCode, ValidatorContext context)
+		throws SyntaxErrorException, SemanticErrorException {
+		long start = System.nanoTime();
+		ValidationMetrics metrics = this.createMetrics(source);
+		try {
+			/* Parse the program into an AST (the source is already in memory, so there's nothing to read) */
+			long parseStart = System.nanoTime();
+			ProgramASTNode tree;
+			try {
+				tree = context.parse(sourceCode, metrics);
+			} finally {
+				if (metrics != null) {
+					metrics.recordRead(sourceCode.length(), 0, 0);
+					metrics.recordParse(System.nanoTime() - parseStart);
+				}
+			}
+
+			/* Make sure the program is valid semantic-wise */
+			context.assertValidity(tree, metrics);
+		} finally {
+			this.publishMetrics(source, metrics, start);
+		}
+	}
+
+	/**
+	 * Parses the given source code file into an AST, or hands its global statements over to the given
+	 * listener while it's being parsed (see {@link SourceParser#parseStatements(LineReader, int, SymbolInterner,
+	 * GlobalStatementListener)}). In the latter case, the recorded parsing time includes the time the listener
+	 * took to process the statements.
+	 * @param sourceFile The source file path.
+	 * @param content The file content, if it was already read (in which case it's being parsed rather than
+	 * the file), or null to stream the file into the parser.
+	 * @param interner The interner the program symbols are being interned by.
+	 * @param metrics The metrics to record the reading and the parsing into, or null if they shouldn't be
+	 * measured.
+	 * @param listener The listener to hand the global statements over to, or null to build the program AST.
+	 * @return The program AST, or null if the statements were handed over to the listener.
+	 * @throws IOException If there was an IO related error.
+	 * @throws SyntaxErrorException If a syntax error was found.
+	 */
+	private ProgramASTNode parseFile(String sourceFile, byte[] content, SymbolInterner interner,
+									 ValidationMetrics metrics, GlobalStatementListener listener)
+		throws IOException, SyntaxErrorException {
+		if (sourceFile == null) {
+			throw new NullPointerException();
+		}
+
 		/* Does this file exists? */
-		File sourceFile = new File(filePath);
-		if (!sourceFile.exists()) {
+		if (content == null && !new File(sourceFile).exists()) {
 			throw new FileNotFoundException();
 		}
 
-		/* Attempt to read the entire file (note we're not using try-catch
-		 * as we want the exceptions, if raised, to fall back). */
-		BufferedReader buffer = new BufferedReader(new FileReader(sourceFile));
-		StringBuilder builder = new StringBuilder();
-		String line;
+		Path path = Paths.get(sourceFile);
+		if (content == null && Files.isDirectory(path)) {
+			throw new FileNotFoundException(new File(sourceFile).getPath() + IS_DIRECTORY_SUFFIX);
+		}
+		if (metrics == null) {
+			try (LineReader reader = openFile(path, content)) {
+				return parse(this.parserMode.createParser(this.featureRegistry), reader, interner, listener);
+			}
+		}
 
-		/* Read every line */
-		while ((line = buffer.readLine()) != null) {
-			builder.append(line).append("\n");
+		/* The file is being read while it's being parsed, so the reading time is being told apart by the
+		reader itself */
+		long bytes = content == null ? Files.size(path) : content.length;
+		long start = System.nanoTime();
+		MeteredLineReader reader = new MeteredLineReader(openFile(path, content));
+		try (reader) {
+			return parse(this.parserMode.createParser(this.featureRegistry, metrics), reader, interner, listener);
+		} finally {
+			metrics.recordRead(bytes, reader.getLines(), reader.getNanos());
+			metrics.recordParse(System.nanoTime() - start - reader.getNanos());
+		}
+	}
+
+	/**
+	 * Opens a reader of the given source file. Only regular files can be mapped, so other files (e.g. pipes)
+	 * are being read into memory first.
+	 * @param path The source file path.
+	 * @param content The file content, if it was already read, or null to read the file.
+	 * @return The reader, which reads the given content (if there's one) rather than the file.
+	 * @throws IOException If the file couldn't be opened.
+	 */
+	private static LineReader openFile(Path path, byte[] content)
+		throws IOException {
+		if (content != null) {
+			return new ByteArrayLineReader(content);
 		}
 
-		return builder.toString();
+		return Files.isRegularFile(path) ? new MappedFileLineReader(path)
+				: new ByteArrayLineReader(Files.readAllBytes(path));
+	}
+
+	/**
+	 * Parses the source code that's being read from the given reader into an AST, or hands its global
+	 * statements over to the given listener.
+	 * @param parser The parser.
+	 * @param reader The source code reader.
+	 * @param interner The interner the program symbols are being interned by.
+	 * @param listener The listener to hand the global statements over to, or null to build the program AST.
+	 * @return The program AST, or null if the statements were handed over to the listener.
+	 * @throws IOException If there was an IO related error.
+	 * @throws SyntaxErrorException If a syntax error was found.
+	 */
+	private static ProgramASTNode parse(SourceParser parser, LineReader reader, SymbolInterner interner,
+										GlobalStatementListener listener)
+		throws IOException, SyntaxErrorException {
+		if (listener == null) {
+			return parser.parse(reader, 1, interner);
+		}
+
+		parser.parseStatements(reader, 1, interner, listener);
+		return null;
+	}
+
+	/**
+	 * Creates the metrics of a new validation, and notifies the listener that the validation started.
+	 * @param source The name of the validated source, or null if it's unknown.
+	 * @return The metrics, or null if the validations aren't being measured.
+	 */
+	private ValidationMetrics createMetrics(String source) {
+		if (this.listener == null) {
+			return null;
+		}
+
+		this.listener.onValidationStarted(source);
+		return new ValidationMetrics();
+	}
+
+	/**
+	 * Completes the given validation metrics, and notifies the listener with them.
+	 * @param source The name of the validated source, or null if it's unknown.
+	 * @param metrics The validation metrics, or null if the validation wasn't measured.
+	 * @param start The validation start time (see {@link System#nanoTime()}).
+	 */
+	private void publishMetrics(String source, ValidationMetrics metrics, long start) {
+		if (metrics != null) {
+			metrics.recordValidation(System.nanoTime() - start);
+			this.listener.onValidationCompleted(source, metrics);
+		}
 	}
 
 	// endregion
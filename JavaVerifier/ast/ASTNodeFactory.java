@@ -1,10 +1,14 @@
 package oop.ex6.ast;
 
-import java.util.LinkedList;
+import oop.ex6.SymbolInterner;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * An abstract factory based class used to instantiate {@link ASTNode}s.
+ * The nodes that refer symbols are being handed over the interner of the program they belong to (see
+ * {@link ProgramASTNode#getInterner()}), which assigns the IDs of the symbols they refer.
  */
 public class ASTNodeFactory {
 	// region Constants
@@ -30,48 +34,58 @@ public class ASTNodeFactory {
 
 	/**
 	 * Constructs a new program {@link ASTNode}.
+	 * @param interner The interner the program symbols are being interned by.
 	 * @return The program container node.
 	 */
-	public static ProgramASTNode createProgram() {
-		return new ProgramASTNode();
+	public static ProgramASTNode createProgram(SymbolInterner interner) {
+		if (interner == null) {
+			throw new NullPointerException();
+		}
+
+		return new ProgramASTNode(interner);
 	}
 
 	/**
 	 * Creates a new assignment {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param variableName The variable name.
 	 * @param initializationValue The variable initialization value.
 	 * @return The created AST node.
 	 */
-	public static AssignmentNode createAssignment(String variableName, String initializationValue) {
-		if (variableName == null) {
+	public static AssignmentNode createAssignment(SymbolInterner interner, String variableName,
+	                                              String initializationValue) {
+		if (interner == null || variableName == null) {
 			throw new NullPointerException();
 		}
 
-		return new AssignmentNode(variableName, initializationValue);
+		return new AssignmentNode(interner, variableName, initializationValue);
 	}
 
 	/**
 	 * Creates a new condition {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param expression The expression to use.
 	 * @return The created AST node.
 	 */
-	public static ConditionNode createCondition(String expression) {
-		if (expression == null) {
+	public static ConditionNode createCondition(SymbolInterner interner, String expression) {
+		if (interner == null || expression == null) {
 			throw new NullPointerException();
 		}
 
-		return new ConditionNode(expression);
+		return new ConditionNode(interner, expression);
 	}
 
 	/**
 	 * Creates a new if statement {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param expressions The conditions.
 	 * @return The created AST node.
 	 */
-	public static IfControlFlowNode createIfStatementFromStrings(List<String> expressions) {
-		List<ConditionNode> conditions = new LinkedList<>();
+	public static IfControlFlowNode createIfStatementFromStrings(SymbolInterner interner,
+	                                                            List<String> expressions) {
+		List<ConditionNode> conditions = new ArrayList<>(expressions.size());
 		for (String expr : expressions) {
-			conditions.add(createCondition(expr));
+			conditions.add(createCondition(interner, expr));
 		}
 
 		return createIfStatement(conditions);
@@ -92,13 +106,15 @@ public class ASTNodeFactory {
 
 	/**
 	 * Creates a new while loop {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param expressions The loop conditions.
 	 * @return The created AST node.
 	 */
-	public static WhileControlFlowNode createWhileLoopFromStrings(List<String> expressions) {
-		List<ConditionNode> conditions = new LinkedList<>();
+	public static WhileControlFlowNode createWhileLoopFromStrings(SymbolInterner interner,
+	                                                              List<String> expressions) {
+		List<ConditionNode> conditions = new ArrayList<>(expressions.size());
 		for (String expr : expressions) {
-			conditions.add(createCondition(expr));
+			conditions.add(createCondition(interner, expr));
 		}
 
 		return createWhileLoop(conditions);
@@ -135,49 +151,53 @@ public class ASTNodeFactory {
 
 	/**
 	 * Creates a new function callee argument {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param type The variable type.
 	 * @param name The variable name.
 	 * @param isFinal True if it's a final argument, false otherwise.
 	 * @return The created {@link ASTNode}.
 	 */
-	public static FunctionArgumentNode createFunctionArgument(String type, String name, boolean isFinal) {
-		if (type == null || name == null) {
+	public static FunctionArgumentNode createFunctionArgument(SymbolInterner interner, String type, String name,
+	                                                          boolean isFinal) {
+		if (interner == null || type == null || name == null) {
 			throw new NullPointerException();
 		}
 
-		return new FunctionArgumentNode(type, name, isFinal);
+		return new FunctionArgumentNode(interner, type, name, isFinal);
 	}
 
 	/**
 	 * Creates a new function declaration {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param name The function name.
 	 * @param arguments The arguments this function accepts.
 	 * @return The created AST node.
 	 */
-	public static FunctionDeclarationNode createFunctionDeclaration(String name,
+	public static FunctionDeclarationNode createFunctionDeclaration(SymbolInterner interner, String name,
 	                                                                List<FunctionArgumentNode> arguments) {
-		if (name == null || arguments == null) {
+		if (interner == null || name == null || arguments == null) {
 			throw new NullPointerException();
 		}
 
-		return new FunctionDeclarationNode(name, arguments);
+		return new FunctionDeclarationNode(interner, name, arguments);
 	}
 
 	/**
 	 * Creates a new variable {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param type The variable type.
 	 * @param variableName The variable name.
 	 * @param initialValue The variable initial value, or null if it wasn't initialized.
 	 * @param isFinal True if the variable marked as "final", false otherwise.
 	 * @return The created {@link ASTNode}.
 	 */
-	public static VariableNode createVariable(String type, String variableName,
+	public static VariableNode createVariable(SymbolInterner interner, String type, String variableName,
 	                                          String initialValue, boolean isFinal) {
-		if (variableName == null) {
+		if (interner == null || variableName == null) {
 			throw new NullPointerException();
 		}
 
-		return new VariableNode(type, variableName, initialValue, isFinal);
+		return new VariableNode(interner, type, variableName, initialValue, isFinal);
 	}
 
 	/**
@@ -190,16 +210,18 @@ public class ASTNodeFactory {
 
 	/**
 	 * Creates a new function invocation {@link ASTNode}.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param functionName The function to trigger.
 	 * @param arguments The names or values of the arguments that was supplied to the function.
 	 * @return The invocation AST node.
 	 */
-	public static InvocationNode createInvocationStatement(String functionName, List<String> arguments) {
-		if (functionName == null || arguments == null) {
+	public static InvocationNode createInvocationStatement(SymbolInterner interner, String functionName,
+	                                                       List<String> arguments) {
+		if (interner == null || functionName == null || arguments == null) {
 			throw new NullPointerException();
 		}
 
-		return new InvocationNode(functionName, arguments);
+		return new InvocationNode(interner, functionName, arguments);
 	}
 
 	// endregion
@@ -1,5 +1,8 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+import oop.ex6.types.LiteralClassification;
+
 /**
  * This class implements an AST node that represents an assignment operation.
  */
@@ -9,21 +12,40 @@ public class AssignmentNode extends StatementNode {
 	 */
 	private final String name;
 
+	/**
+	 * The ID of the variable that's being assigned (see {@link SymbolInterner}).
+	 */
+	private final int nameId;
+
 	/**
 	 * The variable value that's being assigned.
 	 */
 	private final String value;
 
+	/**
+	 * The ID of the variable the value refers, or {@link SymbolInterner#NO_SYMBOL} if the value isn't an
+	 * identifier.
+	 */
+	private final int valueId;
+
+	/**
+	 * The value classification, or null if it wasn't requested yet.
+	 */
+	private LiteralClassification valueClassification;
+
 	/**
 	 * Creates a new assignment AST node.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param name The variable name.
 	 * @param value The variable value.
 	 */
-	AssignmentNode(String name, String value) {
+	AssignmentNode(SymbolInterner interner, String name, String value) {
 		super();
 
 		this.name = name;
+		this.nameId = interner.intern(name);
 		this.value = value;
+		this.valueId = interner.internReference(value);
 	}
 
 	/**
@@ -34,6 +56,14 @@ public class AssignmentNode extends StatementNode {
 		return this.name;
 	}
 
+	/**
+	 * Gets the ID of the variable that's being assigned.
+	 * @return The variable name ID.
+	 */
+	public int getNameId() {
+		return this.nameId;
+	}
+
 	/**
 	 * Gets the variable value.
 	 * @return The variable value.
@@ -42,6 +72,27 @@ public class AssignmentNode extends StatementNode {
 		return this.value;
 	}
 
+	/**
+	 * Gets the ID of the variable the value refers (e.g. "b" in "a = b").
+	 * @return The value ID, or {@link SymbolInterner#NO_SYMBOL} if the value isn't an identifier.
+	 */
+	public int getValueId() {
+		return this.valueId;
+	}
+
+	/**
+	 * Gets the classification of the value (see {@link LiteralClassification#of(CharSequence)}), which is
+	 * being computed once per node.
+	 * @return The value classification.
+	 */
+	public LiteralClassification getValueClassification() {
+		if (this.valueClassification == null) {
+			this.valueClassification = LiteralClassification.of(this.value);
+		}
+
+		return this.valueClassification;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
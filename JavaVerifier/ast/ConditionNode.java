@@ -1,5 +1,8 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+import oop.ex6.types.LiteralClassification;
+
 /**
  * This class implements an AST node that represents a single condition expression (e.g. "true", "a" etc.).
  */
@@ -11,16 +14,29 @@ public class ConditionNode implements ASTNode {
      */
     private final String expression;
 
+    /**
+     * The ID of the variable the expression refers, or {@link SymbolInterner#NO_SYMBOL} if the expression
+     * isn't an identifier.
+     */
+    private final int expressionId;
+
+    /**
+     * The expression classification, or null if it wasn't requested yet.
+     */
+    private LiteralClassification expressionClassification;
+
     // endregion
 
     // region Constructor
 
     /**
      * Initializes a new condition expression.
+     * @param interner The interner the node symbols are being interned by.
      * @param expression The expression string.
      */
-    ConditionNode(String expression) {
+    ConditionNode(SymbolInterner interner, String expression) {
         this.expression = expression;
+        this.expressionId = interner.internReference(expression);
     }
 
     // endregion
@@ -35,6 +51,27 @@ public class ConditionNode implements ASTNode {
         return this.expression;
     }
 
+    /**
+     * Gets the ID of the variable the expression refers (e.g. "a" in "if (a)").
+     * @return The expression ID, or {@link SymbolInterner#NO_SYMBOL} if the expression isn't an identifier.
+     */
+    public int getExpressionId() {
+        return this.expressionId;
+    }
+
+    /**
+     * Gets the classification of the expression (see {@link LiteralClassification#of(CharSequence)}), which is
+     * being computed once per node.
+     * @return The expression classification.
+     */
+    public LiteralClassification getExpressionClassification() {
+        if (this.expressionClassification == null) {
+            this.expressionClassification = LiteralClassification.of(this.expression);
+        }
+
+        return this.expressionClassification;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,5 +1,7 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+
 /**
  * This class implements an AST node that represents a single function declaration (callee) argument.
  */
@@ -9,6 +11,11 @@ public class FunctionArgumentNode implements ASTNode {
 	 */
 	private final String name;
 
+	/**
+	 * The argument name ID (see {@link SymbolInterner}).
+	 */
+	private final int nameId;
+
 	/**
 	 * The argument data type.
 	 */
@@ -21,12 +28,14 @@ public class FunctionArgumentNode implements ASTNode {
 
 	/**
 	 * Creates a new function argument AST node.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param type The variable type.
 	 * @param name The variable name.
 	 * @param isFinal True if it's a final argument, false otherwise.
 	 */
-	FunctionArgumentNode(String type, String name, boolean isFinal) {
+	FunctionArgumentNode(SymbolInterner interner, String type, String name, boolean isFinal) {
 		this.name = name;
+		this.nameId = interner.intern(name);
 		this.type = type;
 		this.isFinal = isFinal;
 	}
@@ -40,6 +49,15 @@ public class FunctionArgumentNode implements ASTNode {
 		return this.name;
 	}
 
+	/**
+	 * Gets the variable name ID.
+	 *
+	 * @return The variable name ID.
+	 */
+	public int getNameId() {
+		return this.nameId;
+	}
+
 	/**
 	 * Gets the variable type.
 	 *
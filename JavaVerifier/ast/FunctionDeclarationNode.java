@@ -1,5 +1,7 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+
 import java.util.List;
 
 /**
@@ -11,6 +13,11 @@ public class FunctionDeclarationNode extends ScopeNode {
 	 */
 	private final String name;
 
+	/**
+	 * The declared function name ID (see {@link SymbolInterner}).
+	 */
+	private final int nameId;
+
 	/**
 	 * The list of arguments this function accepts.
 	 */
@@ -18,13 +25,15 @@ public class FunctionDeclarationNode extends ScopeNode {
 
 	/**
 	 * Creates a new function invocation AST node.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param name The function name.
 	 * @param args The function arguments list.
 	 */
-	FunctionDeclarationNode(String name, List<FunctionArgumentNode> args) {
+	FunctionDeclarationNode(SymbolInterner interner, String name, List<FunctionArgumentNode> args) {
 		super();
 
 		this.name = name;
+		this.nameId = interner.intern(name);
 		this.arguments = args;
 	}
 
@@ -36,6 +45,14 @@ public class FunctionDeclarationNode extends ScopeNode {
 		return this.name;
 	}
 
+	/**
+	 * Gets the function name ID.
+	 * @return The function name ID.
+	 */
+	public int getNameId() {
+		return this.nameId;
+	}
+
 	/**
 	 * Gets the function arguments list.
 	 * @return The function arguments list.
@@ -1,5 +1,8 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+import oop.ex6.types.LiteralClassification;
+
 import java.util.List;
 
 /**
@@ -11,21 +14,45 @@ public class InvocationNode extends StatementNode {
 	 */
 	private final String name;
 
+	/**
+	 * The ID of the function that's being called (see {@link SymbolInterner}).
+	 */
+	private final int nameId;
+
 	/**
 	 * The list of arguments this function accepts.
 	 */
 	private final List<String> arguments;
 
+	/**
+	 * The IDs of the variables the arguments refer, where the arguments that aren't identifiers have
+	 * {@link SymbolInterner#NO_SYMBOL}.
+	 */
+	private final int[] argumentIds;
+
+	/**
+	 * The arguments classifications, where the ones that weren't requested yet are null. As the
+	 * classifications are immutable and shared, threads that race on an entry just store the same instance.
+	 */
+	private final LiteralClassification[] argumentClassifications;
+
 	/**
 	 * Creates a new function invocation AST node.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param name The function name.
 	 * @param args The function arguments list.
 	 */
-	InvocationNode(String name, List<String> args) {
+	InvocationNode(SymbolInterner interner, String name, List<String> args) {
 		super();
 
 		this.name = name;
+		this.nameId = interner.intern(name);
 		this.arguments = args;
+		this.argumentIds = new int[args.size()];
+		for (int i = 0; i < this.argumentIds.length; i++) {
+			this.argumentIds[i] = interner.internReference(args.get(i));
+		}
+		this.argumentClassifications = new LiteralClassification[args.size()];
 	}
 
 	/**
@@ -36,6 +63,14 @@ public class InvocationNode extends StatementNode {
 		return this.name;
 	}
 
+	/**
+	 * Gets the ID of the function that's being called.
+	 * @return The function name ID.
+	 */
+	public int getNameId() {
+		return this.nameId;
+	}
+
 	/**
 	 * Gets the function arguments list.
 	 * @return The function arguments list.
@@ -44,6 +79,33 @@ public class InvocationNode extends StatementNode {
 		return this.arguments;
 	}
 
+	/**
+	 * Gets the ID of the variable the given argument refers.
+	 * @param index The argument index.
+	 * @return The argument ID, or {@link SymbolInterner#NO_SYMBOL} if the argument isn't an identifier.
+	 * @throws IndexOutOfBoundsException If there's no argument at the given index.
+	 */
+	public int getArgumentId(int index) {
+		return this.argumentIds[index];
+	}
+
+	/**
+	 * Gets the classification of the given argument (see {@link LiteralClassification#of(CharSequence)}),
+	 * which is being computed once per argument.
+	 * @param index The argument index.
+	 * @return The argument classification.
+	 * @throws IndexOutOfBoundsException If there's no argument at the given index.
+	 */
+	public LiteralClassification getArgumentClassification(int index) {
+		LiteralClassification classification = this.argumentClassifications[index];
+		if (classification == null) {
+			classification = LiteralClassification.of(this.arguments.get(index));
+			this.argumentClassifications[index] = classification;
+		}
+
+		return classification;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1,21 +1,42 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+
 /**
  * This class implements an AST node that represents the entire program. Thus, this node is being
  * treated as the AST root.
  */
 public class ProgramASTNode extends ScopeNode {
+	// region iVars
+
+	/**
+	 * The interner the program symbols IDs were assigned by.
+	 */
+	private final SymbolInterner interner;
+
+	// endregion
+
 	// region Initializer
 
 	/**
 	 * Initializes a new empty program.
+	 * @param interner The interner the program symbols are being interned by.
 	 */
-	ProgramASTNode() {
+	ProgramASTNode(SymbolInterner interner) {
 		super();
+		this.interner = interner;
 	}
 
 	// endregion
 
+	/**
+	 * Gets the interner the program symbols IDs were assigned by, which the program should be validated with.
+	 * @return The program interner.
+	 */
+	public SymbolInterner getInterner() {
+		return this.interner;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
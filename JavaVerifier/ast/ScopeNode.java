@@ -1,20 +1,107 @@
 package oop.ex6.ast;
 
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 
 /**
  * This class implements an AST node that represents a general scope of code.
+ * The scope keeps track of the source line each of its statements begins in.
+ *
+ * The statements and their lines are being stored in parallel arrays, which grow while the scope is being
+ * parsed and are being trimmed to their exact size once it's closed (see {@link ScopeNode#compact()}).
  */
 public abstract class ScopeNode implements ASTNode, Iterable<ASTNode> {
+	// region Nested Types
+
+	/**
+	 * A read-only list view of the statements.
+	 */
+	private class StatementsView extends AbstractList<ASTNode> implements RandomAccess {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public ASTNode get(int index) {
+			return getStatement(index);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return count;
+		}
+	}
+
+	/**
+	 * A read-only list view of the statements lines.
+	 */
+	private class StatementLinesView extends AbstractList<Integer> implements RandomAccess {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Integer get(int index) {
+			checkIndex(index);
+			return lines[index];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return count;
+		}
+	}
+
+	// endregion
+
+	// region Constants
+
+	/**
+	 * The line number of statements whose source line is unknown.
+	 */
+	public static final int UNKNOWN_LINE = 0;
+
+	/**
+	 * The capacity the storage is being allocated with upon the first appended statement.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/**
+	 * The storage of an empty scope, which is being shared by all of the empty scopes.
+	 */
+	private static final ASTNode[] EMPTY_STATEMENTS = new ASTNode[0];
+
+	/**
+	 * The lines storage of an empty scope.
+	 */
+	private static final int[] EMPTY_LINES = new int[0];
+
+	// endregion
+
 	// region iVars
 
 	/**
-	 * The list of statements this block contains.
+	 * The statements this block contains, where only the first {@link ScopeNode#count} entries are used.
+	 */
+	private ASTNode[] statements;
+
+	/**
+	 * The source line numbers of the statements, in the statements order.
 	 */
-	private final List<ASTNode> statements;
+	private int[] lines;
+
+	/**
+	 * The number of the statements.
+	 */
+	private int count;
 
 	// endregion
 
@@ -25,7 +112,9 @@ public abstract class ScopeNode implements ASTNode, Iterable<ASTNode> {
 	 */
 	ScopeNode() {
 		super();
-		this.statements = new LinkedList<>();
+		this.statements = EMPTY_STATEMENTS;
+		this.lines = EMPTY_LINES;
+		this.count = 0;
 	}
 
 	/**
@@ -34,7 +123,10 @@ public abstract class ScopeNode implements ASTNode, Iterable<ASTNode> {
 	 */
 	ScopeNode(List<ASTNode> nodes) {
 		super();
-		this.statements = nodes;
+		this.statements = nodes.toArray(new ASTNode[0]);
+		this.lines = new int[this.statements.length];
+		this.count = this.statements.length;
+		Arrays.fill(this.lines, UNKNOWN_LINE);
 	}
 
 	/**
@@ -54,26 +146,135 @@ public abstract class ScopeNode implements ASTNode, Iterable<ASTNode> {
 	 * @param node The node to append.
 	 */
 	public void append(ASTNode node) {
+		this.append(node, UNKNOWN_LINE);
+	}
+
+	/**
+	 * Appends a new {@link ASTNode} that begins in the given source line to this scope.
+	 * @param node The node to append.
+	 * @param lineNumber The source line number the node begins in.
+	 */
+	public void append(ASTNode node, int lineNumber) {
 		if (node == null) {
 			throw new NullPointerException();
 		}
 
-		this.statements.add(node);
+		if (this.count == this.statements.length) {
+			int capacity = Math.max(INITIAL_CAPACITY, this.count + (this.count >> 1));
+			this.statements = Arrays.copyOf(this.statements, capacity);
+			this.lines = Arrays.copyOf(this.lines, capacity);
+		}
+
+		this.statements[this.count] = node;
+		this.lines[this.count] = lineNumber;
+		this.count++;
+	}
+
+	/**
+	 * Trims the storage of the statements to their exact number. The parsers call this once the scope is
+	 * closed, so the tree doesn't keep the spare capacity of its scopes. Statements can still be appended
+	 * afterwards.
+	 */
+	public void compact() {
+		if (this.count == this.statements.length) {
+			return;
+		}
+
+		this.statements = this.count == 0 ? EMPTY_STATEMENTS : Arrays.copyOf(this.statements, this.count);
+		this.lines = this.count == 0 ? EMPTY_LINES : Arrays.copyOf(this.lines, this.count);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public Iterator<ASTNode> iterator() {
-		return this.statements.iterator();
+		return new Iterator<ASTNode>() {
+			/**
+			 * The index of the next statement.
+			 */
+			private int index = 0;
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public boolean hasNext() {
+				return this.index < count;
+			}
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public ASTNode next() {
+				if (this.index >= count) {
+					throw new NoSuchElementException();
+				}
+
+				return statements[this.index++];
+			}
+		};
+	}
+
+	/**
+	 * Gets the number of the statements this scope contains.
+	 * @return The number of the statements.
+	 */
+	public int getStatementCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the statement in the given index.
+	 * @param index The statement index.
+	 * @return The statement node.
+	 * @throws IndexOutOfBoundsException If there's no statement in the given index.
+	 */
+	public ASTNode getStatement(int index) {
+		this.checkIndex(index);
+		return this.statements[index];
 	}
 
 	/**
 	 * Gets the scope statements list.
-	 * @return The scope statements list.
+	 * @return A read-only list view of the scope statements, use {@link ScopeNode#append(ASTNode, int)}
+	 * to add statements.
 	 */
 	public List<ASTNode> getStatements() {
-		return this.statements;
+		return new StatementsView();
+	}
+
+	/**
+	 * Gets the source line numbers the statements begin in, in the statements order.
+	 * @return A read-only list view of the statements lines, where statements that were given upon
+	 * construction have {@link ScopeNode#UNKNOWN_LINE}.
+	 */
+	public List<Integer> getStatementLines() {
+		return new StatementLinesView();
+	}
+
+	/**
+	 * Gets the source line number the statement in the given index begins in.
+	 * @param index The statement index.
+	 * @return The line number, or {@link ScopeNode#UNKNOWN_LINE} if it's unknown.
+	 */
+	public int getStatementLine(int index) {
+		return index >= 0 && index < this.count ? this.lines[index] : UNKNOWN_LINE;
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Makes sure the given index refers a statement.
+	 * @param index The statement index.
+	 * @throws IndexOutOfBoundsException If there's no statement in the given index.
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.count) {
+			throw new IndexOutOfBoundsException(index);
+		}
 	}
 
 	// endregion
@@ -1,5 +1,8 @@
 package oop.ex6.ast;
 
+import oop.ex6.SymbolInterner;
+import oop.ex6.types.LiteralClassification;
+
 /**
  * This class implements an AST node that represents a single variable within a variable declaration.
  */
@@ -16,41 +19,61 @@ public class VariableNode implements ASTNode {
 	 */
 	private final String name;
 
+	/**
+	 * The variable name ID (see {@link SymbolInterner}).
+	 */
+	private final int nameId;
+
 	/**
 	 * The stored value.
 	 */
 	private final String value;
 
+	/**
+	 * The ID of the variable the value refers, or {@link SymbolInterner#NO_SYMBOL} if the value isn't an
+	 * identifier.
+	 */
+	private final int valueId;
+
 	/**
 	 * Determines if this is a final variable.
 	 */
 	private final boolean isFinal;
 
+	/**
+	 * The value classification, or null if it wasn't requested yet (or if there's no value).
+	 */
+	private LiteralClassification valueClassification;
+
 	// endregion
 
 	// region Constructor
 
 	/**
 	 * Initializes a new variable node.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param name The variable name.
 	 * @param type The variable type.
 	 * @param value The variable value.
 	 */
-	VariableNode(String type, String name, String value) {
-		this(type, name, value, false);
+	VariableNode(SymbolInterner interner, String type, String name, String value) {
+		this(interner, type, name, value, false);
 	}
 
 	/**
 	 * Initializes a new variable node.
+	 * @param interner The interner the node symbols are being interned by.
 	 * @param type The variable type.
 	 * @param name The variable name.
 	 * @param value The variable value.
 	 * @param isFinal Whether or not this variable marked as "final".
 	 */
-	VariableNode(String type, String name, String value, boolean isFinal) {
+	VariableNode(SymbolInterner interner, String type, String name, String value, boolean isFinal) {
 		this.type = type;
 		this.name = name;
+		this.nameId = interner.intern(name);
 		this.value = value;
+		this.valueId = interner.internReference(value);
 		this.isFinal = isFinal;
 	}
 
@@ -74,6 +97,14 @@ public class VariableNode implements ASTNode {
 		return this.name;
 	}
 
+	/**
+	 * Gets the variable name ID.
+	 * @return The variable name ID.
+	 */
+	public int getNameId() {
+		return this.nameId;
+	}
+
 	/**
 	 * Gets the variable value.
 	 * @return The variable initial value.
@@ -82,6 +113,15 @@ public class VariableNode implements ASTNode {
 		return this.value;
 	}
 
+	/**
+	 * Gets the ID of the variable the value refers (e.g. "b" in "int a = b").
+	 * @return The value ID, or {@link SymbolInterner#NO_SYMBOL} if the variable has no value or if the value
+	 * isn't an identifier.
+	 */
+	public int getValueId() {
+		return this.valueId;
+	}
+
 	/**
 	 * Gets the value that determines whether or not this is a "final" variable.
 	 * @return True if this is a final variable, false otherwise.
@@ -98,6 +138,19 @@ public class VariableNode implements ASTNode {
 		return this.value != null;
 	}
 
+	/**
+	 * Gets the classification of the value (see {@link LiteralClassification#of(CharSequence)}), which is
+	 * being computed once per node.
+	 * @return The value classification, or null if the variable has no value.
+	 */
+	public LiteralClassification getValueClassification() {
+		if (this.valueClassification == null && this.value != null) {
+			this.valueClassification = LiteralClassification.of(this.value);
+		}
+
+		return this.valueClassification;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,60 @@
+package oop.ex6.benchmark;
+
+/**
+ * Describes a single benchmark, that is - an operation whose throughput and allocation rate are being
+ * measured by the {@link BenchmarkRunner}.
+ */
+public abstract class Benchmark {
+	// region iVars
+
+	/**
+	 * The benchmark name.
+	 */
+	private final String name;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new benchmark.
+	 * @param name The benchmark name.
+	 */
+	protected Benchmark(String name) {
+		if (name == null) {
+			throw new NullPointerException();
+		}
+
+		this.name = name;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Gets the benchmark name.
+	 * @return The benchmark name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Runs the measured operation once.
+	 * @return The operation result. The result is being consumed by the runner, so the JIT can't
+	 * eliminate the operation as dead code.
+	 * @throws Exception If the operation failed. Benchmarks inputs are valid, so this aborts the run.
+	 */
+	public abstract Object run() throws Exception;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+	// endregion
+}
@@ -0,0 +1,404 @@
+package oop.ex6.benchmark;
+
+import oop.ex6.SymbolInterner;
+import oop.ex6.ValidatorFacade;
+import oop.ex6.ast.ProgramASTNode;
+import oop.ex6.parser.CodeParser;
+import oop.ex6.parser.ParserMode;
+import oop.ex6.parser.TokenStreamParser;
+import oop.ex6.semantic.ScopedSymbolsTable;
+import oop.ex6.semantic.SemanticValidator;
+import oop.ex6.semantic.SymbolsTable;
+import oop.ex6.semantic.SymbolsTableMode;
+import oop.ex6.semantic.VariableSymbol;
+import oop.ex6.types.DataType;
+import oop.ex6.types.TypeParser;
+import oop.ex6.types.TypeRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks entry point. Runs the benchmarks suite over a synthetic program (see
+ * {@link ProgramGenerator}) and reports the throughput and the allocation rate of each benchmark.
+ *
+ * Usage: BenchmarkRunner [--globals=N] [--functions=N] [--depth=N] [--line-length=N] [--warmup=N]
+ * [--iterations=N] [--time=MS] [--symbols=N] [--filter=TEXT]
+ *
+ * Each benchmark runs the given number of warmup iterations and then the given number of measured
+ * iterations, each iteration repeating the benchmark operation for the given time. Allocations are being
+ * measured per thread, so the numbers are comparable to the ones of a GC profiler.
+ *
+ * This harness is a stopgap rather than a substitute for JMH. The tree has no build descriptor, and it's
+ * being built offline, so the JMH artifacts (and the annotation processor that generates the benchmark
+ * stubs) can't be fetched. The harness has none of the JMH safeguards: there's no forking (every benchmark
+ * shares the JIT profile of the ones that ran before it), the dead code elimination is only prevented by
+ * consuming the results, and the error is the standard deviation of the iterations rather than a confidence
+ * interval. Once the tree has a build, the benchmarks should be ported to a JMH module and this harness
+ * removed.
+ */
+public class BenchmarkRunner {
+	// region Constants
+
+	/**
+	 * The prefix of the option that sets the number of global variables in the program.
+	 */
+	private static final String GLOBALS_OPTION_PREFIX = "--globals=";
+
+	/**
+	 * The prefix of the option that sets the number of functions in the program.
+	 */
+	private static final String FUNCTIONS_OPTION_PREFIX = "--functions=";
+
+	/**
+	 * The prefix of the option that sets the nesting depth of the program functions.
+	 */
+	private static final String DEPTH_OPTION_PREFIX = "--depth=";
+
+	/**
+	 * The prefix of the option that sets the length of the program lines.
+	 */
+	private static final String LINE_LENGTH_OPTION_PREFIX = "--line-length=";
+
+	/**
+	 * The prefix of the option that sets the number of warmup iterations.
+	 */
+	private static final String WARMUP_OPTION_PREFIX = "--warmup=";
+
+	/**
+	 * The prefix of the option that sets the number of measured iterations.
+	 */
+	private static final String ITERATIONS_OPTION_PREFIX = "--iterations=";
+
+	/**
+	 * The prefix of the option that sets the time of each iteration, in milliseconds.
+	 */
+	private static final String TIME_OPTION_PREFIX = "--time=";
+
+	/**
+	 * The prefix of the option that sets the number of symbols in the symbols tables benchmarks.
+	 */
+	private static final String SYMBOLS_OPTION_PREFIX = "--symbols=";
+
+	/**
+	 * The prefix of the option that runs only the benchmarks whose name contains the given text.
+	 */
+	private static final String FILTER_OPTION_PREFIX = "--filter=";
+
+	/**
+	 * The values the {@link TypeParser} benchmarks classify.
+	 */
+	private static final String[] LITERALS_SAMPLES = new String[] {
+			"counter", "_value1", "__", "1abc", "\"Hello world\"", "\"unterminated", "'c'", "'cc'", "42",
+			"-3.5", "true", "someVeryLongIdentifierNameThatKeepsGoing", "\"\"", "''", "a_b_c_d"
+	};
+
+	/**
+	 * The prefix of the names of the symbols tables benchmarks symbols.
+	 */
+	private static final String SYMBOL_NAME_PREFIX = "benchmarkSymbol";
+
+	/**
+	 * The type of the symbols tables benchmarks symbols.
+	 */
+	private static final String SYMBOL_TYPE = "int";
+
+	/**
+	 * The format of the run header.
+	 */
+	private static final String HEADER_FORMAT = "Program: %s (%d lines, %d chars)%n"
+			+ "%d warmup + %d measured iterations of %d ms each%n%n%-22s %16s %12s %14s %14s%n";
+
+	/**
+	 * The format of a single benchmark result.
+	 */
+	private static final String RESULT_FORMAT = "%-22s %16.2f %12.2f %14.2f %14.0f%n";
+
+	/**
+	 * The value that's being reported when the allocations couldn't be measured.
+	 */
+	private static final double UNKNOWN_ALLOCATIONS = Double.NaN;
+
+	// endregion
+
+	// region Shared Variables
+
+	/**
+	 * Consumes the benchmarks results, so the JIT can't eliminate their operations.
+	 */
+	private static volatile Object blackhole;
+
+	// endregion
+
+	/**
+	 * The benchmarks entry point.
+	 * @param args The arguments sent to this program.
+	 */
+	public static void main(String[] args) {
+		/* Parse the options */
+		int globals = 100, functions = 100, depth = 4, lineLength = 60;
+		int warmup = 3, iterations = 5, time = 1000, symbols = 16384;
+		String filter = "";
+		for (String arg : args) {
+			if (arg.startsWith(GLOBALS_OPTION_PREFIX)) {
+				globals = Integer.parseInt(arg.substring(GLOBALS_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(FUNCTIONS_OPTION_PREFIX)) {
+				functions = Integer.parseInt(arg.substring(FUNCTIONS_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(DEPTH_OPTION_PREFIX)) {
+				depth = Integer.parseInt(arg.substring(DEPTH_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(LINE_LENGTH_OPTION_PREFIX)) {
+				lineLength = Integer.parseInt(arg.substring(LINE_LENGTH_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(WARMUP_OPTION_PREFIX)) {
+				warmup = Integer.parseInt(arg.substring(WARMUP_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(ITERATIONS_OPTION_PREFIX)) {
+				iterations = Integer.parseInt(arg.substring(ITERATIONS_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(TIME_OPTION_PREFIX)) {
+				time = Integer.parseInt(arg.substring(TIME_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(SYMBOLS_OPTION_PREFIX)) {
+				symbols = Integer.parseInt(arg.substring(SYMBOLS_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(FILTER_OPTION_PREFIX)) {
+				filter = arg.substring(FILTER_OPTION_PREFIX.length());
+			} else {
+				throw new IllegalArgumentException(arg);
+			}
+		}
+
+		/* Generate the program and make sure it's valid, as invalid programs don't measure the whole work */
+		ProgramGenerator generator = new ProgramGenerator(globals, functions, depth, lineLength);
+		String program = generator.generate();
+		try {
+			new ValidatorFacade().validateSourceCode(program);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+
+		System.out.printf(HEADER_FORMAT, generator, program.split("\n").length, program.length(),
+				warmup, iterations, time, "Benchmark", "ops/s", "error", "alloc MB/s", "alloc B/op");
+		for (Benchmark benchmark : createSuite(program, symbols)) {
+			if (benchmark.getName().contains(filter)) {
+				runBenchmark(benchmark, warmup, iterations, time);
+			}
+		}
+	}
+
+	/**
+	 * Creates the benchmarks suite.
+	 * @param program The program source code.
+	 * @param symbols The number of symbols in the symbols tables benchmarks.
+	 * @return The benchmarks list.
+	 */
+	private static List<Benchmark> createSuite(final String program, int symbols) {
+		final ProgramASTNode tree;
+		try {
+			tree = new CodeParser().parse(program);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+
+		List<Benchmark> suite = new ArrayList<>();
+		suite.add(new Benchmark("parse.line") {
+			@Override
+			public Object run() throws Exception {
+				return new CodeParser().parse(program);
+			}
+		});
+		suite.add(new Benchmark("parse.token") {
+			@Override
+			public Object run() throws Exception {
+				return new TokenStreamParser().parse(program);
+			}
+		});
+		for (final SymbolsTableMode mode : SymbolsTableMode.values()) {
+			suite.add(new Benchmark("semantic." + mode) {
+				@Override
+				public Object run() throws Exception {
+					SemanticValidator validator = new SemanticValidator(tree, mode);
+					validator.assertValidity();
+					return validator;
+				}
+			});
+		}
+		addSymbolsTablesBenchmarks(suite, symbols);
+		suite.add(new Benchmark("types.isIdentifier") {
+			@Override
+			public Object run() {
+				int count = 0;
+				for (String sample : LITERALS_SAMPLES) {
+					count += TypeParser.isIdentifier(sample) ? 1 : 0;
+				}
+				return count;
+			}
+		});
+		suite.add(new Benchmark("types.isString") {
+			@Override
+			public Object run() {
+				int count = 0;
+				for (String sample : LITERALS_SAMPLES) {
+					count += TypeParser.isString(sample) ? 1 : 0;
+				}
+				return count;
+			}
+		});
+		suite.add(new Benchmark("types.isChar") {
+			@Override
+			public Object run() {
+				int count = 0;
+				for (String sample : LITERALS_SAMPLES) {
+					count += TypeParser.isChar(sample) ? 1 : 0;
+				}
+				return count;
+			}
+		});
+		final List<String> sources = Collections.singletonList(program);
+		for (final ParserMode mode : ParserMode.values()) {
+			final ValidatorFacade facade = new ValidatorFacade(mode);
+			suite.add(new Benchmark("facade." + mode) {
+				@Override
+				public Object run() throws Exception {
+					facade.validateSourceCode(program);
+					return facade;
+				}
+			});
+			suite.add(new Benchmark("context." + mode) {
+				@Override
+				public Object run() {
+					return facade.validateAll(sources);
+				}
+			});
+		}
+
+		return suite;
+	}
+
+	/**
+	 * Adds the symbols tables benchmarks to the given suite. Each table holds the given number of global
+	 * symbols and is being looked up from a nested scope, so the lookups that are linear in the number of
+	 * symbols (or in the depth) stand out.
+	 * @param suite The benchmarks suite.
+	 * @param symbols The number of symbols in each table.
+	 */
+	private static void addSymbolsTablesBenchmarks(List<Benchmark> suite, int symbols) {
+		DataType type = TypeRegistry.factory(SYMBOL_TYPE);
+		SymbolInterner interner = new SymbolInterner();
+		final String[] names = new String[symbols];
+		final int[] ids = new int[symbols];
+		for (int i = 0; i < symbols; i++) {
+			names[i] = SYMBOL_NAME_PREFIX + i;
+			ids[i] = interner.intern(names[i]);
+		}
+
+		for (SymbolsTableMode mode : SymbolsTableMode.values()) {
+			final ScopedSymbolsTable<VariableSymbol> table = mode.createTable(interner);
+			for (int i = 0; i < symbols; i++) {
+				table.put(new VariableSymbol(names[i], ids[i], type));
+			}
+			table.pushState();
+			table.pushState();
+
+			suite.add(new Benchmark("symbols." + mode + ".get") {
+				@Override
+				public Object run() {
+					int count = 0;
+					for (String name : names) {
+						count += table.get(name) != null ? 1 : 0;
+					}
+					return count;
+				}
+			});
+			suite.add(new Benchmark("symbols." + mode + ".global") {
+				@Override
+				public Object run() {
+					int count = 0;
+					for (int id : ids) {
+						count += table.getById(id, 1) != null ? 1 : 0;
+					}
+					return count;
+				}
+			});
+		}
+
+		/* The table as a plain map, as it's being used by the code that isn't aware of the scopes */
+		final SymbolsTable<VariableSymbol> map = new SymbolsTable<>(interner);
+		for (int i = 0; i < symbols; i++) {
+			map.put(new VariableSymbol(names[i], ids[i], type));
+		}
+
+		suite.add(new Benchmark("symbols.map.containsKey") {
+			@Override
+			public Object run() {
+				int count = 0;
+				for (String name : names) {
+					count += map.containsKey(name) ? 1 : 0;
+				}
+				return count;
+			}
+		});
+		suite.add(new Benchmark("symbols.map.remove") {
+			@Override
+			public Object run() {
+				for (String name : names) {
+					map.put(name, map.remove(name));
+				}
+				return map;
+			}
+		});
+	}
+
+	/**
+	 * Runs the given benchmark and prints its results.
+	 * @param benchmark The benchmark.
+	 * @param warmup The number of warmup iterations.
+	 * @param iterations The number of measured iterations.
+	 * @param time The time of each iteration, in milliseconds.
+	 */
+	private static void runBenchmark(Benchmark benchmark, int warmup, int iterations, int time) {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean
+				? (com.sun.management.ThreadMXBean) threads : null;
+		long threadId = Thread.currentThread().getId();
+
+		double[] throughputs = new double[iterations];
+		long totalOperations = 0, totalNanos = 0, totalBytes = 0;
+		for (int i = -warmup; i < iterations; i++) {
+			long bytes = allocations == null ? 0 : allocations.getThreadAllocatedBytes(threadId);
+			long start = System.nanoTime(), deadline = start + TimeUnit.MILLISECONDS.toNanos(time);
+			long operations = 0, now;
+			try {
+				do {
+					blackhole = benchmark.run();
+					operations++;
+				} while ((now = System.nanoTime()) < deadline);
+			} catch (Exception e) {
+				throw new IllegalStateException(benchmark.getName(), e);
+			}
+
+			/* Warmup iterations aren't being measured */
+			if (i >= 0) {
+				throughputs[i] = operations * (double) TimeUnit.SECONDS.toNanos(1) / (now - start);
+				totalOperations += operations;
+				totalNanos += now - start;
+				totalBytes += allocations == null ? 0 : allocations.getThreadAllocatedBytes(threadId) - bytes;
+			}
+		}
+
+		/* Compute the mean throughput, its standard deviation and the allocation rate */
+		double mean = 0, variance = 0;
+		for (double throughput : throughputs) {
+			mean += throughput / iterations;
+		}
+		for (double throughput : throughputs) {
+			variance += (throughput - mean) * (throughput - mean) / Math.max(iterations - 1, 1);
+		}
+
+		double allocationRate = allocations == null ? UNKNOWN_ALLOCATIONS
+				: totalBytes / (1024.0 * 1024.0) / (totalNanos / (double) TimeUnit.SECONDS.toNanos(1));
+		double bytesPerOperation = allocations == null ? UNKNOWN_ALLOCATIONS
+				: totalBytes / (double) totalOperations;
+		System.out.printf(RESULT_FORMAT, benchmark.getName(), mean, Math.sqrt(variance), allocationRate,
+				bytesPerOperation);
+	}
+}
@@ -0,0 +1,260 @@
+package oop.ex6.benchmark;
+
+import oop.ex6.PatternUtilities;
+import oop.ex6.Token;
+import oop.ex6.types.TypeParser;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A differential checker of the hand-coded literals recognition (see {@link oop.ex6.types.LiteralRecognizer}).
+ * Runs each of the {@link TypeParser} predicates and the regular expression it replaced over fuzzed inputs,
+ * and reports every input the two disagree on. The process exits with a non-zero status if there was any
+ * disagreement, so the check can gate changes to the recognizer.
+ *
+ * Usage: LiteralRecognizerCheck [--inputs=N] [--seed=N] [--max-length=N]
+ *
+ * The inputs are both random strings over an alphabet of the characters the literals are made of (and a few
+ * the regular expressions treat specially, e.g. line terminators), and mutations of valid literals.
+ */
+public class LiteralRecognizerCheck {
+	// region Constants
+
+	/**
+	 * The prefix of the option that sets the number of checked inputs.
+	 */
+	private static final String INPUTS_OPTION_PREFIX = "--inputs=";
+
+	/**
+	 * The prefix of the option that sets the seed of the inputs generator.
+	 */
+	private static final String SEED_OPTION_PREFIX = "--seed=";
+
+	/**
+	 * The prefix of the option that sets the maximal length of the random inputs.
+	 */
+	private static final String MAX_LENGTH_OPTION_PREFIX = "--max-length=";
+
+	/**
+	 * The characters the random inputs are being made of.
+	 */
+	private static final String ALPHABET = "aZx_09-.'\"\\ \t\n\r\u000B\u0085\u2028\u00e9\u0660tfrueals7";
+
+	/**
+	 * Valid literals, which're being mutated into inputs that are close to the literals boundaries.
+	 */
+	private static final String[] LITERALS_SAMPLES = new String[] {
+			"counter", "_value1", "__", "a", "42", "-7", "3.14", "-0.5", ".5", "5.", "-.5", "true", "false",
+			"'c'", "'\\n'", "'\\x4F'", "'\\123'", "'\\''", "\"\"", "\"Hello world\"", "\"a\\\"b\"", "\"\\\\\""
+	};
+
+	/**
+	 * The number of disagreements that're being printed before the rest are only being counted.
+	 */
+	private static final int MAX_REPORTED_MISMATCHES = 20;
+
+	/**
+	 * The format of a single disagreement.
+	 */
+	private static final String MISMATCH_FORMAT = "%-12s %-24s regex=%-5b recognizer=%b%n";
+
+	/**
+	 * The format of the run summary.
+	 */
+	private static final String SUMMARY_FORMAT = "%d inputs, %d predicates each: %d mismatches%n";
+
+	/**
+	 * The regular expression {@link TypeParser#isIdentifier(String)} replaced.
+	 */
+	private static final Pattern IDENTIFIER_PATTERN
+			= Pattern.compile("^([a-zA-Z]|_(?=[a-zA-Z0-9_]))[a-zA-Z0-9_]*$");
+
+	/**
+	 * The regular expression {@link TypeParser#isInteger(String)} replaced.
+	 */
+	private static final Pattern INTEGER_PATTERN = Pattern.compile("^-?\\d+$");
+
+	/**
+	 * The regular expression {@link TypeParser#isDouble(String)} replaced.
+	 */
+	private static final Pattern DOUBLE_PATTERN = Pattern.compile("^-?\\d+\\.\\d*|\\.\\d+|\\d+$");
+
+	/**
+	 * The regular expression {@link TypeParser#isBoolean(String)} replaced.
+	 */
+	private static final Pattern BOOLEAN_PATTERN = Pattern.compile("^-?\\d+\\.\\d*|-?\\.\\d+|-?\\d+|"
+			+ PatternUtilities.quote(Token.TRUE.toString(), Token.FALSE.toString()) + "$");
+
+	/**
+	 * The regular expression {@link TypeParser#isChar(String)} replaced.
+	 */
+	private static final Pattern CHAR_PATTERN
+			= Pattern.compile("^'(?:\\\\.|\\\\[0-7]{1,3}|\\\\x[a-fA-F0-9]{1,2}|[^\\\\\\'\\n])'$");
+
+	/**
+	 * The regular expression {@link TypeParser#isString(String)} replaced.
+	 */
+	private static final Pattern STRING_PATTERN = Pattern.compile("^([\"])(?:(?=(\\\\?))\\2.)*?\\1");
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes a checked predicate, that is - a {@link TypeParser} predicate and the regular expression
+	 * it replaced.
+	 */
+	private static class CheckedPredicate {
+		// region iVars
+
+		/**
+		 * The predicate name.
+		 */
+		private final String name;
+
+		/**
+		 * The regular expression the predicate replaced.
+		 */
+		private final Pattern pattern;
+
+		/**
+		 * The predicate.
+		 */
+		private final Predicate<String> predicate;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new checked predicate.
+		 * @param name The predicate name.
+		 * @param pattern The regular expression the predicate replaced.
+		 * @param predicate The predicate.
+		 */
+		CheckedPredicate(String name, Pattern pattern, Predicate<String> predicate) {
+			this.name = name;
+			this.pattern = pattern;
+			this.predicate = predicate;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	/**
+	 * The checker entry point.
+	 * @param args The arguments sent to this program.
+	 */
+	public static void main(String[] args) {
+		/* Parse the options */
+		int inputs = 1000000, maxLength = 8;
+		long seed = 1;
+		for (String arg : args) {
+			if (arg.startsWith(INPUTS_OPTION_PREFIX)) {
+				inputs = Integer.parseInt(arg.substring(INPUTS_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(SEED_OPTION_PREFIX)) {
+				seed = Long.parseLong(arg.substring(SEED_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(MAX_LENGTH_OPTION_PREFIX)) {
+				maxLength = Integer.parseInt(arg.substring(MAX_LENGTH_OPTION_PREFIX.length()));
+			} else {
+				throw new IllegalArgumentException(arg);
+			}
+		}
+
+		CheckedPredicate[] predicates = new CheckedPredicate[] {
+				new CheckedPredicate("isIdentifier", IDENTIFIER_PATTERN, TypeParser::isIdentifier),
+				new CheckedPredicate("isInteger", INTEGER_PATTERN, TypeParser::isInteger),
+				new CheckedPredicate("isDouble", DOUBLE_PATTERN, TypeParser::isDouble),
+				new CheckedPredicate("isBoolean", BOOLEAN_PATTERN, TypeParser::isBoolean),
+				new CheckedPredicate("isChar", CHAR_PATTERN, TypeParser::isChar),
+				new CheckedPredicate("isString", STRING_PATTERN, TypeParser::isString)
+		};
+
+		/* Compare the predicates over the inputs */
+		Random random = new Random(seed);
+		long mismatches = 0;
+		for (int i = 0; i < inputs; i++) {
+			String input = random.nextBoolean() ? generateInput(random, maxLength) : mutateLiteral(random);
+			for (CheckedPredicate checked : predicates) {
+				/* The predicates were being applied on the trimmed text */
+				boolean expected = checked.pattern.matcher(input.trim()).matches();
+				boolean actual = checked.predicate.test(input);
+				if (expected != actual && ++mismatches <= MAX_REPORTED_MISMATCHES) {
+					System.out.printf(MISMATCH_FORMAT, checked.name, escape(input), expected, actual);
+				}
+			}
+		}
+
+		System.out.printf(SUMMARY_FORMAT, inputs, predicates.length, mismatches);
+		if (mismatches != 0) {
+			System.exit(1);
+		}
+	}
+
+	// region Private API
+
+	/**
+	 * Generates a random input over the checked alphabet.
+	 * @param random The random numbers generator.
+	 * @param maxLength The maximal length of the input.
+	 * @return The generated input.
+	 */
+	private static String generateInput(Random random, int maxLength) {
+		int length = random.nextInt(maxLength + 1);
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Mutates a random valid literal, by inserting, removing or replacing one of its characters, or by
+	 * leaving it as is.
+	 * @param random The random numbers generator.
+	 * @return The mutated literal.
+	 */
+	private static String mutateLiteral(Random random) {
+		String literal = LITERALS_SAMPLES[random.nextInt(LITERALS_SAMPLES.length)];
+		int index = random.nextInt(literal.length() + 1);
+		char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		switch (random.nextInt(4)) {
+			case 0:
+				return literal.substring(0, index) + c + literal.substring(index);
+			case 1:
+				return index == literal.length() ? literal
+						: literal.substring(0, index) + literal.substring(index + 1);
+			case 2:
+				return index == literal.length() ? literal + c
+						: literal.substring(0, index) + c + literal.substring(index + 1);
+			default:
+				return literal;
+		}
+	}
+
+	/**
+	 * Escapes the invisible characters of the given input, so it can be printed on a single line.
+	 * @param input The input.
+	 * @return The escaped input, within brackets.
+	 */
+	private static String escape(String input) {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < input.length(); i++) {
+			char c = input.charAt(i);
+			if (c < ' ' || c > '~') {
+				builder.append(String.format("\\u%04x", (int) c));
+			} else {
+				builder.append(c);
+			}
+		}
+
+		return builder.append(']').toString();
+	}
+
+	// endregion
+}
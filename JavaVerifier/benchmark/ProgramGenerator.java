@@ -0,0 +1,200 @@
+package oop.ex6.benchmark;
+
+import oop.ex6.Token;
+
+/**
+ * Generates synthetic, valid, s-Java programs of a parameterised size, to be used as benchmarks inputs.
+ *
+ * The program declares the requested number of global variables (of all of the available types), followed
+ * by the requested number of functions. Each function body nests if / while blocks up to the requested
+ * depth, assigns and reads the global variables and invokes the previous function. The string literals of
+ * the programs are being padded so the program lines are about the requested length.
+ */
+public class ProgramGenerator {
+	// region Constants
+
+	/**
+	 * The types of the generated global variables, in a round-robin order.
+	 */
+	private static final Token[] GLOBAL_TYPES = new Token[] {
+			Token.TYPE_INT, Token.TYPE_DOUBLE, Token.TYPE_BOOLEAN, Token.TYPE_STRING, Token.TYPE_CHAR
+	};
+
+	/**
+	 * The values of the generated global variables, matching {@link ProgramGenerator#GLOBAL_TYPES}.
+	 */
+	private static final String[] GLOBAL_VALUES = new String[] { "42", "3.5", "true", null, "'c'" };
+
+	/**
+	 * The indentation of a single nesting level.
+	 */
+	private static final String INDENTATION = "    ";
+
+	/**
+	 * The character the string literals are being padded with.
+	 */
+	private static final char PADDING = 'x';
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The number of global variables.
+	 */
+	private final int globals;
+
+	/**
+	 * The number of functions.
+	 */
+	private final int functions;
+
+	/**
+	 * The nesting depth of the blocks in each function.
+	 */
+	private final int depth;
+
+	/**
+	 * The approximated length of the program lines.
+	 */
+	private final int lineLength;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new program generator.
+	 * @param globals The number of global variables (at least one of each type is always declared).
+	 * @param functions The number of functions.
+	 * @param depth The nesting depth of the blocks in each function.
+	 * @param lineLength The approximated length of the program lines.
+	 * @throws IllegalArgumentException If one of the sizes is negative.
+	 */
+	public ProgramGenerator(int globals, int functions, int depth, int lineLength) {
+		if (globals < 0 || functions < 0 || depth < 0 || lineLength < 0) {
+			throw new IllegalArgumentException();
+		}
+
+		this.globals = Math.max(globals, GLOBAL_TYPES.length);
+		this.functions = functions;
+		this.depth = depth;
+		this.lineLength = lineLength;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Generates the program.
+	 * @return The program source code.
+	 */
+	public String generate() {
+		StringBuilder builder = new StringBuilder();
+
+		/* Globals */
+		for (int i = 0; i < this.globals; i++) {
+			Token type = GLOBAL_TYPES[i % GLOBAL_TYPES.length];
+			String declaration = type + " " + globalName(i) + " " + Token.OP_ASSIGNMENT + " ";
+			String value = GLOBAL_VALUES[i % GLOBAL_TYPES.length];
+			appendLine(builder, 0, declaration + (value == null ? this.stringLiteral(declaration.length()) : value)
+					+ Token.SEMICOLON);
+		}
+
+		/* Functions */
+		for (int i = 0; i < this.functions; i++) {
+			this.appendFunction(builder, i);
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("globals=%d, functions=%d, depth=%d, line-length=%d",
+				this.globals, this.functions, this.depth, this.lineLength);
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Appends the given function to the program.
+	 * @param builder The program builder.
+	 * @param index The function index.
+	 */
+	private void appendFunction(StringBuilder builder, int index) {
+		appendLine(builder, 0, "void f" + index + "(int a, final String s, boolean b) {");
+		appendLine(builder, 0, Token.COMMENT + " Function number " + index);
+
+		/* Locals */
+		String declaration = "String text = ";
+		appendLine(builder, 1, declaration + this.stringLiteral(declaration.length() + INDENTATION.length())
+				+ Token.SEMICOLON);
+		appendLine(builder, 1, "int x = a, y, z = " + globalName(0) + ";");
+		appendLine(builder, 1, "double d = x;");
+
+		/* Nested blocks */
+		for (int level = 1; level <= this.depth; level++) {
+			String keyword = level % 2 == 0 ? Token.WHILE.toString() : Token.IF.toString();
+			appendLine(builder, level, keyword + " (b || " + globalName(2) + " && d) {");
+			appendLine(builder, level + 1, "y = x;");
+			appendLine(builder, level + 1, "d = " + globalName(1) + ";");
+			appendLine(builder, level + 1, globalName(3) + " = text;");
+		}
+		for (int level = this.depth; level >= 1; level--) {
+			appendLine(builder, level, Token.RIGHT_CURLY_PREN.toString());
+		}
+
+		/* Invocation & return */
+		if (index > 0) {
+			appendLine(builder, 1, "f" + (index - 1) + "(x, text, " + globalName(2) + ");");
+		}
+		appendLine(builder, 1, Token.RETURN.toString() + Token.SEMICOLON);
+		appendLine(builder, 0, Token.RIGHT_CURLY_PREN.toString());
+	}
+
+	/**
+	 * Creates a string literal that pads a line with the given prefix length to the line length.
+	 * @param prefixLength The length of the line before the literal.
+	 * @return The string literal.
+	 */
+	private String stringLiteral(int prefixLength) {
+		StringBuilder literal = new StringBuilder().append('"');
+		for (int i = prefixLength + 3; i < this.lineLength; i++) {
+			literal.append(PADDING);
+		}
+
+		return literal.append('"').toString();
+	}
+
+	/**
+	 * Gets the name of the given global variable.
+	 * @param index The global variable index.
+	 * @return The variable name.
+	 */
+	private static String globalName(int index) {
+		return "g" + index;
+	}
+
+	/**
+	 * Appends the given line to the program.
+	 * @param builder The program builder.
+	 * @param level The line nesting level.
+	 * @param line The line content.
+	 */
+	private static void appendLine(StringBuilder builder, int level, String line) {
+		for (int i = 0; i < level; i++) {
+			builder.append(INDENTATION);
+		}
+
+		builder.append(line).append('\n');
+	}
+
+	// endregion
+}
@@ -0,0 +1,334 @@
+package oop.ex6.benchmark;
+
+import oop.ex6.ValidatorFacade;
+import oop.ex6.server.ServerProtocol;
+import oop.ex6.server.ValidationServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A conformance checker of the {@link ValidationServer} requests handling. Starts a server on a Unix domain
+ * socket of a temporary directory, sends it a scripted sequence of well-formed and malformed requests over a
+ * single connection, and compares the code of each response with the expected one. Malformed requests, and
+ * requests of files outside of the temporary directory (which is the server files root), are expected to be
+ * answered by an I/O error code, without dropping the connection. The process exits with a
+ * non-zero status if any of the responses is unexpected, so the check can gate changes to the server.
+ * The server addresses resolution is being checked as well, as addresses that can't be bound (e.g. ports
+ * out of range) are expected to be rejected before the server starts.
+ *
+ * Usage: ServerProtocolCheck
+ */
+public class ServerProtocolCheck {
+	// region Constants
+
+	/**
+	 * The name of the server socket file, in the temporary directory.
+	 */
+	private static final String SOCKET_FILE_NAME = "check.sock";
+
+	/**
+	 * The name of the source file, in the temporary directory.
+	 */
+	private static final String SOURCE_FILE_NAME = "valid.sjava";
+
+	/**
+	 * The name of the symbolic link to the file outside of the temporary directory, in the temporary directory.
+	 */
+	private static final String LINK_FILE_NAME = "link.sjava";
+
+	/**
+	 * The suffix of the source file outside of the temporary directory.
+	 */
+	private static final String SOURCE_FILE_SUFFIX = ".sjava";
+
+	/**
+	 * The content of the source files.
+	 */
+	private static final String SOURCE_FILE_CONTENT = "int a = 1;\n";
+
+	/**
+	 * The prefix of the temporary directory name.
+	 */
+	private static final String DIRECTORY_PREFIX = "sjavac-check";
+
+	/**
+	 * The number of worker threads of the checked server.
+	 */
+	private static final int SERVER_THREADS = 2;
+
+	/**
+	 * The time (in milliseconds) to wait for the server to start listening, or to stop.
+	 */
+	private static final long SERVER_TIMEOUT_MILLIS = 10000;
+
+	/**
+	 * The time (in milliseconds) between connection attempts, while the server is starting.
+	 */
+	private static final long CONNECT_RETRY_MILLIS = 20;
+
+	/**
+	 * The code of a successful response.
+	 */
+	private static final int SUCCESS_CODE = 0;
+
+	/**
+	 * The code of a response to an invalid program.
+	 */
+	private static final int FAILURE_CODE = 1;
+
+	/**
+	 * The code of a response to a malformed request.
+	 */
+	private static final int IO_ERROR_CODE = 2;
+
+	/**
+	 * The format of a single case result.
+	 */
+	private static final String RESULT_FORMAT = "%-28s expected=%d actual=%d%s%n";
+
+	/**
+	 * The marker of a case whose response is unexpected.
+	 */
+	private static final String FAILURE_MARKER = "  <- unexpected";
+
+	/**
+	 * The format of the run summary.
+	 */
+	private static final String SUMMARY_FORMAT = "%d of %d requests were answered unexpectedly%n";
+
+	/**
+	 * The server addresses that're expected to be resolved.
+	 */
+	private static final String[] VALID_ADDRESSES = new String[] { "0", "7878", "65535", "/tmp/sjavac.sock" };
+
+	/**
+	 * The server addresses that're expected to be rejected.
+	 */
+	private static final String[] INVALID_ADDRESSES = new String[] { "65536", "99999", "99999999999999999999" };
+
+	/**
+	 * The format of a single address result.
+	 */
+	private static final String ADDRESS_FORMAT = "address %-20s expected=%-8s actual=%s%s%n";
+
+	/**
+	 * The format of the addresses summary.
+	 */
+	private static final String ADDRESSES_SUMMARY_FORMAT = "%d of %d addresses were resolved unexpectedly%n";
+
+	/**
+	 * The message that's being shown if the server didn't stop after it was shut down.
+	 */
+	private static final String NOT_STOPPED_MESSAGE = "The server didn't stop after it was shut down.";
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes a checked request, that is - the lines that're being sent and the expected response code.
+	 */
+	private static class CheckedRequest {
+		// region iVars
+
+		/**
+		 * The request name.
+		 */
+		private final String name;
+
+		/**
+		 * The request lines, the command line first.
+		 */
+		private final String[] lines;
+
+		/**
+		 * The expected response code.
+		 */
+		private final int expectedCode;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new checked request.
+		 * @param name The request name.
+		 * @param expectedCode The expected response code.
+		 * @param lines The request lines, the command line first.
+		 */
+		CheckedRequest(String name, int expectedCode, String... lines) {
+			this.name = name;
+			this.expectedCode = expectedCode;
+			this.lines = lines;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	/**
+	 * The checker entry point.
+	 * @param args The arguments sent to this program.
+	 * @throws Exception If the server couldn't be started or reached.
+	 */
+	public static void main(String[] args)
+		throws Exception {
+		if (args.length != 0) {
+			throw new IllegalArgumentException(args[0]);
+		}
+
+		/* Check the addresses resolution */
+		int addressFailures = 0;
+		for (String address : VALID_ADDRESSES) {
+			addressFailures += checkAddress(address, true) ? 0 : 1;
+		}
+		for (String address : INVALID_ADDRESSES) {
+			addressFailures += checkAddress(address, false) ? 0 : 1;
+		}
+		System.out.printf(ADDRESSES_SUMMARY_FORMAT, addressFailures,
+				VALID_ADDRESSES.length + INVALID_ADDRESSES.length);
+
+		/* Start the server, with the temporary directory as its files root */
+		Path directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+		Path sourceFile = Files.writeString(directory.resolve(SOURCE_FILE_NAME), SOURCE_FILE_CONTENT);
+		Path outsideFile = Files.writeString(Files.createTempFile(DIRECTORY_PREFIX, SOURCE_FILE_SUFFIX),
+				SOURCE_FILE_CONTENT);
+		Path linkFile = Files.createSymbolicLink(directory.resolve(LINK_FILE_NAME), outsideFile);
+		String address = directory.resolve(SOCKET_FILE_NAME).toString();
+		ValidationServer server = new ValidationServer(new ValidatorFacade(), SERVER_THREADS, directory);
+		Thread serverThread = new Thread(() -> {
+			try {
+				server.serve(address);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+		serverThread.setDaemon(true);
+		serverThread.start();
+
+		CheckedRequest[] requests = new CheckedRequest[] {
+				new CheckedRequest("ping", SUCCESS_CODE, ServerProtocol.PING_COMMAND),
+				new CheckedRequest("valid source", SUCCESS_CODE, "SOURCE 1", "int a = 1;"),
+				new CheckedRequest("invalid source", FAILURE_CODE, "SOURCE 1", "int a = ;"),
+				new CheckedRequest("empty source", SUCCESS_CODE, "SOURCE 0"),
+				new CheckedRequest("negative count", IO_ERROR_CODE, "SOURCE -3"),
+				new CheckedRequest("ping after negative count", SUCCESS_CODE, ServerProtocol.PING_COMMAND),
+				new CheckedRequest("non-numeric count", IO_ERROR_CODE, "SOURCE three"),
+				new CheckedRequest("missing count", IO_ERROR_CODE, ServerProtocol.SOURCE_COMMAND),
+				new CheckedRequest("ping with an argument", IO_ERROR_CODE, "PING 1"),
+				new CheckedRequest("unknown command", IO_ERROR_CODE, "VALIDATE a.sjava"),
+				new CheckedRequest("file under the root", SUCCESS_CODE, fileRequest(sourceFile)),
+				new CheckedRequest("missing file under the root", IO_ERROR_CODE,
+						fileRequest(directory.resolve("missing.sjava"))),
+				new CheckedRequest("file outside of the root", IO_ERROR_CODE, fileRequest(outsideFile)),
+				new CheckedRequest("file escaping the root", IO_ERROR_CODE,
+						fileRequest(directory.resolve("..").resolve(outsideFile.getFileName()))),
+				new CheckedRequest("link out of the root", IO_ERROR_CODE, fileRequest(linkFile)),
+				new CheckedRequest("shutdown", SUCCESS_CODE, ServerProtocol.SHUTDOWN_COMMAND)
+		};
+
+		/* Send the requests, one after the other, over a single connection */
+		int failures = 0;
+		try (SocketChannel channel = connect(address)) {
+			InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+			OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+			for (CheckedRequest request : requests) {
+				for (String line : request.lines) {
+					ServerProtocol.writeLine(out, line);
+				}
+				out.flush();
+
+				int code = ServerProtocol.readResponse(in).getCode();
+				boolean expected = code == request.expectedCode;
+				System.out.printf(RESULT_FORMAT, request.name, request.expectedCode, code,
+						expected ? "" : FAILURE_MARKER);
+				if (!expected) {
+					failures++;
+				}
+			}
+		}
+
+		/* The shutdown request should stop the server, and the server should clean its socket file up */
+		serverThread.join(SERVER_TIMEOUT_MILLIS);
+		boolean stopped = !serverThread.isAlive();
+		if (!stopped) {
+			System.out.println(NOT_STOPPED_MESSAGE);
+			server.close();
+		}
+		Files.deleteIfExists(directory.resolve(SOCKET_FILE_NAME));
+		Files.deleteIfExists(sourceFile);
+		Files.deleteIfExists(linkFile);
+		Files.deleteIfExists(outsideFile);
+		Files.deleteIfExists(directory);
+
+		System.out.printf(SUMMARY_FORMAT, failures, requests.length);
+		if (failures != 0 || addressFailures != 0 || !stopped) {
+			System.exit(1);
+		}
+	}
+
+	// region Private API
+
+	/**
+	 * Checks that the given address is being resolved, or rejected, as expected.
+	 * @param address The address.
+	 * @param valid True if the address is expected to be resolved, false if it's expected to be rejected.
+	 * @return True if the address was resolved as expected, false otherwise.
+	 */
+	private static boolean checkAddress(String address, boolean valid) {
+		boolean resolved;
+		try {
+			ServerProtocol.resolve(address);
+			resolved = true;
+		} catch (IllegalArgumentException e) {
+			resolved = false;
+		}
+
+		System.out.printf(ADDRESS_FORMAT, address, valid ? "resolved" : "rejected",
+				resolved ? "resolved" : "rejected", resolved == valid ? "" : FAILURE_MARKER);
+		return resolved == valid;
+	}
+
+	/**
+	 * Creates the command line of a request that validates the given file.
+	 * @param file The file.
+	 * @return The request command line.
+	 */
+	private static String fileRequest(Path file) {
+		return ServerProtocol.FILE_COMMAND + ServerProtocol.ARGUMENT_SEPARATOR + file.toAbsolutePath();
+	}
+
+	/**
+	 * Connects to the server that listens on the given address, waiting for it to start listening.
+	 * @param address The server address.
+	 * @return The connected channel.
+	 * @throws IOException If the server didn't start listening in time.
+	 * @throws InterruptedException If the thread was interrupted while waiting.
+	 */
+	private static SocketChannel connect(String address)
+		throws IOException, InterruptedException {
+		long deadline = System.currentTimeMillis() + SERVER_TIMEOUT_MILLIS;
+		while (true) {
+			try {
+				return ServerProtocol.connect(address);
+			} catch (IOException e) {
+				if (System.currentTimeMillis() > deadline) {
+					throw e;
+				}
+
+				Thread.sleep(CONNECT_RETRY_MILLIS);
+			}
+		}
+	}
+
+	// endregion
+}
@@ -0,0 +1,252 @@
+package oop.ex6.benchmark;
+
+import oop.ex6.SymbolInterner;
+import oop.ex6.semantic.SymbolsTable;
+import oop.ex6.semantic.VariableSymbol;
+import oop.ex6.types.DataType;
+import oop.ex6.types.TypeRegistry;
+
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A complexity checker of the {@link SymbolsTable} lookups. Times the by-name get, containsKey and remove
+ * operations over a small and a large table, and reports the ratio of their per-operation costs. As the
+ * operations are hash-indexed, the ratio should stay roughly flat (a linear scan makes it grow with the
+ * sizes ratio), so the process exits with a non-zero status if any of the ratios is over the allowed one,
+ * and the check can gate changes to the table.
+ *
+ * Usage: SymbolsTableComplexityCheck [--small=N] [--large=N] [--rounds=N] [--max-ratio=R]
+ *
+ * Each round times both tables one after another, and the fastest round of each table is being kept, so the
+ * JIT warmup and the noise of a busy machine don't skew the ratio.
+ */
+public class SymbolsTableComplexityCheck {
+	// region Constants
+
+	/**
+	 * The prefix of the option that sets the number of symbols in the small table.
+	 */
+	private static final String SMALL_OPTION_PREFIX = "--small=";
+
+	/**
+	 * The prefix of the option that sets the number of symbols in the large table.
+	 */
+	private static final String LARGE_OPTION_PREFIX = "--large=";
+
+	/**
+	 * The prefix of the option that sets the number of timed rounds.
+	 */
+	private static final String ROUNDS_OPTION_PREFIX = "--rounds=";
+
+	/**
+	 * The prefix of the option that sets the allowed ratio of the large table to the small table costs.
+	 */
+	private static final String MAX_RATIO_OPTION_PREFIX = "--max-ratio=";
+
+	/**
+	 * The minimal time (in nanoseconds) each round times each table for. A round makes whole passes over the
+	 * table symbols, so a table whose operations are linear still completes a round in a bounded time.
+	 */
+	private static final long MIN_ROUND_NANOS = 100000000;
+
+	/**
+	 * The prefix of the names of the tables symbols.
+	 */
+	private static final String SYMBOL_NAME_PREFIX = "complexitySymbol";
+
+	/**
+	 * The type of the tables symbols.
+	 */
+	private static final String SYMBOL_TYPE = "int";
+
+	/**
+	 * The format of the run header.
+	 */
+	private static final String HEADER_FORMAT = "%-12s %16s %16s %8s%n";
+
+	/**
+	 * The format of a single operation result.
+	 */
+	private static final String RESULT_FORMAT = "%-12s %16.2f %16.2f %8.2f%s%n";
+
+	/**
+	 * The marker of an operation whose ratio is over the allowed one.
+	 */
+	private static final String FAILURE_MARKER = "  <- over %.2f";
+
+	/**
+	 * The format of the run summary.
+	 */
+	private static final String SUMMARY_FORMAT = "%d of %d operations aren't flat%n";
+
+	// endregion
+
+	// region Shared Variables
+
+	/**
+	 * Consumes the operations results, so the JIT can't eliminate the operations.
+	 */
+	private static volatile int blackhole;
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes a checked operation, that is - a by-name operation of a table.
+	 */
+	private static class CheckedOperation {
+		// region iVars
+
+		/**
+		 * The operation name.
+		 */
+		private final String name;
+
+		/**
+		 * The operation, which is being applied on a table and the name of one of its symbols, and returns a
+		 * value that depends on its result.
+		 */
+		private final ToIntBiFunction<SymbolsTable<VariableSymbol>, String> operation;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new checked operation.
+		 * @param name The operation name.
+		 * @param operation The operation.
+		 */
+		CheckedOperation(String name, ToIntBiFunction<SymbolsTable<VariableSymbol>, String> operation) {
+			this.name = name;
+			this.operation = operation;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	/**
+	 * The checker entry point.
+	 * @param args The arguments sent to this program.
+	 */
+	public static void main(String[] args) {
+		/* Parse the options */
+		int small = 1000, large = 16000, rounds = 7;
+		double maxRatio = 3;
+		for (String arg : args) {
+			if (arg.startsWith(SMALL_OPTION_PREFIX)) {
+				small = Integer.parseInt(arg.substring(SMALL_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(LARGE_OPTION_PREFIX)) {
+				large = Integer.parseInt(arg.substring(LARGE_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(ROUNDS_OPTION_PREFIX)) {
+				rounds = Integer.parseInt(arg.substring(ROUNDS_OPTION_PREFIX.length()));
+			} else if (arg.startsWith(MAX_RATIO_OPTION_PREFIX)) {
+				maxRatio = Double.parseDouble(arg.substring(MAX_RATIO_OPTION_PREFIX.length()));
+			} else {
+				throw new IllegalArgumentException(arg);
+			}
+		}
+
+		CheckedOperation[] operations = new CheckedOperation[] {
+				new CheckedOperation("get", (table, name) -> table.get(name) != null ? 1 : 0),
+				new CheckedOperation("containsKey", (table, name) -> table.containsKey(name) ? 1 : 0),
+				new CheckedOperation("remove", (table, name) -> {
+					table.put(name, table.remove(name));
+					return table.size();
+				})
+		};
+
+		String[] smallNames = createNames(small);
+		String[] largeNames = createNames(large);
+		SymbolsTable<VariableSymbol> smallTable = createTable(smallNames);
+		SymbolsTable<VariableSymbol> largeTable = createTable(largeNames);
+
+		/* Compare the per-operation costs */
+		System.out.printf(HEADER_FORMAT, "operation", "ns/op @" + small, "ns/op @" + large, "ratio");
+		int failures = 0;
+		for (CheckedOperation checked : operations) {
+			double smallCost = Double.MAX_VALUE, largeCost = Double.MAX_VALUE;
+			for (int i = 0; i < rounds; i++) {
+				smallCost = Math.min(smallCost, measure(checked, smallTable, smallNames));
+				largeCost = Math.min(largeCost, measure(checked, largeTable, largeNames));
+			}
+
+			double ratio = largeCost / smallCost;
+			boolean flat = ratio <= maxRatio;
+			System.out.printf(RESULT_FORMAT, checked.name, smallCost, largeCost, ratio,
+					flat ? "" : String.format(FAILURE_MARKER, maxRatio));
+			if (!flat) {
+				failures++;
+			}
+		}
+
+		System.out.printf(SUMMARY_FORMAT, failures, operations.length);
+		if (failures != 0) {
+			System.exit(1);
+		}
+	}
+
+	// region Private API
+
+	/**
+	 * Creates the names of the given number of symbols.
+	 * @param count The number of symbols.
+	 * @return The symbols names.
+	 */
+	private static String[] createNames(int count) {
+		String[] names = new String[count];
+		for (int i = 0; i < count; i++) {
+			names[i] = SYMBOL_NAME_PREFIX + i;
+		}
+
+		return names;
+	}
+
+	/**
+	 * Creates a table that holds a symbol of each of the given names, which are being interned by an interner
+	 * of the table own.
+	 * @param names The symbols names.
+	 * @return The table.
+	 */
+	private static SymbolsTable<VariableSymbol> createTable(String[] names) {
+		DataType type = TypeRegistry.factory(SYMBOL_TYPE);
+		SymbolInterner interner = new SymbolInterner();
+		SymbolsTable<VariableSymbol> table = new SymbolsTable<>(interner);
+		for (String name : names) {
+			table.put(new VariableSymbol(name, interner.intern(name), type));
+		}
+
+		return table;
+	}
+
+	/**
+	 * Times passes of the given operation over each of the symbols of the given table, until
+	 * {@link SymbolsTableComplexityCheck#MIN_ROUND_NANOS} have passed.
+	 * @param checked The checked operation.
+	 * @param table The table.
+	 * @param names The names of the table symbols.
+	 * @return The cost of a single operation, in nanoseconds.
+	 */
+	private static double measure(CheckedOperation checked, SymbolsTable<VariableSymbol> table, String[] names) {
+		int result = 0;
+		long operations = 0;
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			for (String name : names) {
+				result += checked.operation.applyAsInt(table, name);
+			}
+
+			operations += names.length;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < MIN_ROUND_NANOS);
+
+		blackhole = result;
+		return (double) elapsed / operations;
+	}
+
+	// endregion
+}
@@ -0,0 +1,500 @@
+package oop.ex6.cache;
+
+import oop.ex6.ValidationResult;
+import oop.ex6.parser.features.SyntaxFeatureIdentifier;
+import oop.ex6.parser.features.SyntaxFeatureRegistry;
+import oop.ex6.types.TypeRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * An on-disk cache of validation results, so sources that didn't change since their last validation don't
+ * have to be parsed and validated again.
+ *
+ * Each result is being stored in an entry file of its own, named after the SHA-256 hash of the source
+ * content and of the validator fingerprint (see {@link ValidationCache#fingerprint(SyntaxFeatureRegistry,
+ * String)}), so a change to either of them simply misses the cache. Only the results of completed
+ * validations (successes and syntax or semantic failures) are being cached, as I/O errors aren't a property
+ * of the source content.
+ *
+ * The cache is bounded by an index file that records when each entry was last used: once the cache holds
+ * more entries than its capacity, the least recently used entries are being evicted. The entry files and
+ * the index are being replaced atomically (by renaming a temporary file over them), and the index is being
+ * updated while holding a file lock, so several processes (and threads) can share a cache directory. As a
+ * process may die before it records its entries (or while it writes a temporary file), the index is being
+ * reconciled with the directory listing whenever it's being updated.
+ */
+public final class ValidationCache implements Closeable {
+	// region Constants
+
+	/**
+	 * The default maximal number of cached results.
+	 */
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	/**
+	 * The version of the cache format, which's a part of every fingerprint.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The header of the index file.
+	 */
+	private static final String INDEX_HEADER = "sjavac-cache-index " + FORMAT_VERSION;
+
+	/**
+	 * The name of the index file.
+	 */
+	private static final String INDEX_FILE_NAME = "index";
+
+	/**
+	 * The name of the file that's being locked while the index is being updated.
+	 */
+	private static final String LOCK_FILE_NAME = "index.lock";
+
+	/**
+	 * The extension of the entry files.
+	 */
+	private static final String ENTRY_FILE_EXTENSION = ".result";
+
+	/**
+	 * The prefix of the temporary files, which're being renamed over the entry and index files.
+	 */
+	private static final String TEMP_FILE_PREFIX = "tmp-";
+
+	/**
+	 * The algorithm that hashes the sources.
+	 */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/**
+	 * The hexadecimal digits, which encode the hashes.
+	 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The separator of the index line fields, and of the entry file code and message.
+	 */
+	private static final char FIELD_SEPARATOR = ' ';
+
+	/**
+	 * The number of the entries that're being used before the index is being updated on its own, so
+	 * long-running processes don't defer it until they're closed.
+	 */
+	private static final int FLUSH_THRESHOLD = 1024;
+
+	/**
+	 * The age (in milliseconds) above which a temporary file is considered a leftover of a process that died
+	 * while writing it, rather than a file that's being written, and is being deleted.
+	 */
+	private static final long STALE_TEMP_FILE_MILLIS = 10 * 60 * 1000;
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The cache directory.
+	 */
+	private final Path directory;
+
+	/**
+	 * The maximal number of cached results.
+	 */
+	private final int capacity;
+
+	/**
+	 * The time (in milliseconds since the epoch) each entry was last used by this process, since the index
+	 * was last updated.
+	 */
+	private final Map<String, Long> accessTimes = new ConcurrentHashMap<>();
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new cache.
+	 * @param directory The cache directory.
+	 * @param capacity The maximal number of cached results.
+	 */
+	private ValidationCache(Path directory, int capacity) {
+		this.directory = directory;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Opens the cache that's being stored in the given directory, creating the directory if it's missing.
+	 * @param directory The cache directory.
+	 * @param capacity The maximal number of cached results.
+	 * @return The cache.
+	 * @throws IOException If the directory couldn't be created.
+	 * @throws IllegalArgumentException If the capacity isn't positive.
+	 */
+	public static ValidationCache open(Path directory, int capacity)
+		throws IOException {
+		if (directory == null) {
+			throw new NullPointerException();
+		}
+
+		if (capacity < 1) {
+			throw new IllegalArgumentException(String.valueOf(capacity));
+		}
+
+		Files.createDirectories(directory);
+		return new ValidationCache(directory, capacity);
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Creates the fingerprint of a validator, which describes everything (besides the source code) that the
+	 * validation result depends on: the cache format, the registered syntax features and data types, and the
+	 * given variant (e.g. the parser front-end and the kind of the validation).
+	 * @param registry The registry of the syntax features the validator supports.
+	 * @param variant The validator variant.
+	 * @return The fingerprint.
+	 */
+	public static String fingerprint(SyntaxFeatureRegistry registry, String variant) {
+		if (registry == null || variant == null) {
+			throw new NullPointerException();
+		}
+
+		TreeSet<String> features = new TreeSet<>();
+		for (SyntaxFeatureIdentifier identifier : registry.getIdentifiers()) {
+			features.add(identifier.name());
+		}
+
+		return "format=" + FORMAT_VERSION + ";variant=" + variant + ";features=" + String.join(",", features)
+				+ ";types=" + String.join(",", new TreeSet<>(TypeRegistry.getIdentifiers()));
+	}
+
+	/**
+	 * Gets the cached result of the given source file, or validates it (and caches its result) if there's
+	 * none. The file is being read once, and on a miss the validation is being handed the content the key
+	 * was hashed from, so the cached result always matches its key even if the file is being modified
+	 * meanwhile. If the file couldn't be read, the cache is being bypassed, and the validation is being
+	 * handed null, so it reads the file on its own and reports the error.
+	 * @param sourceFile The source file path.
+	 * @param fingerprint The validator fingerprint.
+	 * @param validation The validation of the source file content, or of the file itself if it's handed null.
+	 * @return The validation result.
+	 */
+	public ValidationResult getOrValidate(String sourceFile, String fingerprint,
+	                                      Function<byte[], ValidationResult> validation) {
+		if (sourceFile == null || fingerprint == null || validation == null) {
+			throw new NullPointerException();
+		}
+
+		long start = System.nanoTime();
+		byte[] content;
+		try {
+			content = Files.readAllBytes(Paths.get(sourceFile));
+		} catch (IOException e) {
+			return validation.apply(null);
+		}
+
+		String key = computeKey(fingerprint, content);
+		ValidationResult result = this.lookup(key, sourceFile, start);
+		if (result == null) {
+			result = validation.apply(content);
+			this.store(key, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Records the entries that were used by this process into the index, and evicts the least recently used
+	 * entries if the cache is over its capacity. The index is being reconciled with the entry files first
+	 * (see {@link ValidationCache#reconcileIndex(Map)}), so entries that were never indexed are being evicted
+	 * as well.
+	 * @throws IOException If the index couldn't be updated.
+	 */
+	public synchronized void flush()
+		throws IOException {
+		if (this.accessTimes.isEmpty()) {
+			return;
+		}
+
+		try (FileChannel lockChannel = FileChannel.open(this.directory.resolve(LOCK_FILE_NAME),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			/* The lock is being released explicitly rather than as a resource, as the block never refers it */
+			FileLock lock = lockChannel.lock();
+			try {
+				/* Merge our accesses into the index of all of the processes */
+				Map<String, Long> index = this.readIndex();
+				for (String key : new ArrayList<>(this.accessTimes.keySet())) {
+					Long time = this.accessTimes.remove(key);
+					index.merge(key, time, Math::max);
+				}
+
+				/* Evict the least recently used entries, out of the entries that actually exist */
+				this.reconcileIndex(index);
+				if (index.size() > this.capacity) {
+					List<Map.Entry<String, Long>> entries = new ArrayList<>(index.entrySet());
+					entries.sort(Map.Entry.comparingByValue());
+					for (int i = 0; i < entries.size() - this.capacity; i++) {
+						String key = entries.get(i).getKey();
+						index.remove(key);
+						Files.deleteIfExists(this.getEntryPath(key));
+					}
+				}
+
+				this.writeIndex(index);
+			} finally {
+				lock.release();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The cache index is being flushed (see {@link ValidationCache#flush()}).
+	 */
+	@Override
+	public void close()
+		throws IOException {
+		this.flush();
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Computes the key of the given source content.
+	 * @param fingerprint The validator fingerprint.
+	 * @param content The source content.
+	 * @return The key, which's the hexadecimal hash of the fingerprint and the content.
+	 */
+	private static String computeKey(String fingerprint, byte[] content) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // Every Java platform supports SHA-256
+		}
+
+		digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		byte[] hash = digest.digest(content);
+
+		char[] key = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; i++) {
+			key[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+			key[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+		}
+
+		return new String(key);
+	}
+
+	/**
+	 * Looks up the cached result with the given key.
+	 * @param key The entry key.
+	 * @param sourceFile The source file path.
+	 * @param start The lookup start time (see {@link System#nanoTime()}).
+	 * @return The cached result, or null if there's none (or if the entry couldn't be read).
+	 */
+	private ValidationResult lookup(String key, String sourceFile, long start) {
+		String entry;
+		try {
+			entry = new String(Files.readAllBytes(this.getEntryPath(key)), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return null; // A missing entry, or one that can't be read, is just being validated again
+		}
+
+		/* The entry is the result code, optionally followed by the message */
+		int separator = entry.indexOf(FIELD_SEPARATOR);
+		int code;
+		try {
+			code = Integer.parseInt(separator == -1 ? entry : entry.substring(0, separator));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+
+		if (code != ValidationResult.SUCCESS_CODE && code != ValidationResult.FAILURE_CODE) {
+			return null;
+		}
+
+		this.touch(key);
+		String message = separator == -1 ? null : entry.substring(separator + 1);
+		return ValidationResult.restored(sourceFile, code, message, System.nanoTime() - start);
+	}
+
+	/**
+	 * Stores the given result, if it's the result of a completed validation. The cache is an optimization,
+	 * so an entry that couldn't be written is just being skipped.
+	 * @param key The entry key.
+	 * @param result The validation result.
+	 */
+	private void store(String key, ValidationResult result) {
+		int code = result.getCode();
+		if (code != ValidationResult.SUCCESS_CODE && code != ValidationResult.FAILURE_CODE) {
+			return;
+		}
+
+		String entry = result.getMessage() == null ? String.valueOf(code)
+				: code + String.valueOf(FIELD_SEPARATOR) + result.getMessage();
+		try {
+			this.replaceAtomically(this.getEntryPath(key), entry.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			return;
+		}
+
+		this.touch(key);
+	}
+
+	/**
+	 * Records that the entry with the given key was used now, and flushes the index if enough entries were
+	 * used since it was last updated.
+	 * @param key The entry key.
+	 */
+	private void touch(String key) {
+		this.accessTimes.put(key, System.currentTimeMillis());
+		if (this.accessTimes.size() >= FLUSH_THRESHOLD) {
+			try {
+				this.flush();
+			} catch (IOException e) {
+				/* The accesses are being kept, so the next flush records them */
+			}
+		}
+	}
+
+	/**
+	 * Reads the index file. Must be called while holding the index lock.
+	 * @return The last access time of each entry, which's empty if there's no (valid) index.
+	 * @throws IOException If the index couldn't be read.
+	 */
+	private Map<String, Long> readIndex()
+		throws IOException {
+		Map<String, Long> index = new HashMap<>();
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(this.directory.resolve(INDEX_FILE_NAME), StandardCharsets.UTF_8);
+		} catch (NoSuchFileException e) {
+			return index;
+		}
+
+		if (lines.isEmpty() || !lines.get(0).equals(INDEX_HEADER)) {
+			return index; // An index of another format is being rebuilt from scratch
+		}
+
+		for (int i = 1; i < lines.size(); i++) {
+			String line = lines.get(i);
+			int separator = line.indexOf(FIELD_SEPARATOR);
+			if (separator == -1) {
+				continue;
+			}
+
+			try {
+				index.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+			} catch (NumberFormatException e) {
+				/* A corrupted line only loses its entry recency */
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Reconciles the given index with the directory listing. Must be called while holding the index lock.
+	 * The keys of entries that were already evicted (e.g. by another process) are being dropped, entries
+	 * that were never indexed (e.g. as the process that stored them died before it flushed) are being added
+	 * by their modification time, and stale temporary files are being deleted.
+	 * @param index The last access time of each entry, which's being reconciled in place.
+	 * @throws IOException If the directory couldn't be listed.
+	 */
+	private void reconcileIndex(Map<String, Long> index)
+		throws IOException {
+		Map<String, Long> entries = new HashMap<>();
+		long staleTime = System.currentTimeMillis() - STALE_TEMP_FILE_MILLIS;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				try {
+					if (name.endsWith(ENTRY_FILE_EXTENSION)) {
+						entries.put(name.substring(0, name.length() - ENTRY_FILE_EXTENSION.length()),
+								Files.getLastModifiedTime(file).toMillis());
+					} else if (name.startsWith(TEMP_FILE_PREFIX)
+							&& Files.getLastModifiedTime(file).toMillis() < staleTime) {
+						Files.deleteIfExists(file);
+					}
+				} catch (IOException e) {
+					/* The file was removed meanwhile (or can't be removed), so it has no entry to index */
+				}
+			}
+		}
+
+		index.keySet().retainAll(entries.keySet());
+		for (Map.Entry<String, Long> entry : entries.entrySet()) {
+			index.putIfAbsent(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Writes the index file. Must be called while holding the index lock.
+	 * @param index The last access time of each entry.
+	 * @throws IOException If the index couldn't be written.
+	 */
+	private void writeIndex(Map<String, Long> index)
+		throws IOException {
+		StringBuilder content = new StringBuilder(INDEX_HEADER).append('\n');
+		for (Map.Entry<String, Long> entry : index.entrySet()) {
+			content.append(entry.getKey()).append(FIELD_SEPARATOR).append(entry.getValue()).append('\n');
+		}
+
+		this.replaceAtomically(this.directory.resolve(INDEX_FILE_NAME),
+				content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Replaces the content of the given file at once, so readers never see a partially written file.
+	 * @param path The file path.
+	 * @param content The new content.
+	 * @throws IOException If the file couldn't be replaced.
+	 */
+	private void replaceAtomically(Path path, byte[] content)
+		throws IOException {
+		Path temp = Files.createTempFile(this.directory, TEMP_FILE_PREFIX, null);
+		try {
+			Files.write(temp, content);
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Gets the path of the entry file with the given key.
+	 * @param key The entry key.
+	 * @return The entry file path.
+	 */
+	private Path getEntryPath(String key) {
+		return this.directory.resolve(key + ENTRY_FILE_EXTENSION);
+	}
+
+	// endregion
+}
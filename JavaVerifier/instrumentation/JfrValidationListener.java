@@ -0,0 +1,246 @@
+package oop.ex6.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import oop.ex6.parser.features.SyntaxFeatureIdentifier;
+
+/**
+ * A {@link ValidationListener} that commits the metrics of each validation as Java Flight Recorder events:
+ * a validation event with the phases timings and the symbols table counters, followed by an event for each
+ * syntax feature the validation used.
+ *
+ * The validation event is being begun when the validation starts and ended when it completes, so its
+ * duration is the validation time, and it's being laid on the timeline of the thread that ran it. The syntax
+ * features are being used all over the validation, so their events are instants at its end, and their
+ * timings are their fields.
+ *
+ * The events are only being recorded while a flight recording is running (e.g. when the JVM was started with
+ * -XX:StartFlightRecording), and cost close to nothing otherwise.
+ */
+public class JfrValidationListener implements ValidationListener {
+	// region Nested Types
+
+	/**
+	 * The event that describes a single validation.
+	 */
+	@Name("oop.ex6.Validation")
+	@Label("s-Java Validation")
+	@Description("The phases timings and the counters of a single s-Java source validation")
+	@Category({"s-Java", "Validation"})
+	@StackTrace(false)
+	static class ValidationEvent extends Event {
+		/**
+		 * The validated source.
+		 */
+		@Label("Source")
+		String source;
+
+		/**
+		 * The validation time.
+		 */
+		@Label("Total Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long totalTime;
+
+		/**
+		 * The source size.
+		 */
+		@Label("Bytes")
+		@DataAmount(DataAmount.BYTES)
+		long bytes;
+
+		/**
+		 * The number of the source lines.
+		 */
+		@Label("Lines")
+		long lines;
+
+		/**
+		 * The reading time.
+		 */
+		@Label("Read Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long readTime;
+
+		/**
+		 * The parsing time.
+		 */
+		@Label("Parse Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long parseTime;
+
+		/**
+		 * The semantic global declarations pass time.
+		 */
+		@Label("Global Pass Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long globalPassTime;
+
+		/**
+		 * The semantic general pass time.
+		 */
+		@Label("General Pass Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long generalPassTime;
+
+		/**
+		 * The number of the symbols table states that were pushed.
+		 */
+		@Label("Scope Pushes")
+		long scopePushes;
+
+		/**
+		 * The number of the symbols table states that were popped.
+		 */
+		@Label("Scope Pops")
+		long scopePops;
+
+		/**
+		 * The deepest symbols table depth.
+		 */
+		@Label("Peak Scope Depth")
+		int peakScopeDepth;
+	}
+
+	/**
+	 * The event that describes how a single syntax feature was used by a validation.
+	 */
+	@Name("oop.ex6.SyntaxFeature")
+	@Label("s-Java Syntax Feature")
+	@Description("The usage of a single syntax feature by an s-Java source validation")
+	@Category({"s-Java", "Validation"})
+	@StackTrace(false)
+	static class SyntaxFeatureEvent extends Event {
+		/**
+		 * The validated source.
+		 */
+		@Label("Source")
+		String source;
+
+		/**
+		 * The syntax feature identifier.
+		 */
+		@Label("Feature")
+		String feature;
+
+		/**
+		 * The number of the lines the feature was tested against.
+		 */
+		@Label("Accepts")
+		long accepts;
+
+		/**
+		 * The number of the lines the feature accepted.
+		 */
+		@Label("Accepted")
+		long accepted;
+
+		/**
+		 * The time the feature spent testing lines.
+		 */
+		@Label("Accept Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long acceptTime;
+
+		/**
+		 * The number of the lines the feature parsed.
+		 */
+		@Label("Parses")
+		long parses;
+
+		/**
+		 * The time the feature spent parsing lines.
+		 */
+		@Label("Parse Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long parseTime;
+	}
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The event of the validation that's running on each thread, which was begun when the validation started.
+	 */
+	private final ThreadLocal<ValidationEvent> runningEvents = new ThreadLocal<>();
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onValidationStarted(String source) {
+		ValidationEvent event = new ValidationEvent();
+		if (event.isEnabled()) {
+			event.begin();
+			this.runningEvents.set(event);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onValidationCompleted(String source, ValidationMetrics metrics) {
+		if (metrics == null) {
+			throw new NullPointerException();
+		}
+
+		/* A validation whose start wasn't announced (or that started before the recording) has no duration */
+		ValidationEvent event = this.runningEvents.get();
+		if (event == null) {
+			event = new ValidationEvent();
+		} else {
+			this.runningEvents.remove();
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.source = source;
+			event.totalTime = metrics.getTotalNanos();
+			event.bytes = metrics.getBytes();
+			event.lines = metrics.getLines();
+			event.readTime = metrics.getReadNanos();
+			event.parseTime = metrics.getParseNanos();
+			event.globalPassTime = metrics.getGlobalPassNanos();
+			event.generalPassTime = metrics.getGeneralPassNanos();
+			event.scopePushes = metrics.getScopePushes();
+			event.scopePops = metrics.getScopePops();
+			event.peakScopeDepth = metrics.getPeakScopeDepth();
+			event.commit();
+		}
+
+		/* Only the features the validation used are being reported */
+		for (SyntaxFeatureIdentifier identifier : SyntaxFeatureIdentifier.values()) {
+			if (metrics.getFeatureAccepts(identifier) == 0 && metrics.getFeatureParses(identifier) == 0) {
+				continue;
+			}
+
+			SyntaxFeatureEvent featureEvent = new SyntaxFeatureEvent();
+			if (!featureEvent.shouldCommit()) {
+				return;
+			}
+
+			featureEvent.source = source;
+			featureEvent.feature = identifier.name();
+			featureEvent.accepts = metrics.getFeatureAccepts(identifier);
+			featureEvent.accepted = metrics.getFeatureAccepted(identifier);
+			featureEvent.acceptTime = metrics.getFeatureAcceptNanos(identifier);
+			featureEvent.parses = metrics.getFeatureParses(identifier);
+			featureEvent.parseTime = metrics.getFeatureParseNanos(identifier);
+			featureEvent.commit();
+		}
+	}
+
+	// endregion
+}
@@ -0,0 +1,95 @@
+package oop.ex6.instrumentation;
+
+import oop.ex6.parser.LineReader;
+
+import java.io.IOException;
+
+/**
+ * A {@link LineReader} decorator that keeps track of the number of the lines it read, and of the time
+ * that was spent reading them. As the parsers consume their sources line by line, this separates the
+ * reading time from the parsing time.
+ */
+public class MeteredLineReader implements LineReader {
+	// region iVars
+
+	/**
+	 * The decorated reader.
+	 */
+	private final LineReader reader;
+
+	/**
+	 * The number of the lines that were read.
+	 */
+	private long lines = 0;
+
+	/**
+	 * The time that was spent reading, in nanoseconds.
+	 */
+	private long nanos = 0;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new metered reader.
+	 * @param reader The reader to decorate.
+	 */
+	public MeteredLineReader(LineReader reader) {
+		if (reader == null) {
+			throw new NullPointerException();
+		}
+
+		this.reader = reader;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String readLine()
+		throws IOException {
+		long start = System.nanoTime();
+		try {
+			String line = this.reader.readLine();
+			if (line != null) {
+				this.lines++;
+			}
+
+			return line;
+		} finally {
+			this.nanos += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close()
+		throws IOException {
+		this.reader.close();
+	}
+
+	/**
+	 * Gets the number of the lines that were read so far.
+	 * @return The number of the lines.
+	 */
+	public long getLines() {
+		return this.lines;
+	}
+
+	/**
+	 * Gets the time that was spent reading so far.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+
+	// endregion
+}
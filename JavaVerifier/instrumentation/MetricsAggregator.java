@@ -0,0 +1,59 @@
+package oop.ex6.instrumentation;
+
+import java.io.IOException;
+
+/**
+ * A {@link ValidationListener} that sums up the metrics of all of the validations it's being notified
+ * with, e.g. so they can be dumped as JSON once a batch is done (see {@link ValidationMetrics#writeJson}).
+ */
+public class MetricsAggregator implements ValidationListener {
+	// region iVars
+
+	/**
+	 * The summed up metrics, which are being guarded by their own monitor.
+	 */
+	private final ValidationMetrics totals = new ValidationMetrics();
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onValidationCompleted(String source, ValidationMetrics metrics) {
+		if (metrics == null) {
+			throw new NullPointerException();
+		}
+
+		synchronized (this.totals) {
+			this.totals.merge(metrics);
+		}
+	}
+
+	/**
+	 * Gets a snapshot of the summed up metrics.
+	 * @return The metrics of all of the validations so far.
+	 */
+	public ValidationMetrics getTotals() {
+		ValidationMetrics snapshot = new ValidationMetrics();
+		synchronized (this.totals) {
+			snapshot.merge(this.totals);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Writes the summed up metrics as a JSON object.
+	 * @param out The output to write into.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	public void writeJson(Appendable out)
+		throws IOException {
+		this.getTotals().writeJson(out);
+	}
+
+	// endregion
+}
@@ -0,0 +1,52 @@
+package oop.ex6.instrumentation;
+
+/**
+ * Describes a listener that's being notified with the metrics of each validation the
+ * {@link oop.ex6.ValidatorFacade} performs (see {@link ValidationMetrics}).
+ *
+ * A facade may run several validations concurrently (e.g. in batch and server modes), so the listeners must
+ * be thread-safe. The metrics are being handed over once the validation completes, and aren't being
+ * modified afterwards.
+ */
+public interface ValidationListener {
+	/**
+	 * A method that's being triggered when a validation starts. The validation is being completed (see
+	 * {@link ValidationListener#onValidationCompleted(String, ValidationMetrics)}) on the same thread.
+	 * @param source The name of the validated source (e.g. its path), or null if it's unknown.
+	 */
+	default void onValidationStarted(String source) {
+	}
+
+	/**
+	 * A method that's being triggered when a validation completes, whether or not the source was valid.
+	 * @param source The name of the validated source (e.g. its path), or null if it's unknown.
+	 * @param metrics The validation metrics.
+	 */
+	void onValidationCompleted(String source, ValidationMetrics metrics);
+
+	/**
+	 * Creates a listener that notifies both of the given listeners, in their order.
+	 * @param first The first listener.
+	 * @param second The second listener.
+	 * @return The combined listener.
+	 */
+	static ValidationListener combine(ValidationListener first, ValidationListener second) {
+		if (first == null || second == null) {
+			throw new NullPointerException();
+		}
+
+		return new ValidationListener() {
+			@Override
+			public void onValidationStarted(String source) {
+				first.onValidationStarted(source);
+				second.onValidationStarted(source);
+			}
+
+			@Override
+			public void onValidationCompleted(String source, ValidationMetrics metrics) {
+				first.onValidationCompleted(source, metrics);
+				second.onValidationCompleted(source, metrics);
+			}
+		};
+	}
+}
@@ -0,0 +1,482 @@
+package oop.ex6.instrumentation;
+
+import oop.ex6.parser.features.SyntaxFeatureIdentifier;
+
+import java.io.IOException;
+
+/**
+ * Collects the timings and the counters of a validation: how long reading, parsing and each semantic pass
+ * took, how each syntax feature was used, and how the variables symbols table was used.
+ *
+ * A metrics instance is being filled by the parser and the semantic validator of a single validation, so
+ * it isn't thread-safe. Once the validation completes, it's being handed to the {@link ValidationListener},
+ * and the metrics of several validations can be summed up using {@link ValidationMetrics#merge}.
+ */
+public final class ValidationMetrics {
+	// region Constants
+
+	/**
+	 * The number of the syntax features.
+	 */
+	private static final int FEATURES_COUNT = SyntaxFeatureIdentifier.values().length;
+
+	/**
+	 * The JSON indentation unit.
+	 */
+	private static final String JSON_INDENT = "  ";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The number of the validations these metrics describe.
+	 */
+	private long validations;
+
+	/**
+	 * The total validations time, in nanoseconds.
+	 */
+	private long totalNanos;
+
+	/**
+	 * The number of the processed bytes (or characters, for in-memory sources).
+	 */
+	private long bytes;
+
+	/**
+	 * The number of the read lines (in-memory sources aren't being read line by line, so they don't count).
+	 */
+	private long lines;
+
+	/**
+	 * The time that was spent reading the sources, in nanoseconds.
+	 */
+	private long readNanos;
+
+	/**
+	 * The time that was spent parsing the sources (excluding their reading), in nanoseconds.
+	 */
+	private long parseNanos;
+
+	/**
+	 * The time that was spent in the semantic global declarations pass, in nanoseconds.
+	 */
+	private long globalPassNanos;
+
+	/**
+	 * The time that was spent in the semantic general pass, in nanoseconds.
+	 */
+	private long generalPassNanos;
+
+	/**
+	 * The number of the accepts tests of each syntax feature, indexed by the identifiers ordinals.
+	 */
+	private final long[] featureAccepts = new long[FEATURES_COUNT];
+
+	/**
+	 * The number of the lines each syntax feature accepted.
+	 */
+	private final long[] featureAccepted = new long[FEATURES_COUNT];
+
+	/**
+	 * The time each syntax feature spent testing lines, in nanoseconds.
+	 */
+	private final long[] featureAcceptNanos = new long[FEATURES_COUNT];
+
+	/**
+	 * The number of the lines each syntax feature parsed.
+	 */
+	private final long[] featureParses = new long[FEATURES_COUNT];
+
+	/**
+	 * The time each syntax feature spent parsing lines, in nanoseconds.
+	 */
+	private final long[] featureParseNanos = new long[FEATURES_COUNT];
+
+	/**
+	 * The number of the variables symbols table states that were pushed.
+	 */
+	private long scopePushes;
+
+	/**
+	 * The number of the variables symbols table states that were popped.
+	 */
+	private long scopePops;
+
+	/**
+	 * The deepest variables symbols table depth that was reached.
+	 */
+	private int peakScopeDepth;
+
+	// endregion
+
+	// region Recording
+
+	/**
+	 * Records a completed validation.
+	 * @param nanos The validation time, in nanoseconds.
+	 */
+	public void recordValidation(long nanos) {
+		this.validations++;
+		this.totalNanos += nanos;
+	}
+
+	/**
+	 * Records the reading of a source.
+	 * @param bytes The source size, in bytes (or in characters, for in-memory sources).
+	 * @param lines The number of the lines that were read.
+	 * @param nanos The time that was spent reading, in nanoseconds.
+	 */
+	public void recordRead(long bytes, long lines, long nanos) {
+		this.bytes += bytes;
+		this.lines += lines;
+		this.readNanos += nanos;
+	}
+
+	/**
+	 * Records the parsing of a source.
+	 * @param nanos The time that was spent parsing (excluding the reading), in nanoseconds.
+	 */
+	public void recordParse(long nanos) {
+		this.parseNanos += nanos;
+	}
+
+	/**
+	 * Records a test of a line by a syntax feature, a.k.a. an accepts call.
+	 * @param identifier The syntax feature identifier.
+	 * @param accepted Whether or not the feature accepted the line.
+	 * @param nanos The test time, in nanoseconds.
+	 */
+	public void recordFeatureAccepts(SyntaxFeatureIdentifier identifier, boolean accepted, long nanos) {
+		int index = identifier.ordinal();
+		this.featureAccepts[index]++;
+		this.featureAcceptNanos[index] += nanos;
+		if (accepted) {
+			this.featureAccepted[index]++;
+		}
+	}
+
+	/**
+	 * Records the parsing of a line by a syntax feature.
+	 * @param identifier The syntax feature identifier.
+	 * @param nanos The parse time, in nanoseconds.
+	 */
+	public void recordFeatureParse(SyntaxFeatureIdentifier identifier, long nanos) {
+		int index = identifier.ordinal();
+		this.featureParses[index]++;
+		this.featureParseNanos[index] += nanos;
+	}
+
+	/**
+	 * Records the semantic global declarations pass.
+	 * @param nanos The pass time, in nanoseconds.
+	 */
+	public void recordGlobalPass(long nanos) {
+		this.globalPassNanos += nanos;
+	}
+
+	/**
+	 * Records the semantic general pass.
+	 * @param nanos The pass time, in nanoseconds.
+	 */
+	public void recordGeneralPass(long nanos) {
+		this.generalPassNanos += nanos;
+	}
+
+	/**
+	 * Records a state that was pushed into the variables symbols table.
+	 * @param depth The table depth after the push.
+	 */
+	public void recordScopePush(int depth) {
+		this.scopePushes++;
+		this.peakScopeDepth = Math.max(this.peakScopeDepth, depth);
+	}
+
+	/**
+	 * Records a state that was popped from the variables symbols table.
+	 */
+	public void recordScopePop() {
+		this.scopePops++;
+	}
+
+	/**
+	 * Adds the given metrics to these metrics.
+	 * @param other The metrics to add.
+	 */
+	public void merge(ValidationMetrics other) {
+		if (other == null) {
+			throw new NullPointerException();
+		}
+
+		this.validations += other.validations;
+		this.totalNanos += other.totalNanos;
+		this.bytes += other.bytes;
+		this.lines += other.lines;
+		this.readNanos += other.readNanos;
+		this.parseNanos += other.parseNanos;
+		this.globalPassNanos += other.globalPassNanos;
+		this.generalPassNanos += other.generalPassNanos;
+		for (int i = 0; i < FEATURES_COUNT; i++) {
+			this.featureAccepts[i] += other.featureAccepts[i];
+			this.featureAccepted[i] += other.featureAccepted[i];
+			this.featureAcceptNanos[i] += other.featureAcceptNanos[i];
+			this.featureParses[i] += other.featureParses[i];
+			this.featureParseNanos[i] += other.featureParseNanos[i];
+		}
+		this.scopePushes += other.scopePushes;
+		this.scopePops += other.scopePops;
+		this.peakScopeDepth = Math.max(this.peakScopeDepth, other.peakScopeDepth);
+	}
+
+	// endregion
+
+	// region Getters
+
+	/**
+	 * Gets the number of the validations these metrics describe.
+	 * @return The number of the validations.
+	 */
+	public long getValidations() {
+		return this.validations;
+	}
+
+	/**
+	 * Gets the total validations time.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return this.totalNanos;
+	}
+
+	/**
+	 * Gets the number of the processed bytes.
+	 * @return The number of the bytes (or characters, for in-memory sources).
+	 */
+	public long getBytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * Gets the number of the read lines.
+	 * @return The number of the lines.
+	 */
+	public long getLines() {
+		return this.lines;
+	}
+
+	/**
+	 * Gets the time that was spent reading the sources.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getReadNanos() {
+		return this.readNanos;
+	}
+
+	/**
+	 * Gets the time that was spent parsing the sources, excluding their reading.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getParseNanos() {
+		return this.parseNanos;
+	}
+
+	/**
+	 * Gets the time that was spent in the semantic global declarations pass.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getGlobalPassNanos() {
+		return this.globalPassNanos;
+	}
+
+	/**
+	 * Gets the time that was spent in the semantic general pass.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getGeneralPassNanos() {
+		return this.generalPassNanos;
+	}
+
+	/**
+	 * Gets the number of the lines the given syntax feature was tested against.
+	 * @param identifier The syntax feature identifier.
+	 * @return The number of the tests.
+	 */
+	public long getFeatureAccepts(SyntaxFeatureIdentifier identifier) {
+		return this.featureAccepts[identifier.ordinal()];
+	}
+
+	/**
+	 * Gets the number of the lines the given syntax feature accepted.
+	 * @param identifier The syntax feature identifier.
+	 * @return The number of the accepted lines.
+	 */
+	public long getFeatureAccepted(SyntaxFeatureIdentifier identifier) {
+		return this.featureAccepted[identifier.ordinal()];
+	}
+
+	/**
+	 * Gets the time the given syntax feature spent testing lines.
+	 * @param identifier The syntax feature identifier.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getFeatureAcceptNanos(SyntaxFeatureIdentifier identifier) {
+		return this.featureAcceptNanos[identifier.ordinal()];
+	}
+
+	/**
+	 * Gets the number of the lines the given syntax feature parsed.
+	 * @param identifier The syntax feature identifier.
+	 * @return The number of the parsed lines.
+	 */
+	public long getFeatureParses(SyntaxFeatureIdentifier identifier) {
+		return this.featureParses[identifier.ordinal()];
+	}
+
+	/**
+	 * Gets the time the given syntax feature spent parsing lines.
+	 * @param identifier The syntax feature identifier.
+	 * @return The time, in nanoseconds.
+	 */
+	public long getFeatureParseNanos(SyntaxFeatureIdentifier identifier) {
+		return this.featureParseNanos[identifier.ordinal()];
+	}
+
+	/**
+	 * Gets the number of the states that were pushed into the variables symbols table.
+	 * @return The number of the pushes.
+	 */
+	public long getScopePushes() {
+		return this.scopePushes;
+	}
+
+	/**
+	 * Gets the number of the states that were popped from the variables symbols table.
+	 * @return The number of the pops.
+	 */
+	public long getScopePops() {
+		return this.scopePops;
+	}
+
+	/**
+	 * Gets the deepest variables symbols table depth that was reached.
+	 * @return The peak depth, or 0 if no state was pushed.
+	 */
+	public int getPeakScopeDepth() {
+		return this.peakScopeDepth;
+	}
+
+	// endregion
+
+	// region JSON
+
+	/**
+	 * Writes the metrics as a JSON object.
+	 * @param out The output to write into.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	public void writeJson(Appendable out)
+		throws IOException {
+		if (out == null) {
+			throw new NullPointerException();
+		}
+
+		out.append("{\n");
+		appendJsonField(out, 1, "validations", this.validations);
+		appendJsonField(out, 1, "totalNanos", this.totalNanos);
+		appendJsonField(out, 1, "bytes", this.bytes);
+		appendJsonField(out, 1, "lines", this.lines);
+		appendJsonField(out, 1, "readNanos", this.readNanos);
+		appendJsonField(out, 1, "parseNanos", this.parseNanos);
+		appendJsonField(out, 1, "globalPassNanos", this.globalPassNanos);
+		appendJsonField(out, 1, "generalPassNanos", this.generalPassNanos);
+
+		out.append(JSON_INDENT).append("\"symbolsTable\": {\n");
+		appendJsonField(out, 2, "pushes", this.scopePushes);
+		appendJsonField(out, 2, "pops", this.scopePops);
+		appendJsonLastField(out, 2, "peakDepth", this.peakScopeDepth);
+		out.append(JSON_INDENT).append("},\n");
+
+		out.append(JSON_INDENT).append("\"features\": {\n");
+		SyntaxFeatureIdentifier[] identifiers = SyntaxFeatureIdentifier.values();
+		for (SyntaxFeatureIdentifier identifier : identifiers) {
+			int index = identifier.ordinal();
+			out.append(JSON_INDENT).append(JSON_INDENT).append('"').append(identifier.name()).append("\": {\n");
+			appendJsonField(out, 3, "accepts", this.featureAccepts[index]);
+			appendJsonField(out, 3, "accepted", this.featureAccepted[index]);
+			appendJsonField(out, 3, "acceptNanos", this.featureAcceptNanos[index]);
+			appendJsonField(out, 3, "parses", this.featureParses[index]);
+			appendJsonLastField(out, 3, "parseNanos", this.featureParseNanos[index]);
+			out.append(JSON_INDENT).append(JSON_INDENT).append(index == identifiers.length - 1 ? "}\n" : "},\n");
+		}
+		out.append(JSON_INDENT).append("}\n");
+		out.append("}\n");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		try {
+			this.writeJson(builder);
+		} catch (IOException e) {
+			/* A StringBuilder never raises I/O errors */
+			throw new IllegalStateException(e);
+		}
+
+		return builder.toString();
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Appends a numeric JSON field that's followed by more fields.
+	 * @param out The output to write into.
+	 * @param depth The field nesting depth.
+	 * @param name The field name.
+	 * @param value The field value.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	private static void appendJsonField(Appendable out, int depth, String name, long value)
+		throws IOException {
+		appendJsonValue(out, depth, name, value);
+		out.append(",\n");
+	}
+
+	/**
+	 * Appends the last numeric JSON field of an object.
+	 * @param out The output to write into.
+	 * @param depth The field nesting depth.
+	 * @param name The field name.
+	 * @param value The field value.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	private static void appendJsonLastField(Appendable out, int depth, String name, long value)
+		throws IOException {
+		appendJsonValue(out, depth, name, value);
+		out.append('\n');
+	}
+
+	/**
+	 * Appends an indented numeric JSON name/value pair.
+	 * @param out The output to write into.
+	 * @param depth The pair nesting depth.
+	 * @param name The field name.
+	 * @param value The field value.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	private static void appendJsonValue(Appendable out, int depth, String name, long value)
+		throws IOException {
+		for (int i = 0; i < depth; i++) {
+			out.append(JSON_INDENT);
+		}
+
+		out.append('"').append(name).append("\": ").append(Long.toString(value));
+	}
+
+	// endregion
+}
@@ -1,36 +1,125 @@
 package oop.ex6.main;
 
+import oop.ex6.BatchValidator;
+import oop.ex6.DebugMode;
+import oop.ex6.ValidationResult;
 import oop.ex6.ValidatorFacade;
-import oop.ex6.parser.SyntaxErrorException;
-import oop.ex6.semantic.SemanticErrorException;
+import oop.ex6.cache.ValidationCache;
+import oop.ex6.instrumentation.JfrValidationListener;
+import oop.ex6.instrumentation.MetricsAggregator;
+import oop.ex6.instrumentation.ValidationListener;
+import oop.ex6.parser.ParserMode;
+import oop.ex6.parser.features.SyntaxFeatureFactory;
+import oop.ex6.semantic.SemanticMode;
+import oop.ex6.semantic.SymbolsTableMode;
+import oop.ex6.server.ServerProtocol;
+import oop.ex6.server.ValidationServer;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The program main entry point.
+ *
+ * Usage: Sjavac [options] source-file, or Sjavac --batch [options] path... where each path can be a source
+ * file, a directory or an "@argfile" that lists paths one per line. A directory or an argfile that can't be
+ * read is an invalid arguments error, while a file whose validation fails is only reported on its own line.
+ * With --diagnostics, every semantic error of a source is being reported (a line each), rather than
+ * only the first one. With --debug, the stack traces of the errors are being printed as well.
+ * With --semantic=parallel, the functions of each source are being validated concurrently.
+ * With --semantic=fused, the global statements are being validated while the source is still being parsed.
+ * Sjavac --listen=ADDRESS [options] runs a resident validation server instead, which is being queried by
+ * the {@link oop.ex6.server.ValidationClient}. The server trusts its clients, so with --file-root=DIR the files
+ * its clients request are being confined to the DIR directory.
+ * With --metrics=PATH, the summed up metrics of the validations (see
+ * {@link oop.ex6.instrumentation.ValidationMetrics}) are being written as JSON into PATH ("-" for the
+ * standard error) once the program is done, and with --jfr they're being committed as flight recorder events.
+ * With --cache=DIR, the results of the files validations are being cached in the DIR directory (see
+ * {@link ValidationCache}), so files that didn't change since a previous run aren't validated again.
+ * For many short runs (e.g. a run per file), see {@link StartupTrainer}, which trains a startup archive.
  */
 public class Sjavac {
 	// region Constants
 
 	/**
-	 * The argument location of the source file.
+	 * The prefix of the (optional) argument that selects the parser front-end (e.g. "--parser=token").
 	 */
-	private static final int SOURCE_FILE_ARG_LOC = 0;
+	private static final String PARSER_OPTION_PREFIX = "--parser=";
 
 	/**
-	 * The return code of a success validation.
+	 * The prefix of the (optional) argument that selects the symbols table (e.g. "--symbols=chain").
 	 */
-	private static final int SUCCESS_RETURN_CODE = 0;
+	private static final String SYMBOLS_OPTION_PREFIX = "--symbols=";
 
 	/**
-	 * The return code of a success validation.
+	 * The prefix of the (optional) argument that selects the semantic mode (e.g. "--semantic=parallel").
 	 */
-	private static final int FAILURE_RETURN_CODE = 1;
+	private static final String SEMANTIC_OPTION_PREFIX = "--semantic=";
 
 	/**
-	 * The return code of a success validation.
+	 * The argument that enables the batch mode.
 	 */
-	private static final int IO_EXCEPTION_RETURN_CODE = 2;
+	private static final String BATCH_OPTION = "--batch";
+
+	/**
+	 * The argument that reports every semantic error of a source, rather than only the first one.
+	 */
+	private static final String DIAGNOSTICS_OPTION = "--diagnostics";
+
+	/**
+	 * The prefix of the argument that runs a resident {@link ValidationServer} on the given address
+	 * (e.g. "--listen=7878" or "--listen=/tmp/sjavac.sock").
+	 */
+	private static final String LISTEN_OPTION_PREFIX = "--listen=";
+
+	/**
+	 * The prefix of the option that confines the files the server validates to a directory
+	 * (e.g. "--file-root=/srv/sources").
+	 */
+	private static final String FILE_ROOT_OPTION_PREFIX = "--file-root=";
+
+	/**
+	 * The argument that turns on the {@link DebugMode}, which prints the stack traces of the errors.
+	 */
+	private static final String DEBUG_OPTION = "--debug";
+
+	/**
+	 * The prefix of the (optional) argument that sets the number of batch worker threads (e.g. "--threads=8").
+	 */
+	private static final String THREADS_OPTION_PREFIX = "--threads=";
+
+	/**
+	 * The prefix of the argument that dumps the validations metrics as JSON into the given path
+	 * (e.g. "--metrics=metrics.json", or "--metrics=-" for the standard error).
+	 */
+	private static final String METRICS_OPTION_PREFIX = "--metrics=";
+
+	/**
+	 * The metrics path that stands for the standard error.
+	 */
+	private static final String STANDARD_ERROR_PATH = "-";
+
+	/**
+	 * The argument that commits the validations metrics as Java Flight Recorder events.
+	 */
+	private static final String JFR_OPTION = "--jfr";
+
+	/**
+	 * The prefix of the argument that caches the validations results in the given directory
+	 * (e.g. "--cache=.sjavac-cache").
+	 */
+	private static final String CACHE_OPTION_PREFIX = "--cache=";
+
+	/**
+	 * The prefix that identifies optional arguments.
+	 */
+	private static final String OPTION_PREFIX = "--";
 
 	/**
 	 * The error message that describes the {@link IOException} that's being raised if
@@ -39,22 +128,100 @@ public class Sjavac {
 	private static final String INVALID_ARGS_MESSAGE = "The number of argument supplied is invalid.";
 
 	/**
-	 * The message that's being shown if an I/O error occurred during the validation.
+	 * The format of a single file result line in batch mode (result code, file path).
+	 */
+	private static final String BATCH_RESULT_FORMAT = "%d %s";
+
+	/**
+	 * The format of a single file error message in batch mode (file path, message).
+	 */
+	private static final String BATCH_ERROR_FORMAT = "%s:%n%s";
+
+	/**
+	 * The format of the message that's being printed if the metrics couldn't be written (the error message).
 	 */
-	private static final String IO_EXCEPTION_MESSAGE = "An I/O error occurred during the process." +
-			"\nMessage: %s";
+	private static final String METRICS_ERROR_FORMAT = "Couldn't write the metrics: %s";
 
 	/**
-	 * The message that's being shown if an I/O error occurred during the validation.
+	 * The format of the message that's being printed if the cache couldn't be used (the error message).
 	 */
-	private static final String SYNTAX_EXCEPTION_MESSAGE = "A syntax error has been found on line: %d." +
-			"\nError Reason: %s.\nLine Contents: %s";
+	private static final String CACHE_ERROR_FORMAT = "Couldn't use the cache: %s";
 
 	/**
-	 * The message that's being shown if an I/O error occurred during the validation.
+	 * The format of the batch mode summary.
 	 */
-	private static final String SEMANTIC_EXCEPTION_MESSAGE = "A semantic error has been found while " +
-			"processing this request.\nFailure Reason: %s.";
+	private static final String BATCH_SUMMARY_FORMAT = "Validated %d file(s) in %d ms (%d ms of validation " +
+			"time on %d thread(s)): %d valid, %d invalid, %d I/O error(s).";
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes the options that were given to the program.
+	 */
+	private static class Options {
+		/**
+		 * The parser front-end to use.
+		 */
+		private ParserMode parserMode = ParserMode.LINE_PATTERNS;
+
+		/**
+		 * The symbols table implementation to use.
+		 */
+		private SymbolsTableMode tableMode = SymbolsTableMode.CLONING;
+
+		/**
+		 * The way the functions bodies are being semantically validated.
+		 */
+		private SemanticMode semanticMode = SemanticMode.SEQUENTIAL;
+
+		/**
+		 * Whether or not we're running in batch mode.
+		 */
+		private boolean batch = false;
+
+		/**
+		 * Whether or not every semantic error should be reported, rather than only the first one.
+		 */
+		private boolean diagnostics = false;
+
+		/**
+		 * The address the server listens on, or null if we're not running as a server.
+		 */
+		private String listenAddress = null;
+
+		/**
+		 * The directory the server validates files in, or null if the files aren't confined.
+		 */
+		private Path fileRoot = null;
+
+		/**
+		 * The number of worker threads in batch and server modes.
+		 */
+		private int threads = Runtime.getRuntime().availableProcessors();
+
+		/**
+		 * The path the metrics JSON is being written into, or null if it shouldn't be written.
+		 */
+		private String metricsPath = null;
+
+		/**
+		 * Whether or not the metrics should be committed as flight recorder events.
+		 */
+		private boolean jfr = false;
+
+		/**
+		 * The directory the validations results are being cached in, or null if they shouldn't be cached.
+		 */
+		private String cacheDirectory = null;
+
+		/**
+		 * The source paths.
+		 */
+		private final List<String> sources = new ArrayList<>();
+	}
+
 	// endregion
 
 	/**
@@ -62,39 +229,230 @@ public class Sjavac {
 	 * @param args The arguments sent to this program.
 	 */
     public static void main(String[] args) {
-    	try {
-			processRequest(args);
-			System.out.println(SUCCESS_RETURN_CODE);
-		} catch (IOException e1) {
-			System.out.println(IO_EXCEPTION_RETURN_CODE);
-		    System.err.println(String.format(IO_EXCEPTION_MESSAGE, e1.toString()));
-	    } catch (SyntaxErrorException e2) {
-		    System.out.println(FAILURE_RETURN_CODE);
-    		System.err.println(String.format(SYNTAX_EXCEPTION_MESSAGE,
-				    e2.getLineNumber(), e2.getErrorReason(), e2.getLineContent()));
-	    } catch (SemanticErrorException e3) {
-		    System.out.println(FAILURE_RETURN_CODE);
-			System.err.println(String.format(SEMANTIC_EXCEPTION_MESSAGE, e3.getMessage()));
+	    Options options;
+	    try {
+		    options = parseOptions(args);
+	    } catch (IOException e) {
+		    printResult(ValidationResult.ioError(null, e, 0));
+		    return;
 	    }
-    }
 
-	/**
-	 * Process the request.
-	 * @param args The arguments given to the program.
-	 * @return True if the request was successfully processed, false otherwise.
-	 * @throws IOException If there was an IO related error.
-	 * @throws SyntaxErrorException If a syntax error was found during the validation process.
-	 * @throws SemanticErrorException If a semantic error was found during the validation process.
-	 */
-	private static void processRequest(String[] args)
-        throws IOException, SyntaxErrorException, SemanticErrorException {
-		/* Make sure we got enough args */
-    	if (args.length != 1) {
-    		throw new IOException(INVALID_ARGS_MESSAGE);
+	    /* Collect the metrics, if they were requested */
+	    MetricsAggregator aggregator = options.metricsPath == null ? null : new MetricsAggregator();
+	    ValidationListener listener = aggregator;
+	    if (options.jfr) {
+		    ValidationListener jfrListener = new JfrValidationListener();
+		    listener = listener == null ? jfrListener : ValidationListener.combine(listener, jfrListener);
 	    }
 
+	    /* Cache the results, if it was requested (a cache that can't be opened is just not being used) */
+	    ValidationCache cache = options.cacheDirectory == null ? null : openCache(options.cacheDirectory);
+
 	    /* Use our facade to resolve this request */
-		ValidatorFacade facade = new ValidatorFacade();
-	    facade.validateFile(args[SOURCE_FILE_ARG_LOC]);
+	    ValidatorFacade facade = new ValidatorFacade(options.parserMode, options.tableMode, options.semanticMode,
+			    SyntaxFeatureFactory.getDefaultRegistry(), listener, cache);
+	    if (options.listenAddress != null) {
+		    runServer(facade, options);
+	    } else if (options.batch) {
+		    processBatchRequest(facade, options);
+	    } else if (options.diagnostics) {
+		    printResult(facade.tryCollectFileDiagnostics(options.sources.get(0)));
+	    } else {
+		    printResult(facade.tryValidateFile(options.sources.get(0)));
+	    }
+
+	    if (aggregator != null) {
+		    writeMetrics(aggregator, options.metricsPath);
+	    }
+
+	    if (cache != null) {
+		    closeCache(cache);
+	    }
     }
+
+	/**
+	 * Parses the program arguments.
+	 * @param args The arguments given to the program.
+	 * @return The parsed options.
+	 * @throws IOException If the arguments are invalid.
+	 */
+	private static Options parseOptions(String[] args)
+        throws IOException {
+		Options options = new Options();
+		try {
+			for (String arg : args) {
+				if (arg.startsWith(PARSER_OPTION_PREFIX)) {
+					options.parserMode = ParserMode.fromName(arg.substring(PARSER_OPTION_PREFIX.length()));
+				} else if (arg.startsWith(SYMBOLS_OPTION_PREFIX)) {
+					options.tableMode = SymbolsTableMode.fromName(arg.substring(SYMBOLS_OPTION_PREFIX.length()));
+				} else if (arg.startsWith(SEMANTIC_OPTION_PREFIX)) {
+					options.semanticMode = SemanticMode.fromName(arg.substring(SEMANTIC_OPTION_PREFIX.length()));
+				} else if (arg.startsWith(THREADS_OPTION_PREFIX)) {
+					options.threads = Integer.parseInt(arg.substring(THREADS_OPTION_PREFIX.length()));
+				} else if (arg.equals(BATCH_OPTION)) {
+					options.batch = true;
+				} else if (arg.equals(DIAGNOSTICS_OPTION)) {
+					options.diagnostics = true;
+				} else if (arg.startsWith(LISTEN_OPTION_PREFIX)) {
+					options.listenAddress = arg.substring(LISTEN_OPTION_PREFIX.length());
+
+					/* Resolve the address up front, so an invalid one (e.g. a port out of range) is reported
+					 * as invalid arguments rather than escaping the server */
+					ServerProtocol.resolve(options.listenAddress);
+				} else if (arg.startsWith(FILE_ROOT_OPTION_PREFIX)) {
+					options.fileRoot = Paths.get(arg.substring(FILE_ROOT_OPTION_PREFIX.length()));
+				} else if (arg.startsWith(METRICS_OPTION_PREFIX)) {
+					options.metricsPath = arg.substring(METRICS_OPTION_PREFIX.length());
+				} else if (arg.startsWith(CACHE_OPTION_PREFIX)) {
+					options.cacheDirectory = arg.substring(CACHE_OPTION_PREFIX.length());
+				} else if (arg.equals(JFR_OPTION)) {
+					options.jfr = true;
+				} else if (arg.equals(DEBUG_OPTION)) {
+					DebugMode.setEnabled(true);
+				} else if (arg.startsWith(OPTION_PREFIX)) {
+					throw new IllegalArgumentException(arg);
+				} else {
+					options.sources.add(arg);
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IOException(INVALID_ARGS_MESSAGE, e);
+		}
+
+		/* Make sure we got enough args - exactly one source file, unless we're in batch or server mode */
+		if (options.listenAddress != null) {
+			if (options.threads < 1 || options.batch || !options.sources.isEmpty()) {
+				throw new IOException(INVALID_ARGS_MESSAGE);
+			}
+		} else if (options.fileRoot != null || options.threads < 1 || options.sources.isEmpty()
+				|| (!options.batch && options.sources.size() != 1)) {
+			throw new IOException(INVALID_ARGS_MESSAGE);
+		}
+
+		return options;
+	}
+
+	/**
+	 * Process a batch request, a.k.a. validate all of the requested sources and print their results
+	 * (in the same order as the sources were given), followed by a summary.
+	 * @param facade The facade to validate the sources with.
+	 * @param options The program options.
+	 */
+	private static void processBatchRequest(ValidatorFacade facade, Options options) {
+		long start = System.nanoTime();
+
+		/* Collect the files */
+		List<String> sourceFiles;
+		try {
+			sourceFiles = BatchValidator.collectSources(options.sources);
+		} catch (IOException e) {
+			/* The paths are the program arguments, so paths that can't be read are invalid arguments */
+			printResult(ValidationResult.ioError(null, new IOException(INVALID_ARGS_MESSAGE, e), 0));
+			return;
+		}
+
+		/* Validate and report */
+		List<ValidationResult> results = new BatchValidator(facade, options.threads, options.diagnostics)
+				.validate(sourceFiles);
+		int[] counts = new int[ValidationResult.IO_ERROR_CODE + 1];
+		long validationNanos = 0;
+		for (ValidationResult result : results) {
+			System.out.println(String.format(BATCH_RESULT_FORMAT, result.getCode(), result.getSource()));
+			if (result.getMessage() != null) {
+				System.err.println(String.format(BATCH_ERROR_FORMAT, result.getSource(), result.getMessage()));
+			}
+			printStackTrace(result);
+
+			counts[result.getCode()]++;
+			validationNanos += result.getElapsedNanos();
+		}
+
+		System.err.println(String.format(BATCH_SUMMARY_FORMAT, results.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+				TimeUnit.NANOSECONDS.toMillis(validationNanos), options.threads,
+				counts[ValidationResult.SUCCESS_CODE], counts[ValidationResult.FAILURE_CODE],
+				counts[ValidationResult.IO_ERROR_CODE]));
+	}
+
+	/**
+	 * Runs a resident validation server, until it's being shut down.
+	 * @param facade The facade to validate the requests with.
+	 * @param options The program options.
+	 */
+	private static void runServer(ValidatorFacade facade, Options options) {
+		try (ValidationServer server = new ValidationServer(facade, options.threads, options.fileRoot)) {
+			server.serve(options.listenAddress);
+		} catch (IOException e) {
+			printResult(ValidationResult.ioError(null, e, 0));
+		}
+	}
+
+	/**
+	 * Opens the cache that's being stored in the given directory.
+	 * @param directory The cache directory.
+	 * @return The cache, or null if it couldn't be opened.
+	 */
+	private static ValidationCache openCache(String directory) {
+		try {
+			return ValidationCache.open(Paths.get(directory), ValidationCache.DEFAULT_CAPACITY);
+		} catch (IOException e) {
+			System.err.println(String.format(CACHE_ERROR_FORMAT, e.getMessage()));
+			return null;
+		}
+	}
+
+	/**
+	 * Closes the given cache, which records the entries that were used by this run into its index.
+	 * @param cache The cache to close.
+	 */
+	private static void closeCache(ValidationCache cache) {
+		try {
+			cache.close();
+		} catch (IOException e) {
+			System.err.println(String.format(CACHE_ERROR_FORMAT, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Writes the summed up metrics as JSON into the given path. As the metrics are a by-product of the
+	 * validation, a failure to write them is only being reported, and doesn't affect the validation result.
+	 * @param aggregator The metrics aggregator.
+	 * @param path The output path, or {@link Sjavac#STANDARD_ERROR_PATH}.
+	 */
+	private static void writeMetrics(MetricsAggregator aggregator, String path) {
+		try {
+			if (path.equals(STANDARD_ERROR_PATH)) {
+				aggregator.writeJson(System.err);
+				return;
+			}
+
+			try (Writer writer = Files.newBufferedWriter(Paths.get(path))) {
+				aggregator.writeJson(writer);
+			}
+		} catch (IOException e) {
+			System.err.println(String.format(METRICS_ERROR_FORMAT, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Prints the given result, the way a single file validation reports it.
+	 * @param result The validation result.
+	 */
+	private static void printResult(ValidationResult result) {
+		System.out.println(result.getCode());
+		if (result.getMessage() != null) {
+			System.err.println(result.getMessage());
+		}
+		printStackTrace(result);
+	}
+
+	/**
+	 * Prints the stack trace of the error the given result failed with, if we're in the {@link DebugMode}.
+	 * @param result The validation result.
+	 */
+	private static void printStackTrace(ValidationResult result) {
+		if (DebugMode.isEnabled() && result.getError() != null) {
+			result.getError().printStackTrace();
+		}
+	}
 }
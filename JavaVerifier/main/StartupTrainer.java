@@ -0,0 +1,520 @@
+package oop.ex6.main;
+
+import oop.ex6.benchmark.ProgramGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Prepares a startup optimised launch of {@link Sjavac}, for build scripts that run it once per source file.
+ *
+ * A training run validates a bundled corpus (generated programs of a few sizes and a set of invalid
+ * snippets, through every front-end and mode the command line offers) while the JVM records the classes it
+ * loads. The recorded classes are then being dumped into an application class-data-sharing archive, which
+ * also holds the archived heap objects (e.g. the interned strings) the JVM supports archiving. Finally, the
+ * startup times are being measured without any shared archive (cold), with the JDK default archive only,
+ * and with the application archive (warm).
+ *
+ * Usage: StartupTrainer [--archive=PATH] [--runs=N]
+ *
+ * The training writes the archive into PATH (sjavac.jsa by default), next to the JAR the classes were
+ * packaged into (as the JVM only shares classes that were loaded from JAR files), a launcher argument file
+ * and a launch script, so "./sjavac.sh [options] source-file" (or "java @sjavac.args [options] source-file")
+ * runs {@link Sjavac} over the archive. The script runs the JVM the archive was trained with, as an archive
+ * is only valid for the JVM that dumped it. An archive that doesn't match the JAR (e.g. after it was
+ * rebuilt) is being ignored by the JVM, which just starts cold.
+ */
+public class StartupTrainer {
+	// region Constants
+
+	/**
+	 * The prefix of the option that sets the archive path.
+	 */
+	private static final String ARCHIVE_OPTION_PREFIX = "--archive=";
+
+	/**
+	 * The prefix of the option that sets the number of runs each startup time is being measured over.
+	 */
+	private static final String RUNS_OPTION_PREFIX = "--runs=";
+
+	/**
+	 * The prefix of the (internal) option that runs the training workload over the corpus in the given
+	 * directory, in the JVM that records the loaded classes.
+	 */
+	private static final String WORKLOAD_OPTION_PREFIX = "--workload=";
+
+	/**
+	 * The default archive path.
+	 */
+	private static final String DEFAULT_ARCHIVE_PATH = "sjavac.jsa";
+
+	/**
+	 * The default number of runs each startup time is being measured over.
+	 */
+	private static final int DEFAULT_RUNS = 10;
+
+	/**
+	 * The extension of the JAR the classes are being packaged into.
+	 */
+	private static final String JAR_EXTENSION = ".jar";
+
+	/**
+	 * The extension of the loaded classes list.
+	 */
+	private static final String CLASS_LIST_EXTENSION = ".classlist";
+
+	/**
+	 * The extension of the launcher argument file.
+	 */
+	private static final String ARGUMENTS_EXTENSION = ".args";
+
+	/**
+	 * The extension of the launch script.
+	 */
+	private static final String SCRIPT_EXTENSION = ".sh";
+
+	/**
+	 * The launch script, formatted with the quoted JVM path and the quoted launcher argument file path.
+	 */
+	private static final String SCRIPT_FORMAT = "#!/bin/sh\n"
+			+ "# Runs Sjavac over the startup archive that was trained by StartupTrainer. The JVM ignores an\n"
+			+ "# archive that doesn't match the JAR (e.g. after it was rebuilt), and just starts cold.\n"
+			+ "exec %s @%s \"$@\"\n";
+
+	/**
+	 * The extension of the compiled classes.
+	 */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * The extension of the corpus source files.
+	 */
+	private static final String SOURCE_EXTENSION = ".sjava";
+
+	/**
+	 * The sizes of the corpus generated programs, as {globals, functions, depth, line length} tuples.
+	 */
+	private static final int[][] GENERATED_PROGRAMS = new int[][] {
+			{ 2, 2, 1, 40 }, { 10, 10, 2, 60 }, { 50, 50, 4, 80 }
+	};
+
+	/**
+	 * The corpus invalid snippets, which make the training load the syntax and the semantic errors paths.
+	 */
+	private static final String[] INVALID_SNIPPETS = new String[] {
+			"int a = \"text\";\n",
+			"final int a;\n",
+			"int a = 1;\nint a = 2;\n",
+			"b = 5;\n",
+			"void foo() {\nreturn;\n",
+			"void foo() {\nint a = 1\nreturn;\n}\n",
+			"void foo(int a) {\nfoo(\"text\");\nreturn;\n}\n",
+			"void foo() {\nif (x) {\n}\nreturn;\n}\n",
+			"void foo() {\nwhile (true) {\nbar();\n}\nreturn;\n}\n",
+			"void foo() {\nchar c = 'cc';\n}\n",
+			"double d = 1.5.5;\n",
+			"int 1a = 1;\n",
+			"}\n"
+	};
+
+	/**
+	 * The {@link Sjavac} options the corpus is being validated with, a set per run ({@link Sjavac} is being
+	 * run on every corpus file with each of them).
+	 */
+	private static final String[][] TRAINING_OPTIONS = new String[][] {
+			{}, { "--parser=token" }, { "--symbols=chain" }, { "--diagnostics" }
+	};
+
+	/**
+	 * The {@link Sjavac} options the whole corpus is being validated with at once, in batch mode.
+	 */
+	private static final String[] TRAINING_BATCH_OPTIONS = new String[] { "--batch", "--threads=2" };
+
+	/**
+	 * The JVM option that records the loaded classes into the given file.
+	 */
+	private static final String DUMP_CLASS_LIST_OPTION_FORMAT = "-XX:DumpLoadedClassList=%s";
+
+	/**
+	 * The JVM option that dumps a shared archive, rather than running a program.
+	 */
+	private static final String DUMP_ARCHIVE_OPTION = "-Xshare:dump";
+
+	/**
+	 * The JVM option that sets the classes list a shared archive is being dumped from.
+	 */
+	private static final String SHARED_CLASS_LIST_OPTION_FORMAT = "-XX:SharedClassListFile=%s";
+
+	/**
+	 * The JVM option that sets the path of the shared archive.
+	 */
+	private static final String SHARED_ARCHIVE_OPTION_FORMAT = "-XX:SharedArchiveFile=%s";
+
+	/**
+	 * The JVM option that disables the class-data-sharing.
+	 */
+	private static final String SHARING_OFF_OPTION = "-Xshare:off";
+
+	/**
+	 * The JVM option that uses a shared archive if it matches, and ignores it otherwise.
+	 */
+	private static final String SHARING_AUTO_OPTION = "-Xshare:auto";
+
+	/**
+	 * The JVM option that sets the class path.
+	 */
+	private static final String CLASS_PATH_OPTION = "-cp";
+
+	/**
+	 * The format of a startup times report line.
+	 */
+	private static final String STARTUP_TIME_FORMAT = "%-14s %10.1f %10.1f%n";
+
+	/**
+	 * The format of the startup times report header.
+	 */
+	private static final String STARTUP_HEADER_FORMAT = "Startup times over %d run(s):%n%-14s %10s %10s%n";
+
+	/**
+	 * The format of the training summary.
+	 */
+	private static final String TRAINING_SUMMARY_FORMAT = "Archived %d classes into %s%nRun: %s "
+			+ "[options] source-file%n%n";
+
+	/**
+	 * The message that's being printed if the options are invalid.
+	 */
+	private static final String USAGE_MESSAGE = "Usage: StartupTrainer [--archive=PATH] [--runs=N], where N >= 1";
+
+	/**
+	 * The format of the message that's being printed if the training failed.
+	 */
+	private static final String TRAINING_ERROR_FORMAT = "Couldn't train the startup archive: %s%n";
+
+	/**
+	 * The format of the message of a JVM that exited abnormally.
+	 */
+	private static final String PROCESS_ERROR_FORMAT = "The JVM exited with code %d: %s";
+
+	// endregion
+
+	/**
+	 * The training entry point.
+	 * @param args The arguments sent to this program.
+	 */
+	public static void main(String[] args) {
+		/* Parse the options */
+		Path archive = Paths.get(DEFAULT_ARCHIVE_PATH), workload = null;
+		int runs = DEFAULT_RUNS;
+		boolean valid = true;
+		try {
+			for (String arg : args) {
+				if (arg.startsWith(WORKLOAD_OPTION_PREFIX)) {
+					workload = Paths.get(arg.substring(WORKLOAD_OPTION_PREFIX.length()));
+				} else if (arg.startsWith(ARCHIVE_OPTION_PREFIX)) {
+					archive = Paths.get(arg.substring(ARCHIVE_OPTION_PREFIX.length()));
+				} else if (arg.startsWith(RUNS_OPTION_PREFIX)) {
+					runs = Integer.parseInt(arg.substring(RUNS_OPTION_PREFIX.length()));
+				} else {
+					valid = false;
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			valid = false; // A malformed number or path
+		}
+
+		if (valid && workload != null) {
+			runWorkload(workload);
+			return;
+		}
+
+		/* The archive must have a file name to derive its siblings' names from, and the averages need a run */
+		if (!valid || runs < 1 || archive.getFileName() == null) {
+			System.err.println(USAGE_MESSAGE);
+			return;
+		}
+
+		Path corpus = null;
+		try {
+			corpus = Files.createTempDirectory(StartupTrainer.class.getSimpleName());
+			List<Path> sources = writeCorpus(corpus);
+			Path launcher = train(archive.toAbsolutePath(), corpus);
+			reportStartupTimes(launcher, sources.get(0), runs);
+		} catch (IOException | InterruptedException e) {
+			System.err.printf(TRAINING_ERROR_FORMAT, e.getMessage());
+		} finally {
+			if (corpus != null) {
+				deleteRecursively(corpus);
+			}
+		}
+	}
+
+	// region Training
+
+	/**
+	 * Writes the training corpus into the given directory.
+	 * @param directory The corpus directory.
+	 * @return The paths of the corpus files, starting from the smallest valid program.
+	 * @throws IOException If the corpus couldn't be written.
+	 */
+	private static List<Path> writeCorpus(Path directory)
+			throws IOException {
+		List<Path> sources = new ArrayList<>();
+		for (int[] size : GENERATED_PROGRAMS) {
+			String program = new ProgramGenerator(size[0], size[1], size[2], size[3]).generate();
+			sources.add(Files.writeString(directory.resolve("valid" + sources.size() + SOURCE_EXTENSION),
+					program));
+		}
+
+		for (int i = 0; i < INVALID_SNIPPETS.length; i++) {
+			sources.add(Files.writeString(directory.resolve("invalid" + i + SOURCE_EXTENSION),
+					INVALID_SNIPPETS[i]));
+		}
+
+		return sources;
+	}
+
+	/**
+	 * Runs the training workload: validates each of the corpus files with each of the training options, and
+	 * then the whole corpus in batch mode.
+	 * @param corpus The corpus directory.
+	 */
+	private static void runWorkload(Path corpus) {
+		List<String> sources = new ArrayList<>();
+		try (Stream<Path> files = Files.list(corpus)) {
+			files.sorted().forEach(file -> sources.add(file.toString()));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		for (String source : sources) {
+			for (String[] options : TRAINING_OPTIONS) {
+				String[] args = Arrays.copyOf(options, options.length + 1);
+				args[options.length] = source;
+				Sjavac.main(args);
+			}
+		}
+
+		List<String> batchArgs = new ArrayList<>(Arrays.asList(TRAINING_BATCH_OPTIONS));
+		batchArgs.add(corpus.toString());
+		Sjavac.main(batchArgs.toArray(new String[0]));
+	}
+
+	/**
+	 * Trains the archive: packages the classes into a JAR, records the classes the workload loads and dumps
+	 * them into the archive.
+	 * @param archive The archive path.
+	 * @param corpus The corpus directory.
+	 * @return The path of the launcher argument file (which the launch script runs the JVM with).
+	 * @throws IOException If a file couldn't be written, or if a JVM exited abnormally.
+	 * @throws InterruptedException If the training was interrupted.
+	 */
+	private static Path train(Path archive, Path corpus)
+			throws IOException, InterruptedException {
+		Path jar = withExtension(archive, JAR_EXTENSION);
+		Path classList = withExtension(archive, CLASS_LIST_EXTENSION);
+		Path launcher = withExtension(archive, ARGUMENTS_EXTENSION);
+		packageClasses(jar);
+
+		/* Record the loaded classes, without any archive, so every class is being listed */
+		runJava(SHARING_OFF_OPTION, String.format(DUMP_CLASS_LIST_OPTION_FORMAT, classList),
+				CLASS_PATH_OPTION, jar.toString(), StartupTrainer.class.getName(),
+				WORKLOAD_OPTION_PREFIX + corpus);
+
+		/* Dump the archive (the static dump archives the supported heap objects as well) */
+		runJava(DUMP_ARCHIVE_OPTION, String.format(SHARED_CLASS_LIST_OPTION_FORMAT, classList),
+				String.format(SHARED_ARCHIVE_OPTION_FORMAT, archive), CLASS_PATH_OPTION, jar.toString());
+
+		/* The argument file quotes the paths, as they may contain spaces */
+		List<String> launcherArgs = Arrays.asList(String.format(SHARED_ARCHIVE_OPTION_FORMAT, quote(archive)),
+				SHARING_AUTO_OPTION, CLASS_PATH_OPTION, quote(jar), Sjavac.class.getName());
+		Files.write(launcher, launcherArgs, StandardCharsets.UTF_8);
+
+		/* The script runs the JVM the archive was dumped by, over the argument file */
+		Path script = withExtension(archive, SCRIPT_EXTENSION);
+		Files.writeString(script, String.format(SCRIPT_FORMAT, quoteForShell(getJavaPath()),
+				quoteForShell(launcher.toString())), StandardCharsets.UTF_8);
+		script.toFile().setExecutable(true);
+
+		long classes;
+		try (Stream<String> lines = Files.lines(classList)) {
+			classes = lines.filter(line -> !line.startsWith("#") && !line.startsWith("@")).count();
+		}
+		System.out.printf(TRAINING_SUMMARY_FORMAT, classes, archive, script);
+		return launcher;
+	}
+
+	/**
+	 * Packages the classes of this program's class path into the given JAR. JAR entries of the class path
+	 * are being skipped, as the classes of this program are expected to be in directories.
+	 * @param jar The JAR path.
+	 * @throws IOException If the JAR couldn't be written.
+	 */
+	private static void packageClasses(Path jar)
+			throws IOException {
+		Path temporaryJar = withExtension(jar, JAR_EXTENSION + ".tmp");
+		try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(temporaryJar))) {
+			for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+				Path root = Paths.get(entry);
+				if (!Files.isDirectory(root)) {
+					continue;
+				}
+
+				List<Path> classes;
+				try (Stream<Path> files = Files.walk(root)) {
+					classes = files.filter(file -> file.toString().endsWith(CLASS_FILE_EXTENSION)).sorted()
+							.collect(Collectors.toList());
+				}
+
+				for (Path file : classes) {
+					output.putNextEntry(new JarEntry(root.relativize(file).toString().replace(File.separatorChar,
+							'/')));
+					Files.copy(file, output);
+					output.closeEntry();
+				}
+			}
+		}
+
+		Files.move(temporaryJar, jar, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	// endregion
+
+	// region Startup Times
+
+	/**
+	 * Measures and prints the startup times of {@link Sjavac} validating the given source, without any shared
+	 * archive, with the JDK default archive and with the trained archive.
+	 * @param launcher The launcher argument file.
+	 * @param source The source to validate.
+	 * @param runs The number of runs each time is being measured over.
+	 * @throws IOException If a JVM couldn't be started, or if it exited abnormally.
+	 * @throws InterruptedException If the measurement was interrupted.
+	 */
+	private static void reportStartupTimes(Path launcher, Path source, int runs)
+			throws IOException, InterruptedException {
+		Path jar = withExtension(launcher, JAR_EXTENSION);
+		String[][] configurations = new String[][] {
+				{ SHARING_OFF_OPTION, CLASS_PATH_OPTION, jar.toString(), Sjavac.class.getName(),
+						source.toString() },
+				{ CLASS_PATH_OPTION, jar.toString(), Sjavac.class.getName(), source.toString() },
+				{ "@" + launcher, source.toString() }
+		};
+		String[] names = new String[] { "cold", "jdk-archive", "warm" };
+
+		System.out.printf(STARTUP_HEADER_FORMAT, runs, "Launch", "mean ms", "min ms");
+		for (int i = 0; i < configurations.length; i++) {
+			long totalNanos = 0, minNanos = Long.MAX_VALUE;
+			for (int run = 0; run < runs; run++) {
+				long start = System.nanoTime();
+				runJava(configurations[i]);
+				long elapsed = System.nanoTime() - start;
+				totalNanos += elapsed;
+				minNanos = Math.min(minNanos, elapsed);
+			}
+
+			double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+			System.out.printf(STARTUP_TIME_FORMAT, names[i], totalNanos / nanosPerMilli / runs,
+					minNanos / nanosPerMilli);
+		}
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Runs a JVM with the given arguments, and waits for it to exit. Its output is being discarded, unless
+	 * it exits abnormally.
+	 * @param args The JVM arguments.
+	 * @throws IOException If the JVM couldn't be started, or if it exited abnormally.
+	 * @throws InterruptedException If the waiting was interrupted.
+	 */
+	private static void runJava(String... args)
+			throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(getJavaPath());
+		command.addAll(Arrays.asList(args));
+
+		Path log = Files.createTempFile(StartupTrainer.class.getSimpleName(), null);
+		try {
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile())
+					.start();
+			int exitCode = process.waitFor();
+			if (exitCode != 0) {
+				throw new IOException(String.format(PROCESS_ERROR_FORMAT, exitCode, Files.readString(log).trim()));
+			}
+		} finally {
+			Files.deleteIfExists(log);
+		}
+	}
+
+	/**
+	 * Gets the path of the given path's sibling file with the given extension (e.g. "sjavac.jar" for
+	 * "sjavac.jsa").
+	 * @param path The path.
+	 * @param extension The sibling extension.
+	 * @return The sibling path.
+	 */
+	private static Path withExtension(Path path, String extension) {
+		String name = path.getFileName().toString();
+		int extensionIndex = name.lastIndexOf('.');
+		String baseName = extensionIndex > 0 ? name.substring(0, extensionIndex) : name;
+		return path.resolveSibling(baseName + extension);
+	}
+
+	/**
+	 * Quotes the given path for an argument file, escaping its backslashes and quotes.
+	 * @param path The path.
+	 * @return The quoted path.
+	 */
+	private static String quote(Path path) {
+		return '"' + path.toString().replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+	}
+
+	/**
+	 * Quotes the given argument for a POSIX shell, by enclosing it in single quotes (a single quote inside
+	 * the argument is being closed, escaped and reopened).
+	 * @param argument The argument.
+	 * @return The quoted argument.
+	 */
+	private static String quoteForShell(String argument) {
+		return '\'' + argument.replace("'", "'\\''") + '\'';
+	}
+
+	/**
+	 * Gets the path of the java launcher of the running JVM.
+	 * @return The java launcher path.
+	 */
+	private static String getJavaPath() {
+		return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+	}
+
+	/**
+	 * Deletes the given directory and its files, ignoring the files that couldn't be deleted.
+	 * @param directory The directory.
+	 */
+	private static void deleteRecursively(Path directory) {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		} catch (IOException e) {
+			/* The corpus is in the temporary directory anyway */
+		}
+	}
+
+	// endregion
+}
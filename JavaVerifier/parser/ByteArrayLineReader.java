@@ -0,0 +1,71 @@
+package oop.ex6.parser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link LineReader} over the content of a source file that was already read into memory. The content is
+ * being decoded and split into lines the way {@link MappedFileLineReader} reads the file, so parsing the
+ * content is the same as parsing the file it was read from.
+ */
+public class ByteArrayLineReader implements LineReader {
+	// region iVars
+
+	/**
+	 * The decoding reader of the content.
+	 */
+	private final BufferedReader reader;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new line reader, using the platform default charset.
+	 * @param content The file content.
+	 */
+	public ByteArrayLineReader(byte[] content) {
+		this(content, Charset.defaultCharset());
+	}
+
+	/**
+	 * Initializes a new line reader.
+	 * @param content The file content.
+	 * @param charset The content charset. Malformed input is being replaced, like {@link java.io.FileReader}
+	 * does.
+	 */
+	public ByteArrayLineReader(byte[] content, Charset charset) {
+		if (content == null || charset == null) {
+			throw new NullPointerException();
+		}
+
+		this.reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), charset));
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String readLine()
+		throws IOException {
+		return this.reader.readLine();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close()
+		throws IOException {
+		this.reader.close();
+	}
+
+	// endregion
+}
@@ -0,0 +1,420 @@
+package oop.ex6.parser;
+
+import oop.ex6.SymbolInterner;
+import oop.ex6.Token;
+import oop.ex6.ast.ASTNodeFactory;
+import oop.ex6.ast.ProgramASTNode;
+import oop.ex6.instrumentation.ValidationMetrics;
+import oop.ex6.parser.features.SyntaxFeatureRegistry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A {@link SourceParser} that parses the source code in chunks, concurrently, on the common fork-join pool.
+ *
+ * A cheap pre-scan tracks the curly braces depth of each line in order to find where the global scope
+ * statements (e.g. whole functions) start and end, and the source is being split into chunks between such
+ * statements. As the parsing state between global statements is always the same (an empty program), each
+ * chunk is being parsed on its own by a parser of the given chunk mode, with its original line numbers, and
+ * the statements of the chunks are being stitched back into a single program in their source order.
+ *
+ * The first syntax error (in the source order) is the one that's being reported. If the pre-scan was
+ * misled (so a chunk didn't close all of its scopes), the whole source is being parsed sequentially, which
+ * keeps the reported errors identical to those of the chunk mode parser.
+ */
+public class ChunkedSourceParser implements SourceParser {
+	// region Constants
+
+	/**
+	 * The minimal number of lines in a chunk, as smaller chunks would cost more to schedule than to parse.
+	 */
+	private static final int MIN_CHUNK_LINES = 512;
+
+	/**
+	 * The number of chunks each fork-join worker is being given (roughly), so workers that finish early can
+	 * pick up the remaining chunks.
+	 */
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	/**
+	 * The token that opens a scope at the end of a line.
+	 */
+	private static final char SCOPE_OPENING = Token.LEFT_CURLY_PREN.toString().charAt(0);
+
+	/**
+	 * The token that closes a scope, when it's the only token of a line.
+	 */
+	private static final char SCOPE_CLOSING = Token.RIGHT_CURLY_PREN.toString().charAt(0);
+
+	/**
+	 * The prefix of a comment line.
+	 */
+	private static final String COMMENT_PREFIX = Token.COMMENT.toString();
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * A {@link LineReader} over a range of already read lines.
+	 */
+	private static class ListLineReader implements LineReader {
+		/**
+		 * The lines iterator.
+		 */
+		private final Iterator<String> lines;
+
+		/**
+		 * Initializes a new line reader.
+		 * @param lines The lines to read.
+		 */
+		ListLineReader(List<String> lines) {
+			this.lines = lines.iterator();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String readLine() {
+			return this.lines.hasNext() ? this.lines.next() : null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * A fork-join task that parses a single chunk.
+	 */
+	@SuppressWarnings("serial")
+	private static class ChunkParsingTask extends RecursiveAction {
+		// region iVars
+
+		/**
+		 * The parser of the chunk.
+		 */
+		private final SourceParser parser;
+
+		/**
+		 * The chunk lines.
+		 */
+		private final List<String> lines;
+
+		/**
+		 * The number of the first line of the chunk.
+		 */
+		private final int firstLineNumber;
+
+		/**
+		 * The interner the chunk symbols are being interned by, which is shared by all of the chunks.
+		 */
+		private final SymbolInterner interner;
+
+		/**
+		 * The parsed chunk, or null if it wasn't parsed (yet).
+		 */
+		private ProgramASTNode program;
+
+		/**
+		 * The syntax error that was detected in the chunk, or null if there's none.
+		 */
+		private SyntaxErrorException error;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new task.
+		 * @param parser The parser of the chunk.
+		 * @param lines The chunk lines.
+		 * @param firstLineNumber The number of the first line of the chunk.
+		 * @param interner The interner the chunk symbols should be interned by.
+		 */
+		ChunkParsingTask(SourceParser parser, List<String> lines, int firstLineNumber, SymbolInterner interner) {
+			this.parser = parser;
+			this.lines = lines;
+			this.firstLineNumber = firstLineNumber;
+			this.interner = interner;
+		}
+
+		// endregion
+
+		// region Protected API
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+			try {
+				this.program = this.parser.parse(new ListLineReader(this.lines), this.firstLineNumber, this.interner);
+			} catch (SyntaxErrorException e) {
+				this.error = e;
+			} catch (IOException e) {
+				/* The chunks lines were already read */
+				throw new IllegalStateException(e);
+			}
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The parser front-end the chunks are being parsed with.
+	 */
+	private final ParserMode chunkMode;
+
+	/**
+	 * The registry the syntax features are being resolved from.
+	 */
+	private final SyntaxFeatureRegistry registry;
+
+	/**
+	 * The metrics the syntax features usage is being recorded into, or null if it isn't being measured.
+	 */
+	private final ValidationMetrics metrics;
+
+	// endregion
+
+	// region Ctor
+
+	/**
+	 * Initializes a new chunked parser.
+	 * @param chunkMode The parser front-end to parse the chunks with.
+	 * @param registry The syntax features registry.
+	 * @param metrics The metrics to record into, or null if the parsing shouldn't be measured.
+	 */
+	public ChunkedSourceParser(ParserMode chunkMode, SyntaxFeatureRegistry registry, ValidationMetrics metrics) {
+		if (chunkMode == null || registry == null) {
+			throw new NullPointerException();
+		}
+
+		this.chunkMode = chunkMode;
+		this.registry = registry;
+		this.metrics = metrics;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ProgramASTNode parse(String sourceCode, SymbolInterner interner)
+		throws SyntaxErrorException {
+		if (sourceCode == null) {
+			throw new NullPointerException();
+		}
+
+		try {
+			return this.parse(new StringLineReader(sourceCode), 1, interner);
+		} catch (IOException e) {
+			/* In-memory sources can't raise I/O errors */
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Note that the lines are being read as a whole before the parsing starts (unless there's only a single
+	 * processor, in which case the source is being parsed sequentially).
+	 */
+	@Override
+	public ProgramASTNode parse(LineReader reader, int firstLineNumber, SymbolInterner interner)
+		throws IOException, SyntaxErrorException {
+		if (reader == null || interner == null) {
+			throw new NullPointerException();
+		}
+
+		/* A single processor can't parse the chunks concurrently, so just stream the source into the parser */
+		if (Runtime.getRuntime().availableProcessors() < 2) {
+			return this.chunkMode.createParser(this.registry, this.metrics).parse(reader, firstLineNumber, interner);
+		}
+
+		/* Read the lines and split them into chunks */
+		List<String> lines = new ArrayList<>();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lines.add(line);
+		}
+
+		int chunkLines = Math.max(MIN_CHUNK_LINES,
+				lines.size() / (ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_WORKER));
+		List<Integer> boundaries = findChunkBoundaries(lines, chunkLines);
+		if (boundaries.size() <= 2) {
+			return this.chunkMode.createParser(this.registry, this.metrics)
+					.parse(new ListLineReader(lines), firstLineNumber, interner);
+		}
+
+		/* Parse the chunks concurrently, into the interner of the stitched program */
+		int chunksCount = boundaries.size() - 1;
+		ValidationMetrics[] chunksMetrics = new ValidationMetrics[chunksCount];
+		ChunkParsingTask[] tasks = new ChunkParsingTask[chunksCount];
+		for (int i = 0; i < chunksCount; i++) {
+			tasks[i] = new ChunkParsingTask(this.createChunkParser(chunksMetrics, i),
+					lines.subList(boundaries.get(i), boundaries.get(i + 1)), firstLineNumber + boundaries.get(i),
+					interner);
+			ForkJoinPool.commonPool().execute(tasks[i]);
+		}
+
+		/* Stitch the chunks statements together, in their source order */
+		ProgramASTNode program = ASTNodeFactory.createProgram(interner);
+		try {
+			for (int i = 0; i < chunksCount; i++) {
+				tasks[i].join();
+				if (tasks[i].error instanceof MissingScopeClosingException && i < chunksCount - 1) {
+					/* The pre-scan was misled, so the chunks boundaries can't be trusted */
+					cancelAll(tasks);
+					return this.chunkMode.createParser(this.registry, this.metrics)
+							.parse(new ListLineReader(lines), firstLineNumber, interner);
+				} else if (tasks[i].error != null) {
+					cancelAll(tasks);
+					throw tasks[i].error;
+				}
+
+				ProgramASTNode chunkProgram = tasks[i].program;
+				for (int j = 0; j < chunkProgram.getStatementCount(); j++) {
+					program.append(chunkProgram.getStatement(j), chunkProgram.getStatementLine(j));
+				}
+			}
+		} finally {
+			this.mergeMetrics(chunksMetrics, tasks);
+		}
+
+		program.compact();
+		return program;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The statements are only being streamed when there's a single processor (see
+	 * {@link ChunkedSourceParser#parse(LineReader, int, SymbolInterner)}), as the chunks are being parsed out of
+	 * order.
+	 */
+	@Override
+	public void parseStatements(LineReader reader, int firstLineNumber, SymbolInterner interner,
+								GlobalStatementListener listener)
+		throws IOException, SyntaxErrorException {
+		if (Runtime.getRuntime().availableProcessors() < 2) {
+			this.chunkMode.createParser(this.registry, this.metrics).parseStatements(reader, firstLineNumber,
+					interner, listener);
+			return;
+		}
+
+		SourceParser.super.parseStatements(reader, firstLineNumber, interner, listener);
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Finds the boundaries of the chunks the given lines should be parsed in. A chunk only ends after a line
+	 * that (according to the curly braces depth pre-scan) ends a global scope statement.
+	 * @param lines The source code lines.
+	 * @param chunkLines The minimal number of lines in a chunk.
+	 * @return The indices of the first line of each chunk, followed by the number of the lines.
+	 */
+	private static List<Integer> findChunkBoundaries(List<String> lines, int chunkLines) {
+		List<Integer> boundaries = new ArrayList<>();
+		boundaries.add(0);
+
+		int depth = 0;
+		int chunkStart = 0;
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+
+			/* Find the trimmed line bounds, without creating the trimmed string */
+			int start = 0;
+			int end = line.length();
+			while (start < end && line.charAt(start) <= ' ') {
+				start++;
+			}
+			while (end > start && line.charAt(end - 1) <= ' ') {
+				end--;
+			}
+
+			if (start == end || line.startsWith(COMMENT_PREFIX, start)) {
+				continue; // Empty lines and comments don't affect the depth
+			}
+
+			if (end - start == 1 && line.charAt(start) == SCOPE_CLOSING) {
+				depth = Math.max(0, depth - 1);
+			} else if (line.charAt(end - 1) == SCOPE_OPENING) {
+				depth++;
+			}
+
+			if (depth == 0 && i + 1 - chunkStart >= chunkLines && i + 1 < lines.size()) {
+				chunkStart = i + 1;
+				boundaries.add(chunkStart);
+			}
+		}
+
+		boundaries.add(lines.size());
+		return boundaries;
+	}
+
+	/**
+	 * Cancels the given tasks, as their chunks don't have to be parsed anymore. Tasks that already started
+	 * are being left to complete.
+	 * @param tasks The chunks parsing tasks.
+	 */
+	private static void cancelAll(ChunkParsingTask[] tasks) {
+		for (ChunkParsingTask task : tasks) {
+			task.cancel(false);
+		}
+	}
+
+	/**
+	 * Creates the parser of the given chunk. As the metrics can only be recorded by a single thread, each
+	 * chunk records into its own metrics (if they're being collected).
+	 * @param chunksMetrics The metrics of the chunks.
+	 * @param chunk The chunk index.
+	 * @return The chunk parser.
+	 */
+	private SourceParser createChunkParser(ValidationMetrics[] chunksMetrics, int chunk) {
+		if (this.metrics != null) {
+			chunksMetrics[chunk] = new ValidationMetrics();
+		}
+
+		return this.chunkMode.createParser(this.registry, chunksMetrics[chunk]);
+	}
+
+	/**
+	 * Merges the metrics of the chunks that were parsed into the metrics of this parser, if they're being
+	 * collected.
+	 * @param chunksMetrics The metrics of the chunks.
+	 * @param tasks The chunks parsing tasks.
+	 */
+	private void mergeMetrics(ValidationMetrics[] chunksMetrics, ChunkParsingTask[] tasks) {
+		if (this.metrics == null) {
+			return;
+		}
+
+		for (int i = 0; i < tasks.length; i++) {
+			/* A cancelled task might still be running, so its metrics can't be read */
+			if (tasks[i].isDone() && !tasks[i].isCancelled()) {
+				this.metrics.merge(chunksMetrics[i]);
+			}
+		}
+	}
+
+	// endregion
+}
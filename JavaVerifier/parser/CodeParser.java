@@ -1,19 +1,24 @@
 package oop.ex6.parser;
 
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
 import oop.ex6.ast.ProgramASTNode;
 import oop.ex6.ast.ScopeNode;
+import oop.ex6.instrumentation.ValidationMetrics;
 import oop.ex6.parser.features.*;
 
-import java.util.Stack;
+import java.io.IOException;
+import java.util.ArrayDeque;
 
 /**
  * Defines a code parser, which's a unit that translates the given source code, represented as a String, into
  * an AST ({@link ASTNode}) by applying on it the registered {@link SyntaxFeature}s.
+ *
+ * The parser reuses its scopes stack between parses, so it can only parse a single source at a time.
  */
-public class CodeParser {
+public class CodeParser implements SourceParser {
 	// region Constants
 
 	/**
@@ -43,18 +48,13 @@ public class CodeParser {
 	/**
 	 * The syntax features that're being allowed in the global scope.
 	 */
-	private static final SyntaxFeatureIdentifier[] GLOBAL_SCOPE_FEATURES =  new SyntaxFeatureIdentifier[] {
+	static final SyntaxFeatureIdentifier[] GLOBAL_SCOPE_FEATURES =  new SyntaxFeatureIdentifier[] {
 					SyntaxFeatureIdentifier.COMMENT,
 					SyntaxFeatureIdentifier.ASSIGNMENT,
 					SyntaxFeatureIdentifier.VARIABLE_DECLARATION,
 					SyntaxFeatureIdentifier.FUNCTION_DECLARATION
 			};
 
-	/**
-	 * The token that's being used to separate code lines.
-	 */
-	private static final String SOURCE_CODE_SEPARATION_TOKEN = "\n";
-
 	// endregion
 
 	// region Nested Types
@@ -75,6 +75,11 @@ public class CodeParser {
 		 */
 		private final SyntaxFeature[] syntaxFeatures;
 
+		/**
+		 * The dispatcher that pre-selects the syntax features of each line within this scope.
+		 */
+		private final SyntaxFeatureDispatcher dispatcher;
+
 		// endregion
 
 		// region Initializer
@@ -83,10 +88,12 @@ public class CodeParser {
 		 * Creates a new scope entry in the stack.
 		 * @param scope The actual scope.
 		 * @param syntaxFeatures The scope syntax features list.
+		 * @param dispatcher The dispatcher of the scope syntax features.
 		 */
-		ScopeStackEntry(ScopeNode scope, SyntaxFeature[] syntaxFeatures) {
+		ScopeStackEntry(ScopeNode scope, SyntaxFeature[] syntaxFeatures, SyntaxFeatureDispatcher dispatcher) {
 			this.scope = scope;
 			this.syntaxFeatures = syntaxFeatures;
+			this.dispatcher = dispatcher;
 		}
 
 		// endregion
@@ -94,12 +101,71 @@ public class CodeParser {
 
 	// endregion
 
+	// region iVars
+
+	/**
+	 * The registry the syntax features are being resolved from.
+	 */
+	private final SyntaxFeatureRegistry registry;
+
+	/**
+	 * The metrics the syntax features usage is being recorded into, or null if it isn't being measured.
+	 */
+	private final ValidationMetrics metrics;
+
+	/**
+	 * The stack of the scopes that are open on the current line. It's empty between parses.
+	 */
+	private final ArrayDeque<ScopeStackEntry> scopesStack = new ArrayDeque<>();
+
+	/**
+	 * The interner the symbols of the current parse are being interned by. It's null between parses.
+	 */
+	private SymbolInterner interner;
+
+	/**
+	 * The listener the global statements are being handed over to by the current parse, or null if they're
+	 * being kept in the program.
+	 */
+	private GlobalStatementListener listener;
+
+	/**
+	 * The line of the global statement whose scope is open, while the statements are being handed over.
+	 */
+	private int openStatementLine;
+
+	// endregion
+
 	// region Ctor
 
 	/**
-	 * Initializes a new code parser.
+	 * Initializes a new code parser that supports all of the available syntax features.
 	 */
 	public CodeParser() {
+		this(SyntaxFeatureFactory.getDefaultRegistry());
+	}
+
+	/**
+	 * Initializes a new code parser that supports the syntax features of the given registry.
+	 * @param registry The syntax features registry.
+	 */
+	public CodeParser(SyntaxFeatureRegistry registry) {
+		this(registry, null);
+	}
+
+	/**
+	 * Initializes a new code parser that supports the syntax features of the given registry, and records
+	 * the usage of each syntax feature into the given metrics.
+	 * @param registry The syntax features registry.
+	 * @param metrics The metrics to record into, or null if the parsing shouldn't be measured.
+	 */
+	public CodeParser(SyntaxFeatureRegistry registry, ValidationMetrics metrics) {
+		if (registry == null) {
+			throw new NullPointerException();
+		}
+
+		this.registry = registry;
+		this.metrics = metrics;
 	}
 
 	// endregion
@@ -107,39 +173,98 @@ public class CodeParser {
 	// region Public API
 
 	/**
-	 * Parses the given source code into an AST.
-	 * @param sourceCode The source code to parse.
-	 * @return The created AST root.
-	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 * {@inheritDoc}
 	 */
-	public ProgramASTNode parse(String sourceCode)
+	@Override
+	public ProgramASTNode parse(String sourceCode, SymbolInterner interner)
 		throws SyntaxErrorException {
+		if (sourceCode == null) {
+			throw new NullPointerException();
+		}
+
+		try {
+			return this.parse(new StringLineReader(sourceCode), 1, interner);
+		} catch (IOException e) {
+			/* In-memory sources can't raise I/O errors */
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ProgramASTNode parse(LineReader reader, int firstLineNumber, SymbolInterner interner)
+		throws IOException, SyntaxErrorException {
+		if (reader == null || interner == null) {
+			throw new NullPointerException();
+		}
+
 		/* Init */
-		int i = 0;
-		Stack<ScopeStackEntry> scopesStack = new Stack<>();
+		int lineNumber = firstLineNumber - 1;
+		int lastLineNumber = lineNumber;
+		String lastLine = null;
+		ArrayDeque<ScopeStackEntry> scopesStack = this.scopesStack;
 
 		/* Adds the program main to the stack, as its tree root */
-		scopesStack.push(new ScopeStackEntry(ASTNodeFactory.createProgram(),
-				SyntaxFeatureFactory.factory((GLOBAL_SCOPE_FEATURES))));
+		this.interner = interner;
+		SyntaxFeature[] globalFeatures = this.registry.select(GLOBAL_SCOPE_FEATURES);
+		scopesStack.push(new ScopeStackEntry(ASTNodeFactory.createProgram(interner), globalFeatures,
+				this.registry.getDispatcher(globalFeatures)));
 
-		String line = null;
-		String[] lines = sourceCode.split(SOURCE_CODE_SEPARATION_TOKEN);
 		try {
-			for (i = 0; i < lines.length; i++) {
-				/* Parse */
-				parseLine(lines[i], i + 1, scopesStack);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				try {
+					/* Parse */
+					parseLine(line, lineNumber, scopesStack);
+				} catch (SyntaxFeatureParseException e) {
+					throw new SyntaxErrorException(e, line, lineNumber);
+				}
+
+				/* Keep track of the last non empty line, as trailing empty lines are being ignored */
+				if (!line.isEmpty()) {
+					lastLineNumber = lineNumber;
+					lastLine = line;
+				}
 			}
-		} catch (SyntaxFeatureParseException e) {
-			throw new SyntaxErrorException(e, lines[i], i + 1);
+
+			/* Does our stack contains exactly one item - the ProgramScopeNode? if not, it means that someone
+			has forgot to close enough code scopes. */
+			if (scopesStack.size() != 1) {
+				throw new MissingScopeClosingException(MISSING_PROGRAM_END_SCOPE_MESSAGE, lastLine,
+						lastLineNumber - 1);
+			}
+
+			ProgramASTNode program = (ProgramASTNode)(scopesStack.pop().scope);
+			program.compact();
+			return program;
+		} finally {
+			/* Don't keep the nodes of a failed parse alive */
+			scopesStack.clear();
+			this.interner = null;
 		}
+	}
 
-		/* Does our stack contains exactly one item - the ProgramScopeNode? if not, it means that someone
-		has forgot to close enough code scopes. */
-		if (scopesStack.size() != 1) {
-			throw new SyntaxErrorException(MISSING_PROGRAM_END_SCOPE_MESSAGE, lines[i - 1], i - 1);
+	/**
+	 * {@inheritDoc}
+	 * Each global statement is being handed over as soon as its last line was parsed.
+	 */
+	@Override
+	public void parseStatements(LineReader reader, int firstLineNumber, SymbolInterner interner,
+								GlobalStatementListener listener)
+		throws IOException, SyntaxErrorException {
+		if (listener == null) {
+			throw new NullPointerException();
 		}
 
-		return (ProgramASTNode)(scopesStack.pop().scope);
+		this.listener = listener;
+		try {
+			this.parse(reader, firstLineNumber, interner); // The program is empty, as its statements were handed over
+		} finally {
+			this.listener = null;
+		}
 	}
 
 	// endregion
@@ -155,7 +280,7 @@ public class CodeParser {
 	 * this line is using to get parsed.
 	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
 	 */
-	private void parseLine(String line, int lineNumber, Stack<ScopeStackEntry> scopesStack)
+	private void parseLine(String line, int lineNumber, ArrayDeque<ScopeStackEntry> scopesStack)
 		throws SyntaxFeatureParseException, SyntaxErrorException {
 
 		/* Setup */
@@ -171,14 +296,20 @@ public class CodeParser {
 				throw new SyntaxErrorException(UNEXPECTED_SCOPE_CLOSE_MESSAGE, line, lineNumber);
 			}
 
-			scopesStack.pop();
+			ScopeNode scope = scopesStack.pop().scope;
+			scope.compact();
+			if (this.listener != null && scopesStack.size() == 1) {
+				/* The global statement is complete, so it can be handed over */
+				this.listener.onGlobalStatement(scope, this.openStatementLine);
+			}
 			return;
 		}
 
 		/* Parse */
 		ScopeStackEntry currentScope = scopesStack.peek();
-		SyntaxFeature feature = selectLineParser(line + "\n", currentScope.syntaxFeatures);
-		ASTNode result = feature.parse(line);
+		SyntaxFeature feature = selectLineParser(line + "\n", currentScope.dispatcher.getCandidates(line),
+				this.metrics);
+		ASTNode result = parseWith(feature, line, this.interner, this.metrics);
 		if (result == null) {
 			return; // Nothing to do here. Can caused from anything that's "not important".
 		}
@@ -192,36 +323,104 @@ public class CodeParser {
 			}
 
 			/* Create a new scope in the stack */
-			SyntaxFeature[] scopeFeatures = ((ScopeSyntaxFeature)feature).getInnerFeatures();
+			SyntaxFeature[] scopeFeatures = ((ScopeSyntaxFeature)feature).getInnerFeatures(this.registry);
+			SyntaxFeatureDispatcher scopeDispatcher;
 			if (scopeFeatures == null) {
 				/* If the scope features wasn't supplied, infer them from the outer scope */
 				scopeFeatures = currentScope.syntaxFeatures;
+				scopeDispatcher = currentScope.dispatcher;
+			} else {
+				scopeDispatcher = this.registry.getDispatcher(scopeFeatures);
+			}
+			scopesStack.push(new ScopeStackEntry((ScopeNode)result, scopeFeatures, scopeDispatcher));
+		}
+
+		/* Hand the global statements over to the listener, if there's one, rather than keeping them in the
+		program. A statement that opens a scope is being handed over once the scope was closed */
+		if (this.listener != null && currentScope == scopesStack.peekLast()) {
+			if (result instanceof ScopeNode) {
+				this.openStatementLine = lineNumber;
+			} else {
+				this.listener.onGlobalStatement(result, lineNumber);
 			}
-			scopesStack.push(new ScopeStackEntry((ScopeNode)result, scopeFeatures));
+			return;
 		}
 
-		/* Add the entry to the parent scope */
-		currentScope.scope.append(result);
+		/* Add the entry to the parent scope, which keeps track of its statements lines */
+		currentScope.scope.append(result, lineNumber);
 	}
 
+	// endregion
+
+	// region Package API
+
 	/**
 	 * Selects which {@link SyntaxFeature} should be used to parse the given source code line.
 	 * @param line The source code line string.
 	 * @param features An array of {@link SyntaxFeature} that're applicable for the parse operation.
+	 * @param metrics The metrics to record the tests into, or null if they aren't being collected.
 	 * @return The {@link SyntaxFeature} instance that should parse the given source code line.
 	 * @throws SyntaxFeatureParseException If no {@link SyntaxFeature} could handle this line.
 	 */
-	private SyntaxFeature selectLineParser(String line, SyntaxFeature[] features)
+	static SyntaxFeature selectLineParser(String line, SyntaxFeature[] features, ValidationMetrics metrics)
 		throws SyntaxFeatureParseException {
 		/* Attempt to find the right feature to parse this line with */
 		for (SyntaxFeature feature : features) {
-			if (feature.accepts(line)) {
+			if (accepts(feature, line, metrics)) {
 				return feature;
 			}
 		}
 
 		/* Nothing applicable here :( */
-		throw new SyntaxFeatureParseException(UNKNOWN_FEATURE_MESSAGE);
+		throw SyntaxFeatureParseException.of(UNKNOWN_FEATURE_MESSAGE);
+	}
+
+	/**
+	 * Parses the given line using the given {@link SyntaxFeature}, while recording the parsing into the
+	 * metrics (if they're being collected).
+	 * @param feature The syntax feature that accepted the line.
+	 * @param line The source code line string.
+	 * @param interner The interner of the parsed program.
+	 * @param metrics The metrics to record the parsing into, or null if they aren't being collected.
+	 * @return The corresponding {@link ASTNode}, or null if the line doesn't produce a node.
+	 * @throws SyntaxFeatureParseException If a syntax error was found on this line.
+	 */
+	static ASTNode parseWith(SyntaxFeature feature, String line, SymbolInterner interner,
+							 ValidationMetrics metrics)
+		throws SyntaxFeatureParseException {
+		if (metrics == null) {
+			return feature.parse(line, interner);
+		}
+
+		long start = System.nanoTime();
+		try {
+			return feature.parse(line, interner);
+		} finally {
+			metrics.recordFeatureParse(feature.getIdentifier(), System.nanoTime() - start);
+		}
+	}
+
+	// endregion
+
+	// region Private API - Helpers
+
+	/**
+	 * Determine whether or not the given {@link SyntaxFeature} accepts the given line, while recording the
+	 * test into the metrics (if they're being collected).
+	 * @param feature The syntax feature.
+	 * @param line The source code line string.
+	 * @param metrics The metrics to record the test into, or null if they aren't being collected.
+	 * @return True if the feature accepts the line, false otherwise.
+	 */
+	private static boolean accepts(SyntaxFeature feature, String line, ValidationMetrics metrics) {
+		if (metrics == null) {
+			return feature.accepts(line);
+		}
+
+		long start = System.nanoTime();
+		boolean accepted = feature.accepts(line);
+		metrics.recordFeatureAccepts(feature.getIdentifier(), accepted, System.nanoTime() - start);
+		return accepted;
 	}
 
 	// endregion
@@ -0,0 +1,18 @@
+package oop.ex6.parser;
+
+import oop.ex6.ast.ASTNode;
+
+/**
+ * Describes a unit that receives the global scope statements of a program while it's still being parsed
+ * (see {@link SourceParser#parseStatements(LineReader, int, GlobalStatementListener)}), so the statements
+ * can be processed as soon as they're complete, rather than once the whole AST was built.
+ */
+public interface GlobalStatementListener {
+	/**
+	 * A method that's being triggered once a global scope statement was parsed. Statements that open a
+	 * scope (e.g. functions) are being handed over once their scope was closed, so they're always complete.
+	 * @param statement The statement node.
+	 * @param line The source line number the statement starts in.
+	 */
+	void onGlobalStatement(ASTNode statement, int line);
+}
@@ -0,0 +1,363 @@
+package oop.ex6.parser;
+
+import oop.ex6.Token;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A hand-written, character level, lexer. The lexer scans the given source code exactly once, from its
+ * beginning to its end, and emits the {@link LexicalToken}s it founds on demand.
+ *
+ * Note that the lexer doesn't validate the tokens it emits (e.g. "1.2.3" is emitted as a
+ * {@link Token#NUMBER_LITERAL}), as this is the responsibility of the parser and the semantic validator.
+ */
+public class Lexer {
+	// region Constants
+
+	/**
+	 * The tokens that are being treated as keywords, when found as a word in the source code.
+	 */
+	private static final Token[] KEYWORDS = new Token[] {
+			Token.TRUE, Token.FALSE, Token.TYPE_VOID, Token.TYPE_INT, Token.TYPE_DOUBLE, Token.TYPE_BOOLEAN,
+			Token.TYPE_CHAR, Token.TYPE_STRING, Token.FINAL, Token.RETURN, Token.IF, Token.WHILE
+	};
+
+	/**
+	 * The lexemes of {@link Lexer#KEYWORDS}, stored in the same order.
+	 */
+	private static final String[] KEYWORD_LEXEMES;
+
+	/**
+	 * A set that contains the {@link Lexer#KEYWORDS}, used for fast lookups.
+	 */
+	private static final Set<Token> KEYWORDS_SET = EnumSet.noneOf(Token.class);
+
+	/**
+	 * The character that separates source code lines.
+	 */
+	private static final char NEW_LINE = '\n';
+
+	/**
+	 * The escape character in string and char literals.
+	 */
+	private static final char ESCAPE = '\\';
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The source code.
+	 */
+	private final CharSequence source;
+
+	/**
+	 * The source code length.
+	 */
+	private final int length;
+
+	/**
+	 * The current position of the lexer.
+	 */
+	private int position;
+
+	/**
+	 * The current line number (1-based).
+	 */
+	private int line;
+
+	/**
+	 * The offset in which the current line begins.
+	 */
+	private int lineStart;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Static initializer.
+	 */
+	static {
+		KEYWORD_LEXEMES = new String[KEYWORDS.length];
+		for (int i = 0; i < KEYWORDS.length; i++) {
+			KEYWORD_LEXEMES[i] = KEYWORDS[i].toString();
+			KEYWORDS_SET.add(KEYWORDS[i]);
+		}
+	}
+
+	/**
+	 * Creates a new lexer.
+	 * @param source The source code to scan.
+	 */
+	public Lexer(CharSequence source) {
+		if (source == null) {
+			throw new NullPointerException();
+		}
+
+		this.source = source;
+		this.length = source.length();
+		this.position = 0;
+		this.line = 1;
+		this.lineStart = 0;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Determine whether or not the given token is a language keyword.
+	 * @param token The token.
+	 * @return True if the token is a keyword, false otherwise.
+	 */
+	public static boolean isKeyword(Token token) {
+		return KEYWORDS_SET.contains(token);
+	}
+
+	/**
+	 * Gets the current line number (1-based). Once the lexer reached the end of the source code, this is
+	 * the number of lines in it.
+	 * @return The current line number.
+	 */
+	public int getLine() {
+		return this.line;
+	}
+
+	/**
+	 * Scans the next token in the source code.
+	 * @return The next token, or null if we've reached the end of the source code.
+	 */
+	public LexicalToken next() {
+		/* Skip whitespaces, while keeping track of the lines */
+		while (this.position < this.length) {
+			char c = this.source.charAt(this.position);
+			if (c == NEW_LINE) {
+				this.line++;
+				this.lineStart = this.position + 1;
+			} else if (!Character.isWhitespace(c)) {
+				break;
+			}
+			this.position++;
+		}
+
+		if (this.position >= this.length) {
+			return null;
+		}
+
+		/* Dispatch by the first character */
+		int start = this.position;
+		char c = this.source.charAt(start);
+		switch (c) {
+			case ';':
+				return this.emit(Token.SEMICOLON, start + 1);
+			case ',':
+				return this.emit(Token.COMMA, start + 1);
+			case '(':
+				return this.emit(Token.LEFT_PREN, start + 1);
+			case ')':
+				return this.emit(Token.RIGHT_PREN, start + 1);
+			case '{':
+				return this.emit(Token.LEFT_CURLY_PREN, start + 1);
+			case '}':
+				return this.emit(Token.RIGHT_CURLY_PREN, start + 1);
+			case '=':
+				return this.emit(Token.OP_ASSIGNMENT, start + 1);
+			case '|':
+			case '&':
+				/* "||" and "&&" are the only operators that starts with these characters */
+				if (this.peek(start + 1) == c) {
+					return this.emit(c == '|' ? Token.LOGICAL_OR : Token.LOGICAL_AND, start + 2);
+				}
+				return this.emit(Token.UNKNOWN, start + 1);
+			case '/':
+				if (this.peek(start + 1) == '/') {
+					return this.emit(Token.COMMENT, this.scanToEndOfLine(start + 2));
+				}
+				return this.emit(Token.UNKNOWN, start + 1);
+			case '"':
+			case '\'':
+				return this.scanQuotedLiteral(start, c);
+			default:
+				break;
+		}
+
+		if (isWordStart(c)) {
+			return this.scanWord(start);
+		}
+
+		if (this.isNumberStart(start)) {
+			return this.emit(Token.NUMBER_LITERAL, this.scanNumber(start));
+		}
+
+		return this.emit(Token.UNKNOWN, start + 1);
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Emits a token that starts at the current position and advances the lexer to its end.
+	 * @param type The token type.
+	 * @param end The offset of the first character that follows the token lexeme.
+	 * @return The emitted token.
+	 */
+	private LexicalToken emit(Token type, int end) {
+		int start = this.position;
+		this.position = end;
+		return new LexicalToken(this.source, type, start, end - start, this.line, start - this.lineStart);
+	}
+
+	/**
+	 * Gets the character at the given offset, without advancing the lexer.
+	 * @param offset The character offset.
+	 * @return The character, or 0 if the offset exceeds the source code length.
+	 */
+	private char peek(int offset) {
+		return offset < this.length ? this.source.charAt(offset) : 0;
+	}
+
+	/**
+	 * Scans a word (an identifier or a keyword) that starts at the given offset.
+	 * @param start The word start offset.
+	 * @return The emitted token.
+	 */
+	private LexicalToken scanWord(int start) {
+		int end = start + 1;
+		while (end < this.length && isWordPart(this.source.charAt(end))) {
+			end++;
+		}
+
+		return this.emit(this.resolveKeyword(start, end), end);
+	}
+
+	/**
+	 * Resolves the token type of the given word.
+	 * @param start The word start offset.
+	 * @param end The word end offset (exclusive).
+	 * @return The keyword token that matches the word, or {@link Token#IDENTIFIER} if this isn't a keyword.
+	 */
+	private Token resolveKeyword(int start, int end) {
+		int wordLength = end - start;
+		for (int i = 0; i < KEYWORD_LEXEMES.length; i++) {
+			String keyword = KEYWORD_LEXEMES[i];
+			if (keyword.length() != wordLength) {
+				continue;
+			}
+
+			int j = 0;
+			while (j < wordLength && keyword.charAt(j) == this.source.charAt(start + j)) {
+				j++;
+			}
+
+			if (j == wordLength) {
+				return KEYWORDS[i];
+			}
+		}
+
+		return Token.IDENTIFIER;
+	}
+
+	/**
+	 * Determine whether or not a numeric literal starts at the given offset (e.g. "5", ".5", "-5", "-.5").
+	 * @param start The offset.
+	 * @return True if a number starts at this offset, false otherwise.
+	 */
+	private boolean isNumberStart(int start) {
+		int i = start;
+		if (this.peek(i) == '-') {
+			i++;
+		}
+
+		if (this.peek(i) == '.') {
+			i++;
+		}
+
+		return isDigit(this.peek(i));
+	}
+
+	/**
+	 * Scans a numeric literal that starts at the given offset.
+	 * @param start The literal start offset.
+	 * @return The offset of the first character that follows the literal.
+	 */
+	private int scanNumber(int start) {
+		int end = start + 1;
+		while (end < this.length && (isDigit(this.source.charAt(end)) || this.source.charAt(end) == '.')) {
+			end++;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Scans a quoted (string or char) literal that starts at the given offset. If the literal wasn't
+	 * terminated before the end of the line, the rest of the line is emitted as {@link Token#UNKNOWN}.
+	 * @param start The literal start offset.
+	 * @param quote The quote character.
+	 * @return The emitted token.
+	 */
+	private LexicalToken scanQuotedLiteral(int start, char quote) {
+		int i = start + 1;
+		while (i < this.length) {
+			char c = this.source.charAt(i);
+			if (c == NEW_LINE) {
+				break;
+			} else if (c == ESCAPE) {
+				/* Skip the escaped character, unless it's the end of the line */
+				i = this.peek(i + 1) == NEW_LINE ? i + 1 : i + 2;
+			} else if (c == quote) {
+				return this.emit(quote == '"' ? Token.STRING_LITERAL : Token.CHAR_LITERAL, i + 1);
+			} else {
+				i++;
+			}
+		}
+
+		return this.emit(Token.UNKNOWN, Math.min(i, this.length));
+	}
+
+	/**
+	 * Finds the end of the current line.
+	 * @param start The offset to start the search from.
+	 * @return The offset of the line terminator, or the source code length if this is the last line.
+	 */
+	private int scanToEndOfLine(int start) {
+		int end = start;
+		while (end < this.length && this.source.charAt(end) != NEW_LINE) {
+			end++;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Determine whether or not the given character can start a word.
+	 * @param c The character.
+	 * @return True if the character can start a word, false otherwise.
+	 */
+	private static boolean isWordStart(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+	}
+
+	/**
+	 * Determine whether or not the given character can be a part of a word.
+	 * @param c The character.
+	 * @return True if the character can be a part of a word, false otherwise.
+	 */
+	private static boolean isWordPart(char c) {
+		return isWordStart(c) || isDigit(c);
+	}
+
+	/**
+	 * Determine whether or not the given character is a decimal digit.
+	 * @param c The character.
+	 * @return True if the character is a digit, false otherwise.
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	// endregion
+}
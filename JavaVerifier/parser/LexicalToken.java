@@ -0,0 +1,161 @@
+package oop.ex6.parser;
+
+import oop.ex6.Token;
+
+/**
+ * Describes a single token that was emitted by the {@link Lexer}, that is - a {@link Token} type
+ * associated with the location of its lexeme in the source code.
+ */
+public final class LexicalToken {
+	// region iVars
+
+	/**
+	 * The source code this token was taken from.
+	 */
+	private final CharSequence source;
+
+	/**
+	 * The token type.
+	 */
+	private final Token type;
+
+	/**
+	 * The offset of the token lexeme in the source code.
+	 */
+	private final int offset;
+
+	/**
+	 * The length of the token lexeme.
+	 */
+	private final int length;
+
+	/**
+	 * The line number (1-based) the token was found on.
+	 */
+	private final int line;
+
+	/**
+	 * The offset of the token lexeme relatively to the beginning of its line.
+	 */
+	private final int column;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new lexical token.
+	 * @param source The source code this token was taken from.
+	 * @param type The token type.
+	 * @param offset The offset of the token lexeme in the source code.
+	 * @param length The length of the token lexeme.
+	 * @param line The line number (1-based) the token was found on.
+	 * @param column The offset of the token lexeme relatively to the beginning of its line.
+	 */
+	LexicalToken(CharSequence source, Token type, int offset, int length, int line, int column) {
+		this.source = source;
+		this.type = type;
+		this.offset = offset;
+		this.length = length;
+		this.line = line;
+		this.column = column;
+	}
+
+	// endregion
+
+	// region Getters
+
+	/**
+	 * Gets the token type.
+	 * @return The token type.
+	 */
+	public Token getType() {
+		return this.type;
+	}
+
+	/**
+	 * Gets the offset of the token lexeme in the source code.
+	 * @return The token offset.
+	 */
+	public int getOffset() {
+		return this.offset;
+	}
+
+	/**
+	 * Gets the length of the token lexeme.
+	 * @return The token length.
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Gets the offset of the first character that follows the token lexeme.
+	 * @return The token end offset.
+	 */
+	public int getEndOffset() {
+		return this.offset + this.length;
+	}
+
+	/**
+	 * Gets the line number (1-based) the token was found on.
+	 * @return The token line number.
+	 */
+	public int getLine() {
+		return this.line;
+	}
+
+	/**
+	 * Gets the offset of the token lexeme relatively to the beginning of its line.
+	 * @return The token column.
+	 */
+	public int getColumn() {
+		return this.column;
+	}
+
+	/**
+	 * Gets the token lexeme.
+	 * @return The token lexeme.
+	 */
+	public String getText() {
+		return this.source.subSequence(this.offset, this.offset + this.length).toString();
+	}
+
+	/**
+	 * Gets the source code text that begins with this token lexeme and ends with the given token lexeme.
+	 * @param last The last token of the requested text (can be this token).
+	 * @return The source code text.
+	 */
+	public String getTextUntil(LexicalToken last) {
+		return this.source.subSequence(this.offset, last.getEndOffset()).toString();
+	}
+
+	/**
+	 * Gets the character at the given index of the token lexeme.
+	 * @param index The index within the lexeme.
+	 * @return The requested character.
+	 */
+	public char charAt(int index) {
+		return this.source.charAt(this.offset + index);
+	}
+
+	/**
+	 * Determine whether or not this token is a word, a.k.a. an identifier or a keyword. Note that keywords
+	 * can be used as names in s-Java (e.g. "int if = 5;"), so the parser should consult this method
+	 * rather than checking for {@link Token#IDENTIFIER} only.
+	 * @return True if this token is a word, false otherwise.
+	 */
+	public boolean isWord() {
+		return this.type == Token.IDENTIFIER || Lexer.isKeyword(this.type);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.type + "(" + this.getText() + ")@" + this.line + ":" + this.column;
+	}
+
+	// endregion
+}
@@ -0,0 +1,18 @@
+package oop.ex6.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Describes a source of code lines, that's being consumed by a {@link SourceParser} one line at a time,
+ * so the parsed source doesn't have to be kept in memory as a whole.
+ */
+public interface LineReader extends Closeable {
+	/**
+	 * Reads the next line. Lines are being terminated by "\n", "\r" or "\r\n", and the returned line
+	 * doesn't contain its terminator.
+	 * @return The next line, or null if the end of the source was reached.
+	 * @throws IOException If the line couldn't be read.
+	 */
+	String readLine() throws IOException;
+}
@@ -0,0 +1,342 @@
+package oop.ex6.parser;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A {@link LineReader} that reads a source file through memory-mapped windows of its {@link FileChannel},
+ * and decodes them incrementally into a small, fixed size characters buffer.
+ *
+ * Only the current window is being mapped, and only the current line is being copied into the heap, so
+ * the memory this reader uses doesn't depend on the file size.
+ *
+ * As long as the file bytes are ASCII (and the charset encodes ASCII as is), the lines are being copied
+ * straight out of the window into compact (Latin-1) strings, without being decoded into UTF-16 characters,
+ * so the parsers scan them byte by byte. The first non-ASCII byte switches the reader to the decoder for the
+ * rest of the file.
+ */
+public class MappedFileLineReader implements LineReader {
+	// region Constants
+
+	/**
+	 * The maximal size of a single mapped window, in bytes.
+	 */
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+	/**
+	 * The size of the decoded characters buffer.
+	 */
+	private static final int CHARS_BUFFER_SIZE = 8192;
+
+	/**
+	 * The initial size of the ASCII line bytes buffer, which grows to fit the longest line.
+	 */
+	private static final int LINE_BYTES_BUFFER_SIZE = 256;
+
+	/**
+	 * The charsets that encode the ASCII characters as single bytes of the same values, so ASCII files
+	 * can be read without being decoded.
+	 */
+	private static final Set<Charset> ASCII_COMPATIBLE_CHARSETS = Set.of(StandardCharsets.US_ASCII,
+			StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8);
+
+	/**
+	 * The line feed character.
+	 */
+	private static final char LINE_FEED = '\n';
+
+	/**
+	 * The carriage return character.
+	 */
+	private static final char CARRIAGE_RETURN = '\r';
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The file channel.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The file size, in bytes.
+	 */
+	private final long size;
+
+	/**
+	 * The decoder of the file bytes.
+	 */
+	private final CharsetDecoder decoder;
+
+	/**
+	 * The decoded characters that weren't consumed yet (in read mode).
+	 */
+	private final CharBuffer chars;
+
+	/**
+	 * The buffer the current line is being collected into.
+	 */
+	private final StringBuilder line;
+
+	/**
+	 * The buffer the current line bytes are being collected into while the file is being read as ASCII.
+	 */
+	private byte[] lineBytes;
+
+	/**
+	 * Whether or not the file bytes are still being read as ASCII, a.k.a. without being decoded.
+	 */
+	private boolean ascii;
+
+	/**
+	 * The current mapped window.
+	 */
+	private MappedByteBuffer window;
+
+	/**
+	 * The offset of the current window in the file.
+	 */
+	private long windowOffset;
+
+	/**
+	 * Whether or not all of the file bytes were decoded.
+	 */
+	private boolean endOfInput;
+
+	/**
+	 * Whether or not the decoder was flushed.
+	 */
+	private boolean flushed;
+
+	/**
+	 * Whether or not the previous line ended with a carriage return, so a following line feed
+	 * should be skipped.
+	 */
+	private boolean skipLineFeed;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Opens the given file for reading, using the platform default charset.
+	 * @param path The file path.
+	 * @throws IOException If the file couldn't be opened.
+	 */
+	public MappedFileLineReader(Path path)
+		throws IOException {
+		this(path, Charset.defaultCharset());
+	}
+
+	/**
+	 * Opens the given file for reading.
+	 * @param path The file path.
+	 * @param charset The file charset. Malformed input is being replaced, like {@link java.io.FileReader}
+	 * does.
+	 * @throws IOException If the file couldn't be opened.
+	 */
+	public MappedFileLineReader(Path path, Charset charset)
+		throws IOException {
+		if (path == null || charset == null) {
+			throw new NullPointerException();
+		}
+
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			this.size = this.channel.size();
+			this.window = this.mapWindow(0);
+		} catch (IOException e) {
+			this.channel.close();
+			throw e;
+		}
+
+		this.decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.chars = CharBuffer.allocate(CHARS_BUFFER_SIZE);
+		this.chars.flip();
+		this.line = new StringBuilder();
+		this.windowOffset = 0;
+		this.ascii = ASCII_COMPATIBLE_CHARSETS.contains(charset);
+		this.lineBytes = this.ascii ? new byte[LINE_BYTES_BUFFER_SIZE] : null;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String readLine()
+		throws IOException {
+		this.line.setLength(0);
+		if (this.ascii) {
+			String asciiLine = this.readAsciiLine();
+			if (this.ascii) {
+				return asciiLine;
+			}
+		}
+
+		/* Decode the line (if the ASCII reading was stopped, it already collected the line prefix) */
+		while (true) {
+			if (!this.chars.hasRemaining() && !this.fill()) {
+				/* The last line might not be terminated */
+				return this.line.length() > 0 ? this.line.toString() : null;
+			}
+
+			char c = this.chars.get();
+			if (this.skipLineFeed) {
+				this.skipLineFeed = false;
+				if (c == LINE_FEED) {
+					continue;
+				}
+			}
+
+			if (c == LINE_FEED) {
+				return this.line.toString();
+			}
+
+			if (c == CARRIAGE_RETURN) {
+				this.skipLineFeed = true;
+				return this.line.toString();
+			}
+
+			this.line.append(c);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close()
+		throws IOException {
+		this.window = null;
+		this.channel.close();
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Maps the window that starts at the given offset.
+	 * @param offset The window offset in the file.
+	 * @return The mapped window.
+	 * @throws IOException If the mapping failed.
+	 */
+	private MappedByteBuffer mapWindow(long offset)
+		throws IOException {
+		return this.channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, this.size - offset));
+	}
+
+	/**
+	 * Reads the next line while the file is being read as ASCII. If a non-ASCII byte is being met, the ASCII
+	 * reading is being stopped: the bytes of the line that were already read are being moved into the line
+	 * buffer, and the non-ASCII byte is left to the decoder.
+	 * @return The line, or null if the end of the file was reached (or if the ASCII reading was stopped).
+	 * @throws IOException If the file couldn't be read.
+	 */
+	private String readAsciiLine()
+		throws IOException {
+		int length = 0;
+		while (true) {
+			MappedByteBuffer window = this.window;
+			int position = window.position();
+			int limit = window.limit();
+			for (; position < limit; position++) {
+				byte b = window.get(position);
+				if (b < 0) {
+					/* Decode the rest of the file, starting from this byte */
+					window.position(position);
+					for (int i = 0; i < length; i++) {
+						this.line.append((char) this.lineBytes[i]);
+					}
+
+					this.ascii = false;
+					this.lineBytes = null;
+					return null;
+				}
+
+				if (this.skipLineFeed) {
+					this.skipLineFeed = false;
+					if (b == LINE_FEED) {
+						continue;
+					}
+				}
+
+				if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+					this.skipLineFeed = b == CARRIAGE_RETURN;
+					window.position(position + 1);
+					return new String(this.lineBytes, 0, length, StandardCharsets.ISO_8859_1);
+				}
+
+				if (length == this.lineBytes.length) {
+					this.lineBytes = Arrays.copyOf(this.lineBytes, length * 2);
+				}
+				this.lineBytes[length++] = b;
+			}
+
+			window.position(limit);
+			if (this.windowOffset + limit == this.size) {
+				/* The last line might not be terminated */
+				return length > 0 ? new String(this.lineBytes, 0, length, StandardCharsets.ISO_8859_1) : null;
+			}
+
+			this.windowOffset += limit;
+			this.window = this.mapWindow(this.windowOffset);
+		}
+	}
+
+	/**
+	 * Decodes the next characters into the characters buffer.
+	 * @return True if characters were decoded, false if the end of the file was reached.
+	 * @throws IOException If the file couldn't be read.
+	 */
+	private boolean fill()
+		throws IOException {
+		this.chars.clear();
+		while (this.chars.position() == 0 && !this.flushed) {
+			if (this.endOfInput) {
+				this.flushed = this.decoder.flush(this.chars).isUnderflow();
+				continue;
+			}
+
+			boolean lastWindow = this.windowOffset + this.window.limit() == this.size;
+			CoderResult result = this.decoder.decode(this.window, this.chars, lastWindow);
+			if (result.isError()) {
+				result.throwException();
+			}
+
+			if (result.isUnderflow()) {
+				if (lastWindow) {
+					this.endOfInput = true;
+				} else {
+					/* Map the next window, starting with the bytes that weren't decoded yet (a partial
+					 * character at the end of this window) */
+					this.windowOffset += this.window.position();
+					this.window = this.mapWindow(this.windowOffset);
+				}
+			}
+		}
+
+		this.chars.flip();
+		return this.chars.hasRemaining();
+	}
+
+	// endregion
+}
@@ -0,0 +1,19 @@
+package oop.ex6.parser;
+
+/**
+ * A syntax error that's being raised when the source code ended while one or more code scopes
+ * weren't closed.
+ */
+@SuppressWarnings("serial")
+public class MissingScopeClosingException extends SyntaxErrorException {
+	/**
+	 * Constructs a new exception with the given message, line and line number.
+	 *
+	 * @param message    The syntax detail message.
+	 * @param line       The line that caused the exception.
+	 * @param lineNumber The line number that caused the exception.
+	 */
+	public MissingScopeClosingException(String message, String line, int lineNumber) {
+		super(message, line, lineNumber);
+	}
+}
@@ -0,0 +1,127 @@
+package oop.ex6.parser;
+
+import oop.ex6.instrumentation.ValidationMetrics;
+import oop.ex6.parser.features.SyntaxFeatureFactory;
+import oop.ex6.parser.features.SyntaxFeatureRegistry;
+
+/**
+ * Defines the available parser front-ends. All of the front-ends build the same AST for a given program,
+ * and differ only by the way they scan the source code.
+ */
+public enum ParserMode {
+	/**
+	 * A front-end that splits the source code into lines and applies the {@link CodeParser} registered
+	 * syntax features patterns on each of them.
+	 */
+	LINE_PATTERNS() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public SourceParser createParser(SyntaxFeatureRegistry registry, ValidationMetrics metrics) {
+			return new CodeParser(registry, metrics);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "line";
+		}
+	},
+
+	/**
+	 * A front-end that scans the source code once using the {@link Lexer} and parses the emitted
+	 * token stream.
+	 */
+	TOKEN_STREAM() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public SourceParser createParser(SyntaxFeatureRegistry registry, ValidationMetrics metrics) {
+			return new TokenStreamParser(registry, metrics);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "token";
+		}
+	},
+
+	/**
+	 * A front-end that splits the source code into chunks of global scope statements, and parses the chunks
+	 * concurrently using the {@link CodeParser} (see {@link ChunkedSourceParser}).
+	 */
+	PARALLEL_CHUNKS() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public SourceParser createParser(SyntaxFeatureRegistry registry, ValidationMetrics metrics) {
+			return new ChunkedSourceParser(LINE_PATTERNS, registry, metrics);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "parallel";
+		}
+	};
+
+	// region Public API
+
+	/**
+	 * Creates a new parser that uses this front-end and supports all of the available syntax features.
+	 * @return The created parser.
+	 */
+	public SourceParser createParser() {
+		return this.createParser(SyntaxFeatureFactory.getDefaultRegistry());
+	}
+
+	/**
+	 * Creates a new parser that uses this front-end and supports the syntax features of the given registry.
+	 * @param registry The syntax features registry.
+	 * @return The created parser.
+	 */
+	public SourceParser createParser(SyntaxFeatureRegistry registry) {
+		return this.createParser(registry, null);
+	}
+
+	/**
+	 * Creates a new parser that uses this front-end, supports the syntax features of the given registry and
+	 * records the usage of each syntax feature into the given metrics.
+	 * @param registry The syntax features registry.
+	 * @param metrics The metrics to record into, or null if the parsing shouldn't be measured.
+	 * @return The created parser.
+	 */
+	public abstract SourceParser createParser(SyntaxFeatureRegistry registry, ValidationMetrics metrics);
+
+	/**
+	 * Gets the parser mode that's associated with the given name (see {@link ParserMode#toString()}).
+	 * @param name The mode name.
+	 * @return The matching parser mode.
+	 * @throws IllegalArgumentException If there's no mode with that name.
+	 */
+	public static ParserMode fromName(String name) {
+		if (name == null) {
+			throw new NullPointerException();
+		}
+
+		for (ParserMode mode : values()) {
+			if (mode.toString().equals(name)) {
+				return mode;
+			}
+		}
+
+		throw new IllegalArgumentException(name);
+	}
+
+	// endregion
+}
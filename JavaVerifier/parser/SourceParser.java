@@ -0,0 +1,91 @@
+package oop.ex6.parser;
+
+import oop.ex6.SymbolInterner;
+import oop.ex6.ast.ASTNode;
+import oop.ex6.ast.ProgramASTNode;
+
+import java.io.IOException;
+
+/**
+ * Describes a parser front-end, that is - a unit that translates the given source code into
+ * an AST ({@link ASTNode}).
+ *
+ * The symbols the nodes refer are being interned by the interner that's being handed over to the parser,
+ * which the created program carries (see {@link ProgramASTNode#getInterner()}). Sources that're being parsed
+ * without an interner are being given an interner of their own.
+ */
+public interface SourceParser {
+	/**
+	 * Parses the given source code into an AST, whose symbols are being interned by an interner of its own.
+	 * @param sourceCode The source code to parse.
+	 * @return The created AST root.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 */
+	default ProgramASTNode parse(String sourceCode) throws SyntaxErrorException {
+		return this.parse(sourceCode, new SymbolInterner());
+	}
+
+	/**
+	 * Parses the given source code into an AST.
+	 * @param sourceCode The source code to parse.
+	 * @param interner The interner the program symbols are being interned by.
+	 * @return The created AST root.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 */
+	ProgramASTNode parse(String sourceCode, SymbolInterner interner) throws SyntaxErrorException;
+
+	/**
+	 * Parses the source code that's being read from the given reader into an AST. The source code is being
+	 * consumed line by line, so it doesn't have to be held in memory as a whole. The program symbols are being
+	 * interned by an interner of its own.
+	 * @param reader The source code reader.
+	 * @return The created AST root.
+	 * @throws IOException If the source code couldn't be read.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 */
+	default ProgramASTNode parse(LineReader reader) throws IOException, SyntaxErrorException {
+		return this.parse(reader, 1, new SymbolInterner());
+	}
+
+	/**
+	 * Parses the source code that's being read from the given reader into an AST, numbering its lines
+	 * from the given line number. This is being used to parse a fragment of a larger source code (which
+	 * must start in the global scope), so the reported lines match the lines of the whole source code.
+	 * @param reader The source code reader.
+	 * @param firstLineNumber The number of the first line the reader returns.
+	 * @param interner The interner the program symbols are being interned by.
+	 * @return The created AST root.
+	 * @throws IOException If the source code couldn't be read.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 */
+	ProgramASTNode parse(LineReader reader, int firstLineNumber, SymbolInterner interner)
+		throws IOException, SyntaxErrorException;
+
+	/**
+	 * Parses the source code that's being read from the given reader, while handing each global scope
+	 * statement over to the given listener rather than building the program AST. The parser doesn't keep
+	 * the handed over statements, so once the listener is done with a statement it can be garbage collected.
+	 * The default implementation parses the whole source first, and hands its statements over afterwards,
+	 * while the streaming parsers hand each statement over as soon as it's complete.
+	 * @param reader The source code reader.
+	 * @param firstLineNumber The number of the first line the reader returns.
+	 * @param interner The interner the statements symbols are being interned by, which the listener should
+	 * validate them with.
+	 * @param listener The listener to hand the statements over to.
+	 * @throws IOException If the source code couldn't be read.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing. Note that the
+	 * statements that precede the error might have been handed over already.
+	 */
+	default void parseStatements(LineReader reader, int firstLineNumber, SymbolInterner interner,
+								 GlobalStatementListener listener)
+		throws IOException, SyntaxErrorException {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+
+		ProgramASTNode program = this.parse(reader, firstLineNumber, interner);
+		for (int i = 0; i < program.getStatementCount(); i++) {
+			listener.onGlobalStatement(program.getStatement(i), program.getStatementLine(i));
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package oop.ex6.parser;
+
+/**
+ * A {@link LineReader} over an in-memory source code. Unlike {@link MappedFileLineReader}, only "\n"
+ * terminates a line, which's the way the source code strings given to {@link SourceParser} are being split.
+ */
+public class StringLineReader implements LineReader {
+	// region Constants
+
+	/**
+	 * The character that separates source code lines.
+	 */
+	private static final char NEW_LINE = '\n';
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The source code.
+	 */
+	private final CharSequence source;
+
+	/**
+	 * The offset of the next line.
+	 */
+	private int position;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new line reader.
+	 * @param source The source code to read.
+	 */
+	public StringLineReader(CharSequence source) {
+		if (source == null) {
+			throw new NullPointerException();
+		}
+
+		this.source = source;
+		this.position = 0;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String readLine() {
+		if (this.position >= this.source.length()) {
+			return null;
+		}
+
+		int start = this.position;
+		int end = start;
+		while (end < this.source.length() && this.source.charAt(end) != NEW_LINE) {
+			end++;
+		}
+
+		this.position = end + 1;
+		return this.source.subSequence(start, end).toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+	}
+
+	// endregion
+}
@@ -1,7 +1,11 @@
 package oop.ex6.parser;
 
+import oop.ex6.DebugMode;
+
 /**
  * A class that describes a general syntax error.
+ * The exception message is being formatted lazily, and the stack trace is only being captured in the
+ * {@link DebugMode}.
  */
 public class SyntaxErrorException extends Exception {
 	// region Constants
@@ -35,6 +39,16 @@ public class SyntaxErrorException extends Exception {
 	 */
 	private int lineNumber;
 
+	/**
+	 * Whether or not the error reason is being described in the message.
+	 */
+	private final boolean isDetailed;
+
+	/**
+	 * The formatted message, or null if it wasn't requested yet.
+	 */
+	private String message;
+
 	// endregion
 
 	// region Constructors
@@ -46,10 +60,11 @@ public class SyntaxErrorException extends Exception {
 	 * @param lineNumber The line number that caused the exception.
 	 */
 	public SyntaxErrorException(String line, int lineNumber) {
-		super(String.format(STANDARD_ERROR_MESSAGE, lineNumber, line));
+		super();
 		this.lineContent = line;
 		this.lineNumber = lineNumber;
 		this.errorReason = "";
+		this.isDetailed = false;
 	}
 
 	/**
@@ -60,10 +75,11 @@ public class SyntaxErrorException extends Exception {
 	 * @param lineNumber The line number that caused the exception.
 	 */
 	public SyntaxErrorException(String message, String line, int lineNumber) {
-		super(String.format(DETAILED_ERROR_MESSAGE, message, lineNumber, line));
+		super();
 		this.lineContent = line;
 		this.lineNumber = lineNumber;
 		this.errorReason = message;
+		this.isDetailed = true;
 	}
 
 
@@ -75,10 +91,11 @@ public class SyntaxErrorException extends Exception {
 	 * @param lineNumber The line number that caused the exception.
 	 */
 	public SyntaxErrorException(Throwable cause, String line, int lineNumber) {
-		super(String.format(DETAILED_ERROR_MESSAGE, cause.getMessage(), lineNumber, line), cause);
+		super((String) null, cause);
 		this.lineContent = line;
 		this.lineNumber = lineNumber;
 		this.errorReason = cause.getMessage();
+		this.isDetailed = true;
 	}
 
 	// endregion
@@ -112,4 +129,32 @@ public class SyntaxErrorException extends Exception {
 	}
 
 	// endregion
+
+	// region Throwable Overrides
+
+	/**
+	 * {@inheritDoc}
+	 * The message is being formatted upon the first request.
+	 */
+	@Override
+	public String getMessage() {
+		if (this.message == null) {
+			this.message = this.isDetailed
+					? String.format(DETAILED_ERROR_MESSAGE, this.errorReason, this.lineNumber, this.lineContent)
+					: String.format(STANDARD_ERROR_MESSAGE, this.lineNumber, this.lineContent);
+		}
+
+		return this.message;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The stack trace is only being captured in the {@link DebugMode}.
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return DebugMode.isEnabled() ? super.fillInStackTrace() : this;
+	}
+
+	// endregion
 }
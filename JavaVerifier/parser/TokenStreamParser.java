@@ -0,0 +1,816 @@
+package oop.ex6.parser;
+
+import oop.ex6.SymbolInterner;
+import oop.ex6.Token;
+import oop.ex6.ast.*;
+import oop.ex6.instrumentation.ValidationMetrics;
+import oop.ex6.parser.features.*;
+import oop.ex6.types.LiteralClassification;
+import oop.ex6.types.TypeParser;
+import oop.ex6.types.TypeRegistry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Defines a hybrid token based code parser. This parser still reads the source line by line, as
+ * {@link CodeParser} does, and scans each line using the {@link Lexer}; a line whose tokens it recognizes is
+ * being built into the AST ({@link ASTNode}) straight from the tokens, without applying regular expressions
+ * on it, while any other line falls back to the regular expressions path of {@link CodeParser}.
+ *
+ * Only lines that're written in the common layout of their {@link SyntaxFeature} are being built from their
+ * tokens: no characters but spaces and tabs between the tokens, a single token per value, plain names and
+ * the spacing each feature is strict about (e.g. nothing after the ";" of an invocation). Any other line,
+ * including the invalid ones, is being handed to the {@link SyntaxFeature}s of its scope through
+ * {@link CodeParser#selectLineParser(String, SyntaxFeature[], ValidationMetrics)} and
+ * {@link CodeParser#parseWith(SyntaxFeature, String, SymbolInterner, ValidationMetrics)}, exactly the way
+ * {@link CodeParser} parses it, so the verdicts and the error messages of both parsers are the same. Hence,
+ * the parser isn't a full token stream grammar: the syntax features remain the definition of the syntax, and
+ * the tokens are a fast path for the lines the features would accept anyway.
+ *
+ * The parser reuses its scopes stack and its line tokens list between parses, so it can only parse a single
+ * source at a time.
+ */
+public class TokenStreamParser implements SourceParser {
+	// region Constants
+
+	/**
+	 * The exception message that will be raised if an unexpected "}" (end curly brace) has been found.
+	 */
+	private static final String UNEXPECTED_SCOPE_CLOSE_MESSAGE
+			= "Unexpected token " + Token.RIGHT_CURLY_PREN;
+
+	/**
+	 * The exception message that's being raised if scopes hasn't been closed before the end off the program.
+	 */
+	private static final String MISSING_PROGRAM_END_SCOPE_MESSAGE = "Missing code scope closing";
+
+	/**
+	 * The prefix that makes the line based features read a leading word as a "final" modifier followed by
+	 * another word (e.g. "finalint(5);" is being read as a declaration of an "int").
+	 */
+	private static final String FINAL_MODIFIER_PREFIX = Token.FINAL.toString();
+
+	/**
+	 * The characters a quoted literal can't contain in order to be built from its token, as the line based
+	 * features split the statements by them.
+	 */
+	private static final String LITERAL_SEPARATORS = ",;=()\\\"'";
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes a program scope entry on the program stack.
+	 */
+	private static class ScopeStackEntry {
+		// region iVars
+
+		/**
+		 * The scope {@link ASTNode}.
+		 */
+		private final ScopeNode scope;
+
+		/**
+		 * The syntax features available within this scope.
+		 */
+		private final SyntaxFeature[] syntaxFeatures;
+
+		/**
+		 * The dispatcher that pre-selects the syntax features of the lines that aren't built from their tokens.
+		 */
+		private final SyntaxFeatureDispatcher dispatcher;
+
+		// endregion
+
+		// region Initializer
+
+		/**
+		 * Creates a new scope entry in the stack.
+		 * @param scope The actual scope.
+		 * @param syntaxFeatures The scope syntax features list.
+		 * @param dispatcher The dispatcher of the scope syntax features.
+		 */
+		ScopeStackEntry(ScopeNode scope, SyntaxFeature[] syntaxFeatures, SyntaxFeatureDispatcher dispatcher) {
+			this.scope = scope;
+			this.syntaxFeatures = syntaxFeatures;
+			this.dispatcher = dispatcher;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The registry the syntax features are being resolved from.
+	 */
+	private final SyntaxFeatureRegistry registry;
+
+	/**
+	 * The metrics the syntax features usage is being recorded into, or null if it isn't being measured.
+	 */
+	private final ValidationMetrics metrics;
+
+	/**
+	 * The stack of the scopes that are open on the current line. It's empty between parses.
+	 */
+	private final ArrayDeque<ScopeStackEntry> scopesStack = new ArrayDeque<>();
+
+	/**
+	 * The tokens of the current line.
+	 */
+	private final List<LexicalToken> lineTokens = new ArrayList<>();
+
+	/**
+	 * The interner the symbols of the current parse are being interned by. It's null between parses.
+	 */
+	private SymbolInterner interner;
+
+	/**
+	 * The listener the global statements are being handed over to by the current parse, or null if they're
+	 * being kept in the program.
+	 */
+	private GlobalStatementListener listener;
+
+	/**
+	 * The line of the global statement whose scope is open, while the statements are being handed over.
+	 */
+	private int openStatementLine;
+
+	// endregion
+
+	// region Ctor
+
+	/**
+	 * Initializes a new token stream parser that supports all of the available syntax features.
+	 */
+	public TokenStreamParser() {
+		this(SyntaxFeatureFactory.getDefaultRegistry());
+	}
+
+	/**
+	 * Initializes a new token stream parser that supports the syntax features of the given registry.
+	 * @param registry The syntax features registry.
+	 */
+	public TokenStreamParser(SyntaxFeatureRegistry registry) {
+		this(registry, null);
+	}
+
+	/**
+	 * Initializes a new token stream parser that supports the syntax features of the given registry, and
+	 * records the usage of each syntax feature into the given metrics. A line that's being built from its
+	 * tokens counts as a single accepts test of the feature it was classified as.
+	 * @param registry The syntax features registry.
+	 * @param metrics The metrics to record into, or null if the parsing shouldn't be measured.
+	 */
+	public TokenStreamParser(SyntaxFeatureRegistry registry, ValidationMetrics metrics) {
+		if (registry == null) {
+			throw new NullPointerException();
+		}
+
+		this.registry = registry;
+		this.metrics = metrics;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ProgramASTNode parse(String sourceCode, SymbolInterner interner)
+		throws SyntaxErrorException {
+		return this.parse((CharSequence) sourceCode, interner);
+	}
+
+	/**
+	 * Parses the given source code into an AST, whose symbols are being interned by an interner of its own.
+	 * @param sourceCode The source code to parse.
+	 * @return The created AST root.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 */
+	public ProgramASTNode parse(CharSequence sourceCode)
+		throws SyntaxErrorException {
+		return this.parse(sourceCode, new SymbolInterner());
+	}
+
+	/**
+	 * Parses the given source code into an AST.
+	 * @param sourceCode The source code to parse.
+	 * @param interner The interner the program symbols are being interned by.
+	 * @return The created AST root.
+	 * @throws SyntaxErrorException If a syntax error was detected during the parsing.
+	 */
+	public ProgramASTNode parse(CharSequence sourceCode, SymbolInterner interner)
+		throws SyntaxErrorException {
+		if (sourceCode == null) {
+			throw new NullPointerException();
+		}
+
+		try {
+			return this.parse(new StringLineReader(sourceCode), 1, interner);
+		} catch (IOException e) {
+			/* In-memory sources can't raise I/O errors */
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Each line is being scanned on its own, as tokens never span multiple lines.
+	 */
+	@Override
+	public ProgramASTNode parse(LineReader reader, int firstLineNumber, SymbolInterner interner)
+		throws IOException, SyntaxErrorException {
+		if (reader == null || interner == null) {
+			throw new NullPointerException();
+		}
+
+		/* Init */
+		int lineNumber = firstLineNumber - 1;
+		int lastLineNumber = lineNumber;
+		String lastLine = null;
+		ArrayDeque<ScopeStackEntry> scopesStack = this.scopesStack;
+
+		/* Adds the program main to the stack, as its tree root */
+		this.interner = interner;
+		SyntaxFeature[] globalFeatures = this.registry.select(CodeParser.GLOBAL_SCOPE_FEATURES);
+		scopesStack.push(new ScopeStackEntry(ASTNodeFactory.createProgram(interner), globalFeatures,
+				this.registry.getDispatcher(globalFeatures)));
+
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				try {
+					parseLine(line, lineNumber, scopesStack);
+				} catch (SyntaxFeatureParseException e) {
+					throw new SyntaxErrorException(e, line, lineNumber);
+				}
+
+				/* Keep track of the last non empty line, as trailing empty lines are being ignored */
+				if (!line.isEmpty()) {
+					lastLineNumber = lineNumber;
+					lastLine = line;
+				}
+			}
+
+			/* Does our stack contains exactly one item - the ProgramScopeNode? if not, it means that someone
+			has forgot to close enough code scopes. */
+			if (scopesStack.size() != 1) {
+				throw new MissingScopeClosingException(MISSING_PROGRAM_END_SCOPE_MESSAGE, lastLine,
+						lastLineNumber - 1);
+			}
+
+			ProgramASTNode program = (ProgramASTNode)(scopesStack.pop().scope);
+			program.compact();
+			return program;
+		} finally {
+			/* Don't keep the nodes and the tokens of a failed parse alive */
+			scopesStack.clear();
+			this.lineTokens.clear();
+			this.interner = null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Each global statement is being handed over as soon as its last line was parsed.
+	 */
+	@Override
+	public void parseStatements(LineReader reader, int firstLineNumber, SymbolInterner interner,
+								GlobalStatementListener listener)
+		throws IOException, SyntaxErrorException {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+
+		this.listener = listener;
+		try {
+			this.parse(reader, firstLineNumber, interner); // The program is empty, as its statements were handed over
+		} finally {
+			this.listener = null;
+		}
+	}
+
+	// endregion
+
+	// region Private API - Lines
+
+	/**
+	 * Parses the given source code line.
+	 * @param line The source code line.
+	 * @param lineNumber The source code line number.
+	 * @param scopesStack The current scopes stack.
+	 * @throws SyntaxFeatureParseException If the line is invalid.
+	 */
+	private void parseLine(String line, int lineNumber, ArrayDeque<ScopeStackEntry> scopesStack)
+		throws SyntaxFeatureParseException {
+		/* Setup */
+		String trimmedLine = line.trim();
+		if (trimmedLine.isEmpty()) {
+			return; // We don't want to fill the AST with loads of empty line nodes...
+		}
+
+		/* Should we just finish the current block? */
+		if (trimmedLine.equals(Token.RIGHT_CURLY_PREN.toString())) {
+			/* Are we popping too much, a.k.a. going to pop out the main program scope? */
+			if (scopesStack.size() == 1) {
+				throw SyntaxFeatureParseException.of(UNEXPECTED_SCOPE_CLOSE_MESSAGE);
+			}
+
+			ScopeNode scope = scopesStack.pop().scope;
+			scope.compact();
+			if (this.listener != null && scopesStack.size() == 1) {
+				/* The global statement is complete, so it can be handed over */
+				this.listener.onGlobalStatement(scope, this.openStatementLine);
+			}
+			return;
+		}
+
+		/* Build the line from its tokens, if it's written in the common layout of its feature */
+		ScopeStackEntry currentScope = scopesStack.peek();
+		List<LexicalToken> tokens = this.lineTokens;
+		long start = this.metrics == null ? 0 : System.nanoTime();
+		SyntaxFeatureIdentifier identifier = scanLine(line, tokens) ? classifyLine(tokens) : null;
+		SyntaxFeature feature = identifier == null ? null
+				: findFeature(currentScope.syntaxFeatures, identifier);
+		ASTNode result = null;
+		if (feature != null) {
+			long classified = this.metrics == null ? 0 : System.nanoTime();
+			result = createNode(identifier, tokens, line, this.interner);
+			if (this.metrics != null && result != null) {
+				this.metrics.recordFeatureAccepts(identifier, true, classified - start);
+				this.metrics.recordFeatureParse(identifier, System.nanoTime() - classified);
+			}
+		}
+
+		/* Otherwise, let the syntax features parse it, exactly as the line based parser does */
+		if (result == null) {
+			feature = CodeParser.selectLineParser(line + "\n", currentScope.dispatcher.getCandidates(line),
+					this.metrics);
+			result = CodeParser.parseWith(feature, line, this.interner, this.metrics);
+			if (result == null) {
+				return; // Nothing to do here, e.g. comments.
+			}
+		}
+
+		/* Do we initiate new code block? */
+		if (result instanceof ScopeNode) {
+			SyntaxFeature[] scopeFeatures = ((ScopeSyntaxFeature) feature).getInnerFeatures(this.registry);
+			SyntaxFeatureDispatcher scopeDispatcher;
+			if (scopeFeatures == null) {
+				/* If the scope features wasn't supplied, infer them from the outer scope */
+				scopeFeatures = currentScope.syntaxFeatures;
+				scopeDispatcher = currentScope.dispatcher;
+			} else {
+				scopeDispatcher = this.registry.getDispatcher(scopeFeatures);
+			}
+			scopesStack.push(new ScopeStackEntry((ScopeNode) result, scopeFeatures, scopeDispatcher));
+		}
+
+		/* Hand the global statements over to the listener, if there's one, rather than keeping them in the
+		program. A statement that opens a scope is being handed over once the scope was closed */
+		if (this.listener != null && currentScope == scopesStack.peekLast()) {
+			if (result instanceof ScopeNode) {
+				this.openStatementLine = lineNumber;
+			} else {
+				this.listener.onGlobalStatement(result, lineNumber);
+			}
+			return;
+		}
+
+		/* Add the entry to the parent scope, which keeps track of its statements lines */
+		currentScope.scope.append(result, lineNumber);
+	}
+
+	/**
+	 * Scans the given line into the given tokens list, and determine whether or not the tokens cover the
+	 * whole line, a.k.a. there're no unknown tokens or comments, and only spaces and tabs between them.
+	 * @param line The source code line.
+	 * @param tokens The list to scan the tokens into.
+	 * @return True if the line can be built from its tokens, false otherwise.
+	 */
+	private static boolean scanLine(String line, List<LexicalToken> tokens) {
+		tokens.clear();
+		Lexer lexer = new Lexer(line);
+		int end = 0;
+		for (LexicalToken token = lexer.next(); token != null; token = lexer.next()) {
+			if (token.getType() == Token.UNKNOWN || token.getType() == Token.COMMENT
+					|| !isBlank(line, end, token.getOffset())) {
+				return false;
+			}
+
+			tokens.add(token);
+			end = token.getEndOffset();
+		}
+
+		return !tokens.isEmpty() && isBlank(line, end, line.length());
+	}
+
+	/**
+	 * Determine which syntax feature the given line belongs to, by its leading and trailing tokens.
+	 * @param tokens The line tokens.
+	 * @return The syntax feature identifier, or null if the line isn't built from its tokens.
+	 */
+	private static SyntaxFeatureIdentifier classifyLine(List<LexicalToken> tokens) {
+		int size = tokens.size();
+		Token first = tokens.get(0).getType();
+		Token last = tokens.get(size - 1).getType();
+
+		/* Scope features */
+		if (last == Token.LEFT_CURLY_PREN) {
+			switch (first) {
+				case TYPE_VOID:
+					return SyntaxFeatureIdentifier.FUNCTION_DECLARATION;
+				case IF:
+					return SyntaxFeatureIdentifier.IF_CONTROL_FLOW;
+				case WHILE:
+					return SyntaxFeatureIdentifier.WHILE_CONTROL_FLOW;
+				default:
+					return null;
+			}
+		}
+
+		/* Statement features */
+		if (last != Token.SEMICOLON) {
+			return null;
+		} else if (size == 2) {
+			return first == Token.RETURN ? SyntaxFeatureIdentifier.RETURN_STATEMENT : null;
+		} else if (first == Token.FINAL || isRegisteredType(tokens.get(0))) {
+			return SyntaxFeatureIdentifier.VARIABLE_DECLARATION;
+		} else if (size < 3 || !isStatementName(tokens.get(0))) {
+			return null;
+		}
+
+		switch (tokens.get(1).getType()) {
+			case OP_ASSIGNMENT:
+				return SyntaxFeatureIdentifier.ASSIGNMENT;
+			case LEFT_PREN:
+				return SyntaxFeatureIdentifier.FUNCTION_INVOCATION;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Creates the {@link ASTNode} of the given line.
+	 * @param identifier The syntax feature the line belongs to.
+	 * @param tokens The line tokens.
+	 * @param line The source code line.
+	 * @param interner The interner the node symbols are being interned by.
+	 * @return The created node, or null if the line isn't written in the common layout of its feature.
+	 */
+	private static ASTNode createNode(SyntaxFeatureIdentifier identifier, List<LexicalToken> tokens,
+	                                  String line, SymbolInterner interner) {
+		switch (identifier) {
+			case ASSIGNMENT:
+				return createAssignment(tokens, interner);
+			case VARIABLE_DECLARATION:
+				return createVariableDeclaration(tokens, interner);
+			case FUNCTION_DECLARATION:
+				return createFunctionDeclaration(tokens, interner);
+			case FUNCTION_INVOCATION:
+				return createInvocation(tokens, line, interner);
+			case IF_CONTROL_FLOW:
+			case WHILE_CONTROL_FLOW:
+				return createControlFlow(tokens, interner);
+			case RETURN_STATEMENT:
+				return ASTNodeFactory.createReturnStatement();
+			default:
+				return null;
+		}
+	}
+
+	// endregion
+
+	// region Private API - Features
+
+	/**
+	 * Creates an assignment node from the given tokens ("name = value;"). The value must be followed by the
+	 * ";" right away, as the assignment feature keeps the whitespaces that precede it.
+	 * @param tokens The line tokens.
+	 * @param interner The interner the node symbols are being interned by.
+	 * @return The created node, or null if the line isn't in that layout.
+	 */
+	private static ASTNode createAssignment(List<LexicalToken> tokens, SymbolInterner interner) {
+		if (tokens.size() != 4 || !isValue(tokens.get(2))
+				|| tokens.get(2).getEndOffset() != tokens.get(3).getOffset()) {
+			return null;
+		}
+
+		return ASTNodeFactory.createAssignment(interner, tokens.get(0).getText(), tokens.get(2).getText());
+	}
+
+	/**
+	 * Creates a variable declaration node from the given tokens ("[final] type a [= value], b...;").
+	 * @param tokens The line tokens.
+	 * @param interner The interner the node symbols are being interned by.
+	 * @return The created node, or null if the line isn't in that layout.
+	 */
+	private static ASTNode createVariableDeclaration(List<LexicalToken> tokens, SymbolInterner interner) {
+		/* Map the declaration header */
+		boolean isFinal = tokens.get(0).getType() == Token.FINAL;
+		int index = isFinal ? 1 : 0;
+		if (isFinal && !isRegisteredType(tokens.get(index))) {
+			return null;
+		}
+
+		String dataType = tokens.get(index).getText();
+		int end = tokens.size() - 1;
+
+		/* Create a variable for each declarator ("name" or "name = value", followed by "," or ";") */
+		List<VariableNode> nodes = new ArrayList<>();
+		int start = index + 1;
+		while (start < end) {
+			LexicalToken name = tokens.get(start);
+			if (!isName(name)) {
+				return null;
+			}
+
+			if (isDeclaratorEnd(tokens, start + 1, end)) {
+				/* An un-initialized variable */
+				nodes.add(ASTNodeFactory.createVariable(interner, dataType, name.getText(), null, isFinal));
+				start += 2;
+			} else if (tokens.get(start + 1).getType() == Token.OP_ASSIGNMENT && start + 3 <= end
+					&& isValue(tokens.get(start + 2)) && isDeclaratorEnd(tokens, start + 3, end)) {
+				nodes.add(ASTNodeFactory.createVariable(interner, dataType, name.getText(),
+						tokens.get(start + 2).getText(), isFinal));
+				start += 4;
+			} else {
+				return null;
+			}
+		}
+
+		/* A trailing comma leaves us past the ";" */
+		return nodes.isEmpty() || start != end + 1 ? null : ASTNodeFactory.createVariableDeclaration(nodes);
+	}
+
+	/**
+	 * Creates a function declaration node from the given tokens ("void name([final] type arg, ...) {").
+	 * @param tokens The line tokens.
+	 * @param interner The interner the node symbols are being interned by.
+	 * @return The created node, or null if the line isn't in that layout.
+	 */
+	private static ASTNode createFunctionDeclaration(List<LexicalToken> tokens, SymbolInterner interner) {
+		int size = tokens.size();
+		if (size < 5 || !isMethodName(tokens.get(1)) || tokens.get(2).getType() != Token.LEFT_PREN
+				|| tokens.get(size - 2).getType() != Token.RIGHT_PREN) {
+			return null;
+		}
+
+		/* Parse the arguments ("[final] type name", separated by commas) */
+		List<FunctionArgumentNode> arguments = new ArrayList<>();
+		int end = size - 2;
+		int start = 3;
+		while (start < end) {
+			boolean isFinal = tokens.get(start).getType() == Token.FINAL;
+			int index = isFinal ? start + 1 : start;
+			if (index + 2 > end || !isRegisteredType(tokens.get(index)) || !isName(tokens.get(index + 1))) {
+				return null;
+			}
+
+			arguments.add(ASTNodeFactory.createFunctionArgument(interner,
+					tokens.get(index).getText(), tokens.get(index + 1).getText(), isFinal));
+			start = index + 2;
+			if (start < end && (tokens.get(start).getType() != Token.COMMA || ++start == end)) {
+				return null;
+			}
+		}
+
+		return ASTNodeFactory.createFunctionDeclaration(interner, tokens.get(1).getText(), arguments);
+	}
+
+	/**
+	 * Creates an invocation node from the given tokens ("name(value, ...);"). The invocation feature
+	 * doesn't allow anything between the ")" and the ";", nor after the ";".
+	 * @param tokens The line tokens.
+	 * @param line The source code line.
+	 * @param interner The interner the node symbols are being interned by.
+	 * @return The created node, or null if the line isn't in that layout.
+	 */
+	private static ASTNode createInvocation(List<LexicalToken> tokens, String line, SymbolInterner interner) {
+		int size = tokens.size();
+		LexicalToken closing = tokens.get(size - 2);
+		LexicalToken terminator = tokens.get(size - 1);
+		if (size < 4 || !isMethodName(tokens.get(0)) || closing.getType() != Token.RIGHT_PREN
+				|| closing.getEndOffset() != terminator.getOffset()
+				|| terminator.getEndOffset() != line.length()) {
+			return null;
+		}
+
+		/* Parse the arguments ("value", separated by commas) */
+		List<String> arguments = new ArrayList<>();
+		int end = size - 2;
+		int start = 2;
+		while (start < end) {
+			LexicalToken argument = tokens.get(start);
+			if (!isValue(argument) || !isValidExpression(argument.getText())) {
+				return null;
+			}
+
+			arguments.add(argument.getText());
+			start++;
+			if (start < end && (tokens.get(start).getType() != Token.COMMA || ++start == end)) {
+				return null;
+			}
+		}
+
+		return ASTNodeFactory.createInvocationStatement(interner, tokens.get(0).getText(), arguments);
+	}
+
+	/**
+	 * Creates a control flow node from the given tokens ("if (a || b && true) {"), without parenthesis
+	 * within the condition.
+	 * @param tokens The line tokens.
+	 * @param interner The interner the node symbols are being interned by.
+	 * @return The created node, or null if the line isn't in that layout.
+	 */
+	private static ASTNode createControlFlow(List<LexicalToken> tokens, SymbolInterner interner) {
+		int size = tokens.size();
+		if (size < 5 || tokens.get(1).getType() != Token.LEFT_PREN
+				|| tokens.get(size - 2).getType() != Token.RIGHT_PREN) {
+			return null;
+		}
+
+		/* Parse the conditions (each is an identifier or a boolean constant), separated by the operators */
+		List<String> conditions = new ArrayList<>();
+		int end = size - 2;
+		int start = 2;
+		while (start < end) {
+			LexicalToken condition = tokens.get(start);
+			if (!isConditionValue(condition)) {
+				return null;
+			}
+
+			conditions.add(condition.getText());
+			start++;
+			if (start < end) {
+				Token operator = tokens.get(start).getType();
+				if ((operator != Token.LOGICAL_OR && operator != Token.LOGICAL_AND) || ++start == end) {
+					return null;
+				}
+			}
+		}
+
+		/* Both of the control flow features create an if node */
+		return ASTNodeFactory.createIfStatementFromStrings(interner, conditions);
+	}
+
+	// endregion
+
+	// region Private API - Helpers
+
+	/**
+	 * Finds the {@link SyntaxFeature} with the given identifier.
+	 * @param features The available features.
+	 * @param identifier The requested feature identifier.
+	 * @return The feature, or null if it isn't available.
+	 */
+	private static SyntaxFeature findFeature(SyntaxFeature[] features, SyntaxFeatureIdentifier identifier) {
+		for (SyntaxFeature feature : features) {
+			if (feature.getIdentifier() == identifier) {
+				return feature;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Determine whether or not the token at the given index ends a declarator, a.k.a. it's either a comma, or
+	 * the ";" that ends the line (the line based features split the declarators by the last ";" only).
+	 * @param tokens The line tokens.
+	 * @param index The token index.
+	 * @param end The index of the ";" that ends the line.
+	 * @return True if the token ends a declarator, false otherwise.
+	 */
+	private static boolean isDeclaratorEnd(List<LexicalToken> tokens, int index, int end) {
+		return index == end || tokens.get(index).getType() == Token.COMMA;
+	}
+
+	/**
+	 * Determine whether or not the given range of the given line consists of spaces and tabs only.
+	 * @param line The source code line.
+	 * @param start The range start index.
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is blank, false otherwise.
+	 */
+	private static boolean isBlank(String line, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = line.charAt(i);
+			if (c != ' ' && c != '\t') {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determine whether or not the given token is a registered data type name.
+	 * @param token The token.
+	 * @return True if the token is a registered type, false otherwise.
+	 */
+	private static boolean isRegisteredType(LexicalToken token) {
+		return token.isWord() && TypeRegistry.isRegistered(token.getText());
+	}
+
+	/**
+	 * Determine whether or not the given token is a plain name, a.k.a. an identifier (see
+	 * {@link TypeParser#isIdentifier}) which isn't a keyword. As the lexer already guarantees the words
+	 * structure, the only identifier token which isn't a valid name is "_".
+	 * @param token The token.
+	 * @return True if the token is a plain name, false otherwise.
+	 */
+	private static boolean isName(LexicalToken token) {
+		return token.getType() == Token.IDENTIFIER && !(token.getLength() == 1 && token.charAt(0) == '_');
+	}
+
+	/**
+	 * Determine whether or not the given token is a plain name that can open a statement, a.k.a. a name that
+	 * the variable declaration feature can't mistake for a "final" modifier or for a data type.
+	 * @param token The token.
+	 * @return True if the token can open a statement, false otherwise.
+	 */
+	private static boolean isStatementName(LexicalToken token) {
+		return isName(token) && !token.getText().startsWith(FINAL_MODIFIER_PREFIX)
+				&& !TypeRegistry.isRegistered(token.getText());
+	}
+
+	/**
+	 * Determine whether or not the given token is a valid method name.
+	 * @param token The token.
+	 * @return True if the token is a valid method name, false otherwise.
+	 */
+	private static boolean isMethodName(LexicalToken token) {
+		return isStatementName(token) && token.charAt(0) != '_';
+	}
+
+	/**
+	 * Determine whether or not the given token is a single token value, whose text is the same as the text
+	 * the line based features extract for it.
+	 * @param token The token.
+	 * @return True if the token is a value, false otherwise.
+	 */
+	private static boolean isValue(LexicalToken token) {
+		switch (token.getType()) {
+			case IDENTIFIER:
+			case TRUE:
+			case FALSE:
+			case NUMBER_LITERAL:
+				return true;
+			case STRING_LITERAL:
+			case CHAR_LITERAL:
+				/* The content must be printable, and can't contain the characters the statements are being
+				split by */
+				for (int i = 1; i < token.getLength() - 1; i++) {
+					char c = token.charAt(i);
+					if (c < ' ' || c > '~' || LITERAL_SEPARATORS.indexOf(c) != -1) {
+						return false;
+					}
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Determine whether or not the given token is a valid condition sub-expression (an identifier or a
+	 * boolean constant).
+	 * @param token The token.
+	 * @return True if it's valid condition expression, false otherwise.
+	 */
+	private static boolean isConditionValue(LexicalToken token) {
+		switch (token.getType()) {
+			case IDENTIFIER:
+			case TRUE:
+			case FALSE:
+			case NUMBER_LITERAL:
+				return TypeParser.isIdentifier(token.getText()) || TypeParser.isBoolean(token.getText());
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Determines whether or not the given value is valid expression.
+	 * @param expression The expression.
+	 * @return True if it's valid expression, false otherwise.
+	 */
+	private static boolean isValidExpression(String expression) {
+		LiteralClassification classification = LiteralClassification.of(expression);
+		return classification.isIdentifier() || classification.isLiteral();
+	}
+
+	// endregion
+}
@@ -1,13 +1,14 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
 import oop.ex6.PatternUtilities;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
 import oop.ex6.types.TypeParser;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A syntax feature implementation that adds values assignment (w/o declarations!) support
@@ -16,13 +17,13 @@ import java.util.regex.Pattern;
 class AssignmentSyntaxFeature extends StatementSyntaxFeature {
 	// region iVars & Shared Variables
 
-	private static final Pattern ACCEPT_PATTERN = Pattern.compile(
-			TypeParser.formatPattern("^\\s*(?:{identifier})\\s*" + Token.OP_ASSIGNMENT));
+	private static final CachedPattern ACCEPT_PATTERN = TypeParser.compilePattern(
+			"^\\s*(?:{identifier})\\s*" + Token.OP_ASSIGNMENT);
 
 	/**
 	 * The class shared instance.
 	 */
-	private static AssignmentSyntaxFeature instance = null;
+	private static final AssignmentSyntaxFeature instance = new AssignmentSyntaxFeature();
 
 	// endregion
 
@@ -37,9 +38,6 @@ class AssignmentSyntaxFeature extends StatementSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	static SyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new AssignmentSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -72,13 +70,22 @@ class AssignmentSyntaxFeature extends StatementSyntaxFeature {
 		return matcher.start() == 0;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Assignments begin with the assigned variable identifier.
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return TypeParser.IDENTIFIER_START_CHARACTERS;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line) throws SyntaxFeatureParseException {
+	public ASTNode parse(String line, SymbolInterner interner) throws SyntaxFeatureParseException {
 		/* Simply parse and return */
 		ExpressionParser.AssignmentParseResult result = ExpressionParser.parseAssignment(line);
-		return ASTNodeFactory.createAssignment(result.getName(), result.getValue());
+		return ASTNodeFactory.createAssignment(interner, result.getName(), result.getValue());
 	}
 }
@@ -1,6 +1,8 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
 import oop.ex6.PatternUtilities;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 
@@ -46,10 +48,16 @@ abstract class BasicControlFlowSyntaxFeature extends ScopeSyntaxFeature {
 	 */
 	private final Token controlFlowToken;
 
+	/**
+	 * The string the lines of this control flow begin with, once their whitespaces are being removed
+	 * (e.g. "if(" or "while(").
+	 */
+	private final String acceptsString;
+
 	/**
 	 * The cached extraction pattern.
 	 */
-	private final Pattern cachedExtractionPattern;
+	private final CachedPattern cachedExtractionPattern;
 
 	// endregion
 
@@ -57,8 +65,9 @@ abstract class BasicControlFlowSyntaxFeature extends ScopeSyntaxFeature {
 
 	protected BasicControlFlowSyntaxFeature(Token token) {
 		this.controlFlowToken = token;
-		this.cachedExtractionPattern = Pattern.compile(String.format(
-				EXTRACTION_PATTERN_FORMAT, this.controlFlowToken.toString()));
+		this.acceptsString = String.format(ACCEPTS_STRING_FORMAT, this.controlFlowToken.toString());
+		this.cachedExtractionPattern = new CachedPattern(Pattern.compile(String.format(
+				EXTRACTION_PATTERN_FORMAT, this.controlFlowToken.toString())));
 	}
 
 	// endregion
@@ -69,7 +78,7 @@ abstract class BasicControlFlowSyntaxFeature extends ScopeSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public SyntaxFeature[] getInnerFeatures() {
+	public SyntaxFeature[] getInnerFeatures(SyntaxFeatureRegistry registry) {
 		return null;
 	}
 
@@ -83,23 +92,26 @@ abstract class BasicControlFlowSyntaxFeature extends ScopeSyntaxFeature {
 			return false;
 		}
 
-		/* Unify the string spaces and make sure it start with the control flow token, followed
-		 * by a left parenthesis (e.g. "if(" or "while(")  */
-		String acceptsString = String.format(ACCEPTS_STRING_FORMAT, this.controlFlowToken.toString());
-		line = PatternUtilities.unifyStringSpaces(line, "");
-		if (line.length() <= acceptsString.length()) {
-			return false;
-		}
+		/* Ignoring the string spaces, make sure it start with the control flow token, followed
+		 * by a left parenthesis (e.g. "if(" or "while("), and that there's something after it */
+		int index = PatternUtilities.matchIgnoringSpaces(line, 0, line.length(), this.acceptsString);
+		return index != -1 && PatternUtilities.skipSpaces(line, index, line.length()) < line.length();
+	}
 
-		/* Do we start with the right token? */
-		return line.substring(0, acceptsString.length()).equals(acceptsString);
+	/**
+	 * {@inheritDoc}
+	 * Control flows begin with their token (e.g. "if").
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return this.controlFlowToken.toString().substring(0, 1);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line) throws SyntaxFeatureParseException {
+	public ASTNode parse(String line, SymbolInterner interner) throws SyntaxFeatureParseException {
 		/* Attempts to parse the string */
 		Matcher m = this.cachedExtractionPattern.matcher(line);
 		if (!m.matches()) {
@@ -111,10 +123,10 @@ abstract class BasicControlFlowSyntaxFeature extends ScopeSyntaxFeature {
 		String condition = m.group(1);
 		List<String> expressions = ExpressionParser.parseCondition(condition);
 		if (expressions == null) {
-			throw new SyntaxFeatureParseException(CONDITIONS_PARSE_FAILURE_MESSAGE);
+			throw SyntaxFeatureParseException.of(CONDITIONS_PARSE_FAILURE_MESSAGE);
 		}
 
-		return createASTNode(expressions);
+		return createASTNode(interner, expressions);
 	}
 
 	// endregion
@@ -123,10 +135,11 @@ abstract class BasicControlFlowSyntaxFeature extends ScopeSyntaxFeature {
 
 	/**
 	 * Creates the actual {@link ASTNode} for this control flow, taking into account the given conditions.
+	 * @param interner The interner the conditions symbols are being interned by.
 	 * @param conditions The conditions
 	 * @return The instantiated {@link ASTNode}.
 	 */
-	protected abstract ASTNode createASTNode(List<String> conditions);
+	protected abstract ASTNode createASTNode(SymbolInterner interner, List<String> conditions);
 
 	// endregion
 
@@ -1,5 +1,6 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 
@@ -20,7 +21,7 @@ class CommentSyntaxFeature implements SyntaxFeature {
 	/**
 	 * The shared instance.
 	 */
-	private static CommentSyntaxFeature instance = null;
+	private static final CommentSyntaxFeature instance = new CommentSyntaxFeature();
 
 	/**
 	 * The message that will be raised as an {@link SyntaxFeatureParseException} in case
@@ -44,9 +45,6 @@ class CommentSyntaxFeature implements SyntaxFeature {
 	 * @return The {@link CommentSyntaxFeature} shared instance.
 	 */
 	static CommentSyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new CommentSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -70,15 +68,24 @@ class CommentSyntaxFeature implements SyntaxFeature {
 		return line.trim().startsWith(Token.COMMENT.toString());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Comments begin with the comment token.
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return Token.COMMENT.toString().substring(0, 1);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line)
+	public ASTNode parse(String line, SymbolInterner interner)
 			throws SyntaxFeatureParseException {
 		/* Make sure we match the exact pattern */
 		if (!FEATURE_PATTERN.matcher(line).matches()) {
-			throw new SyntaxFeatureParseException(PATTERN_MISMATCH_MESSAGE);
+			throw SyntaxFeatureParseException.of(PATTERN_MISMATCH_MESSAGE);
 		}
 
 		/* Comments doesn't give us any extra processing information, so we just "toss" them. */
@@ -1,8 +1,9 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
 import oop.ex6.PatternUtilities;
 import oop.ex6.Token;
-import oop.ex6.types.TypeRegistry;
+import oop.ex6.types.LiteralClassification;
 import oop.ex6.types.TypeParser;
 
 import java.util.ArrayList;
@@ -35,15 +36,15 @@ class ExpressionParser {
 	/**
 	 * The actual parse pattern.
 	 */
-	private static final Pattern ASSIGNMENT_PARSE_PATTERN = Pattern.compile(TypeParser.formatPattern(
+	private static final CachedPattern ASSIGNMENT_PARSE_PATTERN = TypeParser.compilePattern(
 			"^\\s*({identifier})\\s*" + Token.OP_ASSIGNMENT + "\\s*(.*)"
-					+ Token.SEMICOLON.toString() + "?\\s*$"));
+					+ Token.SEMICOLON.toString() + "?\\s*$");
 
 	/**
 	 * The actual parse pattern.
 	 */
-	private static final Pattern FUNCTION_CALLER_ARGS_PATTERN = Pattern.compile(TypeParser.formatPattern(
-			"^\\s*(" + Token.FINAL + ")?\\s*({identifier})\\s*({identifier})\\s*$"));
+	private static final CachedPattern FUNCTION_CALLER_ARGS_PATTERN = TypeParser.compilePattern(
+			"^\\s*(" + Token.FINAL + ")?\\s*({identifier})\\s*({identifier})\\s*$");
 
 	// endregion
 
@@ -249,7 +250,7 @@ class ExpressionParser {
 		/* Fetch the data */
 		Matcher m = ASSIGNMENT_PARSE_PATTERN.matcher(expression);
 		if (!m.matches()) {
-			throw new SyntaxFeatureParseException(ASSIGNMENT_PATTERN_MISMATCH_MESSAGE);
+			throw SyntaxFeatureParseException.of(ASSIGNMENT_PATTERN_MISMATCH_MESSAGE);
 		}
 
 		/* Which content have we got? */
@@ -375,7 +376,8 @@ class ExpressionParser {
 	 * @return True if it's valid expression, false otherwise.
 	 */
 	private static boolean isValidExpression(String expression) {
-		return TypeParser.isIdentifier(expression) || TypeRegistry.resolveFromValue(expression) != null;
+		LiteralClassification classification = LiteralClassification.of(expression);
+		return classification.isIdentifier() || classification.isLiteral();
 	}
 
 	/**
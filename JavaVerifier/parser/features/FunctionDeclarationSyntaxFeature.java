@@ -1,5 +1,7 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
@@ -9,7 +11,6 @@ import oop.ex6.types.TypeParser;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A syntax feature implementation that adds function declaration to the s-Java language.
@@ -20,15 +21,15 @@ class FunctionDeclarationSyntaxFeature extends ScopeSyntaxFeature {
 	/**
 	 * The test pattern.
 	 */
-	private static final Pattern ACCEPTS_PATTERN = Pattern.compile(TypeParser.formatPattern(
-			"^\\s*" + Token.TYPE_VOID.toString() + "\\s+{method_identifier}"));
+	private static final CachedPattern ACCEPTS_PATTERN = TypeParser.compilePattern(
+			"^\\s*" + Token.TYPE_VOID.toString() + "\\s+{method_identifier}");
 
 	/**
 	 * The actual parse pattern.
 	 */
-	private static final Pattern PARSE_PATTERN = Pattern.compile(TypeParser.formatPattern(
+	private static final CachedPattern PARSE_PATTERN = TypeParser.compilePattern(
 			"^\\s*" + Token.TYPE_VOID.toString() + "\\s+({method_identifier})\\s*\\" + Token.LEFT_PREN +
-					"([^\\" + Token.RIGHT_PREN + "]*)\\" + Token.RIGHT_PREN + "\\s*\\" + Token.LEFT_CURLY_PREN + "\\s*$"));
+					"([^\\" + Token.RIGHT_PREN + "]*)\\" + Token.RIGHT_PREN + "\\s*\\" + Token.LEFT_CURLY_PREN + "\\s*$");
 
 	/**
 	 * The message that will be raised as an {@link SyntaxFeatureParseException} in case there's
@@ -62,7 +63,7 @@ class FunctionDeclarationSyntaxFeature extends ScopeSyntaxFeature {
 	/**
 	 * The class shared instance.
 	 */
-	private static FunctionDeclarationSyntaxFeature instance = null;
+	private static final FunctionDeclarationSyntaxFeature instance = new FunctionDeclarationSyntaxFeature();
 
 	// endregion
 
@@ -78,9 +79,6 @@ class FunctionDeclarationSyntaxFeature extends ScopeSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	static SyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new FunctionDeclarationSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -112,15 +110,24 @@ class FunctionDeclarationSyntaxFeature extends ScopeSyntaxFeature {
 		return m.start() == 0;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Function declarations begin with their (void) return type.
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return Token.TYPE_VOID.toString().substring(0, 1);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line) throws SyntaxFeatureParseException {
+	public ASTNode parse(String line, SymbolInterner interner) throws SyntaxFeatureParseException {
 		/* Attempt to extract the data */
 		Matcher m = PARSE_PATTERN.matcher(line);
 		if (!m.matches()) {
-			throw new SyntaxFeatureParseException(PARSE_PATTERN_MISMATCH_MESSAGE);
+			throw SyntaxFeatureParseException.of(PARSE_PATTERN_MISMATCH_MESSAGE);
 		}
 
 		String functionName = m.group(1);
@@ -130,25 +137,25 @@ class FunctionDeclarationSyntaxFeature extends ScopeSyntaxFeature {
 		List<ExpressionParser.ParsedFunctionArgument> args
 				= ExpressionParser.parseCalleeArguments(functionArgs);
 		if (args == null) {
-			throw new SyntaxFeatureParseException(INVALID_ARGS_LIST_MESSAGE);
+			throw SyntaxFeatureParseException.of(INVALID_ARGS_LIST_MESSAGE);
 		}
 
 		/* Create the argument AST nodes */
 		List<FunctionArgumentNode> arguments = new ArrayList<>();
 		for (ExpressionParser.ParsedFunctionArgument arg : args) {
-			arguments.add(ASTNodeFactory.createFunctionArgument(
+			arguments.add(ASTNodeFactory.createFunctionArgument(interner,
 					arg.getType(), arg.getName(), arg.isFinal()));
 		}
 
 		/* Create the AST nodes */
-		return ASTNodeFactory.createFunctionDeclaration(functionName, arguments);
+		return ASTNodeFactory.createFunctionDeclaration(interner, functionName, arguments);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public SyntaxFeature[] getInnerFeatures() {
-		return SyntaxFeatureFactory.factory(FUNCTION_INNER_FEATURES);
+	public SyntaxFeature[] getInnerFeatures(SyntaxFeatureRegistry registry) {
+		return registry.select(FUNCTION_INNER_FEATURES);
 	}
 }
\ No newline at end of file
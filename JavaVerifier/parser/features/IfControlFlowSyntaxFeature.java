@@ -1,5 +1,6 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
@@ -15,7 +16,7 @@ class IfControlFlowSyntaxFeature extends BasicControlFlowSyntaxFeature {
 	/**
 	 * The class shared instance.
 	 */
-	private static IfControlFlowSyntaxFeature instance = null;
+	private static final IfControlFlowSyntaxFeature instance = new IfControlFlowSyntaxFeature();
 
 	// endregion
 
@@ -32,9 +33,6 @@ class IfControlFlowSyntaxFeature extends BasicControlFlowSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	static SyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new IfControlFlowSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -58,8 +56,8 @@ class IfControlFlowSyntaxFeature extends BasicControlFlowSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected ASTNode createASTNode(List<String> conditions) {
-		return ASTNodeFactory.createIfStatementFromStrings(conditions);
+	protected ASTNode createASTNode(SymbolInterner interner, List<String> conditions) {
+		return ASTNodeFactory.createIfStatementFromStrings(interner, conditions);
 	}
 
 	// endregion
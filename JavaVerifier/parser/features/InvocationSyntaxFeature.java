@@ -1,5 +1,7 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
@@ -18,15 +20,15 @@ class InvocationSyntaxFeature extends StatementSyntaxFeature {
 	/**
 	 * The test pattern.
 	 */
-	private static final Pattern ACCEPTS_PATTERN = Pattern.compile(TypeParser.formatPattern(
-			"^\\s*{method_identifier}\\s*" + Pattern.quote(Token.LEFT_PREN.toString())));
+	private static final CachedPattern ACCEPTS_PATTERN = TypeParser.compilePattern(
+			"^\\s*{method_identifier}\\s*" + Pattern.quote(Token.LEFT_PREN.toString()));
 
 	/**
 	 * The actual parse pattern.
 	 */
-	private static final Pattern PARSE_PATTERN = Pattern.compile(TypeParser.formatPattern(
+	private static final CachedPattern PARSE_PATTERN = TypeParser.compilePattern(
 			"^\\s*({method_identifier})\\s*" + Pattern.quote(Token.LEFT_PREN.toString()) +
-					"(.*)" + Pattern.quote(Token.RIGHT_PREN.toString()) + ";$"));
+					"(.*)" + Pattern.quote(Token.RIGHT_PREN.toString()) + ";$");
 
 	/**
 	 * The message that will be raised as an {@link SyntaxFeatureParseException} in case there's
@@ -47,7 +49,7 @@ class InvocationSyntaxFeature extends StatementSyntaxFeature {
 	/**
 	 * The class shared instance.
 	 */
-	private static InvocationSyntaxFeature instance = null;
+	private static final InvocationSyntaxFeature instance = new InvocationSyntaxFeature();
 
 	// endregion
 
@@ -63,9 +65,6 @@ class InvocationSyntaxFeature extends StatementSyntaxFeature {
 	 * @return The {@link InvocationSyntaxFeature} shared instance.
 	 */
 	static InvocationSyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new InvocationSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -99,15 +98,24 @@ class InvocationSyntaxFeature extends StatementSyntaxFeature {
 		return m.start() == 0;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Invocations begin with the invoked method identifier.
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return TypeParser.METHOD_IDENTIFIER_START_CHARACTERS;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line) throws SyntaxFeatureParseException {
+	public ASTNode parse(String line, SymbolInterner interner) throws SyntaxFeatureParseException {
 		/* Parse the expression */
 		Matcher m = PARSE_PATTERN.matcher(line);
 		if (!m.matches()) {
-			throw new SyntaxFeatureParseException(PARSE_PATTERN_MISMATCH_MESSAGE);
+			throw SyntaxFeatureParseException.of(PARSE_PATTERN_MISMATCH_MESSAGE);
 		}
 
 		/* Extract the data */
@@ -116,11 +124,11 @@ class InvocationSyntaxFeature extends StatementSyntaxFeature {
 
 		List<String> args = ExpressionParser.parseCallerArguments(argsString);
 		if (args == null) {
-			throw new SyntaxFeatureParseException(INVALID_ARGS_LIST_MESSAGE);
+			throw SyntaxFeatureParseException.of(INVALID_ARGS_LIST_MESSAGE);
 		}
 
 		/* Create the AST nodes */
-		return ASTNodeFactory.createInvocationStatement(functionName, args);
+		return ASTNodeFactory.createInvocationStatement(interner, functionName, args);
 	}
 
 	// endregion
@@ -1,6 +1,8 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
 import oop.ex6.PatternUtilities;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
@@ -17,13 +19,13 @@ class ReturnStatementSyntaxFeature extends StatementSyntaxFeature {
 	 * The pattern to compare the source line with to determine
 	 * if this is the right parser or not.
 	 */
-	private static Pattern ACCEPT_PATTERN = Pattern.compile("^\\s*" + Token.RETURN + "\\s*"
-			+ Token.SEMICOLON.toString() + "\\s*$");
+	private static final CachedPattern ACCEPT_PATTERN = new CachedPattern(Pattern.compile("^\\s*" + Token.RETURN
+			+ "\\s*" + Token.SEMICOLON.toString() + "\\s*$"));
 
 	/**
 	 * The shared instance.
 	 */
-	private static ReturnStatementSyntaxFeature instance = null;
+	private static final ReturnStatementSyntaxFeature instance = new ReturnStatementSyntaxFeature();
 
 	// endregion
 
@@ -39,9 +41,6 @@ class ReturnStatementSyntaxFeature extends StatementSyntaxFeature {
 	 * @return The {@link ReturnStatementSyntaxFeature} shared instance.
 	 */
 	static ReturnStatementSyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new ReturnStatementSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -70,12 +69,21 @@ class ReturnStatementSyntaxFeature extends StatementSyntaxFeature {
 		return ACCEPT_PATTERN.matcher(line).matches();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Return statements begin with the return token.
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return Token.RETURN.toString().substring(0, 1);
+	}
+
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line) {
+	public ASTNode parse(String line, SymbolInterner interner) {
 		return ASTNodeFactory.createReturnStatement();
 	}
 
@@ -14,15 +14,22 @@ public abstract class ScopeSyntaxFeature implements SyntaxFeature {
 	 */
 	@Override
 	public boolean accepts(String line) {
-		line = line.trim();
-		return line.lastIndexOf(Token.LEFT_CURLY_PREN.toString()) == line.length() - 1;
+		/* Find the last character, ignoring the trailing characters trim() would have removed. A blank line
+		 * has no last character, so it's being accepted just like the trimmed empty line. */
+		int end = line.length();
+		while (end > 0 && line.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		return end == 0 || line.charAt(end - 1) == Token.LEFT_CURLY_PREN.toString().charAt(0);
 	}
 
 	/**
 	 * Gets an array of of {@link SyntaxFeature}, symbolizing the features that're available
 	 * within this scope.
+	 * @param registry The registry the parser resolves its syntax features from.
 	 * @return An array of syntax features that's being supported in this source code. If null is supplied,
 	 * we should inferred the supported features from the outer block scope.
 	 */
-	public abstract SyntaxFeature[] getInnerFeatures();
+	public abstract SyntaxFeature[] getInnerFeatures(SyntaxFeatureRegistry registry);
 }
@@ -13,7 +13,13 @@ public abstract class StatementSyntaxFeature implements SyntaxFeature {
 	 */
 	@Override
 	public boolean accepts(String line) {
-		line = line.trim();
-		return line.lastIndexOf(Token.SEMICOLON.toString()) == line.length() - 1;
+		/* Find the last character, ignoring the trailing characters trim() would have removed. A blank line
+		 * has no last character, so it's being accepted just like the trimmed empty line. */
+		int end = line.length();
+		while (end > 0 && line.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		return end == 0 || line.charAt(end - 1) == Token.SEMICOLON.toString().charAt(0);
 	}
 }
@@ -1,5 +1,6 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.SymbolInterner;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.parser.SyntaxErrorException;
 
@@ -30,11 +31,24 @@ public interface SyntaxFeature {
 	 */
 	boolean accepts(String line);
 
+	/**
+	 * Gets the characters the lines this feature accepts may begin with, after their leading whitespaces.
+	 * The parsers use it to pre-select the features that may accept a given line (see
+	 * {@link SyntaxFeatureDispatcher}), so a feature must never accept a line that begins with another
+	 * character.
+	 * @return The leading characters, or null if the feature may accept lines that begin with any character.
+	 */
+	default String getLeadingCharacters() {
+		return null;
+	}
+
 	/**
 	 * Parse the given source code line into an {@link ASTNode}.
 	 * @param line The source code line.
+	 * @param interner The interner of the program the line belongs to, which the symbols the created nodes
+	 * refer are being interned by.
 	 * @return The corresponding {@link ASTNode} to this syntax feature.
 	 * @throws SyntaxFeatureParseException If a syntax error was found on this line.
 	 */
-	ASTNode parse(String line) throws SyntaxFeatureParseException;
+	ASTNode parse(String line, SymbolInterner interner) throws SyntaxFeatureParseException;
 }
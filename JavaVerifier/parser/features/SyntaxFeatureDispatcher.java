@@ -0,0 +1,112 @@
+package oop.ex6.parser.features;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-selects the {@link SyntaxFeature}s that may accept a given line, by the first character the line
+ * begins with (after its leading whitespaces), so the parsers don't have to test every feature of the
+ * scope against every line (see {@link SyntaxFeature#getLeadingCharacters()}).
+ *
+ * The candidates of each line are a subset of the dispatcher features that keeps their original order,
+ * and contains every feature that may accept the line, so the first candidate that accepts the line is
+ * the same feature the first accepting feature out of all of the features would have been.
+ */
+public final class SyntaxFeatureDispatcher {
+	// region Constants
+
+	/**
+	 * The number of the characters that're being dispatched by a table lookup (the ASCII characters).
+	 * Lines that begin with other characters are being tested against all of the features.
+	 */
+	private static final int TABLE_SIZE = 128;
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The features, in the order they should be tested.
+	 */
+	private final SyntaxFeature[] features;
+
+	/**
+	 * The candidate features of each leading character.
+	 */
+	private final SyntaxFeature[][] candidates = new SyntaxFeature[TABLE_SIZE][];
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new dispatcher.
+	 * @param features The features, in the order they should be tested. The array is being copied, so further
+	 * changes to it don't affect the dispatcher.
+	 */
+	public SyntaxFeatureDispatcher(SyntaxFeature[] features) {
+		if (features == null) {
+			throw new NullPointerException();
+		}
+
+		this.features = features.clone();
+
+		/* Collect the candidates of each character, in the features order */
+		String[] leadingCharacters = new String[this.features.length];
+		for (int i = 0; i < this.features.length; i++) {
+			leadingCharacters[i] = this.features[i].getLeadingCharacters();
+		}
+
+		for (char c = 0; c < TABLE_SIZE; c++) {
+			List<SyntaxFeature> characterCandidates = new ArrayList<>();
+			for (int i = 0; i < this.features.length; i++) {
+				if (leadingCharacters[i] == null || leadingCharacters[i].indexOf(c) != -1) {
+					characterCandidates.add(this.features[i]);
+				}
+			}
+
+			this.candidates[c] = characterCandidates.toArray(new SyntaxFeature[characterCandidates.size()]);
+		}
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Gets the features that may accept the given line.
+	 * @param line The source code line.
+	 * @return The candidate features, in the order they should be tested. The returned array is shared and
+	 * must not be modified.
+	 */
+	public SyntaxFeature[] getCandidates(String line) {
+		if (line == null) {
+			throw new NullPointerException();
+		}
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (!isWhitespace(c)) {
+				/* Control characters are being trimmed by some of the features, so we can't rely on them */
+				return c > ' ' && c < TABLE_SIZE ? this.candidates[c] : this.features;
+			}
+		}
+
+		return this.features;
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Determine whether or not the given character is a whitespace, as the features patterns define it ("\s").
+	 * @param c The character.
+	 * @return True if the character is a whitespace, false otherwise.
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	// endregion
+}
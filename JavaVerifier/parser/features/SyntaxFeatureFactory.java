@@ -1,18 +1,20 @@
 package oop.ex6.parser.features;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
-import java.util.HashMap;
+import java.util.EnumMap;
 
 /**
  * A Factory-based class used to initialize the various, available {@link SyntaxFeature}.
+ * The available features are being registered eagerly, once, into an immutable
+ * {@link SyntaxFeatureRegistry}, so the factory can be safely used by multiple threads.
  */
 public class SyntaxFeatureFactory {
 	// region Shared Variables
 
     /**
-     * The registered, available features to use.
+     * The registry of all of the available features.
      */
-    private static HashMap<SyntaxFeatureIdentifier, SyntaxFeature> features;
+    private static final SyntaxFeatureRegistry defaultRegistry;
 
 	// endregion
 
@@ -22,15 +24,16 @@ public class SyntaxFeatureFactory {
      * Static initializer.
      */
     static {
-        features = new HashMap<>();
-        register(CommentSyntaxFeature.getInstance());
-	    register(VariableDeclarationSyntaxFeature.getInstance());
-	    register(AssignmentSyntaxFeature.getInstance());
-	    register(IfControlFlowSyntaxFeature.getInstance());
-	    register(WhileControlFlowSyntaxFeature.getInstance());
-	    register(FunctionDeclarationSyntaxFeature.getInstance());
-	    register(InvocationSyntaxFeature.getInstance());
-	    register(ReturnStatementSyntaxFeature.getInstance());
+	    EnumMap<SyntaxFeatureIdentifier, SyntaxFeature> features = new EnumMap<>(SyntaxFeatureIdentifier.class);
+	    register(features, CommentSyntaxFeature.getInstance());
+	    register(features, VariableDeclarationSyntaxFeature.getInstance());
+	    register(features, AssignmentSyntaxFeature.getInstance());
+	    register(features, IfControlFlowSyntaxFeature.getInstance());
+	    register(features, WhileControlFlowSyntaxFeature.getInstance());
+	    register(features, FunctionDeclarationSyntaxFeature.getInstance());
+	    register(features, InvocationSyntaxFeature.getInstance());
+	    register(features, ReturnStatementSyntaxFeature.getInstance());
+	    defaultRegistry = new SyntaxFeatureRegistry(features);
     }
 
     /**
@@ -44,21 +47,11 @@ public class SyntaxFeatureFactory {
     // region Public API
 
 	/**
-	 * Registers the given syntax feature.
-	 * @param feature The feature instance to register.
-	 * @throws KeyAlreadyExistsException If the requested feature has an identifier that was already
-	 * associated to another syntax feature that was registered with the factory class.
+	 * Gets the registry that contains all of the available syntax features.
+	 * @return The default {@link SyntaxFeatureRegistry}.
 	 */
-	static void register(SyntaxFeature feature) {
-		if (feature == null) {
-			throw new NullPointerException();
-		}
-
-		if (isRegistered(feature.getIdentifier())) {
-			throw new KeyAlreadyExistsException();
-		}
-
-		features.put(feature.getIdentifier(), feature);
+	public static SyntaxFeatureRegistry getDefaultRegistry() {
+		return defaultRegistry;
 	}
 
 	/**
@@ -68,11 +61,7 @@ public class SyntaxFeatureFactory {
 	 * @return True if the identifier was associated to a feature, false otherwise.
 	 */
 	public static boolean isRegistered(SyntaxFeatureIdentifier identifier) {
-		if (identifier == null) {
-			throw new NullPointerException();
-		}
-
-		return features.containsKey(identifier);
+		return defaultRegistry.isRegistered(identifier);
 	}
 
 	/**
@@ -82,15 +71,7 @@ public class SyntaxFeatureFactory {
 	 * @throws IllegalArgumentException If the requested feature was not registered with this class.
 	 */
     public static SyntaxFeature factory(SyntaxFeatureIdentifier identifier) {
-		if (identifier == null) {
-			throw new NullPointerException();
-		}
-
-		if (!isRegistered(identifier)) {
-			throw new IllegalArgumentException("identifier");
-		}
-
-		return features.get(identifier);
+		return defaultRegistry.factory(identifier);
     }
 
 	/**
@@ -101,17 +82,31 @@ public class SyntaxFeatureFactory {
 	 * @throws IllegalArgumentException If one of the requested features was not registered with this class.
 	 */
 	public static SyntaxFeature[] factory(SyntaxFeatureIdentifier[] identifiers) {
-		if (identifiers == null) {
+		return defaultRegistry.factory(identifiers);
+    }
+
+    // endregion
+
+	// region Private API
+
+	/**
+	 * Registers the given syntax feature in the given features map.
+	 * @param features The features map.
+	 * @param feature The feature instance to register.
+	 * @throws KeyAlreadyExistsException If the requested feature has an identifier that was already
+	 * associated to another syntax feature that was registered in the map.
+	 */
+	private static void register(EnumMap<SyntaxFeatureIdentifier, SyntaxFeature> features, SyntaxFeature feature) {
+		if (feature == null) {
 			throw new NullPointerException();
 		}
 
-		SyntaxFeature[] requestedFeatures = new SyntaxFeature[identifiers.length];
-		for (int i = 0; i < identifiers.length; i++) {
-			requestedFeatures[i] = factory(identifiers[i]);
+		if (features.containsKey(feature.getIdentifier())) {
+			throw new KeyAlreadyExistsException();
 		}
 
-		return requestedFeatures;
-    }
+		features.put(feature.getIdentifier(), feature);
+	}
 
-    // endregion
+	// endregion
 }
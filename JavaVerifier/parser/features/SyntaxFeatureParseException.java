@@ -1,9 +1,28 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.DebugMode;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * An exception that's being raised in case of a parse error in a {@link SyntaxFeature} based class.
+ * The stack trace is only being captured in the {@link DebugMode}. Errors that're described by a constant
+ * message can use a pre-allocated instance (see {@link SyntaxFeatureParseException#of(String)}).
  */
 public class SyntaxFeatureParseException extends Exception {
+    // region Shared Variables
+
+    /**
+     * The pre-allocated instances, by their message.
+     */
+    private static final ConcurrentMap<String, SyntaxFeatureParseException> sharedInstances =
+            new ConcurrentHashMap<>();
+
+    // endregion
+
+    // region Constructors
+
     /**
      * {@inheritDoc}
      */
@@ -24,4 +43,47 @@ public class SyntaxFeatureParseException extends Exception {
         super(message, cause);
     }
 
+    /**
+     * Constructs an immutable exception, that can be shared by multiple threads (it doesn't have a cause,
+     * a stack trace nor suppressed exceptions).
+     * @param message The exception details message.
+     * @param isShared Used to distinguish this constructor. Must be true.
+     */
+    private SyntaxFeatureParseException(String message, boolean isShared) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * Gets an exception with the given constant message. Outside of the {@link DebugMode}, the same
+     * (immutable) instance is being returned for each message, so raising it doesn't allocate.
+     * @param message The exception details message. Must be a constant, as the instances are being kept
+     * for the process lifetime.
+     * @return The exception.
+     */
+    public static SyntaxFeatureParseException of(String message) {
+        if (message == null) {
+            throw new NullPointerException();
+        }
+
+        if (DebugMode.isEnabled()) {
+            return new SyntaxFeatureParseException(message);
+        }
+
+        return sharedInstances.computeIfAbsent(message, m -> new SyntaxFeatureParseException(m, true));
+    }
+
+    // endregion
+
+    // region Throwable Overrides
+
+    /**
+     * {@inheritDoc}
+     * The stack trace is only being captured in the {@link DebugMode}.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return DebugMode.isEnabled() ? super.fillInStackTrace() : this;
+    }
+
+    // endregion
 }
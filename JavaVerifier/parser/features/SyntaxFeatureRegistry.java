@@ -0,0 +1,180 @@
+package oop.ex6.parser.features;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An immutable set of {@link SyntaxFeature}s, keyed by their {@link SyntaxFeatureIdentifier}.
+ *
+ * The registry is frozen once it's created, so a single instance can be shared by any number of parsers
+ * running on different threads. Parsers that should support a different subset of the language can be
+ * given their own registry (see {@link SyntaxFeatureRegistry#without(SyntaxFeatureIdentifier...)}).
+ */
+public final class SyntaxFeatureRegistry {
+	// region iVars
+
+	/**
+	 * The registered features.
+	 */
+	private final Map<SyntaxFeatureIdentifier, SyntaxFeature> features;
+
+	/**
+	 * The dispatchers that were created for the features lists of the scopes, keyed by their features.
+	 */
+	private final ConcurrentMap<List<SyntaxFeature>, SyntaxFeatureDispatcher> dispatchers
+			= new ConcurrentHashMap<>();
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new registry.
+	 * @param features The features to register. The map is being copied, so further changes to it don't
+	 * affect the registry.
+	 */
+	SyntaxFeatureRegistry(Map<SyntaxFeatureIdentifier, SyntaxFeature> features) {
+		if (features == null) {
+			throw new NullPointerException();
+		}
+
+		EnumMap<SyntaxFeatureIdentifier, SyntaxFeature> copy = new EnumMap<>(SyntaxFeatureIdentifier.class);
+		copy.putAll(features);
+		this.features = Collections.unmodifiableMap(copy);
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Determine whether or not the given {@link SyntaxFeatureIdentifier} was registered in this registry.
+	 * @param identifier The {@link SyntaxFeature} identifier.
+	 * @return True if the identifier was associated to a feature, false otherwise.
+	 */
+	public boolean isRegistered(SyntaxFeatureIdentifier identifier) {
+		if (identifier == null) {
+			throw new NullPointerException();
+		}
+
+		return this.features.containsKey(identifier);
+	}
+
+	/**
+	 * Gets the identifiers of the registered features.
+	 * @return An unmodifiable set of the registered identifiers.
+	 */
+	public Set<SyntaxFeatureIdentifier> getIdentifiers() {
+		return this.features.keySet();
+	}
+
+	/**
+	 * Gets the {@link SyntaxFeature} that was associated with the given identifier.
+	 * @param identifier The syntax feature identifier.
+	 * @return The {@link SyntaxFeature} associated with this identifier.
+	 * @throws IllegalArgumentException If the requested feature was not registered.
+	 */
+	public SyntaxFeature factory(SyntaxFeatureIdentifier identifier) {
+		if (!this.isRegistered(identifier)) {
+			throw new IllegalArgumentException("identifier");
+		}
+
+		return this.features.get(identifier);
+	}
+
+	/**
+	 * Gets an array of objects consisted of one of more {@link SyntaxFeature}(s), associated with
+	 * the given features identifiers list.
+	 * @param identifiers The feature identifiers array.
+	 * @return An array containing all of the requested {@link SyntaxFeature}s.
+	 * @throws IllegalArgumentException If one of the requested features was not registered.
+	 */
+	public SyntaxFeature[] factory(SyntaxFeatureIdentifier[] identifiers) {
+		if (identifiers == null) {
+			throw new NullPointerException();
+		}
+
+		SyntaxFeature[] requestedFeatures = new SyntaxFeature[identifiers.length];
+		for (int i = 0; i < identifiers.length; i++) {
+			requestedFeatures[i] = this.factory(identifiers[i]);
+		}
+
+		return requestedFeatures;
+	}
+
+	/**
+	 * Gets the registered {@link SyntaxFeature}s out of the given features identifiers list. Unlike
+	 * {@link SyntaxFeatureRegistry#factory(SyntaxFeatureIdentifier[])}, identifiers that weren't registered
+	 * are being skipped, so this is the method parsers use to resolve the features of a scope.
+	 * @param identifiers The feature identifiers array.
+	 * @return An array containing the registered features, in the order they were requested.
+	 */
+	public SyntaxFeature[] select(SyntaxFeatureIdentifier[] identifiers) {
+		if (identifiers == null) {
+			throw new NullPointerException();
+		}
+
+		List<SyntaxFeature> requestedFeatures = new ArrayList<>(identifiers.length);
+		for (SyntaxFeatureIdentifier identifier : identifiers) {
+			SyntaxFeature feature = this.features.get(identifier);
+			if (feature != null) {
+				requestedFeatures.add(feature);
+			}
+		}
+
+		return requestedFeatures.toArray(new SyntaxFeature[requestedFeatures.size()]);
+	}
+
+	/**
+	 * Gets a {@link SyntaxFeatureDispatcher} of the given features. The dispatchers are being cached, so
+	 * the parsers can get the dispatcher of each opened scope without rebuilding its table.
+	 * @param features The features, in the order they should be tested.
+	 * @return The dispatcher of the given features.
+	 */
+	public SyntaxFeatureDispatcher getDispatcher(SyntaxFeature[] features) {
+		if (features == null) {
+			throw new NullPointerException();
+		}
+
+		SyntaxFeatureDispatcher dispatcher = this.dispatchers.get(Arrays.asList(features));
+		if (dispatcher == null) {
+			/* Copy the key, as the given array may change later on */
+			dispatcher = new SyntaxFeatureDispatcher(features);
+			SyntaxFeatureDispatcher existing = this.dispatchers.putIfAbsent(Arrays.asList(features.clone()),
+					dispatcher);
+			if (existing != null) {
+				dispatcher = existing;
+			}
+		}
+
+		return dispatcher;
+	}
+
+	/**
+	 * Creates a registry that contains the features of this registry, except of the given ones.
+	 * @param identifiers The identifiers of the features to exclude.
+	 * @return The new registry.
+	 */
+	public SyntaxFeatureRegistry without(SyntaxFeatureIdentifier... identifiers) {
+		if (identifiers == null) {
+			throw new NullPointerException();
+		}
+
+		EnumMap<SyntaxFeatureIdentifier, SyntaxFeature> remaining = new EnumMap<>(SyntaxFeatureIdentifier.class);
+		remaining.putAll(this.features);
+		for (SyntaxFeatureIdentifier identifier : identifiers) {
+			remaining.remove(identifier);
+		}
+
+		return new SyntaxFeatureRegistry(remaining);
+	}
+
+	// endregion
+}
@@ -1,5 +1,7 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.CachedPattern;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
@@ -22,14 +24,14 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 	/**
 	 * The test pattern.
 	 */
-	private static final Pattern ACCEPTS_PATTERN = Pattern.compile(TypeParser.formatPattern(
-			"^\\s*(" + Token.FINAL.toString() + "\\s*)?({identifier}).+;\\s*$"));
+	private static final CachedPattern ACCEPTS_PATTERN = TypeParser.compilePattern(
+			"^\\s*(" + Token.FINAL.toString() + "\\s*)?({identifier}).+;\\s*$");
 
 	/**
 	 * The actual parse pattern.
 	 */
-	private static final Pattern PARSE_PATTERN = Pattern.compile(TypeParser.formatPattern(
-			"^\\s*(" + Pattern.quote(Token.FINAL.toString()) + "\\s*)?({identifier})\\s*(.+);\\s*$"));
+	private static final CachedPattern PARSE_PATTERN = TypeParser.compilePattern(
+			"^\\s*(" + Pattern.quote(Token.FINAL.toString()) + "\\s*)?({identifier})\\s*(.+);\\s*$");
 
 	/**
 	 * The message that will be raised as an {@link SyntaxFeatureParseException} in case there's a
@@ -37,6 +39,12 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 	 */
 	private static final String PARSE_PATTERN_MISMATCH_MESSAGE = "Unexpected variable declaration";
 
+	/**
+	 * The characters a variable declaration may begin with, that is - the first characters of the final
+	 * modifier and of the registered data types.
+	 */
+	private static final String LEADING_CHARACTERS = createLeadingCharacters();
+
 	// endregion
 
 	// region iVars & Shared Variables
@@ -44,7 +52,7 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 	/**
 	 * The class shared instance.
 	 */
-	private static VariableDeclarationSyntaxFeature instance = null;
+	private static final VariableDeclarationSyntaxFeature instance = new VariableDeclarationSyntaxFeature();
 
 	// endregion
 
@@ -59,9 +67,6 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	static SyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new VariableDeclarationSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -103,15 +108,24 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 		return TypeRegistry.isRegistered(m.group(2));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * Variable declarations begin with the final modifier or with their data type.
+	 */
+	@Override
+	public String getLeadingCharacters() {
+		return LEADING_CHARACTERS;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public ASTNode parse(String line) throws SyntaxFeatureParseException {
+	public ASTNode parse(String line, SymbolInterner interner) throws SyntaxFeatureParseException {
 		/* Parse the expression */
 		Matcher m = PARSE_PATTERN.matcher(line);
 		if (!m.matches()) {
-			throw new SyntaxFeatureParseException(PARSE_PATTERN_MISMATCH_MESSAGE);
+			throw SyntaxFeatureParseException.of(PARSE_PATTERN_MISMATCH_MESSAGE);
 		}
 
 		/* Map our matches */
@@ -126,23 +140,24 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 
 		if (firstChar.toString().equals(Token.COMMA.toString())
 				|| lastChar.toString().equals(Token.COMMA.toString())) {
-			throw new SyntaxFeatureParseException(PARSE_PATTERN_MISMATCH_MESSAGE);
+			throw SyntaxFeatureParseException.of(PARSE_PATTERN_MISMATCH_MESSAGE);
 		}
 
 		return ASTNodeFactory.createVariableDeclaration(createVariablesList(
-				dataType, variablesList, isFinal));
+				interner, dataType, variablesList, isFinal));
 	}
 
 	/**
 	 * Creates a {@link VariableNode} for each of the given variables.
+	 * @param interner The interner the variables names are being interned by.
 	 * @param dataType The variable type.
  	 * @param variablesList A string contains the variables list.
 	 * @param isFinal True if the variable(s) is/are final, false otherwise.
 	 * @return The list of declared variable {@link ASTNode}.
 	 * @throws SyntaxFeatureParseException If there's a parse error.
 	 */
-	private static List<VariableNode> createVariablesList(String dataType, String variablesList,
-	                                                      boolean isFinal)
+	private static List<VariableNode> createVariablesList(SymbolInterner interner, String dataType,
+	                                                      String variablesList, boolean isFinal)
 		throws SyntaxFeatureParseException {
 		/* Create the variables declaration AST */
 		List<VariableNode> nodes = new ArrayList<>();
@@ -154,18 +169,37 @@ class VariableDeclarationSyntaxFeature extends StatementSyntaxFeature {
 				ExpressionParser.AssignmentParseResult result
 						= ExpressionParser.parseAssignment(declaration);
 
-				nodes.add(ASTNodeFactory.createVariable(dataType, result.getName().trim(),
+				nodes.add(ASTNodeFactory.createVariable(interner, dataType, result.getName().trim(),
 						result.getValue().trim(), isFinal));
 			} else {
 				/* Make sure that the variable name is valid */
 				if (!TypeParser.isIdentifier(declaration.trim())) {
-					throw new SyntaxFeatureParseException(PARSE_PATTERN_MISMATCH_MESSAGE);
+					throw SyntaxFeatureParseException.of(PARSE_PATTERN_MISMATCH_MESSAGE);
 				}
-				nodes.add(ASTNodeFactory.createVariable(dataType, declaration.trim(),
+				nodes.add(ASTNodeFactory.createVariable(interner, dataType, declaration.trim(),
 						null, isFinal));
 			}
 		}
 
 		return nodes;
 	}
+
+	// region Private API
+
+	/**
+	 * Creates the characters a variable declaration may begin with.
+	 * @return The first characters of the final modifier and of the registered data types.
+	 */
+	private static String createLeadingCharacters() {
+		StringBuilder characters = new StringBuilder(Token.FINAL.toString().substring(0, 1));
+		for (String type : TypeRegistry.getIdentifiers()) {
+			if (characters.indexOf(type.substring(0, 1)) == -1) {
+				characters.append(type.charAt(0));
+			}
+		}
+
+		return characters.toString();
+	}
+
+	// endregion
 }
@@ -1,5 +1,6 @@
 package oop.ex6.parser.features;
 
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.ASTNode;
 import oop.ex6.ast.ASTNodeFactory;
@@ -15,7 +16,7 @@ class WhileControlFlowSyntaxFeature extends BasicControlFlowSyntaxFeature {
 	/**
 	 * The class shared instance.
 	 */
-	private static WhileControlFlowSyntaxFeature instance = null;
+	private static final WhileControlFlowSyntaxFeature instance = new WhileControlFlowSyntaxFeature();
 
 	// endregion
 
@@ -32,9 +33,6 @@ class WhileControlFlowSyntaxFeature extends BasicControlFlowSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	static SyntaxFeature getInstance() {
-		if (instance == null) {
-			instance = new WhileControlFlowSyntaxFeature();
-		}
 		return instance;
 	}
 
@@ -58,8 +56,8 @@ class WhileControlFlowSyntaxFeature extends BasicControlFlowSyntaxFeature {
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected ASTNode createASTNode(List<String> conditions) {
-		return ASTNodeFactory.createIfStatementFromStrings(conditions);
+	protected ASTNode createASTNode(SymbolInterner interner, List<String> conditions) {
+		return ASTNodeFactory.createIfStatementFromStrings(interner, conditions);
 	}
 
 	// endregion
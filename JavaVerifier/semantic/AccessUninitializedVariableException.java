@@ -27,7 +27,7 @@ public class AccessUninitializedVariableException extends SemanticErrorException
 	 * @param variableName The variable name.
 	 */
 	public AccessUninitializedVariableException(String variableName) {
-		super(String.format(DEFAULT_MESSAGE, variableName));
+		super();
 		this.variableName = variableName;
 	}
 
@@ -45,4 +45,29 @@ public class AccessUninitializedVariableException extends SemanticErrorException
 	}
 
 	// endregion
-}
\ No newline at end of file
+
+	// region Protected API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String buildMessage() {
+		return formatMessage(this.variableName);
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Formats the default error message of this exception, so it can be reported without raising it.
+	 * @param variableName The variable name.
+	 * @return The error message.
+	 */
+	static String formatMessage(String variableName) {
+		return String.format(DEFAULT_MESSAGE, variableName);
+	}
+
+	// endregion
+}
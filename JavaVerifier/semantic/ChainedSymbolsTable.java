@@ -0,0 +1,376 @@
+package oop.ex6.semantic;
+
+import oop.ex6.SymbolInterner;
+
+/**
+ * A symbols table that's represented as a chain of scope frames. Each frame only stores the symbols that
+ * were declared in it, and the lookups walk the chain from the innermost frame outwards.
+ *
+ * Changes to symbols of outer frames are recorded as copy-on-write overlays in the current frame
+ * (see {@link ChainedSymbolsTable#getForUpdateById(int)}), so entering a scope costs O(1) regardless of
+ * the number of visible symbols, while assignments within an inner scope still don't leak out of it.
+ * @param <T> The type of the stored symbols.
+ */
+public class ChainedSymbolsTable<T extends Symbol> implements ScopedSymbolsTable<T> {
+	// region Nested Types
+
+	/**
+	 * Describes a single scope frame in the chain.
+	 * @param <T> The type of the stored symbols.
+	 */
+	private static class Frame<T> {
+		// region iVars
+
+		/**
+		 * The enclosing frame, or null if this is the outermost frame.
+		 */
+		private final Frame<T> parent;
+
+		/**
+		 * The frame depth (the outermost frame depth is 1).
+		 */
+		private final int depth;
+
+		/**
+		 * The symbols that were declared in (or overlaid by) this frame, keyed by their name IDs.
+		 */
+		private final SymbolMap<T> symbols;
+
+		/**
+		 * The name IDs of the outer frames symbols that were removed within this frame (lazily created).
+		 */
+		private SymbolMap<Boolean> hidden;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new frame.
+		 * @param parent The enclosing frame, or null if this is the outermost frame.
+		 */
+		Frame(Frame<T> parent) {
+			this.parent = parent;
+			this.depth = parent == null ? 1 : parent.depth + 1;
+			this.symbols = new SymbolMap<>();
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region iVars & Shared Variables
+
+	/**
+	 * The message that's being raised if one tries to pop the 1'st depth state of the table.
+	 */
+	private static final String INVALID_POP_STATE_MESSAGE = "The table can't pop the 1'st depth state.";
+
+	/**
+	 * The message that's being raised if one tries to update a symbol of a frozen frame.
+	 */
+	private static final String FROZEN_STATE_MESSAGE = "The current state is frozen and can't be updated.";
+
+	/**
+	 * The message that's being raised if one tries to look a symbol up from a depth the table doesn't have.
+	 */
+	private static final String INVALID_DEPTH_MESSAGE = "The depth must be between 1 and the current depth.";
+
+	/**
+	 * The innermost (current) frame.
+	 */
+	private Frame<T> current;
+
+	/**
+	 * The interner the symbols names are being resolved into IDs by.
+	 */
+	private SymbolInterner interner;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new symbol table, whose names are being resolved by an interner of its own.
+	 */
+	public ChainedSymbolsTable() {
+		this(new SymbolInterner());
+	}
+
+	/**
+	 * Initializes a new symbol table.
+	 * @param interner The interner the symbols names are being resolved into IDs by.
+	 */
+	public ChainedSymbolsTable(SymbolInterner interner) {
+		if (interner == null) {
+			throw new NullPointerException();
+		}
+
+		this.current = new Frame<>(null);
+		this.interner = interner;
+	}
+
+	/**
+	 * Initializes a new symbol table that shares the given (frozen) frame.
+	 * @param current The current frame.
+	 * @param interner The interner the symbols names are being resolved into IDs by.
+	 */
+	private ChainedSymbolsTable(Frame<T> current, SymbolInterner interner) {
+		this.current = current;
+		this.interner = interner;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void pushState() {
+		this.current = new Frame<>(this.current);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void popState() {
+		if (this.current.parent == null) {
+			throw new IllegalStateException(INVALID_POP_STATE_MESSAGE);
+		}
+
+		this.current = this.current.parent;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The 1'st depth frame is being kept (unless it's frozen), while the inner frames are being dropped.
+	 */
+	@Override
+	public void reset() {
+		Frame<T> root = this.current;
+		while (root.parent != null) {
+			root = root.parent;
+		}
+
+		if (root.symbols.isFrozen()) {
+			root = new Frame<>(null);
+		} else {
+			root.symbols.clear();
+		}
+
+		this.current = root;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset(SymbolInterner interner) {
+		if (interner == null) {
+			throw new NullPointerException();
+		}
+
+		this.reset();
+		this.interner = interner;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SymbolInterner getInterner() {
+		return this.interner;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getDepth() {
+		return this.current.depth;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The frames below a frozen frame are frozen as well, so only the unfrozen frames on top are being visited.
+	 */
+	@Override
+	public void freeze() {
+		for (Frame<T> frame = this.current; frame != null && !frame.symbols.isFrozen(); frame = frame.parent) {
+			frame.symbols.freeze();
+			if (frame.hidden != null) {
+				frame.hidden.freeze();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * As the frames are immutable once frozen, forking the table costs O(depth).
+	 */
+	@Override
+	public ChainedSymbolsTable<T> fork() {
+		this.freeze();
+		return new ChainedSymbolsTable<>(this.current, this.interner);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T get(Object name) {
+		return this.getById(this.interner.findKey(name));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T getById(int id) {
+		return lookup(this.current, id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The frames that are deeper than the given depth are being skipped, so this costs O(current depth).
+	 */
+	@Override
+	public T getById(int id, int depth) {
+		if (depth < 1 || depth > this.current.depth) {
+			throw new IllegalArgumentException(INVALID_DEPTH_MESSAGE);
+		}
+
+		Frame<T> frame = this.current;
+		while (frame.depth > depth) {
+			frame = frame.parent;
+		}
+
+		return lookup(frame, id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object name) {
+		return this.get(name) != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsId(int id) {
+		return this.getById(id) != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * If the symbol belongs to an outer frame, it's being cloned into the current frame first.
+	 */
+	@Override
+	public T getForUpdate(String name) {
+		return this.getForUpdateById(this.interner.findKey(name));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * If the symbol belongs to an outer frame, it's being cloned into the current frame first.
+	 * @throws IllegalStateException If the current frame is frozen (see {@link ChainedSymbolsTable#freeze()}).
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getForUpdateById(int id) {
+		if (this.current.symbols.isFrozen()) {
+			throw new IllegalStateException(FROZEN_STATE_MESSAGE);
+		}
+
+		T symbol = this.current.symbols.get(id);
+		if (symbol != null) {
+			return symbol;
+		}
+
+		symbol = this.getById(id);
+		if (symbol == null) {
+			return null;
+		}
+
+		T overlay = (T) symbol.clone();
+		this.current.symbols.put(id, overlay);
+		return overlay;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T put(T value) {
+		if (this.current.hidden != null) {
+			this.current.hidden.remove(value.getId());
+		}
+
+		return this.current.symbols.put(value.getId(), value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * A symbol that belongs to an outer frame is being hidden until the current frame is popped.
+	 */
+	@Override
+	public T remove(Object name) {
+		return this.removeById(this.interner.findKey(name));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * A symbol that belongs to an outer frame is being hidden until the current frame is popped.
+	 */
+	@Override
+	public T removeById(int id) {
+		T symbol = this.getById(id);
+		if (symbol == null) {
+			return null;
+		}
+
+		this.current.symbols.remove(id);
+		if (this.current.parent != null) {
+			if (this.current.hidden == null) {
+				this.current.hidden = new SymbolMap<>();
+			}
+			this.current.hidden.put(id, Boolean.TRUE);
+		}
+
+		return symbol;
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Looks the symbol with the given name ID up, starting from the given frame and walking outwards.
+	 * @param frame The frame to start from.
+	 * @param id The symbol name ID.
+	 * @return The symbol, or null if there's no such symbol (or if it was hidden).
+	 */
+	private static <T> T lookup(Frame<T> frame, int id) {
+		for (; frame != null; frame = frame.parent) {
+			T symbol = frame.symbols.get(id);
+			if (symbol != null) {
+				return symbol;
+			}
+
+			if (frame.hidden != null && frame.hidden.get(id) != null) {
+				return null;
+			}
+		}
+
+		return null;
+	}
+
+	// endregion
+}
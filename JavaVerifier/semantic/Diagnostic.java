@@ -0,0 +1,107 @@
+package oop.ex6.semantic;
+
+/**
+ * Describes a single semantic problem that was found while validating a program in the
+ * diagnostics collecting mode (see {@link SemanticValidator#reportDiagnostics(DiagnosticsSink)}).
+ */
+public final class Diagnostic {
+	// region Constants
+
+	/**
+	 * The format of the diagnostic string representation (line, kind, message).
+	 */
+	private static final String STRING_FORMAT = "%d: [%s] %s";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The problem kind.
+	 */
+	private final DiagnosticKind kind;
+
+	/**
+	 * The name of the symbol (variable, function or type) the problem refers to.
+	 */
+	private final String symbol;
+
+	/**
+	 * The source line number of the statement the problem was found in.
+	 */
+	private final int line;
+
+	/**
+	 * The problem description.
+	 */
+	private final String message;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new diagnostic.
+	 * @param kind The problem kind.
+	 * @param symbol The name of the symbol the problem refers to.
+	 * @param line The source line number of the statement the problem was found in, or
+	 * {@link oop.ex6.ast.ScopeNode#UNKNOWN_LINE} if it's unknown.
+	 * @param message The problem description.
+	 */
+	public Diagnostic(DiagnosticKind kind, String symbol, int line, String message) {
+		if (kind == null || message == null) {
+			throw new NullPointerException();
+		}
+
+		this.kind = kind;
+		this.symbol = symbol;
+		this.line = line;
+		this.message = message;
+	}
+
+	// endregion
+
+	// region Getters
+
+	/**
+	 * Gets the problem kind.
+	 * @return The problem kind.
+	 */
+	public DiagnosticKind getKind() {
+		return this.kind;
+	}
+
+	/**
+	 * Gets the name of the symbol (variable, function or type) the problem refers to.
+	 * @return The symbol name.
+	 */
+	public String getSymbol() {
+		return this.symbol;
+	}
+
+	/**
+	 * Gets the source line number of the statement the problem was found in.
+	 * @return The line number, or {@link oop.ex6.ast.ScopeNode#UNKNOWN_LINE} if it's unknown.
+	 */
+	public int getLine() {
+		return this.line;
+	}
+
+	/**
+	 * Gets the problem description.
+	 * @return The problem description.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format(STRING_FORMAT, this.line, this.kind, this.message);
+	}
+
+	// endregion
+}
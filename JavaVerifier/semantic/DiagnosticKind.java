@@ -0,0 +1,81 @@
+package oop.ex6.semantic;
+
+/**
+ * Defines the kinds of the semantic problems a {@link Diagnostic} can describe. Each kind matches the
+ * {@link SemanticErrorException} the fail-fast validation raises for the same problem.
+ */
+public enum DiagnosticKind {
+	/**
+	 * A used data type wasn't defined (see {@link TypeNotFoundException}).
+	 */
+	TYPE_NOT_FOUND("type-not-found"),
+
+	/**
+	 * A used variable or function wasn't declared (see {@link SymbolNotFoundException}).
+	 */
+	SYMBOL_NOT_FOUND("symbol-not-found"),
+
+	/**
+	 * A declared variable, function or argument name was already used
+	 * (see {@link SymbolAlreadyExistsException}).
+	 */
+	SYMBOL_ALREADY_EXISTS("symbol-already-exists"),
+
+	/**
+	 * An assignment or a condition can't be evaluated (see {@link InvalidExpressionException}).
+	 */
+	INVALID_EXPRESSION("invalid-expression"),
+
+	/**
+	 * A function was invoked with invalid arguments (see {@link InvalidInvocationException}).
+	 */
+	INVALID_INVOCATION("invalid-invocation"),
+
+	/**
+	 * A variable was accessed before it got initialized (see {@link AccessUninitializedVariableException}).
+	 */
+	ACCESS_UNINITIALIZED_VARIABLE("access-uninitialized-variable"),
+
+	/**
+	 * A final variable wasn't initialized (see {@link UninitializedFinalVariableException}).
+	 */
+	UNINITIALIZED_FINAL_VARIABLE("uninitialized-final-variable"),
+
+	/**
+	 * A function doesn't end with a return statement (see {@link MissingReturnStatementException}).
+	 */
+	MISSING_RETURN_STATEMENT("missing-return-statement");
+
+	// region iVars
+
+	/**
+	 * The kind name.
+	 */
+	private final String name;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new diagnostic kind.
+	 * @param name The kind name.
+	 */
+	DiagnosticKind(String name) {
+		this.name = name;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+	// endregion
+}
@@ -0,0 +1,51 @@
+package oop.ex6.semantic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link DiagnosticsSink} that keeps the reported diagnostics in a list, in their report order.
+ */
+public class DiagnosticsCollector implements DiagnosticsSink {
+	// region iVars
+
+	/**
+	 * The reported diagnostics.
+	 */
+	private final List<Diagnostic> diagnostics = new ArrayList<>();
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void report(Diagnostic diagnostic) {
+		if (diagnostic == null) {
+			throw new NullPointerException();
+		}
+
+		this.diagnostics.add(diagnostic);
+	}
+
+	/**
+	 * Gets the reported diagnostics.
+	 * @return An unmodifiable view of the diagnostics list, in their report order.
+	 */
+	public List<Diagnostic> getDiagnostics() {
+		return Collections.unmodifiableList(this.diagnostics);
+	}
+
+	/**
+	 * Determine whether or not any diagnostic was reported.
+	 * @return True if there's at least one diagnostic, false otherwise.
+	 */
+	public boolean hasDiagnostics() {
+		return !this.diagnostics.isEmpty();
+	}
+
+	// endregion
+}
@@ -0,0 +1,13 @@
+package oop.ex6.semantic;
+
+/**
+ * Defines a sink the semantic validation reports its {@link Diagnostic}s into, when running in the
+ * diagnostics collecting mode (see {@link SemanticValidator#reportDiagnostics(DiagnosticsSink)}).
+ */
+public interface DiagnosticsSink {
+	/**
+	 * Reports a semantic problem.
+	 * @param diagnostic The problem description.
+	 */
+	void report(Diagnostic diagnostic);
+}
@@ -20,10 +20,11 @@ public class FunctionArgumentSymbol extends Symbol {
 	/**
 	 * Initializes a new function argument symbol.
 	 * @param name The argument name.
+	 * @param id The argument name ID (see {@link Symbol#getId()}).
 	 * @param type The argument data type.
 	 */
-	public FunctionArgumentSymbol(String name, DataType type) {
-		super(name, Identifier.FUNCTION_ARGUMENT);
+	public FunctionArgumentSymbol(String name, int id, DataType type) {
+		super(name, id, Identifier.FUNCTION_ARGUMENT);
 		this.type = type;
 	}
 
@@ -48,7 +49,7 @@ public class FunctionArgumentSymbol extends Symbol {
 	 */
 	@Override
 	public Symbol clone() {
-		return new FunctionArgumentSymbol(this.getName(), this.type);
+		return new FunctionArgumentSymbol(this.getName(), this.getId(), this.type);
 	}
 
 	// endregion
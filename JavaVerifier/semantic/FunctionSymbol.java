@@ -18,10 +18,11 @@ public class FunctionSymbol extends Symbol {
 	/**
 	 * Initializes a new function declaration symbol.
 	 * @param name The function name.
+	 * @param id The function name ID (see {@link Symbol#getId()}).
 	 * @param arguments The function arguments.
 	 */
-	public FunctionSymbol(String name, List<FunctionArgumentSymbol> arguments) {
-		super(name, Identifier.FUNCTION);
+	public FunctionSymbol(String name, int id, List<FunctionArgumentSymbol> arguments) {
+		super(name, id, Identifier.FUNCTION);
 		this.arguments = arguments;
 	}
 
@@ -53,7 +54,7 @@ public class FunctionSymbol extends Symbol {
 		}
 
 		/* Copy */
-		return new FunctionSymbol(this.getName(), arguments);
+		return new FunctionSymbol(this.getName(), this.getId(), arguments);
 	}
 
 	// endregion
@@ -0,0 +1,392 @@
+package oop.ex6.semantic;
+
+import oop.ex6.ast.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A semantic validator that validates successive versions of the same program, and only re-validates
+ * the parts of the program that may have been affected by the changes since the previous version.
+ *
+ * Functions are being validated relatively to the final state of the global declarations, and don't
+ * affect each other (apart of their signatures), so the validation result of a function is being
+ * reused as long as its {@link FunctionDeclarationNode} is the same instance, and the global variables
+ * and functions it refers to weren't changed. The result is the same as
+ * {@link SemanticValidator#assertValidity()}'s result for the given program.
+ */
+public class IncrementalSemanticValidator {
+	// region Constants
+
+	/**
+	 * The description of a symbol that wasn't declared.
+	 */
+	private static final String MISSING_SYMBOL_DESCRIPTION = "-";
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes the cached validation state of a single function.
+	 */
+	private static class FunctionEntry {
+		// region iVars
+
+		/**
+		 * The names of the variables the function refers to (or declares).
+		 */
+		private final Set<String> variables;
+
+		/**
+		 * The names of the functions the function invokes.
+		 */
+		private final Set<String> functions;
+
+		/**
+		 * Describes the state of the global symbols the function referred to when it was validated,
+		 * or null if it wasn't validated yet.
+		 */
+		private String dependencies;
+
+		/**
+		 * The validation error, or null if the function is valid.
+		 */
+		private SemanticErrorException error;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new entry for the given function.
+		 * @param node The function declaration node.
+		 */
+		FunctionEntry(FunctionDeclarationNode node) {
+			this.variables = new HashSet<>();
+			this.functions = new HashSet<>();
+			node.accept(new ReferencesCollector(this));
+		}
+
+		// endregion
+	}
+
+	/**
+	 * A visitor that collects the names a function refers to into its {@link FunctionEntry}.
+	 */
+	private static class ReferencesCollector implements ASTVisitor {
+		// region iVars
+
+		/**
+		 * The entry the references are being collected into.
+		 */
+		private final FunctionEntry entry;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new references collector.
+		 * @param entry The entry the references are being collected into.
+		 */
+		ReferencesCollector(FunctionEntry entry) {
+			this.entry = entry;
+		}
+
+		// endregion
+
+		// region Public API
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(AssignmentNode node) {
+			this.entry.variables.add(node.getName());
+			this.entry.variables.add(node.getValue());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(ConditionNode node) {
+			this.entry.variables.add(node.getExpression());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(FunctionDeclarationNode node) {
+			this.visitScope(node);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(IfControlFlowNode node) {
+			for (ConditionNode condition : node.getConditions()) {
+				condition.accept(this);
+			}
+
+			this.visitScope(node);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(InvocationNode node) {
+			this.entry.functions.add(node.getName());
+			this.entry.variables.addAll(node.getArguments());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(VariableDeclarationNode node) {
+			for (VariableNode variable : node.getVariables()) {
+				variable.accept(this);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(VariableNode node) {
+			this.entry.variables.add(node.getName());
+			if (node.hasValue()) {
+				this.entry.variables.add(node.getValue());
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void visit(WhileControlFlowNode node) {
+			for (ConditionNode condition : node.getConditions()) {
+				condition.accept(this);
+			}
+
+			this.visitScope(node);
+		}
+
+		// endregion
+
+		// region Private API
+
+		/**
+		 * Visits the statements of the given scope.
+		 * @param node The scope node.
+		 */
+		private void visitScope(ScopeNode node) {
+			for (ASTNode statement : node) {
+				statement.accept(this);
+			}
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The variables symbols table implementation to use.
+	 */
+	private final SymbolsTableMode tableMode;
+
+	/**
+	 * The global declarations of the previously validated program: the global statements themselves, and
+	 * the signatures of the functions.
+	 */
+	private List<Object> globalDeclarations;
+
+	/**
+	 * The validator that holds the state of the global declarations.
+	 */
+	private SemanticValidator globalsValidator;
+
+	/**
+	 * The error raised by the global declarations, or null if they're valid.
+	 */
+	private SemanticErrorException globalsError;
+
+	/**
+	 * The cached functions states.
+	 */
+	private Map<FunctionDeclarationNode, FunctionEntry> functions;
+
+	/**
+	 * The number of functions that were validated by the last validation.
+	 */
+	private int validatedFunctionsCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new incremental semantic validator.
+	 * @param tableMode The variables symbols table implementation to use.
+	 */
+	public IncrementalSemanticValidator(SymbolsTableMode tableMode) {
+		if (tableMode == null) {
+			throw new NullPointerException();
+		}
+
+		this.tableMode = tableMode;
+		this.functions = new IdentityHashMap<>();
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Asserts the validity of the given program.
+	 * @param root The program AST node.
+	 * @throws SemanticErrorException If the given program is semantically invalid.
+	 */
+	public void assertValidity(ProgramASTNode root)
+		throws SemanticErrorException {
+		if (root == null) {
+			throw new NullPointerException();
+		}
+
+		this.validatedFunctionsCount = 0;
+
+		/* Re-validate the global declarations, if they were changed */
+		List<Object> declarations = new ArrayList<>();
+		List<FunctionDeclarationNode> functionNodes = new ArrayList<>();
+		for (ASTNode node : root) {
+			if (node instanceof FunctionDeclarationNode) {
+				functionNodes.add((FunctionDeclarationNode) node);
+				declarations.add(describeSignature((FunctionDeclarationNode) node));
+			} else {
+				declarations.add(node);
+			}
+		}
+
+		/* The symbols are being looked up by their IDs, so the globals of another interner can't be reused */
+		boolean globalsChanged = !declarations.equals(this.globalDeclarations)
+				|| this.globalsValidator.getInterner() != root.getInterner();
+		if (globalsChanged) {
+			this.globalDeclarations = declarations;
+			this.globalsValidator = new SemanticValidator(root, this.tableMode);
+			try {
+				this.globalsValidator.validateGlobals();
+				this.globalsError = null;
+			} catch (SemanticErrorException e) {
+				this.globalsError = e;
+			}
+		}
+
+		if (this.globalsError != null) {
+			throw this.globalsError;
+		}
+
+		/* Match the functions with their cached states */
+		Map<FunctionDeclarationNode, FunctionEntry> entries = new IdentityHashMap<>();
+		for (FunctionDeclarationNode node : functionNodes) {
+			FunctionEntry entry = this.functions.get(node);
+			entries.put(node, entry == null ? new FunctionEntry(node) : entry);
+		}
+		this.functions = entries;
+
+		/* Validate the functions that were changed, or that depend on changed declarations */
+		for (FunctionDeclarationNode node : functionNodes) {
+			FunctionEntry entry = entries.get(node);
+			if (entry.dependencies == null
+					|| (globalsChanged && !entry.dependencies.equals(this.describeDependencies(entry)))) {
+				try {
+					this.globalsValidator.validateFunction(node);
+					entry.error = null;
+				} catch (SemanticErrorException e) {
+					entry.error = e;
+				}
+
+				entry.dependencies = this.describeDependencies(entry);
+				this.validatedFunctionsCount++;
+			}
+
+			if (entry.error != null) {
+				throw entry.error;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of functions that were (re-)validated by the last call to
+	 * {@link IncrementalSemanticValidator#assertValidity(ProgramASTNode)}.
+	 * @return The number of validated functions.
+	 */
+	public int getValidatedFunctionsCount() {
+		return this.validatedFunctionsCount;
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Describes the state of the global symbols the given function refers to.
+	 * @param entry The function entry.
+	 * @return The description.
+	 */
+	private String describeDependencies(FunctionEntry entry) {
+		StringBuilder builder = new StringBuilder();
+		for (String name : entry.variables) {
+			VariableSymbol symbol = this.globalsValidator.getGlobalVariable(name);
+			builder.append(name).append(':');
+			if (symbol == null) {
+				builder.append(MISSING_SYMBOL_DESCRIPTION);
+			} else {
+				builder.append(symbol.getType().getIdentifier()).append(symbol.isFinal()).append(symbol.hasValue());
+			}
+			builder.append(';');
+		}
+
+		for (String name : entry.functions) {
+			FunctionSymbol symbol = this.globalsValidator.getFunction(name);
+			builder.append(name).append('(');
+			if (symbol == null) {
+				builder.append(MISSING_SYMBOL_DESCRIPTION);
+			} else {
+				for (FunctionArgumentSymbol argument : symbol.getArguments()) {
+					builder.append(argument.getType().getIdentifier()).append(',');
+				}
+			}
+			builder.append(')');
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Describes the signature of the given function, as it's being registered by the global declarations.
+	 * @param node The function declaration node.
+	 * @return The description.
+	 */
+	private static String describeSignature(FunctionDeclarationNode node) {
+		StringBuilder builder = new StringBuilder(node.getName()).append('(');
+		for (FunctionArgumentNode argument : node.getArguments()) {
+			builder.append(argument.getType()).append(' ').append(argument.getName()).append(',');
+		}
+
+		return builder.append(')').toString();
+	}
+
+	// endregion
+}
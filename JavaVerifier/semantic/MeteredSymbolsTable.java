@@ -0,0 +1,194 @@
+package oop.ex6.semantic;
+
+import oop.ex6.SymbolInterner;
+import oop.ex6.instrumentation.ValidationMetrics;
+
+/**
+ * A {@link ScopedSymbolsTable} decorator that records the states that're being pushed into and popped from
+ * the decorated table (see {@link ValidationMetrics#recordScopePush(int)}).
+ * @param <T> The type of the stored symbols.
+ */
+class MeteredSymbolsTable<T extends Symbol> implements ScopedSymbolsTable<T> {
+	// region iVars
+
+	/**
+	 * The decorated table.
+	 */
+	private final ScopedSymbolsTable<T> table;
+
+	/**
+	 * The metrics to record into.
+	 */
+	private final ValidationMetrics metrics;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new metered table.
+	 * @param table The table to decorate.
+	 * @param metrics The metrics to record into.
+	 */
+	MeteredSymbolsTable(ScopedSymbolsTable<T> table, ValidationMetrics metrics) {
+		if (table == null || metrics == null) {
+			throw new NullPointerException();
+		}
+
+		this.table = table;
+		this.metrics = metrics;
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void pushState() {
+		this.table.pushState();
+		this.metrics.recordScopePush(this.table.getDepth());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void popState() {
+		this.table.popState();
+		this.metrics.recordScopePop();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		this.table.reset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset(SymbolInterner interner) {
+		this.table.reset(interner);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SymbolInterner getInterner() {
+		return this.table.getInterner();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getDepth() {
+		return this.table.getDepth();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void freeze() {
+		this.table.freeze();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The fork isn't being metered, as the metrics can only be recorded by a single thread.
+	 */
+	@Override
+	public ScopedSymbolsTable<T> fork() {
+		return this.table.fork();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T get(Object name) {
+		return this.table.get(name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T getById(int id) {
+		return this.table.getById(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T getById(int id, int depth) {
+		return this.table.getById(id, depth);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object name) {
+		return this.table.containsKey(name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsId(int id) {
+		return this.table.containsId(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T getForUpdate(String name) {
+		return this.table.getForUpdate(name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T getForUpdateById(int id) {
+		return this.table.getForUpdateById(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T put(T value) {
+		return this.table.put(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T remove(Object name) {
+		return this.table.remove(name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T removeById(int id) {
+		return this.table.removeById(id);
+	}
+
+	// endregion
+}
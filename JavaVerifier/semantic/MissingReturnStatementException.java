@@ -26,7 +26,7 @@ public class MissingReturnStatementException extends SemanticErrorException {
 	 * @param functionName The function name.
 	 */
 	public MissingReturnStatementException(String functionName) {
-		super(String.format(DEFAULT_MESSAGE, functionName));
+		super();
 		this.functionName = functionName;
 	}
 
@@ -43,4 +43,29 @@ public class MissingReturnStatementException extends SemanticErrorException {
 	}
 
 	// endregion
+
+	// region Protected API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String buildMessage() {
+		return formatMessage(this.functionName);
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Formats the default error message of this exception, so it can be reported without raising it.
+	 * @param functionName The function name.
+	 * @return The error message.
+	 */
+	static String formatMessage(String functionName) {
+		return String.format(DEFAULT_MESSAGE, functionName);
+	}
+
+	// endregion
 }
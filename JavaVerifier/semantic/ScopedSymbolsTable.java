@@ -0,0 +1,147 @@
+package oop.ex6.semantic;
+
+import oop.ex6.SymbolInterner;
+
+/**
+ * Describes a symbols table that's aware of the code scopes, a.k.a. a table that keeps track of the
+ * symbols declared in each scope, while letting inner scopes see (and shadow) the symbols of the
+ * outer scopes. Changes made to a symbol within an inner scope must not leak out of that scope.
+ *
+ * The symbols can be looked up either by their names or by their interned name IDs (see
+ * {@link SymbolInterner}), where the latter doesn't hash the names. The names are being resolved into IDs by
+ * the interner of the table (see {@link ScopedSymbolsTable#getInterner()}).
+ * @param <T> The type of the stored symbols.
+ */
+public interface ScopedSymbolsTable<T extends Symbol> {
+	/**
+	 * Push the current table state and create a new one.
+	 * This method should be used to enter into a new code scope.
+	 */
+	void pushState();
+
+	/**
+	 * Pop the current table state and gets to the previous state.
+	 * This method should be used to get out of the current code scope.
+	 * @throws IllegalStateException If the method is being called when there's only one symbol table.
+	 */
+	void popState();
+
+	/**
+	 * Resets the table back to its initial state: pops every state but the 1'st depth one, and removes all
+	 * of its symbols. The table may keep the storage it allocated, so it can be reused by the next validation
+	 * without growing again. States that are frozen (see {@link ScopedSymbolsTable#freeze()}) are being left
+	 * intact for the forks that share them, and are replaced by new states.
+	 */
+	void reset();
+
+	/**
+	 * Resets the table back to its initial state (see {@link ScopedSymbolsTable#reset()}), and resolves the
+	 * names by the given interner afterwards, so the table can be reused by the validation of a program whose
+	 * symbols were interned by another interner.
+	 * @param interner The interner the symbols names should be resolved into IDs by.
+	 */
+	void reset(SymbolInterner interner);
+
+	/**
+	 * Gets the interner the symbols names are being resolved into IDs by.
+	 * @return The table interner.
+	 */
+	SymbolInterner getInterner();
+
+	/**
+	 * Gets the current symbols table depth.
+	 * @return The depth of the symbols table.
+	 */
+	int getDepth();
+
+	/**
+	 * Freezes the current states of the table, so they may no longer be modified (an
+	 * {@link IllegalStateException} is being raised), while they may be read from different threads at once.
+	 * States that are being pushed afterwards aren't frozen. Freezing frozen states does nothing.
+	 */
+	void freeze();
+
+	/**
+	 * Forks the table: creates a new table that shares the current states of this table, and pushes its own
+	 * states on top of them. The shared states are being frozen (see {@link ScopedSymbolsTable#freeze()}), so
+	 * both tables (and the forks of the fork) may read them from different threads at once.
+	 * @return The forked table, at the same depth as this table.
+	 */
+	ScopedSymbolsTable<T> fork();
+
+	/**
+	 * Gets the symbol with the given name, as visible from the current scope.
+	 * @param name The symbol name.
+	 * @return The symbol, or null if there's no such symbol.
+	 */
+	T get(Object name);
+
+	/**
+	 * Gets the symbol with the given name ID (see {@link Symbol#getId()}), as visible from the current scope.
+	 * @param id The symbol name ID.
+	 * @return The symbol, or null if there's no such symbol.
+	 */
+	T getById(int id);
+
+	/**
+	 * Gets the symbol with the given name ID, as visible from the scope at the given depth (where the global
+	 * scope depth is 1), while ignoring the symbols of the deeper scopes. For instance, looking up a name at
+	 * depth 1 finds the global symbol even if a local symbol shadows it.
+	 * @param id The symbol name ID.
+	 * @param depth The depth of the scope to look the symbol up from.
+	 * @return The symbol, or null if there's no such symbol.
+	 * @throws IllegalArgumentException If the depth is less than 1 or greater than the current depth.
+	 */
+	T getById(int id, int depth);
+
+	/**
+	 * Determine whether or not a symbol with the given name is visible from the current scope.
+	 * @param name The symbol name.
+	 * @return True if the symbol is visible, false otherwise.
+	 */
+	boolean containsKey(Object name);
+
+	/**
+	 * Determine whether or not a symbol with the given name ID is visible from the current scope.
+	 * @param id The symbol name ID.
+	 * @return True if the symbol is visible, false otherwise.
+	 */
+	boolean containsId(int id);
+
+	/**
+	 * Gets the symbol with the given name for modification. The returned symbol is owned by the current
+	 * scope, so modifying it won't affect the outer scopes.
+	 * @param name The symbol name.
+	 * @return The symbol, or null if there's no such symbol.
+	 */
+	T getForUpdate(String name);
+
+	/**
+	 * Gets the symbol with the given name ID for modification (see
+	 * {@link ScopedSymbolsTable#getForUpdate(String)}).
+	 * @param id The symbol name ID.
+	 * @return The symbol, or null if there's no such symbol.
+	 */
+	T getForUpdateById(int id);
+
+	/**
+	 * Puts the given {@link Symbol} in the current scope.
+	 * @param value The symbol to put.
+	 * @return The symbol that was previously associated with this name in the current scope, or null.
+	 */
+	T put(T value);
+
+	/**
+	 * Removes the symbol with the given name from the current scope.
+	 * @param name The symbol name.
+	 * @return The removed symbol, or null if there was no such symbol.
+	 */
+	T remove(Object name);
+
+	/**
+	 * Removes the symbol with the given name ID from the current scope.
+	 * @param id The symbol name ID.
+	 * @return The removed symbol, or null if there was no such symbol.
+	 */
+	T removeById(int id);
+}
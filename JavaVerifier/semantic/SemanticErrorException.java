@@ -1,9 +1,25 @@
 package oop.ex6.semantic;
 
+import oop.ex6.DebugMode;
+
 /**
  * A general exception that would be thrown if a semantic error is detected.
+ * Subclasses that describe their error by their state may build the message lazily (see
+ * {@link SemanticErrorException#buildMessage()}), and the stack trace is only being captured in the
+ * {@link DebugMode}.
  */
 public class SemanticErrorException extends Exception {
+	// region iVars
+
+	/**
+	 * The lazily built message, or null if it wasn't requested yet.
+	 */
+	private String builtMessage;
+
+	// endregion
+
+	// region Constructors
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -24,4 +40,49 @@ public class SemanticErrorException extends Exception {
 	public SemanticErrorException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	// endregion
+
+	// region Throwable Overrides
+
+	/**
+	 * {@inheritDoc}
+	 * If no message was given upon construction, the message is being built upon the first request.
+	 */
+	@Override
+	public String getMessage() {
+		String message = super.getMessage();
+		if (message != null) {
+			return message;
+		}
+
+		if (this.builtMessage == null) {
+			this.builtMessage = this.buildMessage();
+		}
+
+		return this.builtMessage;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The stack trace is only being captured in the {@link DebugMode}.
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return DebugMode.isEnabled() ? super.fillInStackTrace() : this;
+	}
+
+	// endregion
+
+	// region Protected API
+
+	/**
+	 * Builds the exception message, when no message was given upon construction.
+	 * @return The exception message, or null if there's no message.
+	 */
+	protected String buildMessage() {
+		return null;
+	}
+
+	// endregion
 }
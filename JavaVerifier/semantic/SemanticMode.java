@@ -0,0 +1,78 @@
+package oop.ex6.semantic;
+
+/**
+ * Defines how the {@link SemanticValidator} validates the functions bodies relatively to the global
+ * declarations.
+ */
+public enum SemanticMode {
+	/**
+	 * The functions are being validated one after another, in their source order.
+	 */
+	SEQUENTIAL() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "sequential";
+		}
+	},
+
+	/**
+	 * The functions are being validated concurrently on the common fork-join pool, each over its own fork of
+	 * the (frozen) global symbols tables. The first error in the source order is still the one that's being
+	 * reported, so the result is the same as of {@link SemanticMode#SEQUENTIAL}. Note that the diagnostics
+	 * (see {@link SemanticValidator#reportDiagnostics(DiagnosticsSink)}) are always collected sequentially.
+	 */
+	PARALLEL() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "parallel";
+		}
+	},
+
+	/**
+	 * The global statements are being validated one by one, while the rest of the program is still being
+	 * parsed (see {@link SemanticValidator#acceptGlobalStatement(oop.ex6.ast.ASTNode)}), so a function body
+	 * can be dropped as soon as it was validated. A function that refers a global variable or a function
+	 * which wasn't declared yet waits on a pending queue until the declaration shows up, or until the end of
+	 * the input. The errors are still being reported as if the globals were registered first, so the result
+	 * is the same as of {@link SemanticMode#SEQUENTIAL}.
+	 */
+	FUSED() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "fused";
+		}
+	};
+
+	// region Public API
+
+	/**
+	 * Gets the semantic mode that's associated with the given name (see {@link SemanticMode#toString()}).
+	 * @param name The mode name.
+	 * @return The matching semantic mode.
+	 * @throws IllegalArgumentException If there's no mode with that name.
+	 */
+	public static SemanticMode fromName(String name) {
+		if (name == null) {
+			throw new NullPointerException();
+		}
+
+		for (SemanticMode mode : values()) {
+			if (mode.toString().equals(name)) {
+				return mode;
+			}
+		}
+
+		throw new IllegalArgumentException(name);
+	}
+
+	// endregion
+}
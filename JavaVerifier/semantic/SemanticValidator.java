@@ -1,24 +1,49 @@
 package oop.ex6.semantic;
 
+import oop.ex6.DebugMode;
+import oop.ex6.SymbolInterner;
 import oop.ex6.Token;
 import oop.ex6.ast.*;
+import oop.ex6.instrumentation.ValidationMetrics;
 import oop.ex6.types.DataType;
-import oop.ex6.types.TypeParser;
+import oop.ex6.types.LiteralClassification;
 import oop.ex6.types.TypeRegistry;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A class that provides (very simple) semantic validation.
  */
 public class SemanticValidator {
+	// region Constants
+
+	/**
+	 * The minimal number of functions that're being validated concurrently in the
+	 * {@link SemanticMode#PARALLEL} mode. Smaller programs are being validated sequentially, as forking the
+	 * tasks would cost more than it saves.
+	 */
+	private static final int PARALLEL_FUNCTIONS_THRESHOLD = 4;
+
+	/**
+	 * The number of tasks each fork-join worker is being given (roughly), so workers that finish early can
+	 * steal the work of the others.
+	 */
+	private static final int TASKS_PER_WORKER = 4;
+
+	// endregion
+
 	// region iVars
 
 	/**
-	 * The root node of the AST.
+	 * The root node of the AST, or null if the validator was reset without a program.
 	 */
-	private final ProgramASTNode root;
+	private ProgramASTNode root;
 
 	/**
 	 * A table that contains the declared functions and their arguments list.
@@ -26,9 +51,94 @@ public class SemanticValidator {
 	private final SymbolsTable<FunctionSymbol> functionsSymbolTable;
 
 	/**
-	 * A symbols table that keep track of allocated variables, relatively to their scope.
+	 * The (unmeasured) variables symbols table, which is being reused when the validator is being reset.
+	 */
+	private final ScopedSymbolsTable<VariableSymbol> variables;
+
+	/**
+	 * A symbols table that keep track of allocated variables, relatively to their scope. This is the
+	 * variables table itself, or a view of it that records its usage into the metrics.
+	 */
+	private ScopedSymbolsTable<VariableSymbol> variablesTable;
+
+	/**
+	 * The metrics the passes timings are being recorded into, or null if the validation isn't being measured.
+	 */
+	private ValidationMetrics metrics;
+
+	/**
+	 * The way the functions bodies are being validated by {@link SemanticValidator#assertValidity()}.
+	 */
+	private final SemanticMode semanticMode;
+
+	/**
+	 * The interner the symbols of the validated program were interned by (see
+	 * {@link ProgramASTNode#getInterner()}), which the symbols tables resolve the names by.
+	 */
+	private SymbolInterner interner;
+
+	/**
+	 * The sink the semantic problems are being reported into, or null if the validation should fail
+	 * on the first problem (by raising its {@link SemanticErrorException}).
 	 */
-	private final SymbolsTable<VariableSymbol> variablesTable;
+	private DiagnosticsSink diagnosticsSink;
+
+	/**
+	 * The visitor that registers the global declarations. The visitors don't keep any state between the
+	 * statements they visit, so they're being reused by the passes.
+	 */
+	private final GlobalScopeVisitor globalScopeVisitor = new GlobalScopeVisitor();
+
+	/**
+	 * The visitor that validates the statements.
+	 */
+	private final GeneralSemanticVisitor generalSemanticVisitor = new GeneralSemanticVisitor();
+
+	/**
+	 * The error of the first global statement that was handed over by
+	 * {@link SemanticValidator#acceptGlobalStatement(ASTNode)} and turned out invalid, or null if there's
+	 * none (yet).
+	 */
+	private SemanticErrorException globalsError;
+
+	/**
+	 * The handed over functions that failed to validate, in their source order (see {@link PendingFunction}).
+	 */
+	private final List<PendingFunction> pendingFunctions = new ArrayList<>();
+
+	/**
+	 * The pending functions that failed on a symbol which might still be declared (or assigned) by a
+	 * following global statement, by that symbol name.
+	 */
+	private final Map<String, List<PendingFunction>> unresolvedSymbols = new HashMap<>();
+
+	// endregion
+
+	// region Nested Classes - Semantic Error Carrier
+
+	/**
+	 * The runtime exception the semantic visitors raise in order to carry a {@link SemanticErrorException}
+	 * out of the visitor (see {@link SemanticValidator#accept(ASTNode, ASTVisitor)}). As it's being
+	 * unwrapped right away, its stack trace is only being captured in the {@link DebugMode}.
+	 */
+	private static class SemanticErrorCarrier extends IllegalStateException {
+		/**
+		 * Creates a new carrier of the given semantic error.
+		 * @param cause The semantic error.
+		 */
+		SemanticErrorCarrier(SemanticErrorException cause) {
+			super(null, cause); // The message isn't being used, so we don't want to format the cause one
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * The stack trace is only being captured in the {@link DebugMode}.
+		 */
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return DebugMode.isEnabled() ? super.fillInStackTrace() : this;
+		}
+	}
 
 	// endregion
 
@@ -54,6 +164,15 @@ public class SemanticValidator {
 
 		// endregion
 
+		// region iVars
+
+		/**
+		 * The source line number of the statement that's being visited.
+		 */
+		private int currentLine = ScopeNode.UNKNOWN_LINE;
+
+		// endregion
+
 		// region Public API
 
 		/**
@@ -61,9 +180,7 @@ public class SemanticValidator {
 		 */
 		@Override
 		public void visit(ProgramASTNode node) {
-			for (ASTNode n : node) {
-				n.accept(this);
-			}
+			this.visitStatements(node);
 		}
 
 		/**
@@ -91,25 +208,29 @@ public class SemanticValidator {
 		public void visit(AssignmentNode node) {
 			/* Firstly, lets check that the specified variable exists
 			in our symbols table */
-			if (!variablesTable.containsKey(node.getName())) {
-				throw new IllegalStateException(new SymbolNotFoundException(node.getName()));
+			if (!variablesTable.containsId(node.getNameId())) {
+				this.reportSymbolNotFound(node.getName());
+				return;
 			}
 
-			/* Now, lets make sure it's not final */
-			VariableSymbol symbol = variablesTable.get(node.getName());
+			/* Now, lets make sure it's not final. Note that as we're going to change the symbol value,
+			we're requesting a copy that's owned by the current scope. */
+			VariableSymbol symbol = variablesTable.getForUpdateById(node.getNameId());
 			if (symbol.isFinal()) {
-				throw new IllegalStateException(new InvalidExpressionException(
-						String.format(ATTEMPT_ASSIGN_FINAL_MESSAGE, symbol.getName())));
+				this.reportInvalidExpression(symbol.getName(),
+						String.format(ATTEMPT_ASSIGN_FINAL_MESSAGE, symbol.getName()));
+				return;
 			}
 
 			/* Finally, lets make sure the value we put can be assigned to this variable */
-			if (!this.canAssignValue(symbol, node.getValue())) {
-				throw new IllegalStateException(new InvalidExpressionException(
+			if (!this.canAssignValue(symbol, node.getValue(), node.getValueId(), node.getValueClassification())) {
+				this.reportInvalidExpression(symbol.getName(),
 						String.format(ASSIGNED_VALUE_INVALID_MESSAGE, symbol.getName(),
-								symbol.getType().getIdentifier())));
+								symbol.getType().getIdentifier()));
 			}
 
-			/* Finally, perform the assignment */
+			/* Finally, perform the assignment (when collecting diagnostics, an invalid value is being
+			assigned as well, so the variable later uses won't be reported as uninitialized) */
 			symbol.setValue(node.getValue());
 		}
 
@@ -132,27 +253,28 @@ public class SemanticValidator {
 		protected void handleVariableDeclaration(VariableNode node) {
 			/* Check the variable type */
 			if (!TypeRegistry.isRegistered(node.getType())) {
-				throw new IllegalStateException(new TypeNotFoundException(node.getType()));
+				this.reportTypeNotFound(node.getType());
+				return;
 			}
 
 			/* Create the symbol */
-			VariableSymbol symbol = new VariableSymbol(node.getName(), TypeRegistry.factory(node.getType()),
-					null, node.isFinal(), this.isInGlobalScope());
+			VariableSymbol symbol = new VariableSymbol(node.getName(), node.getNameId(),
+					TypeRegistry.factory(node.getType()), null, node.isFinal(), this.isInGlobalScope());
 
 			/* Do we have a value? */
 			if (node.hasValue()) {
 				/* Make sure we can assign the value to the given type */
-				if (!canAssignValue(symbol, node.getValue())) {
-					throw new IllegalStateException(new InvalidExpressionException(
+				if (!canAssignValue(symbol, node.getValue(), node.getValueId(), node.getValueClassification())) {
+					this.reportInvalidExpression(symbol.getName(),
 							String.format(ASSIGNED_VALUE_INVALID_MESSAGE, symbol.getName(),
-									symbol.getType().getIdentifier())));
+									symbol.getType().getIdentifier()));
 				}
 
 				symbol.setValue(node.getValue());
 			} else {
 				/* Is this a final variable? it can't be, right?! */
 				if (node.isFinal()) {
-					throw new IllegalStateException(new UninitializedFinalVariableException(node.getName()));
+					this.reportUninitializedFinalVariable(node.getName());
 				}
 			}
 
@@ -164,6 +286,8 @@ public class SemanticValidator {
 		 * Determine whether or not the given value is a valid value for the argument supplied.
 		 * @param argument The function argument symbol data.
 		 * @param value The value that was tried to be assigned.
+		 * @param valueId The ID of the variable the value refers (see {@link SymbolInterner}).
+		 * @param classification The value classification.
 		 * @return True if this is a valid value, or false otherwise.
 		 * @throws IllegalStateException If an error has been occurred while processing this node.
 		 * The exception will contain a "cause" {@link Throwable} instance of type
@@ -174,8 +298,9 @@ public class SemanticValidator {
 		 * 2) {@link AccessUninitializedVariableException}: In case the assigning value is a variable, and
 		 *    it was never initialised before.
 		 */
-		protected boolean isValidArgumentValue(FunctionArgumentSymbol argument, String value) {
-			return valueMatchesType(value, argument.getType());
+		protected boolean isValidArgumentValue(FunctionArgumentSymbol argument, String value, int valueId,
+				LiteralClassification classification) {
+			return valueMatchesType(value, valueId, classification, argument.getType());
 		}
 
 		/**
@@ -190,6 +315,8 @@ public class SemanticValidator {
 		 * Checks whether or not the given value can be assigned to the symbol.
 		 * @param symbol The variable symbol to assign the value to.
 		 * @param value The assigned value in string representation.
+		 * @param valueId The ID of the variable the value refers (see {@link SymbolInterner}).
+		 * @param classification The assigned value classification.
 		 * @return True if the value could be assigned, false otherwise.
 		 * @throws NullPointerException If the given symbol or value is/are null.
 		 * @throws IllegalStateException If an error has been occurred while processing this node.
@@ -201,19 +328,23 @@ public class SemanticValidator {
 		 * 2) {@link AccessUninitializedVariableException}: In case the assigning value is a variable, and
 		 *    it was never initialised before.
 		 */
-		protected boolean canAssignValue(VariableSymbol symbol, String value) {
+		protected boolean canAssignValue(VariableSymbol symbol, String value, int valueId,
+				LiteralClassification classification) {
 			/* If this is a variable we are assigning, we need to make sure that it got the same type
 			OH, and we need to make sure it got initialized as well. */
-			if (symbol == null || value == null) {
+			if (symbol == null || value == null || classification == null) {
 				throw new NullPointerException();
 			}
 
-			return valueMatchesType(value, symbol.getType());
+			return valueMatchesType(value, valueId, classification, symbol.getType());
 		}
 
 		/**
 		 * Determine whether or not the given value matches the specified data type.
 		 * @param value The value to check.
+		 * @param valueId The ID of the variable the value refers, or {@link SymbolInterner#NO_SYMBOL} if the
+		 * value isn't an identifier.
+		 * @param classification The value classification.
 		 * @param type The data type to test against.
 		 * @return True if the value matches the data type, false otherwise.
 		 * @throws IllegalStateException If an error has been occurred while processing this node.
@@ -225,23 +356,27 @@ public class SemanticValidator {
 		 * 2) {@link AccessUninitializedVariableException}: In case the assigning value is a variable, and
 		 *    it was never initialised before.
 		 */
-		protected boolean valueMatchesType(String value, DataType type) {
+		protected boolean valueMatchesType(String value, int valueId, LiteralClassification classification,
+				DataType type) {
 			/* Firstly, we have to check if this is a constant */
-			if (type.isValidValue(value)) {
+			if (classification.isCompatibleWith(type)) {
 				return true;
 			}
 
 			/* We have no choice, but to check for an identifier - which symbolize variables */
-			if (TypeParser.isIdentifier(value)) {
+			if (classification.isIdentifier()) {
 				/* Attempt to get the variable */
-				VariableSymbol rParam = variablesTable.get(value);
+				VariableSymbol rParam = variablesTable.getById(valueId);
 				if (rParam == null) {
-					throw new IllegalStateException(new SymbolNotFoundException(value));
+					/* When collecting diagnostics, the value is being treated as matching, as we can't
+					tell its type and the problem was already reported */
+					this.reportSymbolNotFound(value);
+					return true;
 				}
 
 				/* Make sure this variable was initialized */
 				if (!rParam.hasValue()) {
-					throw new IllegalStateException(new AccessUninitializedVariableException(value));
+					this.reportAccessUninitializedVariable(value);
 				}
 
 				/* Determine the assignment result by the variable types */
@@ -251,6 +386,147 @@ public class SemanticValidator {
 			}
 		}
 
+		/**
+		 * Visits the statements of the given scope, in their order, while keeping track of their lines.
+		 * @param scope The scope node.
+		 */
+		protected void visitStatements(ScopeNode scope) {
+			for (int i = 0; i < scope.getStatementCount(); i++) {
+				this.currentLine = scope.getStatementLine(i);
+				scope.getStatement(i).accept(this);
+			}
+		}
+
+		/**
+		 * Reports that the given type wasn't defined.
+		 * @param type The type name.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type {@link TypeNotFoundException}.
+		 */
+		protected void reportTypeNotFound(String type) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new TypeNotFoundException(type));
+			}
+
+			this.report(DiagnosticKind.TYPE_NOT_FOUND, type, TypeNotFoundException.formatMessage(type));
+		}
+
+		/**
+		 * Reports that the given symbol wasn't declared.
+		 * @param name The symbol name.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type {@link SymbolNotFoundException}.
+		 */
+		protected void reportSymbolNotFound(String name) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new SymbolNotFoundException(name));
+			}
+
+			this.report(DiagnosticKind.SYMBOL_NOT_FOUND, name, SymbolNotFoundException.formatMessage(name));
+		}
+
+		/**
+		 * Reports that the name of the given symbol was already used.
+		 * @param previousSymbol The previously declared symbol.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type {@link SymbolAlreadyExistsException}.
+		 */
+		protected void reportSymbolAlreadyExists(Symbol previousSymbol) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new SymbolAlreadyExistsException(previousSymbol));
+			}
+
+			this.report(DiagnosticKind.SYMBOL_ALREADY_EXISTS, previousSymbol.getName(),
+					SymbolAlreadyExistsException.formatMessage(previousSymbol));
+		}
+
+		/**
+		 * Reports an expression that can't be evaluated.
+		 * @param symbol The name of the symbol the expression refers to.
+		 * @param message The problem description.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type {@link InvalidExpressionException}.
+		 */
+		protected void reportInvalidExpression(String symbol, String message) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new InvalidExpressionException(message));
+			}
+
+			this.report(DiagnosticKind.INVALID_EXPRESSION, symbol, message);
+		}
+
+		/**
+		 * Reports an invalid function invocation.
+		 * @param function The invoked function name.
+		 * @param message The problem description.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type {@link InvalidInvocationException}.
+		 */
+		protected void reportInvalidInvocation(String function, String message) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new InvalidInvocationException(message));
+			}
+
+			this.report(DiagnosticKind.INVALID_INVOCATION, function, message);
+		}
+
+		/**
+		 * Reports an access to a variable that wasn't initialized.
+		 * @param name The variable name.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type
+		 * {@link AccessUninitializedVariableException}.
+		 */
+		protected void reportAccessUninitializedVariable(String name) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new AccessUninitializedVariableException(name));
+			}
+
+			this.report(DiagnosticKind.ACCESS_UNINITIALIZED_VARIABLE, name,
+					AccessUninitializedVariableException.formatMessage(name));
+		}
+
+		/**
+		 * Reports a final variable that wasn't initialized.
+		 * @param name The variable name.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type
+		 * {@link UninitializedFinalVariableException}.
+		 */
+		protected void reportUninitializedFinalVariable(String name) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new UninitializedFinalVariableException(name));
+			}
+
+			this.report(DiagnosticKind.UNINITIALIZED_FINAL_VARIABLE, name,
+					UninitializedFinalVariableException.formatMessage(name));
+		}
+
+		/**
+		 * Reports a function that doesn't end with a return statement.
+		 * @param function The function name.
+		 * @throws IllegalStateException If the validation should fail on the first problem. The exception
+		 * will contain a "cause" {@link Throwable} instance of type {@link MissingReturnStatementException}.
+		 */
+		protected void reportMissingReturnStatement(String function) {
+			if (diagnosticsSink == null) {
+				throw new SemanticErrorCarrier(new MissingReturnStatementException(function));
+			}
+
+			this.report(DiagnosticKind.MISSING_RETURN_STATEMENT, function,
+					MissingReturnStatementException.formatMessage(function));
+		}
+
+		/**
+		 * Reports a diagnostic, that refers to the current statement line, into the diagnostics sink.
+		 * @param kind The problem kind.
+		 * @param symbol The name of the symbol the problem refers to.
+		 * @param message The problem description.
+		 */
+		private void report(DiagnosticKind kind, String symbol, String message) {
+			diagnosticsSink.report(new Diagnostic(kind, symbol, this.currentLine, message));
+		}
+
 		// endregion
 	}
 
@@ -276,13 +552,17 @@ public class SemanticValidator {
 		@Override
 		public void visit(FunctionDeclarationNode node) {
 			/* Do we have the same symbol registered already? */
-			Symbol previousSymbol = functionsSymbolTable.get(node.getName());
+			Symbol previousSymbol = functionsSymbolTable.getById(node.getNameId());
 			if (previousSymbol != null) {
-				throw new IllegalStateException(new SymbolAlreadyExistsException(previousSymbol));
+				this.reportSymbolAlreadyExists(previousSymbol);
+				return;
 			}
 
 			/* Attempt to create the symbol */
-			functionsSymbolTable.put(this.createFunctionSymbol(node));
+			FunctionSymbol symbol = this.createFunctionSymbol(node);
+			if (symbol != null) {
+				functionsSymbolTable.put(symbol);
+			}
 		}
 
 		/**
@@ -306,9 +586,10 @@ public class SemanticValidator {
 			}
 
 			/* Do we have a variable with that name */
-			VariableSymbol previousSymbol = variablesTable.get(node.getName());
+			VariableSymbol previousSymbol = variablesTable.getById(node.getNameId());
 			if (previousSymbol != null) {
-				throw new IllegalStateException(new SymbolAlreadyExistsException(previousSymbol));
+				this.reportSymbolAlreadyExists(previousSymbol);
+				return;
 			}
 
 			/* Declare this variable */
@@ -322,7 +603,8 @@ public class SemanticValidator {
 		/**
 		 * Attempts to create a function symbol.
 		 * @param node The {@link ASTNode} that define the function data.
-		 * @return The created node.
+		 * @return The created node, or null if one of the arguments was invalid (and the validation
+		 * collects diagnostics rather than failing).
 		 * @throws IllegalStateException If an error has been occurred while composing the symbol table. The exception
 		 * will contain a "cause" {@link Throwable} instance of type {@link SemanticErrorException} describing the
 		 * actual exception cause. The exception might be of the following types:
@@ -332,24 +614,29 @@ public class SemanticValidator {
 		private FunctionSymbol createFunctionSymbol(FunctionDeclarationNode node) {
 			/* Compose the arguments list */
 			List<FunctionArgumentSymbol> args = new ArrayList<>();
+			boolean valid = true;
 			for (FunctionArgumentNode argNode : node.getArguments()) {
 				/* Check that the used data type is valid */
 				if (!TypeRegistry.isRegistered(argNode.getType())) {
-					throw new IllegalStateException(new TypeNotFoundException(argNode.getType()));
+					this.reportTypeNotFound(argNode.getType());
+					valid = false;
+					continue;
 				}
 
 				/* Have we already registered an argument with this name? */
 				FunctionArgumentSymbol arg = new FunctionArgumentSymbol(
-						argNode.getName(), TypeRegistry.factory(argNode.getType()));
+						argNode.getName(), argNode.getNameId(), TypeRegistry.factory(argNode.getType()));
 				if (args.contains(arg)) {
-					throw new IllegalStateException(new SymbolAlreadyExistsException(arg));
+					this.reportSymbolAlreadyExists(arg);
+					valid = false;
+					continue;
 				}
 
 				/* Add it */
 				args.add(arg);
 			}
 
-			return new FunctionSymbol(node.getName(), args);
+			return valid ? new FunctionSymbol(node.getName(), node.getNameId(), args) : null;
 		}
 
 		// endregion
@@ -384,6 +671,20 @@ public class SemanticValidator {
 
 		// region Public API
 
+		/**
+		 * {@inheritDoc}
+		 * The global scope assignments were already validated (and performed) by the global scope visitor,
+		 * so they're being skipped rather than reported twice.
+		 */
+		@Override
+		public void visit(AssignmentNode node) {
+			if (this.isInGlobalScope()) {
+				return;
+			}
+
+			super.visit(node);
+		}
+
 		/**
 		 * A method that's being triggered when the visitor visits an {@link ConditionNode}.
 		 * @param node The node that the visitor found while iterating over the tree.
@@ -402,26 +703,28 @@ public class SemanticValidator {
 			DataType resolver = TypeRegistry.factory(Token.TYPE_BOOLEAN.toString());
 
 			/* Firstly, is this a boolean constant? */
-			if (resolver.isValidValue(expression)) {
+			if (node.getExpressionClassification().isCompatibleWith(resolver)) {
 				return;
 			}
 
 			/* It should be a variable, so lets check that it's an initialized boolean */
-			VariableSymbol symbol = variablesTable.get(expression);
+			VariableSymbol symbol = variablesTable.getById(node.getExpressionId());
 			if (symbol == null) {
-				throw new IllegalStateException(new SymbolNotFoundException(expression));
+				this.reportSymbolNotFound(expression);
+				return;
 			}
 
 			/* This variable is indeed a boolean? */
 			if (!resolver.canCreatedFrom(symbol.getType())) {
-				throw new IllegalStateException(new InvalidExpressionException(String.format(
+				this.reportInvalidExpression(expression, String.format(
 						INVALID_CONDITION_MESSAGE, expression, symbol.getType().getIdentifier(),
-						resolver.getIdentifier())));
+						resolver.getIdentifier()));
+				return;
 			}
 
 			/* This variable was initialized? */
 			if (!symbol.hasValue()) {
-				throw new IllegalStateException(new AccessUninitializedVariableException(expression));
+				this.reportAccessUninitializedVariable(expression);
 			}
 		}
 
@@ -436,16 +739,20 @@ public class SemanticValidator {
 		 */
 		@Override
 		public void visit(FunctionArgumentNode node) {
-			/* Firstly, lets make sure that this type was defined earlier */
+			/* Firstly, lets make sure that this type was defined earlier. Note that when collecting
+			diagnostics, the problem was already reported while registering the function */
 			if (!TypeRegistry.isRegistered(node.getType())) {
-				throw new IllegalStateException(new TypeNotFoundException(node.getType()));
+				if (diagnosticsSink == null) {
+					this.reportTypeNotFound(node.getType());
+				}
+				return;
 			}
 
 			/* Declare the variable. Note that since we don't have an actual compiler/interpreter we can't
 			 * actually figure out WHICH value sent to this variable, so we just use the default values. */
 			DataType type = TypeRegistry.factory(node.getType());
 			VariableSymbol symbol = new VariableSymbol(
-					node.getName(), type,type.getDefaultValue(), node.isFinal());
+					node.getName(), node.getNameId(), type,type.getDefaultValue(), node.isFinal());
 
 			variablesTable.put(symbol);
 		}
@@ -473,16 +780,14 @@ public class SemanticValidator {
 			}
 
 			/* Do we have a return statement as the last statement? */
-			int numberOfStatements = node.getStatements().size();
+			int numberOfStatements = node.getStatementCount();
 			if (numberOfStatements == 0
-					|| !(node.getStatements().get(numberOfStatements - 1) instanceof ReturnStatementNode)) {
-				throw new IllegalStateException(new MissingReturnStatementException(node.getName()));
+					|| !(node.getStatement(numberOfStatements - 1) instanceof ReturnStatementNode)) {
+				this.reportMissingReturnStatement(node.getName());
 			}
 
 			/* Perform each statement in that function  */
-			for (ASTNode statement : node) {
-				statement.accept(this);
-			}
+			this.visitStatements(node);
 
 			/* And... pop the state we were in */
 			variablesTable.popState();
@@ -509,9 +814,7 @@ public class SemanticValidator {
 			/* Execute the control flow in a new scope */
 			variablesTable.pushState();
 
-			for (ASTNode stmt : node) {
-				stmt.accept(this);
-			}
+			this.visitStatements(node);
 
 			variablesTable.popState();
 		}
@@ -529,9 +832,10 @@ public class SemanticValidator {
 		@Override
 		public void visit(InvocationNode node) {
 			/* Was this function declared before? */
-			FunctionSymbol functionSymbol = functionsSymbolTable.get(node.getName());
+			FunctionSymbol functionSymbol = functionsSymbolTable.getById(node.getNameId());
 			if (functionSymbol == null) {
-				throw new IllegalStateException(new SymbolNotFoundException(node.getName()));
+				this.reportSymbolNotFound(node.getName());
+				return;
 			}
 
 			/* Do we have enough argument? */
@@ -539,19 +843,21 @@ public class SemanticValidator {
 			List<String> nodeArguments = node.getArguments();
 			int len = symbolArguments.size();
 			if (len != nodeArguments.size()) {
-				throw new IllegalStateException(new InvalidInvocationException(
+				this.reportInvalidInvocation(functionSymbol.getName(),
 						String.format(INVOCATION_INVALID_NUM_ARGS_MESSAGE,
-								functionSymbol.getName(), nodeArguments.size(), len)));
+								functionSymbol.getName(), nodeArguments.size(), len));
+				return;
 			}
 
 			/* Attempt to compare each argument */
 			for (int i = 0; i < len; i++) {
-				if (!isValidArgumentValue(symbolArguments.get(i), nodeArguments.get(i))) {
-					throw new IllegalStateException(new InvalidInvocationException(
+				if (!isValidArgumentValue(symbolArguments.get(i), nodeArguments.get(i), node.getArgumentId(i),
+						node.getArgumentClassification(i))) {
+					this.reportInvalidInvocation(functionSymbol.getName(),
 							String.format(INVOCATION_INVALID_ARG_MESSAGE,
 									functionSymbol.getName(), nodeArguments.get(i),
 									i + 1, symbolArguments.get(i).getName(),
-									symbolArguments.get(i).getType().getIdentifier())));
+									symbolArguments.get(i).getType().getIdentifier()));
 				}
 			}
 		}
@@ -577,15 +883,16 @@ public class SemanticValidator {
 			}
 
 			/* Do we have a variable with that name */
-			VariableSymbol previousSymbol = variablesTable.get(node.getName());
+			VariableSymbol previousSymbol = variablesTable.getById(node.getNameId());
 			if (previousSymbol != null) {
 				/* We do allow to define and "override" global declarations with local declarations. */
 				if (!previousSymbol.isGlobal()) {
-					throw new IllegalStateException(new SymbolAlreadyExistsException(previousSymbol));
+					this.reportSymbolAlreadyExists(previousSymbol);
+					return;
 				}
 
 				/* Remove that symbol before continuing */
-				variablesTable.remove(previousSymbol.getName());
+				variablesTable.removeById(previousSymbol.getId());
 			}
 
 			/* Declare this variable */
@@ -613,9 +920,7 @@ public class SemanticValidator {
 			/* Execute the control flow in a new scope */
 			variablesTable.pushState();
 
-			for (ASTNode stmt : node) {
-				stmt.accept(this);
-			}
+			this.visitStatements(node);
 
 			variablesTable.popState();
 		}
@@ -625,6 +930,143 @@ public class SemanticValidator {
 
 	// endregion
 
+	// region Nested Classes - Parallel Validation
+
+	/**
+	 * A fork-join task that validates a range of the program functions, each over a fork of the frozen global
+	 * symbols tables. The task stops as soon as one of its functions fails, and skips the functions that
+	 * follow a failure which was already found by another task, as only the first failure in the source order
+	 * is being reported. The task results in the metrics it recorded (or null if the validation isn't being
+	 * measured).
+	 */
+	private class FunctionsValidationTask extends RecursiveTask<ValidationMetrics> {
+		// region iVars
+
+		/**
+		 * The program functions.
+		 */
+		private final List<FunctionDeclarationNode> functions;
+
+		/**
+		 * The index of the first function of the range.
+		 */
+		private final int from;
+
+		/**
+		 * The index that follows the last function of the range.
+		 */
+		private final int to;
+
+		/**
+		 * The maximal number of functions a task validates without splitting its range.
+		 */
+		private final int granularity;
+
+		/**
+		 * The errors of the failed functions, by the functions indices.
+		 */
+		private final SemanticErrorException[] errors;
+
+		/**
+		 * The index of the first function that's known to fail.
+		 */
+		private final AtomicInteger firstFailure;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new task.
+		 * @param functions The program functions.
+		 * @param from The index of the first function of the range.
+		 * @param to The index that follows the last function of the range.
+		 * @param granularity The maximal number of functions a task validates without splitting its range.
+		 * @param errors The errors of the failed functions, by the functions indices.
+		 * @param firstFailure The index of the first function that's known to fail.
+		 */
+		FunctionsValidationTask(List<FunctionDeclarationNode> functions, int from, int to, int granularity,
+								SemanticErrorException[] errors, AtomicInteger firstFailure) {
+			this.functions = functions;
+			this.from = from;
+			this.to = to;
+			this.granularity = granularity;
+			this.errors = errors;
+			this.firstFailure = firstFailure;
+		}
+
+		// endregion
+
+		// region Protected API
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected ValidationMetrics compute() {
+			/* Split large ranges in halves */
+			if (this.to - this.from > this.granularity) {
+				int middle = (this.from + this.to) >>> 1;
+				FunctionsValidationTask first = new FunctionsValidationTask(this.functions, this.from, middle,
+						this.granularity, this.errors, this.firstFailure);
+				FunctionsValidationTask second = new FunctionsValidationTask(this.functions, middle, this.to,
+						this.granularity, this.errors, this.firstFailure);
+				invokeAll(first, second);
+
+				ValidationMetrics taskMetrics = first.join();
+				if (taskMetrics != null) {
+					taskMetrics.merge(second.join());
+				}
+
+				return taskMetrics;
+			}
+
+			/* Validate our functions, over our own fork of the global tables */
+			ValidationMetrics taskMetrics = metrics == null ? null : new ValidationMetrics();
+			SemanticValidator validator = new SemanticValidator(SemanticValidator.this, taskMetrics);
+			for (int i = this.from; i < this.to && i < this.firstFailure.get(); i++) {
+				try {
+					validator.validateFunction(this.functions.get(i));
+				} catch (SemanticErrorException e) {
+					this.errors[i] = e;
+					this.firstFailure.accumulateAndGet(i, Math::min);
+					break;
+				}
+			}
+
+			return taskMetrics;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region Nested Classes - Fused Validation
+
+	/**
+	 * A function that was handed over in the {@link SemanticMode#FUSED} mode, but failed to validate. As the
+	 * failure might be resolved by a global statement that follows the function (e.g. the declaration of a
+	 * function it invokes), the function is being kept until it's being validated successfully, or until
+	 * the end of the input.
+	 */
+	private static class PendingFunction {
+		/**
+		 * The function declaration node, or null once the function was validated successfully.
+		 */
+		private FunctionDeclarationNode node;
+
+		/**
+		 * Creates a new pending function.
+		 * @param node The function declaration node.
+		 */
+		PendingFunction(FunctionDeclarationNode node) {
+			this.node = node;
+		}
+	}
+
+	// endregion
+
 	// region Initialization
 
 	/**
@@ -632,9 +1074,95 @@ public class SemanticValidator {
  	 * @param root The program AST node.
 	 */
 	public SemanticValidator(ProgramASTNode root) {
+		this(root, SymbolsTableMode.CLONING);
+	}
+
+	/**
+	 * Initializes a new semantic validator that keeps track of the variables using the given table kind.
+	 * @param root The program AST node.
+	 * @param tableMode The variables symbols table implementation to use.
+	 */
+	public SemanticValidator(ProgramASTNode root, SymbolsTableMode tableMode) {
+		this(root, tableMode, null);
+	}
+
+	/**
+	 * Initializes a new semantic validator that keeps track of the variables using the given table kind, and
+	 * records the passes timings and the variables table usage into the given metrics.
+	 * @param root The program AST node.
+	 * @param tableMode The variables symbols table implementation to use.
+	 * @param metrics The metrics to record into, or null if the validation shouldn't be measured.
+	 */
+	public SemanticValidator(ProgramASTNode root, SymbolsTableMode tableMode, ValidationMetrics metrics) {
+		this(root, tableMode, SemanticMode.SEQUENTIAL, metrics);
+	}
+
+	/**
+	 * Initializes a new semantic validator that keeps track of the variables using the given table kind,
+	 * validates the functions bodies in the given mode, and records the passes timings and the variables
+	 * table usage into the given metrics.
+	 * @param root The program AST node. In the {@link SemanticMode#FUSED} mode, it may be null, in which case
+	 * the program statements are being handed over by {@link SemanticValidator#acceptGlobalStatement(ASTNode)},
+	 * and the validator resolves the names by an interner of its own (see
+	 * {@link SemanticValidator#SemanticValidator(SymbolInterner, SymbolsTableMode, ValidationMetrics)}).
+	 * @param tableMode The variables symbols table implementation to use.
+	 * @param semanticMode The way the functions bodies should be validated.
+	 * @param metrics The metrics to record into, or null if the validation shouldn't be measured.
+	 */
+	public SemanticValidator(ProgramASTNode root, SymbolsTableMode tableMode, SemanticMode semanticMode,
+							 ValidationMetrics metrics) {
+		this(root, root == null ? new SymbolInterner() : root.getInterner(), tableMode, semanticMode, metrics);
+	}
+
+	/**
+	 * Initializes a new semantic validator in the {@link SemanticMode#FUSED} mode, whose program statements
+	 * are being handed over by {@link SemanticValidator#acceptGlobalStatement(ASTNode)}.
+	 * @param interner The interner the handed over statements symbols were interned by.
+	 * @param tableMode The variables symbols table implementation to use.
+	 * @param metrics The metrics to record into, or null if the validation shouldn't be measured.
+	 */
+	public SemanticValidator(SymbolInterner interner, SymbolsTableMode tableMode, ValidationMetrics metrics) {
+		this(null, interner, tableMode, SemanticMode.FUSED, metrics);
+	}
+
+	/**
+	 * Initializes a new semantic validator (see
+	 * {@link SemanticValidator#SemanticValidator(ProgramASTNode, SymbolsTableMode, SemanticMode, ValidationMetrics)}).
+	 * @param root The program AST node, or null.
+	 * @param interner The interner the program symbols were interned by.
+	 * @param tableMode The variables symbols table implementation to use.
+	 * @param semanticMode The way the functions bodies should be validated.
+	 * @param metrics The metrics to record into, or null if the validation shouldn't be measured.
+	 */
+	private SemanticValidator(ProgramASTNode root, SymbolInterner interner, SymbolsTableMode tableMode,
+							  SemanticMode semanticMode, ValidationMetrics metrics) {
+		if (interner == null || tableMode == null || semanticMode == null) {
+			throw new NullPointerException();
+		}
+
 		this.root = root;
-		this.functionsSymbolTable = new SymbolsTable<>();
-		this.variablesTable = new SymbolsTable<>();
+		this.interner = interner;
+		this.functionsSymbolTable = new SymbolsTable<>(interner);
+		this.variables = tableMode.createTable(interner);
+		this.variablesTable = metrics == null ? this.variables : new MeteredSymbolsTable<>(this.variables, metrics);
+		this.metrics = metrics;
+		this.semanticMode = semanticMode;
+	}
+
+	/**
+	 * Initializes a new semantic validator that validates functions over forks of the (frozen) global tables
+	 * of the given validator, so it can run on another thread (see {@link FunctionsValidationTask}).
+	 * @param globalsValidator The validator that registered the global declarations.
+	 * @param metrics The metrics to record into, or null if the validation shouldn't be measured.
+	 */
+	private SemanticValidator(SemanticValidator globalsValidator, ValidationMetrics metrics) {
+		this.root = globalsValidator.root;
+		this.interner = globalsValidator.interner;
+		this.functionsSymbolTable = globalsValidator.functionsSymbolTable.fork();
+		this.variables = globalsValidator.variables.fork();
+		this.variablesTable = metrics == null ? this.variables : new MeteredSymbolsTable<>(this.variables, metrics);
+		this.metrics = metrics;
+		this.semanticMode = SemanticMode.SEQUENTIAL;
 	}
 
 	// endregion
@@ -643,25 +1171,394 @@ public class SemanticValidator {
 
 	/**
 	 * Asserts the validity of the given code.
+	 * In the {@link SemanticMode#PARALLEL} mode, the global symbols tables are being frozen once the global
+	 * declarations were registered, so the validator can't be used afterwards.
+	 * In the {@link SemanticMode#FUSED} mode, the program statements are being handed over one by one (see
+	 * {@link SemanticValidator#acceptGlobalStatement(ASTNode)}), and the pending functions are being validated
+	 * once the last one was handed over. If the validator was given no program, the statements should have
+	 * been handed over already, so only the pending functions are being validated.
 	 * @throws SemanticErrorException If the given code is semantically invalid. The actual exceptioon
 	 * concrete class will vary on the semantic error reason.
 	 */
 	public void assertValidity()
 		throws SemanticErrorException {
-		/* Create the functions symbol table and then parse the file.
-		 	Note that since we're using checked exceptions within the
+		if (this.semanticMode == SemanticMode.FUSED) {
+			this.completeFusedValidation();
+			return;
+		}
+
+		/* Setup the functions symbol table */
+		long start = System.nanoTime();
+		try {
+			this.validateGlobals();
+		} finally {
+			this.recordGlobalPass(start);
+		}
+
+		/* Make sure that each type we use is valid. */
+		start = System.nanoTime();
+		try {
+			if (this.semanticMode == SemanticMode.PARALLEL) {
+				this.validateFunctionsConcurrently();
+			} else {
+				this.accept(this.root, this.generalSemanticVisitor);
+			}
+		} finally {
+			this.recordGeneralPass(start);
+		}
+	}
+
+	/**
+	 * Validates the given global statement of the program, as soon as it was parsed (see
+	 * {@link SemanticMode#FUSED}). The global declarations are being registered right away, and a function
+	 * is being validated against the global declarations that precede it, so unless it failed, it isn't
+	 * being kept afterwards. A failed function is being validated again once a following global statement
+	 * declares (or assigns) the symbol it failed on, and the functions that still fail are being validated
+	 * once more by {@link SemanticValidator#assertValidity()}, when all of the global declarations are known.
+	 * Nothing is being raised here, as the global declarations errors take precedence over the errors of
+	 * the functions bodies, so the first error is only known once the whole program was handed over.
+	 * @param statement The global statement.
+	 */
+	public void acceptGlobalStatement(ASTNode statement) {
+		if (statement == null) {
+			throw new NullPointerException();
+		}
+
+		/* The statements that follow an invalid global statement can't change the result */
+		if (this.globalsError != null) {
+			return;
+		}
+
+		/* Register the global declaration */
+		long start = System.nanoTime();
+		try {
+			this.accept(statement, this.globalScopeVisitor);
+		} catch (SemanticErrorException e) {
+			this.globalsError = e;
+			this.pendingFunctions.clear();
+			this.unresolvedSymbols.clear();
+			return;
+		} finally {
+			this.recordGlobalPass(start);
+		}
+
+		/* Retry the functions that were waiting for the declared (or assigned) symbols, and validate the
+		declared function */
+		start = System.nanoTime();
+		try {
+			if (statement instanceof FunctionDeclarationNode) {
+				FunctionDeclarationNode function = (FunctionDeclarationNode) statement;
+				this.resolveSymbol(function.getName());
+
+				PendingFunction pending = new PendingFunction(function);
+				if (!this.tryValidatePendingFunction(pending)) {
+					this.pendingFunctions.add(pending);
+				}
+			} else if (statement instanceof VariableDeclarationNode) {
+				for (VariableNode variable : ((VariableDeclarationNode) statement).getVariables()) {
+					this.resolveSymbol(variable.getName());
+				}
+			} else if (statement instanceof AssignmentNode) {
+				this.resolveSymbol(((AssignmentNode) statement).getName());
+			}
+		} finally {
+			this.recordGeneralPass(start);
+		}
+	}
+
+	/**
+	 * Validates the given code, while reporting every semantic problem that's being found into the given
+	 * sink rather than failing on the first one. After a problem is being reported, the validation
+	 * recovers and moves on to the next statement (e.g. a variable that was declared with an invalid
+	 * value is still being declared, so its later uses won't be reported as well).
+	 * Note that a validator should be used for a single validation, either by this method or by
+	 * {@link SemanticValidator#assertValidity()}, unless it's being reset in between (see
+	 * {@link SemanticValidator#reset(ProgramASTNode, ValidationMetrics)}).
+	 * A validator that wasn't given a program (e.g. one whose statements are being handed over by
+	 * {@link SemanticValidator#acceptGlobalStatement(ASTNode)}) has nothing to report.
+	 * @param sink The sink to report the problems into.
+	 */
+	public void reportDiagnostics(DiagnosticsSink sink) {
+		if (sink == null) {
+			throw new NullPointerException();
+		}
+
+		if (this.root == null) {
+			return;
+		}
+
+		this.diagnosticsSink = sink;
+		try {
+			/* No SemanticErrorException is being raised while collecting diagnostics */
+			long start = System.nanoTime();
+			this.root.accept(this.globalScopeVisitor);
+			this.recordGlobalPass(start);
+
+			start = System.nanoTime();
+			this.root.accept(this.generalSemanticVisitor);
+			this.recordGeneralPass(start);
+		} finally {
+			this.diagnosticsSink = null;
+		}
+	}
+
+	/**
+	 * Validates the given code and collects every semantic problem that's being found.
+	 * See {@link SemanticValidator#reportDiagnostics(DiagnosticsSink)}.
+	 * @return The found problems, in the order they were found. The list is empty if the code is valid.
+	 */
+	public List<Diagnostic> collectDiagnostics() {
+		DiagnosticsCollector collector = new DiagnosticsCollector();
+		this.reportDiagnostics(collector);
+		return collector.getDiagnostics();
+	}
+
+	/**
+	 * Resets the validator, so it can validate another program. The symbols tables and the visitors are
+	 * being reused (see {@link ScopedSymbolsTable#reset()}), so validating many small programs with a single
+	 * validator barely allocates. The validator may be reset after a failed validation as well.
+	 * @param root The program AST node, or null to only release the previous program (in which case the
+	 * validator has to be reset again before it's being used, unless the program statements are being handed
+	 * over in the {@link SemanticMode#FUSED} mode, interned by the interner the validator already resolves the
+	 * names by).
+	 * @param metrics The metrics to record into, or null if the validation shouldn't be measured.
+	 */
+	public void reset(ProgramASTNode root, ValidationMetrics metrics) {
+		this.root = root;
+		if (root != null) {
+			this.interner = root.getInterner();
+		}
+
+		this.functionsSymbolTable.reset(this.interner);
+		this.variables.reset(this.interner);
+		this.globalsError = null;
+		this.pendingFunctions.clear();
+		this.unresolvedSymbols.clear();
+		if (metrics != this.metrics) {
+			this.variablesTable = metrics == null ? this.variables
+					: new MeteredSymbolsTable<>(this.variables, metrics);
+			this.metrics = metrics;
+		}
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Gets the interner the symbols of the validated program were interned by.
+	 * @return The interner.
+	 */
+	SymbolInterner getInterner() {
+		return this.interner;
+	}
+
+	/**
+	 * Validates the global scope declarations, and registers them within the functions & variables tables.
+	 * This is the first step of {@link SemanticValidator#assertValidity()}.
+	 * @throws SemanticErrorException If one of the global declarations is semantically invalid.
+	 */
+	void validateGlobals()
+		throws SemanticErrorException {
+		this.accept(this.root, this.globalScopeVisitor);
+	}
+
+	/**
+	 * Validates the given function, relatively to the global declarations that were registered by
+	 * {@link SemanticValidator#validateGlobals()}. The global declarations are being kept intact, so
+	 * functions can be validated one by one, in any order.
+	 * @param node The function declaration node.
+	 * @throws SemanticErrorException If the function is semantically invalid.
+	 */
+	void validateFunction(FunctionDeclarationNode node)
+		throws SemanticErrorException {
+		try {
+			this.accept(node, this.generalSemanticVisitor);
+		} finally {
+			/* Drop the states of the scopes the validation was interrupted in */
+			while (this.variablesTable.getDepth() > 1) {
+				this.variablesTable.popState();
+			}
+		}
+	}
+
+	/**
+	 * Gets the global variable with the given name.
+	 * @param name The variable name.
+	 * @return The variable symbol, or null if there's no such global variable.
+	 */
+	VariableSymbol getGlobalVariable(String name) {
+		return this.variablesTable.getById(this.interner.find(name), 1);
+	}
+
+	/**
+	 * Gets the declared function with the given name.
+	 * @param name The function name.
+	 * @return The function symbol, or null if there's no such function.
+	 */
+	FunctionSymbol getFunction(String name) {
+		return this.functionsSymbolTable.get(name);
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Records the time of the global declarations pass into the metrics, if they're being collected.
+	 * @param start The pass start time (see {@link System#nanoTime()}).
+	 */
+	private void recordGlobalPass(long start) {
+		if (this.metrics != null) {
+			this.metrics.recordGlobalPass(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records the time of the general pass into the metrics, if they're being collected.
+	 * @param start The pass start time (see {@link System#nanoTime()}).
+	 */
+	private void recordGeneralPass(long start) {
+		if (this.metrics != null) {
+			this.metrics.recordGeneralPass(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Validates the program functions concurrently, on the common fork-join pool (see
+	 * {@link SemanticMode#PARALLEL}). The global statements aren't being visited, as the general pass skips
+	 * them anyway (they were validated by {@link SemanticValidator#validateGlobals()}).
+	 * @throws SemanticErrorException The error of the first function (in the source order) that's invalid.
+	 */
+	private void validateFunctionsConcurrently()
+		throws SemanticErrorException {
+		/* Collect the functions */
+		List<FunctionDeclarationNode> functions = new ArrayList<>();
+		for (int i = 0; i < this.root.getStatementCount(); i++) {
+			if (this.root.getStatement(i) instanceof FunctionDeclarationNode) {
+				functions.add((FunctionDeclarationNode) this.root.getStatement(i));
+			}
+		}
+
+		if (functions.size() < PARALLEL_FUNCTIONS_THRESHOLD) {
+			this.accept(this.root, this.generalSemanticVisitor);
+			return;
+		}
+
+		/* Freeze the global tables before any task forks them */
+		this.functionsSymbolTable.freeze();
+		this.variablesTable.freeze();
+
+		/* Validate */
+		int granularity = Math.max(1,
+				functions.size() / (ForkJoinPool.getCommonPoolParallelism() * TASKS_PER_WORKER));
+		SemanticErrorException[] errors = new SemanticErrorException[functions.size()];
+		AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+		ValidationMetrics tasksMetrics = ForkJoinPool.commonPool().invoke(new FunctionsValidationTask(
+				functions, 0, functions.size(), granularity, errors, firstFailure));
+
+		if (tasksMetrics != null) {
+			this.metrics.merge(tasksMetrics);
+		}
+
+		if (firstFailure.get() != Integer.MAX_VALUE) {
+			throw errors[firstFailure.get()];
+		}
+	}
+
+	/**
+	 * Completes the {@link SemanticMode#FUSED} validation: hands over the program statements (if the
+	 * validator was given a program), and validates the functions that are still pending, now that all of
+	 * the global declarations are known.
+	 * @throws SemanticErrorException The error of the first invalid global statement, or (if there's none)
+	 * the error of the first function (in the source order) that's invalid.
+	 */
+	private void completeFusedValidation()
+		throws SemanticErrorException {
+		try {
+			if (this.root != null) {
+				for (int i = 0; i < this.root.getStatementCount(); i++) {
+					this.acceptGlobalStatement(this.root.getStatement(i));
+				}
+			}
+
+			if (this.globalsError != null) {
+				throw this.globalsError;
+			}
+
+			/* The functions that were validated successfully don't affect the others, so the first pending
+			function that still fails is the first invalid function */
+			long start = System.nanoTime();
+			try {
+				for (PendingFunction pending : this.pendingFunctions) {
+					if (pending.node != null) {
+						this.validateFunction(pending.node);
+					}
+				}
+			} finally {
+				this.recordGeneralPass(start);
+			}
+		} finally {
+			/* Release the pending functions bodies */
+			this.pendingFunctions.clear();
+			this.unresolvedSymbols.clear();
+		}
+	}
+
+	/**
+	 * Validates the given pending function against the global declarations that were handed over so far.
+	 * If it fails on a symbol that wasn't declared (or initialized), the function waits for a following
+	 * global statement that declares (or assigns) it (see {@link SemanticValidator#resolveSymbol(String)}).
+	 * @param pending The pending function.
+	 * @return True if the function is valid (in which case it's no longer kept), false otherwise.
+	 */
+	private boolean tryValidatePendingFunction(PendingFunction pending) {
+		try {
+			this.validateFunction(pending.node);
+			pending.node = null;
+			return true;
+		} catch (SymbolNotFoundException e) {
+			this.unresolvedSymbols.computeIfAbsent(e.getSymbol(), name -> new ArrayList<>()).add(pending);
+		} catch (AccessUninitializedVariableException e) {
+			this.unresolvedSymbols.computeIfAbsent(e.getVariableName(), name -> new ArrayList<>()).add(pending);
+		} catch (SemanticErrorException e) {
+			/* Nothing to wait for, so it'd just be validated again at the end */
+		}
+
+		return false;
+	}
+
+	/**
+	 * Validates again the pending functions that failed on the given symbol, as a global statement has just
+	 * declared (or assigned) it.
+	 * @param name The symbol name.
+	 */
+	private void resolveSymbol(String name) {
+		List<PendingFunction> waiting = this.unresolvedSymbols.remove(name);
+		if (waiting == null) {
+			return;
+		}
+
+		for (PendingFunction pending : waiting) {
+			this.tryValidatePendingFunction(pending);
+		}
+	}
+
+	/**
+	 * Lets the given visitor visit the given node.
+	 * @param node The node to visit.
+	 * @param visitor The semantic visitor.
+	 * @throws SemanticErrorException If the visitor found a semantic error.
+	 */
+	private void accept(ASTNode node, ASTVisitor visitor)
+		throws SemanticErrorException {
+		/* Note that since we're using checked exceptions within the
 			visitor, it'd be wrong to couple SemanticErrorException etc. to the actual AST visitor.
 			Thus, and as we can't use the "throws" keyword, we're using a IllegalStateException - which's a
 			runtime exception, and wrapping within it the actual checked exception.
 			See: https://stackoverflow.com/a/19842081. */
 		try {
-			/* Setup the functions symbol table */
-			GlobalScopeVisitor globalScopeVisitor = new GlobalScopeVisitor();
-			globalScopeVisitor.visit(this.root);
-
-			/* Make sure that each type we use is valid. */
-			GeneralSemanticVisitor visitor = new GeneralSemanticVisitor();
-			visitor.visit(this.root);
+			node.accept(visitor);
 		} catch (IllegalStateException e) {
 			/* Release the inner exception */
 			if (e.getCause() != null && e.getCause() instanceof SemanticErrorException) {
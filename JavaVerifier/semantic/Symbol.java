@@ -1,5 +1,7 @@
 package oop.ex6.semantic;
 
+import oop.ex6.SymbolInterner;
+
 /**
  * A class that represents an (abstract) symbol in the symbol table.
  */
@@ -35,6 +37,11 @@ public abstract class Symbol implements Cloneable {
 	 */
 	private final String name;
 
+	/**
+	 * The symbol name ID (see {@link SymbolInterner}), which keys the symbol in the symbols tables.
+	 */
+	private final int id;
+
 	/**
 	 * The symbol identifier.
 	 */
@@ -47,10 +54,13 @@ public abstract class Symbol implements Cloneable {
 	/**
 	 * Initializes a new symbol.
 	 * @param name The symbol name.
+	 * @param id The symbol name ID, as assigned by the interner of the validated program (see
+	 * {@link SymbolInterner#intern(String)}).
 	 * @param identifier The symbol identifier.
 	 */
-	public Symbol(String name, Identifier identifier) {
+	public Symbol(String name, int id, Identifier identifier) {
 		this.name = name;
+		this.id = id;
 		this.identifier = identifier;
 	}
 
@@ -66,6 +76,14 @@ public abstract class Symbol implements Cloneable {
 		return this.name;
 	}
 
+	/**
+	 * Gets the symbol name ID.
+	 * @return The symbol name ID.
+	 */
+	public int getId() {
+		return this.id;
+	}
+
 	/**
 	 * Gets the symbol identifier.
 	 * @return The symbol identifier.
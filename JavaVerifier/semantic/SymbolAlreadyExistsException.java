@@ -26,7 +26,7 @@ public class SymbolAlreadyExistsException extends SemanticErrorException {
 	 * @param symbol The duplicate symbol.
 	 */
 	public SymbolAlreadyExistsException(Symbol symbol) {
-		super(String.format(DEFAULT_MESSAGE, symbol.getName(), symbol.getIdentifier()));
+		super();
 		this.symbol = symbol;
 	}
 
@@ -64,4 +64,29 @@ public class SymbolAlreadyExistsException extends SemanticErrorException {
 	}
 
 	// endregion
+
+	// region Protected API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String buildMessage() {
+		return formatMessage(this.symbol);
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Formats the default error message of this exception, so it can be reported without raising it.
+	 * @param symbol The previously defined symbol.
+	 * @return The error message.
+	 */
+	static String formatMessage(Symbol symbol) {
+		return String.format(DEFAULT_MESSAGE, symbol.getName(), symbol.getIdentifier());
+	}
+
+	// endregion
 }
@@ -0,0 +1,331 @@
+package oop.ex6.semantic;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing (linear probing) hash map from int symbol IDs (see {@link oop.ex6.SymbolInterner})
+ * to values, which is the storage of the symbols tables. Unlike a {@link java.util.HashMap}, the keys aren't
+ * being boxed and the lookups don't hash any strings.
+ *
+ * The map exposes its slots (see {@link SymbolMap#getCapacity()}), so the tables can iterate over it without
+ * allocating an iterator.
+ *
+ * A map can be frozen (see {@link SymbolMap#freeze()}), after which it's safe to read it from several threads
+ * at once.
+ * @param <V> The type of the values. Null values aren't allowed, as they mark the empty slots.
+ */
+class SymbolMap<V> {
+	// region Constants
+
+	/**
+	 * The default (minimal) capacity of a map.
+	 */
+	private static final int DEFAULT_CAPACITY = 8;
+
+	/**
+	 * The multiplier that spreads the keys over the slots (the golden ratio, in 32 bit fixed point).
+	 */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	/**
+	 * The message that's being raised if one tries to modify a frozen map.
+	 */
+	private static final String FROZEN_MAP_MESSAGE = "The symbols state is frozen and can't be modified.";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The keys of the slots.
+	 */
+	private int[] keys;
+
+	/**
+	 * The values of the slots, where null marks an empty slot.
+	 */
+	private Object[] values;
+
+	/**
+	 * The number of the stored entries.
+	 */
+	private int size = 0;
+
+	/**
+	 * Whether or not the map was frozen.
+	 */
+	private boolean frozen = false;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a new, empty, map.
+	 */
+	SymbolMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new, empty, map that can store the given number of entries without growing.
+	 * @param expectedSize The expected number of entries.
+	 */
+	SymbolMap(int expectedSize) {
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+
+		this.keys = new int[capacity];
+		this.values = new Object[capacity];
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Gets the number of the stored entries.
+	 * @return The number of the entries.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the value of the given key.
+	 * @param key The key.
+	 * @return The value, or null if there's no such key.
+	 */
+	@SuppressWarnings("unchecked")
+	V get(int key) {
+		int mask = this.keys.length - 1;
+		for (int slot = hash(key) & mask; this.values[slot] != null; slot = (slot + 1) & mask) {
+			if (this.keys[slot] == key) {
+				return (V) this.values[slot];
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Associates the given value with the given key.
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The value that was previously associated with the key, or null.
+	 * @throws IllegalStateException If the map is frozen.
+	 */
+	@SuppressWarnings("unchecked")
+	V put(int key, V value) {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+
+		this.assertNotFrozen();
+		int mask = this.keys.length - 1;
+		int slot = hash(key) & mask;
+		for (; this.values[slot] != null; slot = (slot + 1) & mask) {
+			if (this.keys[slot] == key) {
+				V previous = (V) this.values[slot];
+				this.values[slot] = value;
+				return previous;
+			}
+		}
+
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		if (++this.size * 2 > this.keys.length) {
+			this.resize(this.keys.length * 2);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Removes the given key.
+	 * @param key The key.
+	 * @return The value that was associated with the key, or null if there was no such key.
+	 * @throws IllegalStateException If the map is frozen.
+	 */
+	@SuppressWarnings("unchecked")
+	V remove(int key) {
+		this.assertNotFrozen();
+		int mask = this.keys.length - 1;
+		int slot = hash(key) & mask;
+		while (this.values[slot] != null && this.keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+
+		if (this.values[slot] == null) {
+			return null;
+		}
+
+		V previous = (V) this.values[slot];
+		this.removeSlot(slot);
+		return previous;
+	}
+
+	/**
+	 * Removes all of the entries, while keeping the slots, so the map can be refilled without growing.
+	 * @throws IllegalStateException If the map is frozen.
+	 */
+	void clear() {
+		this.assertNotFrozen();
+		if (this.size > 0) {
+			Arrays.fill(this.values, null);
+			this.size = 0;
+		}
+	}
+
+	/**
+	 * Freezes the map: from now on it can't be modified anymore, so it can be shared by several threads.
+	 */
+	void freeze() {
+		this.frozen = true;
+	}
+
+	/**
+	 * Determine whether or not the map was frozen (see {@link SymbolMap#freeze()}).
+	 * @return True if the map is frozen, false otherwise.
+	 */
+	boolean isFrozen() {
+		return this.frozen;
+	}
+
+	/**
+	 * Gets the number of the slots. The slots are being used to iterate over the map: a slot whose value is
+	 * null is empty.
+	 * @return The number of the slots.
+	 */
+	int getCapacity() {
+		return this.keys.length;
+	}
+
+	/**
+	 * Gets the key of the given slot.
+	 * @param slot The slot index.
+	 * @return The key, which is meaningless if the slot is empty.
+	 */
+	int getKey(int slot) {
+		return this.keys[slot];
+	}
+
+	/**
+	 * Gets the value of the given slot.
+	 * @param slot The slot index.
+	 * @return The value, or null if the slot is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	V getValue(int slot) {
+		return (V) this.values[slot];
+	}
+
+	/**
+	 * Gets the index of an empty slot (the map is never full).
+	 * An iteration that removes entries should start right below this slot, and visit the slots downwards
+	 * (wrapping around): a removal only moves the entries between the removed slot and the next empty slot,
+	 * which were already visited, so no entry is being skipped or visited twice.
+	 * @return The empty slot index.
+	 */
+	int getEmptySlot() {
+		int slot = 0;
+		while (this.values[slot] != null) {
+			slot++;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Empties the given slot. Note that the entries that follow the slot may be moved backwards
+	 * (see {@link SymbolMap#getEmptySlot()}).
+	 * @param slot The slot index.
+	 * @throws IllegalStateException If the map is frozen.
+	 */
+	void removeSlot(int slot) {
+		this.assertNotFrozen();
+
+		/* Shift the following entries of the probe sequence backwards, so no tombstones are needed */
+		int mask = this.keys.length - 1;
+		int hole = slot;
+		for (int next = (hole + 1) & mask; this.values[next] != null; next = (next + 1) & mask) {
+			int home = hash(this.keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				this.keys[hole] = this.keys[next];
+				this.values[hole] = this.values[next];
+				hole = next;
+			}
+		}
+
+		this.values[hole] = null;
+		this.size--;
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Makes sure that the map can be modified.
+	 * @throws IllegalStateException If the map is frozen.
+	 */
+	private void assertNotFrozen() {
+		if (this.frozen) {
+			throw new IllegalStateException(FROZEN_MAP_MESSAGE);
+		}
+	}
+
+	/**
+	 * Rebuilds the map with the given capacity.
+	 * @param capacity The new capacity (a power of 2).
+	 */
+	private void resize(int capacity) {
+		int[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		this.keys = new int[capacity];
+		this.values = new Object[capacity];
+
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				int slot = hash(oldKeys[i]) & mask;
+				while (this.values[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Spreads the given key.
+	 * @param key The key.
+	 * @return The key hash.
+	 */
+	private static int hash(int key) {
+		int h = key * HASH_MULTIPLIER;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < this.keys.length; i++) {
+			if (this.values[i] != null) {
+				builder.append(builder.length() > 1 ? ", " : "").append(this.keys[i]).append('=')
+						.append(this.values[i]);
+			}
+		}
+
+		return builder.append('}').toString();
+	}
+
+	// endregion
+}
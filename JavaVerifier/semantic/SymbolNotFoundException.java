@@ -25,7 +25,7 @@ public class SymbolNotFoundException extends SemanticErrorException {
 	 * @param symbol The symbol name.
 	 */
 	public SymbolNotFoundException(String symbol) {
-		super(String.format(DEFAULT_MESSAGE, symbol));
+		super();
 		this.symbol = symbol;
 	}
 
@@ -63,4 +63,29 @@ public class SymbolNotFoundException extends SemanticErrorException {
 	}
 
 	// endregion
+
+	// region Protected API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String buildMessage() {
+		return formatMessage(this.symbol);
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Formats the default error message of this exception, so it can be reported without raising it.
+	 * @param symbol The symbol name.
+	 * @return The error message.
+	 */
+	static String formatMessage(String symbol) {
+		return String.format(DEFAULT_MESSAGE, symbol);
+	}
+
+	// endregion
 }
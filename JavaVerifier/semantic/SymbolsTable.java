@@ -1,5 +1,7 @@
 package oop.ex6.semantic;
 
+import oop.ex6.SymbolInterner;
+
 import java.util.*;
 
 /**
@@ -7,8 +9,180 @@ import java.util.*;
  * Generally speaking, a symbol table is a data structure used by a compiler or interpreter, where each
  * identifier (a.k.a. symbol) in a program's source code is associated with information relating to its
  * declaration or appearance in the source.
+ *
+ * The states are keyed by the symbols name IDs (see {@link Symbol#getId()}), so the ID based lookups don't
+ * hash the names. The {@link Map} operations of the current state (e.g. {@link SymbolsTable#get(Object)},
+ * {@link SymbolsTable#containsKey(Object)} and {@link SymbolsTable#remove(Object)}) are hash lookups as well,
+ * rather than the linear scans of {@link AbstractMap}, and the states are indexed by their depth, so
+ * {@link SymbolsTable#getById(int, int)} doesn't walk the scopes. The names are being resolved into IDs by the
+ * interner of the table, which should be the interner the symbols IDs were assigned by.
+ *
+ * Popped states are being kept (empty) and reused by the next pushed states, so a table that's being reused
+ * (see {@link SymbolsTable#reset()}) stops allocating states once it reached its deepest scope.
  */
-public class SymbolsTable<T extends Symbol> extends AbstractMap<String, T> {
+public class SymbolsTable<T extends Symbol> extends AbstractMap<String, T> implements ScopedSymbolsTable<T> {
+	// region Nested Types
+
+	/**
+	 * A view of the symbols of the current state, keyed by their names.
+	 */
+	private class EntrySetView extends AbstractSet<Entry<String, T>> {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Entry<String, T>> iterator() {
+			return new EntryIterator(current());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return current().size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+
+			Entry<?, ?> entry = (Entry<?, ?>) o;
+			T symbol = SymbolsTable.this.get(entry.getKey());
+			return symbol != null && symbol.equals(entry.getValue());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean remove(Object o) {
+			if (!this.contains(o)) {
+				return false;
+			}
+
+			SymbolsTable.this.remove(((Entry<?, ?>) o).getKey());
+			return true;
+		}
+	}
+
+	/**
+	 * Iterates over the symbols of a state. The slots are being visited downwards, starting right below an
+	 * empty slot, so removing the current entry doesn't move the entries that weren't visited yet (see
+	 * {@link SymbolMap#getEmptySlot()}).
+	 */
+	private class EntryIterator implements Iterator<Entry<String, T>> {
+		// region iVars
+
+		/**
+		 * The iterated state.
+		 */
+		private final SymbolMap<T> state;
+
+		/**
+		 * The number of the slots that weren't visited yet.
+		 */
+		private int remainingSlots;
+
+		/**
+		 * The slot to visit next.
+		 */
+		private int slot;
+
+		/**
+		 * The slot of the last returned entry, or -1 if there's no such entry (or if it was removed).
+		 */
+		private int lastSlot = -1;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new iterator.
+		 * @param state The state to iterate.
+		 */
+		EntryIterator(SymbolMap<T> state) {
+			this.state = state;
+			this.remainingSlots = state.getCapacity() - 1;
+			this.slot = state.getEmptySlot();
+			this.advance();
+		}
+
+		// endregion
+
+		// region Public API
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return this.remainingSlots >= 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Entry<String, T> next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			this.lastSlot = this.slot;
+			final int id = this.state.getKey(this.slot);
+			Entry<String, T> entry = new SimpleEntry<String, T>(interner.getName(id),
+					this.state.getValue(this.slot)) {
+				@Override
+				public T setValue(T value) {
+					state.put(id, value);
+					return super.setValue(value);
+				}
+			};
+
+			this.advance();
+			return entry;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (this.lastSlot == -1) {
+				throw new IllegalStateException();
+			}
+
+			this.state.removeSlot(this.lastSlot);
+			this.lastSlot = -1;
+		}
+
+		// endregion
+
+		// region Private API
+
+		/**
+		 * Moves to the next occupied slot, or marks the iteration as done if there's none.
+		 */
+		private void advance() {
+			int mask = this.state.getCapacity() - 1;
+			do {
+				this.slot = (this.slot - 1) & mask;
+				this.remainingSlots--;
+			} while (this.remainingSlots >= 0 && this.state.getValue(this.slot) == null);
+		}
+
+		// endregion
+	}
+
+	// endregion
+
 	// region iVars & Shared Variables
 
 	/**
@@ -17,52 +191,173 @@ public class SymbolsTable<T extends Symbol> extends AbstractMap<String, T> {
 	private static final String INVALID_POP_STATE_MESSAGE = "The table can't pop the 1'st depth state.";
 
 	/**
-	 * The inner stack used to store the symbols.
+	 * The message that's being raised if one tries to update a symbol of a frozen state.
 	 */
-	private final Deque<HashMap<String, T>> stack = new ArrayDeque<>();
+	private static final String FROZEN_STATE_MESSAGE = "The current state is frozen and can't be updated.";
+
+	/**
+	 * The message that's being raised if one tries to look a symbol up from a depth the table doesn't have.
+	 */
+	private static final String INVALID_DEPTH_MESSAGE = "The depth must be between 1 and the current depth.";
+
+	/**
+	 * The states used to store the symbols, where the state of depth d is at index d - 1. The states beyond
+	 * the current depth are empty, and are kept for reuse.
+	 */
+	private final List<SymbolMap<T>> states = new ArrayList<>();
+
+	/**
+	 * The current depth, a.k.a. the number of the states that're in use.
+	 */
+	private int depth;
+
+	/**
+	 * The interner the symbols names are being resolved into IDs by.
+	 */
+	private SymbolInterner interner;
 
 	// endregion
 
 	// region Initialization
 
 	/**
-	 * Initializes a new symbol table.
+	 * Initializes a new symbol table, whose names are being resolved by an interner of its own.
 	 */
 	public SymbolsTable() {
-		this.stack.push(new HashMap<>());
+		this(new SymbolInterner());
+	}
+
+	/**
+	 * Initializes a new symbol table.
+	 * @param interner The interner the symbols names are being resolved into IDs by.
+	 */
+	public SymbolsTable(SymbolInterner interner) {
+		if (interner == null) {
+			throw new NullPointerException();
+		}
+
+		this.states.add(new SymbolMap<>());
+		this.depth = 1;
+		this.interner = interner;
+	}
+
+	/**
+	 * Initializes a new symbol table that shares the given (frozen) states.
+	 * @param states The states, starting from the 1'st depth state.
+	 * @param interner The interner the symbols names are being resolved into IDs by.
+	 */
+	private SymbolsTable(List<SymbolMap<T>> states, SymbolInterner interner) {
+		this.states.addAll(states);
+		this.depth = states.size();
+		this.interner = interner;
 	}
 
 	// endregion
 
 	/**
-	 * Push the current table state and create a new one.
-	 * This method should be used to enter into a new code scope.
+	 * {@inheritDoc}
+	 * Note that the new state is created by cloning each of the symbols of the current state.
 	 */
+	@Override
 	public void pushState() {
-		HashMap<String, T> newTable = new HashMap<>(this.stack.peek().size());
-		this.cloneAll(this.stack.peek(), newTable);
-		this.stack.push(newTable);
+		SymbolMap<T> newTable;
+		if (this.depth < this.states.size() && !this.states.get(this.depth).isFrozen()) {
+			newTable = this.states.get(this.depth);
+		} else {
+			newTable = new SymbolMap<>(this.current().size());
+			if (this.depth < this.states.size()) {
+				this.states.set(this.depth, newTable);
+			} else {
+				this.states.add(newTable);
+			}
+		}
+
+		this.cloneAll(this.current(), newTable);
+		this.depth++;
 	}
 
 	/**
-	 * Pop the current table state and gets to the previous state.
-	 * This method should be used to get out of the current code scope.
-	 * @throws IllegalStateException If the method is being called when there's only one symbol table.
+	 * {@inheritDoc}
 	 */
+	@Override
 	public void popState() {
-		if (this.stack.size() == 1) {
+		if (this.depth == 1) {
 			throw new IllegalStateException(INVALID_POP_STATE_MESSAGE);
 		}
 
-		this.stack.pop();
+		/* Keep the state for the next push (a frozen state is shared with the forks, and can't be reused) */
+		SymbolMap<T> state = this.current();
+		if (!state.isFrozen()) {
+			state.clear();
+		}
+		this.depth--;
 	}
 
 	/**
-	 * Gets the current symbols table depth.
-	 * @return The depth of the symbols table.
+	 * {@inheritDoc}
 	 */
+	@Override
 	public int getDepth() {
-		return this.stack.size();
+		return this.depth;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		while (this.depth > 1) {
+			this.popState();
+		}
+
+		if (this.current().isFrozen()) {
+			this.states.set(0, new SymbolMap<>());
+		} else {
+			this.current().clear();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset(SymbolInterner interner) {
+		if (interner == null) {
+			throw new NullPointerException();
+		}
+
+		this.reset();
+		this.interner = interner;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SymbolInterner getInterner() {
+		return this.interner;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void freeze() {
+		for (int i = 0; i < this.depth; i++) {
+			SymbolMap<T> state = this.states.get(i);
+			if (!state.isFrozen()) {
+				state.freeze();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SymbolsTable<T> fork() {
+		this.freeze();
+		return new SymbolsTable<>(this.states.subList(0, this.depth), this.interner);
 	}
 
 	/**
@@ -70,7 +365,100 @@ public class SymbolsTable<T extends Symbol> extends AbstractMap<String, T> {
 	 */
 	@Override
 	public Set<Entry<String, T>> entrySet() {
-		return this.stack.peek().entrySet();
+		return new EntrySetView();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.current().size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T get(Object name) {
+		return this.getById(this.interner.findKey(name));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T getById(int id) {
+		return this.current().get(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * As each state holds its own copy of the visible symbols, this is a single lookup in the state of the
+	 * given depth.
+	 */
+	@Override
+	public T getById(int id, int depth) {
+		if (depth < 1 || depth > this.depth) {
+			throw new IllegalArgumentException(INVALID_DEPTH_MESSAGE);
+		}
+
+		return this.states.get(depth - 1).get(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object name) {
+		return this.get(name) != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsId(int id) {
+		return this.getById(id) != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * As each state holds its own copy of the symbols, this is the same as {@link SymbolsTable#get(Object)}.
+	 */
+	@Override
+	public T getForUpdate(String name) {
+		return this.getForUpdateById(this.interner.find(name));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * As each state holds its own copy of the symbols, this is the same as {@link SymbolsTable#getById(int)}.
+	 * @throws IllegalStateException If the current state is frozen (see {@link SymbolsTable#freeze()}).
+	 */
+	@Override
+	public T getForUpdateById(int id) {
+		if (this.current().isFrozen()) {
+			throw new IllegalStateException(FROZEN_STATE_MESSAGE);
+		}
+
+		return this.getById(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T remove(Object name) {
+		return this.removeById(this.interner.findKey(name));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T removeById(int id) {
+		return this.current().remove(id);
 	}
 
 	/**
@@ -78,16 +466,30 @@ public class SymbolsTable<T extends Symbol> extends AbstractMap<String, T> {
 	 * @param value The symbol to put.
 	 * @return The added symbol, or null if it already exists.
 	 */
+	@Override
 	public T put(T value) {
-		return this.put(value.getName(), value);
+		return this.current().put(value.getId(), value);
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * @throws NullPointerException If the key is null, as the symbols tables have no null names.
 	 */
 	@Override
 	public T put(String key, T value) {
-		return this.stack.peek().put(key, value);
+		if (key == null) {
+			throw new NullPointerException();
+		}
+
+		return this.current().put(this.interner.intern(key), value);
+	}
+
+	/**
+	 * Gets the current (innermost) state.
+	 * @return The current state.
+	 */
+	private SymbolMap<T> current() {
+		return this.states.get(this.depth - 1);
 	}
 
 	/**
@@ -96,9 +498,12 @@ public class SymbolsTable<T extends Symbol> extends AbstractMap<String, T> {
 	 * @param destinationTable The destination table to copy into.
 	 */
 	@SuppressWarnings("unchecked")
-	private void cloneAll(HashMap<String, T> sourceTable, HashMap<String, T> destinationTable) {
-		for (Entry<String, T> entry : sourceTable.entrySet()) {
-			destinationTable.put(entry.getKey(), (T)entry.getValue().clone());
+	private void cloneAll(SymbolMap<T> sourceTable, SymbolMap<T> destinationTable) {
+		for (int slot = 0; slot < sourceTable.getCapacity(); slot++) {
+			T value = sourceTable.getValue(slot);
+			if (value != null) {
+				destinationTable.put(sourceTable.getKey(slot), (T) value.clone());
+			}
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package oop.ex6.semantic;
+
+import oop.ex6.SymbolInterner;
+
+/**
+ * Defines the available implementations of the variables {@link ScopedSymbolsTable} that's being used by
+ * the {@link SemanticValidator}.
+ */
+public enum SymbolsTableMode {
+	/**
+	 * A {@link SymbolsTable}, which clones every visible symbol when entering a new scope.
+	 */
+	CLONING() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public <T extends Symbol> ScopedSymbolsTable<T> createTable(SymbolInterner interner) {
+			return new SymbolsTable<>(interner);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "clone";
+		}
+	},
+
+	/**
+	 * A {@link ChainedSymbolsTable}, which enters a new scope in O(1).
+	 */
+	CHAINED() {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public <T extends Symbol> ScopedSymbolsTable<T> createTable(SymbolInterner interner) {
+			return new ChainedSymbolsTable<>(interner);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "chain";
+		}
+	};
+
+	// region Public API
+
+	/**
+	 * Creates a new, empty, symbols table.
+	 * @param interner The interner the symbols names should be resolved into IDs by.
+	 * @param <T> The type of the stored symbols.
+	 * @return The created table.
+	 */
+	public abstract <T extends Symbol> ScopedSymbolsTable<T> createTable(SymbolInterner interner);
+
+	/**
+	 * Gets the table mode that's associated with the given name (see {@link SymbolsTableMode#toString()}).
+	 * @param name The mode name.
+	 * @return The matching table mode.
+	 * @throws IllegalArgumentException If there's no mode with that name.
+	 */
+	public static SymbolsTableMode fromName(String name) {
+		if (name == null) {
+			throw new NullPointerException();
+		}
+
+		for (SymbolsTableMode mode : values()) {
+			if (mode.toString().equals(name)) {
+				return mode;
+			}
+		}
+
+		throw new IllegalArgumentException(name);
+	}
+
+	// endregion
+}
@@ -25,7 +25,7 @@ public class TypeNotFoundException extends SemanticErrorException {
 	 * @param type The type name.
 	 */
 	public TypeNotFoundException(String type) {
-		super(String.format(DEFAULT_MESSAGE, type));
+		super();
 		this.type = type;
 	}
 
@@ -63,4 +63,29 @@ public class TypeNotFoundException extends SemanticErrorException {
 	}
 
 	// endregion
+
+	// region Protected API
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String buildMessage() {
+		return formatMessage(this.type);
+	}
+
+	// endregion
+
+	// region Package API
+
+	/**
+	 * Formats the default error message of this exception, so it can be reported without raising it.
+	 * @param type The type name.
+	 * @return The error message.
+	 */
+	static String formatMessage(String type) {
+		return String.format(DEFAULT_MESSAGE, type);
+	}
+
+	// endregion
 }
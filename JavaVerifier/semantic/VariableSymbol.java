@@ -35,44 +35,48 @@ public class VariableSymbol extends Symbol {
 	/**
 	 * Initializes a new variable symbol.
 	 * @param name The variable name.
+	 * @param id The variable name ID (see {@link Symbol#getId()}).
 	 * @param type The variable type.
 	 */
-	public VariableSymbol(String name, DataType type) {
-		this(name, type, null, false, false);
+	public VariableSymbol(String name, int id, DataType type) {
+		this(name, id, type, null, false, false);
 	}
 
 	/**
 	 * Initializes a new variable symbol.
 	 * @param name The variable name.
+	 * @param id The variable name ID (see {@link Symbol#getId()}).
 	 * @param type The variable type.
 	 * @param value The variable initial value.
 	 */
-	public VariableSymbol(String name, DataType type, String value) {
-		this(name, type, value, false, false);
+	public VariableSymbol(String name, int id, DataType type, String value) {
+		this(name, id, type, value, false, false);
 	}
 
 	/**
 	 * Initializes a new variable symbol.
 	 * @param name The variable name.
+	 * @param id The variable name ID (see {@link Symbol#getId()}).
 	 * @param type The variable type.
 	 * @param value The variable initial value.
 	 * @param isFinal True if this is a final variable, false otherwise.
 	 */
-	public VariableSymbol(String name, DataType type, String value, boolean isFinal) {
-		this(name, type, value, isFinal, false);
+	public VariableSymbol(String name, int id, DataType type, String value, boolean isFinal) {
+		this(name, id, type, value, isFinal, false);
 	}
 
 	/**
 	 * Initializes a new variable symbol.
 	 * @param name The variable name.
+	 * @param id The variable name ID (see {@link Symbol#getId()}).
 	 * @param type The variable type.
 	 * @param value The variable initial value.
 	 * @param isFinal True if this is a final variable, false otherwise.
 	 * @param isGlobal True if this is a global variable, false otherwise.
 	 */
-	public VariableSymbol(String name, DataType type, String value,
+	public VariableSymbol(String name, int id, DataType type, String value,
 	                      boolean isFinal, boolean isGlobal) {
-		super(name, Identifier.VARIABLE);
+		super(name, id, Identifier.VARIABLE);
 		this.type = type;
 		this.value = value;
 		this.isFinal = isFinal;
@@ -140,7 +144,7 @@ public class VariableSymbol extends Symbol {
 	 */
 	@Override
 	public Symbol clone() {
-		return new VariableSymbol(this.getName(), this.type, this.value, this.isFinal, this.isGlobal);
+		return new VariableSymbol(this.getName(), this.getId(), this.type, this.value, this.isFinal, this.isGlobal);
 	}
 
 	// endregion
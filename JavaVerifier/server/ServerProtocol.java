@@ -0,0 +1,351 @@
+package oop.ex6.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Defines the protocol the {@link ValidationServer} and the {@link ValidationClient} talk by.
+ *
+ * The protocol is line based ("\n" terminated, UTF-8 encoded lines). Each request is a command line,
+ * optionally followed by payload lines:
+ * 1) "FILE path" - validates the file in the given (absolute) path.
+ * 2) "SOURCE n" - validates the source code given by the following n lines.
+ * 3) "PING" - checks that the server is alive.
+ * 4) "SHUTDOWN" - stops the server.
+ * Each request is being answered by a "code n" line, followed by the n lines of the result message
+ * (the same code and message {@link oop.ex6.main.Sjavac} prints). A connection may carry any number of
+ * requests, one after the other.
+ *
+ * The server address is either a port number, which binds the loopback interface over TCP, or a path,
+ * which binds a Unix domain socket. The protocol has no authentication, and a "FILE" request reads the file
+ * with the server permissions, so the server is meant for trusted (local) clients only, unless it confines
+ * the files to a root directory (see {@link ValidationServer}).
+ */
+public final class ServerProtocol {
+	// region Constants
+
+	/**
+	 * The command that validates a file.
+	 */
+	public static final String FILE_COMMAND = "FILE";
+
+	/**
+	 * The command that validates an inline source code.
+	 */
+	public static final String SOURCE_COMMAND = "SOURCE";
+
+	/**
+	 * The command that checks that the server is alive.
+	 */
+	public static final String PING_COMMAND = "PING";
+
+	/**
+	 * The command that stops the server.
+	 */
+	public static final String SHUTDOWN_COMMAND = "SHUTDOWN";
+
+	/**
+	 * The separator between a command (or a result code) and its argument.
+	 */
+	public static final char ARGUMENT_SEPARATOR = ' ';
+
+	/**
+	 * The charset the lines are being encoded with.
+	 */
+	public static final Charset CHARSET = StandardCharsets.UTF_8;
+
+	/**
+	 * The lines terminator.
+	 */
+	private static final int LINE_TERMINATOR = '\n';
+
+	/**
+	 * The greatest TCP port number.
+	 */
+	private static final int MAX_PORT = 65535;
+
+	/**
+	 * The message that's being raised if a response line is malformed.
+	 */
+	private static final String MALFORMED_RESPONSE_MESSAGE = "Malformed server response: %s";
+
+	/**
+	 * The message that's being raised if the server closed the connection before responding.
+	 */
+	private static final String CONNECTION_CLOSED_MESSAGE = "The server closed the connection.";
+
+	// endregion
+
+	// region Nested Types
+
+	/**
+	 * Describes a server response.
+	 */
+	public static final class Response {
+		// region iVars
+
+		/**
+		 * The result code.
+		 */
+		private final int code;
+
+		/**
+		 * The result message, or null if there's no message.
+		 */
+		private final String message;
+
+		// endregion
+
+		// region Initialization
+
+		/**
+		 * Creates a new response.
+		 * @param code The result code.
+		 * @param message The result message, or null if there's no message.
+		 */
+		Response(int code, String message) {
+			this.code = code;
+			this.message = message;
+		}
+
+		// endregion
+
+		// region Getters
+
+		/**
+		 * Gets the result code.
+		 * @return The result code.
+		 */
+		public int getCode() {
+			return this.code;
+		}
+
+		/**
+		 * Gets the result message.
+		 * @return The result message, or null if there's no message.
+		 */
+		public String getMessage() {
+			return this.message;
+		}
+
+		// endregion
+	}
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * The class constructor. This is a static-only class.
+	 */
+	private ServerProtocol() {
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Resolves the given server address.
+	 * @param address A port number (a loopback TCP address) or a path (a Unix domain socket address).
+	 * @return The socket address.
+	 * @throws IllegalArgumentException If the port number is out of range (0-65535), or if the path is invalid.
+	 */
+	public static SocketAddress resolve(String address) {
+		if (address == null) {
+			throw new NullPointerException();
+		}
+
+		if (isPortNumber(address)) {
+			/* Long digit strings would overflow the parsing, and they're out of range anyway */
+			int port = address.length() > String.valueOf(MAX_PORT).length() ? -1 : Integer.parseInt(address);
+			if (port < 0 || port > MAX_PORT) {
+				throw new IllegalArgumentException(address);
+			}
+
+			return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		}
+
+		return UnixDomainSocketAddress.of(address);
+	}
+
+	/**
+	 * Opens a server channel that listens on the given address.
+	 * @param address A port number or a Unix domain socket path (see {@link ServerProtocol#resolve(String)}).
+	 * @return The bound server channel.
+	 * @throws IOException If the channel couldn't be bound.
+	 */
+	public static ServerSocketChannel listen(String address)
+		throws IOException {
+		SocketAddress socketAddress = resolve(address);
+		ServerSocketChannel channel = socketAddress instanceof UnixDomainSocketAddress
+				? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+		try {
+			channel.bind(socketAddress);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		return channel;
+	}
+
+	/**
+	 * Connects to a server that listens on the given address.
+	 * @param address A port number or a Unix domain socket path (see {@link ServerProtocol#resolve(String)}).
+	 * @return The connected channel.
+	 * @throws IOException If the connection couldn't be established.
+	 */
+	public static SocketChannel connect(String address)
+		throws IOException {
+		return SocketChannel.open(resolve(address));
+	}
+
+	/**
+	 * Reads a single line.
+	 * Note that unlike {@link java.io.BufferedReader#readLine()}, only "\n" terminates a line, so lines
+	 * of inline source codes are being kept as-is.
+	 * @param in The stream to read from.
+	 * @return The line (without its terminator), or null if the stream ended.
+	 * @throws IOException If there was an IO related error.
+	 */
+	public static String readLine(InputStream in)
+		throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b;
+		while ((b = in.read()) != LINE_TERMINATOR) {
+			if (b == -1) {
+				return line.size() == 0 ? null : line.toString(CHARSET);
+			}
+
+			line.write(b);
+		}
+
+		return line.toString(CHARSET);
+	}
+
+	/**
+	 * Writes a single line.
+	 * @param out The stream to write into.
+	 * @param line The line (without its terminator).
+	 * @throws IOException If there was an IO related error.
+	 */
+	public static void writeLine(OutputStream out, String line)
+		throws IOException {
+		out.write(line.getBytes(CHARSET));
+		out.write(LINE_TERMINATOR);
+	}
+
+	/**
+	 * Writes a multi-line text, preceded by a header line that ends with the number of the text lines.
+	 * @param out The stream to write into.
+	 * @param header The header line prefix (e.g. a command or a result code).
+	 * @param text The text, or null to send no lines.
+	 * @throws IOException If there was an IO related error.
+	 */
+	public static void writeBlock(OutputStream out, String header, String text)
+		throws IOException {
+		String[] lines = text == null ? new String[0] : text.split("\n", -1);
+		writeLine(out, header + ARGUMENT_SEPARATOR + lines.length);
+		for (String line : lines) {
+			writeLine(out, line);
+		}
+	}
+
+	/**
+	 * Reads the given number of lines, and joins them back into a multi-line text.
+	 * @param in The stream to read from.
+	 * @param count The number of lines.
+	 * @return The text, or null if there are no lines.
+	 * @throws IOException If the stream ended before all of the lines were read.
+	 * @throws IllegalArgumentException If the number of lines is negative.
+	 */
+	public static String readBlock(InputStream in, int count)
+		throws IOException {
+		if (count < 0) {
+			throw new IllegalArgumentException("count");
+		}
+
+		if (count == 0) {
+			return null;
+		}
+
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			String line = readLine(in);
+			if (line == null) {
+				throw new IOException(CONNECTION_CLOSED_MESSAGE);
+			}
+
+			if (i > 0) {
+				text.append('\n');
+			}
+			text.append(line);
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * Reads a server response.
+	 * @param in The stream to read from.
+	 * @return The response.
+	 * @throws IOException If there was an IO related error, or if the response is malformed.
+	 */
+	public static Response readResponse(InputStream in)
+		throws IOException {
+		String header = readLine(in);
+		if (header == null) {
+			throw new IOException(CONNECTION_CLOSED_MESSAGE);
+		}
+
+		int separator = header.indexOf(ARGUMENT_SEPARATOR);
+		try {
+			int code = Integer.parseInt(header.substring(0, Math.max(separator, 0)));
+			int count = Integer.parseInt(header.substring(separator + 1));
+			if (count < 0) {
+				throw new IOException(String.format(MALFORMED_RESPONSE_MESSAGE, header));
+			}
+
+			return new Response(code, readBlock(in, count));
+		} catch (NumberFormatException e) {
+			throw new IOException(String.format(MALFORMED_RESPONSE_MESSAGE, header), e);
+		}
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Determine whether or not the given address is a port number.
+	 * @param address The address.
+	 * @return True if the address consists of digits only, false otherwise.
+	 */
+	private static boolean isPortNumber(String address) {
+		if (address.isEmpty()) {
+			return false;
+		}
+
+		for (int i = 0; i < address.length(); i++) {
+			if (!Character.isDigit(address.charAt(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	// endregion
+}
@@ -0,0 +1,143 @@
+package oop.ex6.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Paths;
+
+/**
+ * A tiny client launcher of the {@link ValidationServer}. The client only depends on the
+ * {@link ServerProtocol}, so it starts quickly, and prints the same output {@link oop.ex6.main.Sjavac}
+ * prints for the validated source.
+ *
+ * Usage: ValidationClient --connect=ADDRESS (source-file | -), where "-" reads the source code from the
+ * standard input, or ValidationClient --connect=ADDRESS (--ping | --shutdown).
+ */
+public class ValidationClient {
+	// region Constants
+
+	/**
+	 * The prefix of the argument that sets the server address (e.g. "--connect=7878").
+	 */
+	private static final String CONNECT_OPTION_PREFIX = "--connect=";
+
+	/**
+	 * The argument that checks that the server is alive.
+	 */
+	private static final String PING_OPTION = "--ping";
+
+	/**
+	 * The argument that stops the server.
+	 */
+	private static final String SHUTDOWN_OPTION = "--shutdown";
+
+	/**
+	 * The source argument that reads the source code from the standard input.
+	 */
+	private static final String STANDARD_INPUT_SOURCE = "-";
+
+	/**
+	 * The return code of a validation that couldn't be completed due to an I/O error
+	 * (see {@link oop.ex6.ValidationResult#IO_ERROR_CODE}).
+	 */
+	private static final int IO_ERROR_CODE = 2;
+
+	/**
+	 * The message that's being shown if the arguments are invalid.
+	 */
+	private static final String INVALID_ARGS_MESSAGE = "An I/O error occurred during the process." +
+			"\nMessage: java.io.IOException: The number of argument supplied is invalid.";
+
+	/**
+	 * The message that's being shown if the server couldn't be reached.
+	 */
+	private static final String CONNECTION_ERROR_MESSAGE = "An I/O error occurred during the process." +
+			"\nMessage: %s";
+
+	// endregion
+
+	/**
+	 * The client entry point.
+	 * @param args The arguments sent to this program.
+	 */
+	public static void main(String[] args) {
+		/* Parse the arguments */
+		String address = null, request = null;
+		for (String arg : args) {
+			if (arg.startsWith(CONNECT_OPTION_PREFIX)) {
+				address = arg.substring(CONNECT_OPTION_PREFIX.length());
+			} else if (request == null) {
+				request = arg;
+			} else {
+				request = null;
+				break;
+			}
+		}
+
+		if (address == null || request == null) {
+			printResponse(IO_ERROR_CODE, INVALID_ARGS_MESSAGE);
+			return;
+		}
+
+		/* An address that can't be resolved (e.g. a port out of range) is an invalid argument */
+		try {
+			ServerProtocol.resolve(address);
+		} catch (IllegalArgumentException e) {
+			printResponse(IO_ERROR_CODE, INVALID_ARGS_MESSAGE);
+			return;
+		}
+
+		/* Send the request and print the response */
+		try (SocketChannel channel = ServerProtocol.connect(address)) {
+			InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+			OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+
+			if (request.equals(PING_OPTION)) {
+				ServerProtocol.writeLine(out, ServerProtocol.PING_COMMAND);
+			} else if (request.equals(SHUTDOWN_OPTION)) {
+				ServerProtocol.writeLine(out, ServerProtocol.SHUTDOWN_COMMAND);
+			} else if (request.equals(STANDARD_INPUT_SOURCE)) {
+				ServerProtocol.writeBlock(out, ServerProtocol.SOURCE_COMMAND, readStandardInput());
+			} else {
+				/* The server may run in another working directory */
+				ServerProtocol.writeLine(out, ServerProtocol.FILE_COMMAND + ServerProtocol.ARGUMENT_SEPARATOR
+						+ Paths.get(request).toAbsolutePath());
+			}
+			out.flush();
+
+			ServerProtocol.Response response = ServerProtocol.readResponse(in);
+			printResponse(response.getCode(), response.getMessage());
+		} catch (IOException e) {
+			printResponse(IO_ERROR_CODE, String.format(CONNECTION_ERROR_MESSAGE, e.toString()));
+		}
+	}
+
+	/**
+	 * Prints the given response, the way {@link oop.ex6.main.Sjavac} prints a result.
+	 * @param code The result code.
+	 * @param message The result message, or null if there's no message.
+	 */
+	private static void printResponse(int code, String message) {
+		System.out.println(code);
+		if (message != null) {
+			System.err.println(message);
+		}
+	}
+
+	/**
+	 * Reads the whole standard input.
+	 * @return The standard input content.
+	 * @throws IOException If there was an IO related error.
+	 */
+	private static String readStandardInput()
+		throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		System.in.transferTo(content);
+		return content.toString(ServerProtocol.CHARSET);
+	}
+}
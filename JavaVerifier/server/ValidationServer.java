@@ -0,0 +1,313 @@
+package oop.ex6.server;
+
+import oop.ex6.ValidationResult;
+import oop.ex6.ValidatorFacade;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A resident validation server. The server keeps a single (warmed up) {@link ValidatorFacade} and serves
+ * the validation requests of its clients (see {@link ServerProtocol}), so the JVM startup and the static
+ * initialization costs are being paid once rather than per validation.
+ * Each connection is being served by a worker thread, so the number of the worker threads bounds the number
+ * of the concurrently served clients.
+ *
+ * The server doesn't authenticate its clients, and it reads the files they request with its own permissions
+ * (the error messages quote lines of the files), so it should only be reachable by trusted clients - e.g. over
+ * a Unix domain socket in a private directory. A server that's given a files root only validates the files
+ * under that root.
+ */
+public class ValidationServer implements Closeable {
+	// region Constants
+
+	/**
+	 * The program that's being validated upon startup, in order to run the static initializers of the
+	 * parser, the syntax features and the types.
+	 */
+	private static final String WARM_UP_PROGRAM = "int a = 1;\nfinal String b = \"b\";\n"
+			+ "void foo(double c, char d) {\n// comment\nboolean e = a;\nwhile (e || c) {\nfoo(a, 'd');\n}\n"
+			+ "return;\n}\n";
+
+	/**
+	 * The name of the warm-up program source.
+	 */
+	private static final String WARM_UP_SOURCE = "warm-up";
+
+	/**
+	 * The name of inline sources, in their results.
+	 */
+	private static final String INLINE_SOURCE = "inline";
+
+	/**
+	 * The message that's being sent if a request is malformed.
+	 */
+	private static final String INVALID_REQUEST_MESSAGE = "Invalid request: \"%s\".";
+
+	/**
+	 * The message that's being sent if a requested file is outside of the files root.
+	 */
+	private static final String ACCESS_DENIED_MESSAGE = "Access denied: \"%s\".";
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The facade the requests are being validated with.
+	 */
+	private final ValidatorFacade facade;
+
+	/**
+	 * The connections workers.
+	 */
+	private final ExecutorService workers;
+
+	/**
+	 * The (absolute and normalized) directory the requested files are being confined to, or null if they
+	 * aren't confined.
+	 */
+	private final Path fileRoot;
+
+	/**
+	 * The channel the server listens on, or null if the server wasn't started yet.
+	 */
+	private volatile ServerSocketChannel channel;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Initializes a new validation server, which validates files in any path.
+	 * @param facade The facade the requests are being validated with.
+	 * @param threads The number of worker threads.
+	 * @throws IllegalArgumentException If the number of threads isn't positive.
+	 */
+	public ValidationServer(ValidatorFacade facade, int threads) {
+		this(facade, threads, null);
+	}
+
+	/**
+	 * Initializes a new validation server.
+	 * @param facade The facade the requests are being validated with.
+	 * @param threads The number of worker threads.
+	 * @param fileRoot The directory the requested files are being confined to, or null to validate files in
+	 * any path.
+	 * @throws IllegalArgumentException If the number of threads isn't positive.
+	 */
+	public ValidationServer(ValidatorFacade facade, int threads, Path fileRoot) {
+		if (facade == null) {
+			throw new NullPointerException();
+		}
+
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads");
+		}
+
+		this.facade = facade;
+		this.fileRoot = fileRoot == null ? null : fileRoot.toAbsolutePath().normalize();
+		this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Listens on the given address and serves the incoming connections, until the server is being closed
+	 * (either by {@link ValidationServer#close()} or by a {@link ServerProtocol#SHUTDOWN_COMMAND} request).
+	 * @param address A port number or a Unix domain socket path (see {@link ServerProtocol#resolve(String)}).
+	 * A stale Unix domain socket file is being replaced.
+	 * @throws IOException If the server couldn't listen on the given address.
+	 */
+	public void serve(String address)
+		throws IOException {
+		if (this.channel != null) {
+			throw new IllegalStateException();
+		}
+
+		/* Warm up, so the first client doesn't pay for the static initialization */
+		this.facade.tryValidateSourceCode(WARM_UP_SOURCE, WARM_UP_PROGRAM);
+
+		SocketAddress socketAddress = ServerProtocol.resolve(address);
+		Path socketFile = socketAddress instanceof UnixDomainSocketAddress
+				? ((UnixDomainSocketAddress) socketAddress).getPath() : null;
+		if (socketFile != null) {
+			Files.deleteIfExists(socketFile);
+		}
+
+		this.channel = ServerProtocol.listen(address);
+		try {
+			while (true) {
+				SocketChannel connection = this.channel.accept();
+				try {
+					this.workers.execute(() -> this.serveConnection(connection));
+				} catch (RejectedExecutionException e) {
+					/* The server is being closed, and the workers no longer take connections */
+					connection.close();
+					break;
+				}
+			}
+		} catch (ClosedChannelException e) {
+			/* The server was closed, either while accepting (asynchronously) or before that */
+		} finally {
+			this.close();
+			if (socketFile != null) {
+				Files.deleteIfExists(socketFile);
+			}
+		}
+	}
+
+	/**
+	 * Stops the server. Requests that're being processed are allowed to complete.
+	 * @throws IOException If there was an IO related error while closing the server channel.
+	 */
+	@Override
+	public void close()
+		throws IOException {
+		this.workers.shutdown();
+		if (this.channel != null) {
+			this.channel.close();
+		}
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Serves the requests of a single connection, until the client closes it.
+	 * @param connection The connection.
+	 */
+	private void serveConnection(SocketChannel connection) {
+		try (connection) {
+			InputStream in = new BufferedInputStream(Channels.newInputStream(connection));
+			OutputStream out = new BufferedOutputStream(Channels.newOutputStream(connection));
+
+			String request;
+			while ((request = ServerProtocol.readLine(in)) != null) {
+				boolean isShutdown = request.equals(ServerProtocol.SHUTDOWN_COMMAND);
+				this.writeResult(out, isShutdown ? null : this.processRequest(request, in));
+				out.flush();
+
+				if (isShutdown) {
+					this.close();
+					return;
+				}
+			}
+		} catch (IOException e) {
+			/* The client is gone, there's no one to report to */
+		}
+	}
+
+	/**
+	 * Processes a single request.
+	 * @param request The request command line.
+	 * @param in The stream to read the request payload from.
+	 * @return The request result, or null if the request has no result (e.g. a ping).
+	 * @throws IOException If the request payload couldn't be read.
+	 */
+	private ValidationResult processRequest(String request, InputStream in)
+		throws IOException {
+		int separator = request.indexOf(ServerProtocol.ARGUMENT_SEPARATOR);
+		String command = separator == -1 ? request : request.substring(0, separator);
+		String argument = separator == -1 ? null : request.substring(separator + 1);
+
+		if (command.equals(ServerProtocol.FILE_COMMAND) && argument != null) {
+			if (!this.isUnderFileRoot(argument)) {
+				return ValidationResult.ioError(argument,
+						new IOException(String.format(ACCESS_DENIED_MESSAGE, argument)), 0);
+			}
+
+			return this.facade.tryValidateFile(argument);
+		}
+
+		if (command.equals(ServerProtocol.SOURCE_COMMAND) && argument != null) {
+			try {
+				/* A negative number of lines is as malformed as a non-numeric one */
+				int count = Integer.parseInt(argument);
+				if (count >= 0) {
+					String sourceCode = ServerProtocol.readBlock(in, count);
+					return this.facade.tryValidateSourceCode(INLINE_SOURCE, sourceCode == null ? "" : sourceCode);
+				}
+			} catch (NumberFormatException e) {
+				/* Handled below */
+			}
+		}
+
+		if (command.equals(ServerProtocol.PING_COMMAND) && argument == null) {
+			return null;
+		}
+
+		return ValidationResult.ioError(null,
+				new IOException(String.format(INVALID_REQUEST_MESSAGE, request)), 0);
+	}
+
+	/**
+	 * Determine whether or not the given file is under the files root. The path is being checked as-is
+	 * (e.g. "root/../secret" isn't under "root"), and if the file exists, its real path is being checked as
+	 * well, so symbolic links can't lead out of the root.
+	 * @param file The file path.
+	 * @return True if the files aren't confined or if the file is under the root, false otherwise.
+	 */
+	private boolean isUnderFileRoot(String file) {
+		if (this.fileRoot == null) {
+			return true;
+		}
+
+		try {
+			Path path = Paths.get(file).toAbsolutePath().normalize();
+			if (!path.startsWith(this.fileRoot)) {
+				return false;
+			}
+
+			if (!Files.exists(path)) {
+				/* There's nothing to read, and the validation reports that the file is missing */
+				return true;
+			}
+
+			return path.toRealPath().startsWith(this.fileRoot.toRealPath());
+		} catch (InvalidPathException | IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the given result as a response.
+	 * @param out The stream to write into.
+	 * @param result The result, or null to respond with a success code and no message.
+	 * @throws IOException If there was an IO related error.
+	 */
+	private void writeResult(OutputStream out, ValidationResult result)
+		throws IOException {
+		if (result == null) {
+			ServerProtocol.writeBlock(out, String.valueOf(ValidationResult.SUCCESS_CODE), null);
+		} else {
+			ServerProtocol.writeBlock(out, String.valueOf(result.getCode()), result.getMessage());
+		}
+	}
+
+	// endregion
+}
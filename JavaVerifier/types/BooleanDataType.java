@@ -16,7 +16,7 @@ public class BooleanDataType implements PrimitiveDataType {
 	/**
 	 * The class shared instance.
 	 */
-	private static BooleanDataType instance;
+	private static final BooleanDataType instance = new BooleanDataType();
 
 	/**
 	 * The type default value.
@@ -38,10 +38,6 @@ public class BooleanDataType implements PrimitiveDataType {
 	 * @return The class shared instance.
 	 */
 	static BooleanDataType getInstance() {
-		if (instance == null) {
-			instance = new BooleanDataType();
-		}
-
 		return instance;
 	}
 
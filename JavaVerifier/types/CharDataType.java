@@ -21,7 +21,7 @@ public class CharDataType implements PrimitiveDataType {
 	/**
 	 * The class shared instance.
 	 */
-	private static CharDataType instance;
+	private static final CharDataType instance = new CharDataType();
 
 	// endregion
 
@@ -37,10 +37,6 @@ public class CharDataType implements PrimitiveDataType {
 	 * @return The class shared instance.
 	 */
 	static CharDataType getInstance() {
-		if (instance == null) {
-			instance = new CharDataType();
-		}
-
 		return instance;
 	}
 
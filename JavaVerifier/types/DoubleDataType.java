@@ -16,7 +16,7 @@ public class DoubleDataType implements PrimitiveDataType {
 	/**
 	 * The class shared instance.
 	 */
-	private static DoubleDataType instance;
+	private static final DoubleDataType instance = new DoubleDataType();
 
 	/**
 	 * The type default value.
@@ -37,10 +37,6 @@ public class DoubleDataType implements PrimitiveDataType {
 	 * @return The class shared instance.
 	 */
 	static DoubleDataType getInstance() {
-		if (instance == null) {
-			instance = new DoubleDataType();
-		}
-
 		return instance;
 	}
 
@@ -16,7 +16,7 @@ public class IntDataType implements PrimitiveDataType {
 	/**
 	 * The class shared instance.
 	 */
-	private static IntDataType instance;
+	private static final IntDataType instance = new IntDataType();
 
 	/**
 	 * The type default value.
@@ -37,10 +37,6 @@ public class IntDataType implements PrimitiveDataType {
 	 * @return The class shared instance.
 	 */
 	static IntDataType getInstance() {
-		if (instance == null) {
-			instance = new IntDataType();
-		}
-
 		return instance;
 	}
 
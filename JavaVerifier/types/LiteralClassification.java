@@ -0,0 +1,269 @@
+package oop.ex6.types;
+
+import oop.ex6.Token;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes what a value can be: the data types it's a literal of, and whether or not it's an identifier
+ * (a.k.a. a variable reference). A value is being classified in a single scan, rather than being tested
+ * against each data type in turn.
+ *
+ * There are only a handful of possible classifications, so their instances are being shared - a
+ * classification is immutable, and can be safely cached (e.g. on the AST nodes) and used by multiple threads.
+ */
+public final class LiteralClassification {
+	// region Constants
+
+	/**
+	 * The int literal flag.
+	 */
+	private static final int INTEGER_FLAG = 1;
+
+	/**
+	 * The double literal flag.
+	 */
+	private static final int DOUBLE_FLAG = 1 << 1;
+
+	/**
+	 * The boolean literal flag.
+	 */
+	private static final int BOOLEAN_FLAG = 1 << 2;
+
+	/**
+	 * The char literal flag.
+	 */
+	private static final int CHAR_FLAG = 1 << 3;
+
+	/**
+	 * The String literal flag.
+	 */
+	private static final int STRING_FLAG = 1 << 4;
+
+	/**
+	 * The identifier flag.
+	 */
+	private static final int IDENTIFIER_FLAG = 1 << 5;
+
+	/**
+	 * The data types that're being described by the literal flags, in the flags order.
+	 */
+	private static final Token[] FLAG_TYPES = new Token[] {
+			Token.TYPE_INT, Token.TYPE_DOUBLE, Token.TYPE_BOOLEAN, Token.TYPE_CHAR, Token.TYPE_STRING
+	};
+
+	/**
+	 * The shared instances, indexed by their flags.
+	 */
+	private static final LiteralClassification[] instances = new LiteralClassification[IDENTIFIER_FLAG << 1];
+
+	// endregion
+
+	// region iVars
+
+	/**
+	 * The classification flags.
+	 */
+	private final int flags;
+
+	/**
+	 * The data types the value is a literal of, in their registration order.
+	 */
+	private final List<DataType> compatibleTypes;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Static initializer.
+	 */
+	static {
+		for (int flags = 0; flags < instances.length; flags++) {
+			instances[flags] = new LiteralClassification(flags);
+		}
+	}
+
+	/**
+	 * Creates a new classification.
+	 * @param flags The classification flags.
+	 */
+	private LiteralClassification(int flags) {
+		this.flags = flags;
+
+		/* Collect the data types in their registration order, so the first one is the most specific */
+		List<DataType> types = new ArrayList<>();
+		for (String identifier : TypeRegistry.getIdentifiers()) {
+			for (int i = 0; i < FLAG_TYPES.length; i++) {
+				if ((flags & (1 << i)) != 0 && FLAG_TYPES[i].toString().equals(identifier)) {
+					types.add(TypeRegistry.factory(identifier));
+				}
+			}
+		}
+
+		this.compatibleTypes = Collections.unmodifiableList(types);
+	}
+
+	/**
+	 * Classifies the given value. Like the data types do, the value is being classified without its
+	 * leading and trailing whitespaces.
+	 * @param value The value (e.g. "Hello world", false, 1.15, a etc.).
+	 * @return The value classification.
+	 */
+	public static LiteralClassification of(CharSequence value) {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(value);
+		return instances[classify(value, start, LiteralRecognizer.trimEnd(value, start))];
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Determine whether or not the value is an identifier, which refers a variable.
+	 * @return True if the value is an identifier, false otherwise.
+	 */
+	public boolean isIdentifier() {
+		return (this.flags & IDENTIFIER_FLAG) != 0;
+	}
+
+	/**
+	 * Determine whether or not the value is a literal of any of the data types.
+	 * @return True if the value is a literal, false otherwise.
+	 */
+	public boolean isLiteral() {
+		return !this.compatibleTypes.isEmpty();
+	}
+
+	/**
+	 * Determine whether or not the value is a valid literal of the given data type (see
+	 * {@link DataType#isValidValue(String)}).
+	 * @param type The data type.
+	 * @return True if the value is a literal of this type, false otherwise.
+	 */
+	public boolean isCompatibleWith(DataType type) {
+		if (type == null) {
+			throw new NullPointerException();
+		}
+
+		for (DataType compatibleType : this.compatibleTypes) {
+			if (compatibleType == type) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets the data types the value is a literal of.
+	 * @return An unmodifiable list of the data types, in their registration order.
+	 */
+	public List<DataType> getCompatibleTypes() {
+		return this.compatibleTypes;
+	}
+
+	/**
+	 * Gets the most specific data type the value is a literal of (e.g. int for "1", double for "1.5"), which
+	 * is the type {@link TypeRegistry#resolveFromValue(String)} resolves.
+	 * @return The most specific data type, or null if the value isn't a literal.
+	 */
+	public DataType getMostSpecificType() {
+		return this.compatibleTypes.isEmpty() ? null : this.compatibleTypes.get(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.compatibleTypes + (this.isIdentifier() ? " identifier" : "");
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Classifies the given (trimmed) range.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return The classification flags.
+	 */
+	private static int classify(CharSequence text, int start, int end) {
+		if (start >= end) {
+			return 0;
+		}
+
+		/* The first character tells the only literal kinds the value might be */
+		char first = text.charAt(start);
+		if (first == '\'') {
+			return LiteralRecognizer.isChar(text, start, end) ? CHAR_FLAG : 0;
+		}
+
+		if (first == '"') {
+			return LiteralRecognizer.isString(text, start, end) ? STRING_FLAG : 0;
+		}
+
+		if (LiteralRecognizer.isLetter(first) || first == '_') {
+			if (!LiteralRecognizer.isIdentifier(text, start, end)) {
+				return 0;
+			}
+
+			boolean isBoolean = LiteralRecognizer.regionEquals(text, start, end, Token.TRUE.toString())
+					|| LiteralRecognizer.regionEquals(text, start, end, Token.FALSE.toString());
+			return isBoolean ? IDENTIFIER_FLAG | BOOLEAN_FLAG : IDENTIFIER_FLAG;
+		}
+
+		return classifyNumber(text, start, end);
+	}
+
+	/**
+	 * Classifies the given (trimmed) range as a number: an optional minus sign, digits, and an optional
+	 * decimal point followed by digits.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return The classification flags.
+	 */
+	private static int classifyNumber(CharSequence text, int start, int end) {
+		boolean isNegative = text.charAt(start) == '-';
+		int integralStart = isNegative ? start + 1 : start;
+		int integralEnd = LiteralRecognizer.skipDigits(text, integralStart, end);
+		boolean hasIntegralPart = integralEnd > integralStart;
+
+		/* An integer (note that negative doubles must contain a decimal point) */
+		if (integralEnd == end) {
+			if (!hasIntegralPart) {
+				return 0;
+			}
+
+			return isNegative ? INTEGER_FLAG | BOOLEAN_FLAG : INTEGER_FLAG | DOUBLE_FLAG | BOOLEAN_FLAG;
+		}
+
+		/* A number with a decimal point */
+		if (text.charAt(integralEnd) != '.' || LiteralRecognizer.skipDigits(text, integralEnd + 1, end) != end) {
+			return 0;
+		}
+
+		if (hasIntegralPart) {
+			return DOUBLE_FLAG | BOOLEAN_FLAG;
+		}
+
+		/* A fraction without an integral part must have digits, and can't be a negative double */
+		if (integralEnd + 1 == end) {
+			return 0;
+		}
+
+		return isNegative ? BOOLEAN_FLAG : DOUBLE_FLAG | BOOLEAN_FLAG;
+	}
+
+	// endregion
+}
@@ -0,0 +1,400 @@
+package oop.ex6.types;
+
+import oop.ex6.Token;
+
+/**
+ * Hand-coded recognizers of the identifiers and of the literal values of the data types.
+ *
+ * Each recognizer accepts exactly the strings the matching pattern of {@link TypeParser} accepts, but
+ * runs over a range of a {@link CharSequence} in a single pass, so it doesn't allocate trimmed copies or
+ * {@link java.util.regex.Matcher}s. The ranges aren't being trimmed by the recognizers, so the callers
+ * should pass the trimmed range (see {@link LiteralRecognizer#trimStart(CharSequence)}).
+ */
+public final class LiteralRecognizer {
+	// region Constants
+
+	/**
+	 * The character that opens and closes a char literal.
+	 */
+	private static final char CHAR_QUOTE = '\'';
+
+	/**
+	 * The character that opens and closes a string literal.
+	 */
+	private static final char STRING_QUOTE = '"';
+
+	/**
+	 * The character that escapes the following character of a char or a string literal.
+	 */
+	private static final char ESCAPE = '\\';
+
+	/**
+	 * The character that follows the escape character of a hexadecimal char literal.
+	 */
+	private static final char HEXADECIMAL_ESCAPE = 'x';
+
+	/**
+	 * The minus sign of the numbers.
+	 */
+	private static final char MINUS = '-';
+
+	/**
+	 * The decimal point of the doubles.
+	 */
+	private static final char DECIMAL_POINT = '.';
+
+	/**
+	 * The underscore, which may begin an identifier only if it's followed by another identifier character.
+	 */
+	private static final char UNDERSCORE = '_';
+
+	/**
+	 * The true boolean literal.
+	 */
+	private static final String TRUE_LITERAL = Token.TRUE.toString();
+
+	/**
+	 * The false boolean literal.
+	 */
+	private static final String FALSE_LITERAL = Token.FALSE.toString();
+
+	/**
+	 * The maximal number of the digits of an octal char literal (e.g. '\123').
+	 */
+	private static final int MAX_OCTAL_DIGITS = 3;
+
+	/**
+	 * The maximal number of the digits of a hexadecimal char literal (e.g. '\x7f').
+	 */
+	private static final int MAX_HEXADECIMAL_DIGITS = 2;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * The class constructor. This is a static-only class.
+	 */
+	private LiteralRecognizer() {
+	}
+
+	// endregion
+
+	// region Public API
+
+	/**
+	 * Gets the index of the first character of the given text that {@link String#trim()} keeps.
+	 * @param text The text.
+	 * @return The trimmed range start index.
+	 */
+	public static int trimStart(CharSequence text) {
+		int start = 0;
+		while (start < text.length() && text.charAt(start) <= ' ') {
+			start++;
+		}
+
+		return start;
+	}
+
+	/**
+	 * Gets the index that follows the last character of the given text that {@link String#trim()} keeps.
+	 * @param text The text.
+	 * @param start The trimmed range start index (see {@link LiteralRecognizer#trimStart(CharSequence)}).
+	 * @return The trimmed range end index.
+	 */
+	public static int trimEnd(CharSequence text, int start) {
+		int end = text.length();
+		while (end > start && text.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Determine whether or not the given range is an identifier: a letter, or an underscore that's followed
+	 * by at least one more character, followed by letters, digits and underscores.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is an identifier, false otherwise.
+	 */
+	public static boolean isIdentifier(CharSequence text, int start, int end) {
+		if (start >= end) {
+			return false;
+		}
+
+		char first = text.charAt(start);
+		if (!isLetter(first) && !(first == UNDERSCORE && end - start > 1)) {
+			return false;
+		}
+
+		for (int i = start + 1; i < end; i++) {
+			char c = text.charAt(i);
+			if (!isLetter(c) && !isDigit(c) && c != UNDERSCORE) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determine whether or not the given range is an integer literal: an optional minus sign followed
+	 * by digits.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is an integer literal, false otherwise.
+	 */
+	public static boolean isInteger(CharSequence text, int start, int end) {
+		if (start < end && text.charAt(start) == MINUS) {
+			start++;
+		}
+
+		return skipDigits(text, start, end) == end && start < end;
+	}
+
+	/**
+	 * Determine whether or not the given range is a double literal: digits with an optional minus sign
+	 * and an optional decimal point (e.g. "-1.", "1.5"), or a decimal point followed by digits (".5").
+	 * Note that unlike the integer literals, a negative double must contain a decimal point.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is a double literal, false otherwise.
+	 */
+	public static boolean isDouble(CharSequence text, int start, int end) {
+		if (start >= end) {
+			return false;
+		}
+
+		/* A fraction without an integral part can't be negative */
+		if (text.charAt(start) == DECIMAL_POINT) {
+			return isFraction(text, start, end);
+		}
+
+		boolean isNegative = text.charAt(start) == MINUS;
+		int integralEnd = skipDigits(text, isNegative ? start + 1 : start, end);
+		if (integralEnd == (isNegative ? start + 1 : start)) {
+			return false;
+		}
+
+		if (integralEnd == end) {
+			return !isNegative;
+		}
+
+		return text.charAt(integralEnd) == DECIMAL_POINT && skipDigits(text, integralEnd + 1, end) == end;
+	}
+
+	/**
+	 * Determine whether or not the given range is a boolean literal: "true", "false" or a number literal
+	 * (with an optional minus sign).
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is a boolean literal, false otherwise.
+	 */
+	public static boolean isBoolean(CharSequence text, int start, int end) {
+		if (regionEquals(text, start, end, TRUE_LITERAL) || regionEquals(text, start, end, FALSE_LITERAL)) {
+			return true;
+		}
+
+		if (start < end && text.charAt(start) == MINUS) {
+			start++;
+		}
+
+		if (start < end && text.charAt(start) == DECIMAL_POINT) {
+			return isFraction(text, start, end);
+		}
+
+		int integralEnd = skipDigits(text, start, end);
+		if (integralEnd == start) {
+			return false;
+		}
+
+		return integralEnd == end
+				|| (text.charAt(integralEnd) == DECIMAL_POINT && skipDigits(text, integralEnd + 1, end) == end);
+	}
+
+	/**
+	 * Determine whether or not the given range is a char literal: a single character, an escaped character,
+	 * an octal escape (up to 3 digits) or a hexadecimal escape (up to 2 digits) within single quotes.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is a char literal, false otherwise.
+	 */
+	public static boolean isChar(CharSequence text, int start, int end) {
+		if (end - start < 3 || text.charAt(start) != CHAR_QUOTE || text.charAt(end - 1) != CHAR_QUOTE) {
+			return false;
+		}
+
+		/* Examine the content between the quotes */
+		start++;
+		end--;
+		char first = text.charAt(start);
+		if (first != ESCAPE) {
+			return end - start == 1 && first != CHAR_QUOTE && first != '\n';
+		}
+
+		/* An escaped character */
+		int length = end - start;
+		if (length < 2) {
+			return false;
+		}
+
+		if (length == 2) {
+			return !isLineTerminator(text.charAt(start + 1));
+		}
+
+		/* An octal or a hexadecimal escape */
+		if (text.charAt(start + 1) == HEXADECIMAL_ESCAPE) {
+			return length - 2 <= MAX_HEXADECIMAL_DIGITS && length > 2
+					&& isHexadecimalDigit(text.charAt(start + 2))
+					&& (length == 3 || isHexadecimalDigit(text.charAt(start + 3)));
+		}
+
+		for (int i = start + 1; i < end; i++) {
+			if (!isOctalDigit(text.charAt(i))) {
+				return false;
+			}
+		}
+
+		return length - 1 <= MAX_OCTAL_DIGITS;
+	}
+
+	/**
+	 * Determine whether or not the given range is a string literal: any characters (but line terminators)
+	 * within double quotes, where a backslash escapes the character that follows it.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is a string literal, false otherwise.
+	 */
+	public static boolean isString(CharSequence text, int start, int end) {
+		if (end - start < 2 || text.charAt(start) != STRING_QUOTE) {
+			return false;
+		}
+
+		/* Consume the characters (and the escape sequences) up to the closing quote, which must be the
+		 * last character */
+		int index = start + 1;
+		while (index < end - 1) {
+			char c = text.charAt(index);
+			if (isLineTerminator(c)) {
+				return false;
+			}
+
+			if (c == ESCAPE) {
+				index++;
+				if (isLineTerminator(text.charAt(index))) {
+					return false;
+				}
+			}
+			index++;
+		}
+
+		return index == end - 1 && text.charAt(index) == STRING_QUOTE;
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Determine whether or not the given range is a decimal point followed by at least one digit.
+	 * @param text The text.
+	 * @param start The range start index (inclusive), which points at the decimal point.
+	 * @param end The range end index (exclusive).
+	 * @return True if the range is a fraction, false otherwise.
+	 */
+	private static boolean isFraction(CharSequence text, int start, int end) {
+		return end - start > 1 && skipDigits(text, start + 1, end) == end;
+	}
+
+	/**
+	 * Skips the digits at the beginning of the given range.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @return The index of the first non-digit character in the range, or the range end if there's none.
+	 */
+	static int skipDigits(CharSequence text, int start, int end) {
+		while (start < end && isDigit(text.charAt(start))) {
+			start++;
+		}
+
+		return start;
+	}
+
+	/**
+	 * Determine whether or not the given range equals to the given string.
+	 * @param text The text.
+	 * @param start The range start index (inclusive).
+	 * @param end The range end index (exclusive).
+	 * @param s The string.
+	 * @return True if the range equals to the string, false otherwise.
+	 */
+	static boolean regionEquals(CharSequence text, int start, int end, String s) {
+		if (end - start != s.length()) {
+			return false;
+		}
+
+		for (int i = 0; i < s.length(); i++) {
+			if (text.charAt(start + i) != s.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determine whether or not the given character is an (ASCII) letter.
+	 * @param c The character.
+	 * @return True if the character is a letter, false otherwise.
+	 */
+	static boolean isLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	/**
+	 * Determine whether or not the given character is an (ASCII) digit.
+	 * @param c The character.
+	 * @return True if the character is a digit, false otherwise.
+	 */
+	static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Determine whether or not the given character is an octal digit.
+	 * @param c The character.
+	 * @return True if the character is an octal digit, false otherwise.
+	 */
+	private static boolean isOctalDigit(char c) {
+		return c >= '0' && c <= '7';
+	}
+
+	/**
+	 * Determine whether or not the given character is a hexadecimal digit.
+	 * @param c The character.
+	 * @return True if the character is a hexadecimal digit, false otherwise.
+	 */
+	private static boolean isHexadecimalDigit(char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	/**
+	 * Determine whether or not the given character is a line terminator, which (unlike the other characters)
+	 * can't be escaped or be part of a string literal.
+	 * @param c The character.
+	 * @return True if the character is a line terminator, false otherwise.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	// endregion
+}
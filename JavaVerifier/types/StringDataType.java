@@ -14,7 +14,7 @@ public class StringDataType implements DataType {
 	/**
 	 * The class shared instance.
 	 */
-	private static StringDataType instance;
+	private static final StringDataType instance = new StringDataType();
 
 	/**
 	 * The type default value.
@@ -35,10 +35,6 @@ public class StringDataType implements DataType {
 	 * @return The class shared instance.
 	 */
 	static StringDataType getInstance() {
-		if (instance == null) {
-			instance = new StringDataType();
-		}
-
 		return instance;
 	}
 
@@ -1,18 +1,35 @@
 package oop.ex6.types;
 
+import oop.ex6.CachedPattern;
 import oop.ex6.PatternUtilities;
 import oop.ex6.Token;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
  * Provides parsing utilities for data types.
  */
 public class TypeParser {
+	// region Constants
+
+	/**
+	 * The characters a method identifier may begin with.
+	 */
+	public static final String METHOD_IDENTIFIER_START_CHARACTERS
+			= "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	/**
+	 * The characters an identifier may begin with.
+	 */
+	public static final String IDENTIFIER_START_CHARACTERS = METHOD_IDENTIFIER_START_CHARACTERS + "_";
+
+	// endregion
+
 	// region Shared Variables
 
 	/**
@@ -21,12 +38,6 @@ public class TypeParser {
 	private static final String IDENTIFIER_PATTERN_STRING
 			= "([a-zA-Z]|_(?=[a-zA-Z0-9_]))[a-zA-Z0-9_]*";
 
-	/**
-	 * Defines the pattern that identifies a identifier name.
-	 */
-	private static final Pattern IDENTIFIER_PATTERN
-			= Pattern.compile("^" + IDENTIFIER_PATTERN_STRING + "$");
-
 	/**
 	 * A string that defines a a pattern that identifies methods names.
 	 */
@@ -38,21 +49,11 @@ public class TypeParser {
 	 */
 	private static final String INTEGER_PATTERN_STRING = "-?\\d+";
 
-	/**
-	 * Defines the pattern that identifies an integer.
-	 */
-	private static final Pattern INTEGER_PATTERN = Pattern.compile("^" + INTEGER_PATTERN_STRING + "$");
-
 	/**
 	 * A string that defines a a pattern that identifies single double constant.
 	 */
 	private static final String DOUBLE_PATTERN_STRING = "-?\\d+\\.\\d*|\\.\\d+|\\d+";
 
-	/**
-	 * Defines the pattern that identifies a double.
-	 */
-	private static final Pattern DOUBLE_PATTERN = Pattern.compile("^" + DOUBLE_PATTERN_STRING + "$");
-
 	/**
 	 * A string that defines a a pattern that identifies single boolean constant.
 	 */
@@ -60,23 +61,12 @@ public class TypeParser {
 			= "-?\\d+\\.\\d*|-?\\.\\d+|-?\\d+|"
 			+ PatternUtilities.quote(Token.TRUE.toString(), Token.FALSE.toString());
 
-	/**
-	 * Defines the pattern that identifies a boolean.
-	 */
-	private static final Pattern BOOLEAN_PATTERN = Pattern.compile("^" + BOOLEAN_PATTERN_STRING + "$");
-
 	/**
 	 * A string that defines a a pattern that identifies single boolean character.
 	 */
 	private static final String CHAR_PATTERN_STRING
 			= "'(?:\\\\.|\\\\[0-7]{1,3}|\\\\x[a-fA-F0-9]{1,2}|[^\\\\\\'\\n])'";
 
-	/**
-	 * Defines the pattern that identifies a (single) char.
-	 */
-	private static final Pattern CHAR_PATTERN
-			= Pattern.compile("^" + CHAR_PATTERN_STRING + "$");
-
 	/**
 	 * A string that defines a a pattern that identifies single boolean character.
 	 */
@@ -84,21 +74,30 @@ public class TypeParser {
 			= "([\"])(?:(?=(\\\\?))\\2.)*?\\1";
 
 	/**
-	 * Defines the pattern that identifies a string.
+	 * Defines the pattern of the placeholder used in the {@link TypeParser#formatPattern(String)} method.
 	 */
-	private static final Pattern STRING_PATTERN
-			= Pattern.compile("^" + STRING_PATTERN_STRING);
+	private static final String PLACEHOLDER_PATTERN = "{%s}";
 
 	/**
-	 * Defines the pattern of the placeholder used in the {@link TypeParser#formatPattern(String)} method.
+	 * The character that opens a placeholder.
 	 */
-	private static final String PLACEHOLDER_PATTERN = "{%s}";
+	private static final char PLACEHOLDER_START = '{';
+
+	/**
+	 * The character that closes a placeholder.
+	 */
+	private static final char PLACEHOLDER_END = '}';
 
 	/**
 	 * A list of available placeholders.
 	 */
 	private static final HashMap<String, String> placeholdersMap;
 
+	/**
+	 * The patterns that were compiled by {@link TypeParser#compilePattern(String)}, keyed by their templates.
+	 */
+	private static final ConcurrentMap<String, CachedPattern> compiledPatterns = new ConcurrentHashMap<>();
+
 	// endregion
 
 	// region Initialization
@@ -141,7 +140,12 @@ public class TypeParser {
 	 * @return True if the string is valid identifier, false otherwise.
 	 */
 	public static boolean isIdentifier(String text) {
-		return applyPattern(text, IDENTIFIER_PATTERN);
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(text);
+		return LiteralRecognizer.isIdentifier(text, start, LiteralRecognizer.trimEnd(text, start));
 	}
 
 	/**
@@ -150,7 +154,12 @@ public class TypeParser {
 	 * @return True if the given string is a valid integer, false otherwise.
 	 */
 	public static boolean isInteger(String text) {
-		return applyPattern(text, INTEGER_PATTERN);
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(text);
+		return LiteralRecognizer.isInteger(text, start, LiteralRecognizer.trimEnd(text, start));
 	}
 
 	/**
@@ -159,7 +168,12 @@ public class TypeParser {
 	 * @return True if the string is valid double, false otherwise.
 	 */
 	public static boolean isDouble(String text) {
-		return applyPattern(text, DOUBLE_PATTERN);
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(text);
+		return LiteralRecognizer.isDouble(text, start, LiteralRecognizer.trimEnd(text, start));
 	}
 
 	/**
@@ -168,7 +182,12 @@ public class TypeParser {
 	 * @return True if the string is valid boolean, false otherwise.
 	 */
 	public static boolean isBoolean(String text) {
-		return applyPattern(text, BOOLEAN_PATTERN);
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(text);
+		return LiteralRecognizer.isBoolean(text, start, LiteralRecognizer.trimEnd(text, start));
 	}
 
 	/**
@@ -177,7 +196,12 @@ public class TypeParser {
 	 * @return True if the string is valid boolean, false otherwise.
 	 */
 	public static boolean isChar(String text) {
-		return applyPattern(text, CHAR_PATTERN);
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(text);
+		return LiteralRecognizer.isChar(text, start, LiteralRecognizer.trimEnd(text, start));
 	}
 
 	/**
@@ -186,7 +210,12 @@ public class TypeParser {
 	 * @return True if the string is valid boolean, false otherwise.
 	 */
 	public static boolean isString(String text) {
-		return applyPattern(text, STRING_PATTERN);
+		if (text == null) {
+			throw new NullPointerException();
+		}
+
+		int start = LiteralRecognizer.trimStart(text);
+		return LiteralRecognizer.isString(text, start, LiteralRecognizer.trimEnd(text, start));
 	}
 
 	/**
@@ -199,29 +228,44 @@ public class TypeParser {
 			throw new NullPointerException();
 		}
 
-		for (Map.Entry<String, String> entry : placeholdersMap.entrySet()) {
-			pattern = pattern.replace(entry.getKey(), entry.getValue());
+		/* Expand the placeholders in a single pass. Braces that don't enclose a known placeholder
+		 * (e.g. "{1,3}" quantifiers) are being kept as-is. */
+		StringBuilder assembled = new StringBuilder(pattern.length());
+		int index = 0;
+		while (index < pattern.length()) {
+			int start = pattern.indexOf(PLACEHOLDER_START, index);
+			int end = start == -1 ? -1 : pattern.indexOf(PLACEHOLDER_END, start);
+			if (end == -1) {
+				break;
+			}
+
+			String expansion = placeholdersMap.get(pattern.substring(start, end + 1));
+			if (expansion == null) {
+				assembled.append(pattern, index, start + 1);
+				index = start + 1;
+			} else {
+				assembled.append(pattern, index, start).append(expansion);
+				index = end + 1;
+			}
 		}
 
-		return pattern;
+		return assembled.append(pattern, index, pattern.length()).toString();
 	}
 
-	// endregion
-
-	// region Private API
-
 	/**
-	 * Apply the given pattern on the string and check for match.
-	 * @param text The text to apply the pattern on.
-	 * @param pattern The pattern to apply.
-	 * @return True if there's a match, false otherwise.
+	 * Assembles and compiles a pattern consisted from the given data type placeholders (see
+	 * {@link TypeParser#formatPattern(String)}). Each template is being compiled once, and the compiled
+	 * pattern hands out a reusable matcher per thread.
+	 * @param template The pattern with the token placeholders.
+	 * @return The compiled pattern.
 	 */
-	private static boolean applyPattern(String text, Pattern pattern) {
-		if (text == null) {
+	public static CachedPattern compilePattern(String template) {
+		if (template == null) {
 			throw new NullPointerException();
 		}
 
-		return pattern.matcher(text.trim()).matches();
+		return compiledPatterns.computeIfAbsent(template,
+				key -> new CachedPattern(Pattern.compile(formatPattern(key))));
 	}
 
 	// endregion
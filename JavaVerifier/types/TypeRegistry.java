@@ -1,12 +1,16 @@
 package oop.ex6.types;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A registry-based class which keep track of the declared types in the language, initialises them and,
  * create them (using a factory method) and resolve the type of a given literal value / variable.
+ * The types table is being built eagerly and frozen by the class initializer, so it can be safely used
+ * by multiple threads.
  */
 public class TypeRegistry {
 	// region Shared Variables & Constants
@@ -17,9 +21,9 @@ public class TypeRegistry {
 	private static final String TYPE_NOT_FOUND_MESSAGE = "The requested type wasn't registered.";
 
 	/**
-	 * A list of the available data types.
+	 * A (read-only) list of the available data types.
 	 */
-	private static final HashMap<String, DataType> availableTypes;
+	private static final Map<String, DataType> availableTypes;
 
 	// endregion
 
@@ -29,29 +33,23 @@ public class TypeRegistry {
 	 * Static initializer.
 	 */
 	static {
-		availableTypes = new HashMap<>();
-		register(IntDataType.getInstance());
-		register(DoubleDataType.getInstance());
-		register(BooleanDataType.getInstance());
-		register(CharDataType.getInstance());
-		register(StringDataType.getInstance());
+		LinkedHashMap<String, DataType> types = new LinkedHashMap<>();
+		register(types, IntDataType.getInstance());
+		register(types, DoubleDataType.getInstance());
+		register(types, BooleanDataType.getInstance());
+		register(types, CharDataType.getInstance());
+		register(types, StringDataType.getInstance());
+		availableTypes = Collections.unmodifiableMap(types);
 	}
 
-	// endregion
-
-	// region Public API
-
 	/**
-	 * Register a new data type.
-	 * @param type The data type.
+	 * The class constructor. As this is a registry based class, the constructor here is private.
 	 */
-	static void register(DataType type) {
-		if (availableTypes.containsKey(type.getIdentifier())) {
-			throw new KeyAlreadyExistsException();
-		}
+	private TypeRegistry() { }
 
-		availableTypes.put(type.getIdentifier(), type);
-	}
+	// endregion
+
+	// region Public API
 
 	/**
 	 * Determine whether or not the requested data type was registered.
@@ -62,6 +60,14 @@ public class TypeRegistry {
 		return availableTypes.containsKey(identifier);
 	}
 
+	/**
+	 * Gets the identifiers of the registered data types.
+	 * @return An unmodifiable set of the identifiers, in their registration order.
+	 */
+	public static Set<String> getIdentifiers() {
+		return availableTypes.keySet();
+	}
+
 	/**
 	 * Gets the requested data type by its identifier.
 	 * @param identifier The data type identifier.
@@ -70,11 +76,12 @@ public class TypeRegistry {
 	 */
 	public static DataType factory(String identifier) {
 		/* Do we have this data type registered? */
-		if (!isRegistered(identifier)) {
+		DataType type = availableTypes.get(identifier);
+		if (type == null) {
 			throw new RuntimeException(TYPE_NOT_FOUND_MESSAGE);
 		}
 
-		return availableTypes.get(identifier);
+		return type;
 	}
 
 	/**
@@ -85,13 +92,27 @@ public class TypeRegistry {
 	 * expressions, such as "new ClassName()", sending a variable will produce null result).
   	 */
 	public static DataType resolveFromValue(String value) {
-		/* Iterate over the available data types and look for the matching one */
-		for (DataType t : availableTypes.values()) {
-			if (t.isValidValue(value)) {
-				return t;
-			}
+		/* Classify the value once, rather than testing it against each of the available data types */
+		return LiteralClassification.of(value).getMostSpecificType();
+	}
+
+	// endregion
+
+	// region Private API
+
+	/**
+	 * Register a new data type in the given types table.
+	 * @param types The types table.
+	 * @param type The data type.
+	 * @throws KeyAlreadyExistsException If a data type with the same identifier was already registered.
+	 */
+	private static void register(Map<String, DataType> types, DataType type) {
+		if (types.containsKey(type.getIdentifier())) {
+			throw new KeyAlreadyExistsException();
 		}
 
-		return null;
+		types.put(type.getIdentifier(), type);
 	}
+
+	// endregion
 }